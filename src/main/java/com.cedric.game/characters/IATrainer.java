@@ -1,8 +1,9 @@
 package com.cedric.game.characters;
 
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
 import com.cedric.game.core.skill.Skill;
-import java.util.Random;
+import com.cedric.game.core.type.TypeChart;
 
 /**
  * Représente un dresseur contrôlé par l'IA.
@@ -12,7 +13,7 @@ public class IATrainer extends Trainer {
     private String trainerType;
     private String strategyType;
     private boolean isGymLeader;
-    private Random random;
+    private GameRandom random;
 
     /**
      * Crée un nouveau dresseur IA.
@@ -26,12 +27,28 @@ public class IATrainer extends Trainer {
      */
     public IATrainer(String id, String name, int difficulty, String trainerType,
                      String strategyType, boolean isGymLeader) {
+        this(id, name, difficulty, trainerType, strategyType, isGymLeader, new GameRandom());
+    }
+
+    /**
+     * Crée un nouveau dresseur IA avec son propre flux aléatoire.
+     *
+     * @param id Identifiant unique
+     * @param name Nom du dresseur
+     * @param difficulty Niveau de difficulté (1-10)
+     * @param trainerType Type de dresseur (Novice, Scientifique, etc.)
+     * @param strategyType Type de stratégie (Aléatoire, Équilibré, Intelligent)
+     * @param isGymLeader true si c'est un chef de gym
+     * @param random Flux utilisé pour les décisions de l'IA
+     */
+    public IATrainer(String id, String name, int difficulty, String trainerType,
+                     String strategyType, boolean isGymLeader, GameRandom random) {
         super(id, name);
         this.difficulty = Math.max(1, Math.min(10, difficulty)); // Limiter entre 1 et 10
         this.trainerType = trainerType;
         this.strategyType = strategyType;
         this.isGymLeader = isGymLeader;
-        this.random = new Random();
+        this.random = random;
 
         // Augmenter la capacité d'équipe pour les chefs de gym
         if (isGymLeader) {
@@ -145,10 +162,8 @@ public class IATrainer extends Trainer {
         double score = skill.getPower();
 
         // Vérifier l'efficacité des types
-        double typeEffectiveness = 1.0;
-        for (game.core.type.Type defenderType : enemyCreature.getStats().getTypes()) {
-            typeEffectiveness *= skill.getType().getEffectivenessAgainst(defenderType);
-        }
+        double typeEffectiveness = TypeChart.getMultiplier(
+                skill.getType().getCombination(), enemyCreature.getStats().getTypeCombination());
 
         // Favoriser les compétences super efficaces
         score *= typeEffectiveness * 2;
@@ -173,7 +188,7 @@ public class IATrainer extends Trainer {
      * @return Index de la créature à utiliser ou -1 pour garder l'actuelle
      */
     public int chooseCreature(Creature currentCreature, Creature enemyCreature) {
-        if (getCreatures().isEmpty()) {
+        if (getCreatureCount() == 0) {
             return -1;
         }
 
@@ -197,8 +212,8 @@ public class IATrainer extends Trainer {
             // Choix aléatoire parmi les créatures non K.O.
             java.util.List<Integer> validIndices = new java.util.ArrayList<>();
 
-            for (int i = 0; i < getCreatures().size(); i++) {
-                if (!getCreatures().get(i).isDead()) {
+            for (int i = 0; i < getCreatureCount(); i++) {
+                if (!getCreature(i).isDead()) {
                     validIndices.add(i);
                 }
             }
@@ -214,8 +229,8 @@ public class IATrainer extends Trainer {
             int bestIndex = 0;
             double bestScore = -1;
 
-            for (int i = 0; i < getCreatures().size(); i++) {
-                Creature myCreature = getCreatures().get(i);
+            for (int i = 0; i < getCreatureCount(); i++) {
+                Creature myCreature = getCreature(i);
 
                 if (myCreature.isDead()) {
                     continue;
@@ -250,9 +265,10 @@ public class IATrainer extends Trainer {
         // Avantage/désavantage de type
         double typeAdvantage = 0;
 
-        for (game.core.type.Type myType : myCreature.getStats().getTypes()) {
-            for (game.core.type.Type enemyType : enemyCreature.getStats().getTypes()) {
-                double effectiveness = myType.getEffectivenessAgainst(enemyType);
+        double[][] chart = TypeChart.getChart();
+        for (int myType : TypeChart.getOrdinals(myCreature.getStats().getTypeCombination())) {
+            for (int enemyType : TypeChart.getOrdinals(enemyCreature.getStats().getTypeCombination())) {
+                double effectiveness = chart[myType][enemyType];
 
                 // Favoriser les types avantageux
                 if (effectiveness > 1.0) {
@@ -0,0 +1,347 @@
+package com.cedric.game.characters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Registre des dresseurs IA du monde, indexé pour des recherches sans parcours complet.
+ *
+ * L'index principal donne un dresseur par identifiant en temps constant. Des index secondaires
+ * (type de dresseur, stratégie, chefs de gym, difficulté, niveau moyen de l'équipe) permettent
+ * des requêtes paginées qui ne parcourent que la page demandée et ce qui la précède dans
+ * l'index concerné. Les résultats sont dans l'ordre d'ajout, ou par valeur croissante pour les
+ * intervalles de difficulté et de niveau.
+ *
+ * Les lectures ne prennent pas de verrou ; les ajouts et retraits sont sérialisés, de sorte
+ * que tous les index restent cohérents. Les clés d'un dresseur sont relevées à son ajout :
+ * après une modification (difficulté, équipe...), appeler {@link #reindex(String)}.
+ */
+public class NpcRegistry {
+    private static final Comparator<Entry> BY_SEQUENCE = Comparator.comparingLong(e -> e.sequence);
+    private static final Comparator<Entry> BY_DIFFICULTY =
+            Comparator.<Entry>comparingInt(e -> e.difficulty).thenComparing(BY_SEQUENCE);
+    private static final Comparator<Entry> BY_LEVEL =
+            Comparator.<Entry>comparingInt(e -> e.averageLevel).thenComparing(BY_SEQUENCE);
+
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(BY_SEQUENCE);
+    private final Map<String, NavigableSet<Entry>> byTrainerType = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Entry>> byStrategy = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> gymLeaders = new ConcurrentSkipListSet<>(BY_SEQUENCE);
+    private final NavigableSet<Entry> byDifficulty = new ConcurrentSkipListSet<>(BY_DIFFICULTY);
+    private final NavigableSet<Entry> byLevel = new ConcurrentSkipListSet<>(BY_LEVEL);
+    private final Object writeLock = new Object();
+    private long nextSequence;
+
+    /**
+     * Dresseur enregistré, avec les clés relevées pour les index.
+     */
+    private static final class Entry {
+        private final IATrainer trainer;
+        private final long sequence; // Ordre d'ajout
+        private final String trainerType;
+        private final String strategy;
+        private final boolean gymLeader;
+        private final int difficulty;
+        private final int averageLevel;
+
+        Entry(IATrainer trainer, long sequence) {
+            this.trainer = trainer;
+            this.sequence = sequence;
+            this.trainerType = Objects.toString(trainer.getTrainerType(), "");
+            this.strategy = Objects.toString(trainer.getStrategyType(), "");
+            this.gymLeader = trainer.isGymLeader();
+            this.difficulty = trainer.getDifficulty();
+            this.averageLevel = averageLevel(trainer);
+        }
+
+        /**
+         * Borne d'intervalle : avant ou après toutes les entrées de même valeur.
+         */
+        Entry(int value, boolean upper) {
+            this.trainer = null;
+            this.sequence = upper ? Long.MAX_VALUE : Long.MIN_VALUE;
+            this.trainerType = null;
+            this.strategy = null;
+            this.gymLeader = false;
+            this.difficulty = value;
+            this.averageLevel = value;
+        }
+    }
+
+    /**
+     * Ajoute un dresseur.
+     *
+     * @param trainer Dresseur à ajouter
+     * @return false si le dresseur est null ou si son identifiant est déjà enregistré
+     */
+    public boolean add(IATrainer trainer) {
+        if (trainer == null) {
+            return false;
+        }
+
+        synchronized (writeLock) {
+            if (byId.containsKey(trainer.getId())) {
+                return false;
+            }
+            index(new Entry(trainer, nextSequence++));
+            return true;
+        }
+    }
+
+    /**
+     * Retire un dresseur.
+     *
+     * @param trainerId Identifiant du dresseur
+     * @return Dresseur retiré, ou null s'il n'était pas enregistré
+     */
+    public IATrainer remove(String trainerId) {
+        synchronized (writeLock) {
+            Entry entry = byId.get(trainerId);
+            if (entry == null) {
+                return null;
+            }
+            unindex(entry);
+            return entry.trainer;
+        }
+    }
+
+    /**
+     * Relève à nouveau les clés d'un dresseur modifié. Il garde sa place dans l'ordre d'ajout.
+     *
+     * @param trainerId Identifiant du dresseur
+     * @return false si le dresseur n'est pas enregistré
+     */
+    public boolean reindex(String trainerId) {
+        synchronized (writeLock) {
+            Entry entry = byId.get(trainerId);
+            if (entry == null) {
+                return false;
+            }
+            unindex(entry);
+            index(new Entry(entry.trainer, entry.sequence));
+            return true;
+        }
+    }
+
+    /**
+     * Remplace tout le contenu du registre (chargement d'une sauvegarde).
+     *
+     * @param trainers Nouveaux dresseurs, dans l'ordre
+     */
+    public void replaceAll(List<IATrainer> trainers) {
+        synchronized (writeLock) {
+            clear();
+            for (IATrainer trainer : trainers) {
+                add(trainer);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            byId.clear();
+            all.clear();
+            byTrainerType.clear();
+            byStrategy.clear();
+            gymLeaders.clear();
+            byDifficulty.clear();
+            byLevel.clear();
+        }
+    }
+
+    /**
+     * Obtient un dresseur par son identifiant.
+     *
+     * @param trainerId Identifiant du dresseur
+     * @return Dresseur, ou null
+     */
+    public IATrainer get(String trainerId) {
+        Entry entry = byId.get(trainerId);
+        return entry != null ? entry.trainer : null;
+    }
+
+    public boolean contains(String trainerId) {
+        return byId.containsKey(trainerId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /**
+     * Obtient tous les dresseurs, dans l'ordre d'ajout.
+     *
+     * @return Copie de la liste des dresseurs
+     */
+    public List<IATrainer> getAll() {
+        return slice(all, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Obtient une page de dresseurs, dans l'ordre d'ajout.
+     *
+     * @param offset Nombre de dresseurs à sauter
+     * @param limit Taille maximale de la page
+     * @return Dresseurs de la page
+     */
+    public List<IATrainer> page(int offset, int limit) {
+        return slice(all, offset, limit);
+    }
+
+    /**
+     * Obtient une page des dresseurs d'un type donné, dans l'ordre d'ajout.
+     *
+     * @param trainerType Type de dresseur (ex: "Novice")
+     * @param offset Nombre de dresseurs à sauter
+     * @param limit Taille maximale de la page
+     * @return Dresseurs de la page
+     */
+    public List<IATrainer> findByTrainerType(String trainerType, int offset, int limit) {
+        return slice(byTrainerType.get(trainerType), offset, limit);
+    }
+
+    /**
+     * Obtient une page des dresseurs d'une stratégie donnée, dans l'ordre d'ajout.
+     *
+     * @param strategy Stratégie (ex: "Équilibré")
+     * @param offset Nombre de dresseurs à sauter
+     * @param limit Taille maximale de la page
+     * @return Dresseurs de la page
+     */
+    public List<IATrainer> findByStrategy(String strategy, int offset, int limit) {
+        return slice(byStrategy.get(strategy), offset, limit);
+    }
+
+    /**
+     * Obtient une page des chefs de gym, dans l'ordre d'ajout.
+     *
+     * @param offset Nombre de dresseurs à sauter
+     * @param limit Taille maximale de la page
+     * @return Chefs de gym de la page
+     */
+    public List<IATrainer> findGymLeaders(int offset, int limit) {
+        return slice(gymLeaders, offset, limit);
+    }
+
+    /**
+     * Obtient une page des dresseurs dont la difficulté est dans un intervalle, par difficulté
+     * croissante.
+     *
+     * @param minDifficulty Difficulté minimale (incluse)
+     * @param maxDifficulty Difficulté maximale (incluse)
+     * @param offset Nombre de dresseurs à sauter
+     * @param limit Taille maximale de la page
+     * @return Dresseurs de la page
+     */
+    public List<IATrainer> findByDifficulty(int minDifficulty, int maxDifficulty, int offset, int limit) {
+        return slice(range(byDifficulty, minDifficulty, maxDifficulty), offset, limit);
+    }
+
+    /**
+     * Obtient une page des dresseurs dont le niveau moyen de l'équipe est dans un intervalle,
+     * par niveau croissant.
+     *
+     * @param minLevel Niveau moyen minimal (inclus)
+     * @param maxLevel Niveau moyen maximal (inclus)
+     * @param offset Nombre de dresseurs à sauter
+     * @param limit Taille maximale de la page
+     * @return Dresseurs de la page
+     */
+    public List<IATrainer> findByAverageLevel(int minLevel, int maxLevel, int offset, int limit) {
+        return slice(range(byLevel, minLevel, maxLevel), offset, limit);
+    }
+
+    /**
+     * Calcule le niveau moyen (arrondi à l'inférieur) de l'équipe d'un dresseur.
+     *
+     * @param trainer Dresseur
+     * @return Niveau moyen, 0 pour une équipe vide
+     */
+    public static int averageLevel(Trainer trainer) {
+        int count = trainer.getCreatureCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += trainer.getCreature(i).getStats().getLevel();
+        }
+        return total / count;
+    }
+
+    private void index(Entry entry) {
+        all.add(entry);
+        byTrainerType.computeIfAbsent(entry.trainerType, k -> new ConcurrentSkipListSet<>(BY_SEQUENCE)).add(entry);
+        byStrategy.computeIfAbsent(entry.strategy, k -> new ConcurrentSkipListSet<>(BY_SEQUENCE)).add(entry);
+        if (entry.gymLeader) {
+            gymLeaders.add(entry);
+        }
+        byDifficulty.add(entry);
+        byLevel.add(entry);
+        byId.put(entry.trainer.getId(), entry); // En dernier : visible par identifiant une fois indexé
+    }
+
+    private void unindex(Entry entry) {
+        byId.remove(entry.trainer.getId()); // En premier : introuvable avant d'être retiré des index
+        all.remove(entry);
+        removeFrom(byTrainerType, entry.trainerType, entry);
+        removeFrom(byStrategy, entry.strategy, entry);
+        gymLeaders.remove(entry);
+        byDifficulty.remove(entry);
+        byLevel.remove(entry);
+    }
+
+    private static void removeFrom(Map<String, NavigableSet<Entry>> index, String key, Entry entry) {
+        NavigableSet<Entry> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static NavigableSet<Entry> range(NavigableSet<Entry> index, int min, int max) {
+        if (min > max) {
+            return Collections.emptyNavigableSet();
+        }
+        return index.subSet(new Entry(min, false), true, new Entry(max, true), true);
+    }
+
+    /**
+     * Extrait une page d'un index, sans parcourir ce qui suit la page.
+     */
+    private static List<IATrainer> slice(NavigableSet<Entry> entries, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Page invalide: " + offset + ", " + limit);
+        }
+
+        List<IATrainer> page = new ArrayList<>();
+        if (entries == null) {
+            return page;
+        }
+
+        Iterator<Entry> iterator = entries.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next().trainer);
+        }
+        return page;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cedric.game.characters;
 
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
 import game.items.Item;
 
 /**
@@ -68,6 +69,18 @@ public class PlayerTrainer extends Trainer {
      * @return true si la capture a réussi
      */
     public boolean captureCreature(Creature creature, int captureChance) {
+        return captureCreature(creature, captureChance, GameRandom.current());
+    }
+
+    /**
+     * Capture une créature sauvage en tirant dans un flux aléatoire donné.
+     *
+     * @param creature Créature à capturer
+     * @param captureChance Chance de capture (0-100)
+     * @param random Flux utilisé pour le jet de capture
+     * @return true si la capture a réussi
+     */
+    public boolean captureCreature(Creature creature, int captureChance, GameRandom random) {
         // Ajuster la chance de capture en fonction du rang du joueur
         captureChance += playerRank * 2;
 
@@ -82,7 +95,7 @@ public class PlayerTrainer extends Trainer {
         captureChance += (reputation - 50) / 10;
 
         // Effectuer le jet de capture
-        boolean success = (Math.random() * 100) < captureChance;
+        boolean success = (random.nextDouble() * 100) < captureChance;
 
         if (success) {
             // Ajouter la créature à l'équipe
@@ -98,6 +111,19 @@ public class PlayerTrainer extends Trainer {
         return success;
     }
 
+    /**
+     * Restaure la progression du joueur (depuis une sauvegarde).
+     *
+     * @param badges Nombre de badges
+     * @param playerRank Rang du joueur
+     * @param reputation Réputation du joueur
+     */
+    public void restoreProgress(int badges, int playerRank, int reputation) {
+        this.badges = badges;
+        this.playerRank = playerRank;
+        this.reputation = reputation;
+    }
+
     /**
      * Récupère le nombre de badges.
      *
@@ -5,6 +5,7 @@ import com.cedric.game.items.Inventory;
 import com.cedric.game.items.Item;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,6 +15,7 @@ public class Trainer {
     private String id;
     private String name;
     private List<Creature> creatures;
+    private List<Creature> creaturesView; // Vue en lecture seule de creatures
     private Inventory inventory;
     private int money;
     private int maxCreatures;
@@ -28,6 +30,7 @@ public class Trainer {
         this.id = id;
         this.name = name;
         this.creatures = new ArrayList<>();
+        this.creaturesView = Collections.unmodifiableList(creatures);
         this.inventory = new Inventory();
         this.money = 1000; // Montant de départ
         this.maxCreatures = 6; // Maximum standard
@@ -171,8 +174,21 @@ public class Trainer {
         this.name = name;
     }
 
+    /**
+     * Obtient les créatures, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements du dresseur
+     */
     public List<Creature> getCreatures() {
-        return new ArrayList<>(creatures);
+        return creaturesView;
+    }
+
+    public int getCreatureCount() {
+        return creatures.size();
+    }
+
+    public Creature getCreature(int index) {
+        return creatures.get(index);
     }
 
     public Inventory getInventory() {
@@ -0,0 +1,288 @@
+package com.cedric.game.core;
+
+import com.cedric.game.characters.PlayerTrainer;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sauvegarde automatique, sans bloquer la partie.
+ *
+ * Sur le thread de jeu, une demande encode l'état de la partie dans les sections du format de
+ * sauvegarde : c'est l'instantané, cohérent puisque la partie ne bouge pas pendant l'encodage
+ * (fait en parallèle, donc court). Un thread de fond écrit ensuite l'instantané dans un
+ * fichier temporaire, le synchronise sur disque et le renomme à la place de la sauvegarde.
+ *
+ * Les demandes plus rapprochées que l'intervalle minimal sont différées : la première demande
+ * (ou {@link #flushPending()}) après l'intervalle prend en compte toutes les modifications.
+ * Un instantané pas encore écrit est remplacé par un plus récent de la même sauvegarde.
+ *
+ * Une sauvegarde dont le journal est ouvert ({@link SaveJournal}) n'est pas réécrite : ses
+ * modifications sont déjà en route vers le disque, il suffit d'attendre le journal.
+ */
+public class AutosaveService implements Runnable {
+    private final GameManager gameManager;
+    private final String saveName;
+    private final long debounceNanos;
+    private final Map<String, Snapshot> pending = new ConcurrentHashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long lastSnapshotAt; // Propre au thread de jeu
+    private boolean requested; // Demande différée, propre au thread de jeu
+
+    // Mesures
+    private final AtomicLong snapshots = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong debounced = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalSnapshotNanos = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+    private volatile long lastSnapshotNanos;
+    private volatile long lastWriteNanos;
+
+    /**
+     * Instantané en attente d'écriture.
+     */
+    private static final class Snapshot {
+        private final String saveName;
+        private final SaveFormat.SectionWriter[] sections; // null si la sauvegarde est journalisée
+        private final SaveJournal journal;
+        private final CompletableFuture<Boolean> written = new CompletableFuture<>();
+
+        Snapshot(String saveName, SaveFormat.SectionWriter[] sections, SaveJournal journal) {
+            this.saveName = saveName;
+            this.sections = sections;
+            this.journal = journal;
+        }
+    }
+
+    /**
+     * Crée un service de sauvegarde automatique. Le thread de fond ne démarre qu'avec
+     * {@link #start()}.
+     *
+     * @param gameManager Partie à sauvegarder
+     * @param saveName Nom de la sauvegarde automatique
+     * @param debounceMillis Intervalle minimal entre deux instantanés automatiques
+     */
+    public AutosaveService(GameManager gameManager, String saveName, long debounceMillis) {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Intervalle invalide: " + debounceMillis);
+        }
+        this.gameManager = gameManager;
+        this.saveName = saveName;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.lastSnapshotAt = System.nanoTime() - debounceNanos;
+        this.thread = new Thread(this, "autosave");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Demande une sauvegarde automatique après une modification de la partie. À appeler depuis
+     * le thread de jeu.
+     *
+     * @return true si un instantané a été pris, false si la demande est différée
+     */
+    public boolean requestSave() {
+        long now = System.nanoTime();
+        if (now - lastSnapshotAt < debounceNanos) {
+            requested = true;
+            debounced.incrementAndGet();
+            return false;
+        }
+
+        lastSnapshotAt = now;
+        requested = false;
+        return submit(saveName) != null;
+    }
+
+    /**
+     * Prend l'instantané d'une demande différée si l'intervalle est écoulé. À appeler
+     * régulièrement depuis le thread de jeu.
+     *
+     * @return true si un instantané a été pris
+     */
+    public boolean flushPending() {
+        return requested && requestSave();
+    }
+
+    /**
+     * Prend tout de suite l'instantané d'une demande différée, sans attendre l'intervalle
+     * (avant de quitter par exemple). À appeler depuis le thread de jeu.
+     *
+     * @return Futur complété par true quand la sauvegarde est sur disque (ou s'il n'y avait
+     *         rien à sauvegarder), false en cas d'échec
+     */
+    public CompletableFuture<Boolean> flush() {
+        return requested ? save(saveName) : CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Sauvegarde la partie sous un nom donné, sans attendre l'intervalle. L'instantané est pris
+     * tout de suite (depuis le thread de jeu) ; l'écriture se fait en fond.
+     *
+     * @param targetName Nom de la sauvegarde
+     * @return Futur complété par true quand la sauvegarde est sur disque, false en cas d'échec
+     */
+    public CompletableFuture<Boolean> save(String targetName) {
+        if (targetName.equals(saveName)) {
+            lastSnapshotAt = System.nanoTime();
+            requested = false;
+        }
+
+        Snapshot snapshot = submit(targetName);
+        return snapshot != null ? snapshot.written : CompletableFuture.completedFuture(false);
+    }
+
+    @Override
+    public void run() {
+        while (running || !pending.isEmpty()) {
+            Iterator<String> names = pending.keySet().iterator();
+            if (!names.hasNext()) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            Snapshot snapshot = pending.remove(names.next());
+            if (snapshot != null) {
+                write(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Écrit les instantanés en attente puis arrête le thread de fond.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getSnapshotCount() {
+        return snapshots.get();
+    }
+
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * Obtient le nombre de demandes différées par l'intervalle minimal.
+     *
+     * @return Demandes différées
+     */
+    public long getDebouncedCount() {
+        return debounced.get();
+    }
+
+    /**
+     * Obtient le nombre d'instantanés remplacés par un plus récent avant d'être écrits.
+     *
+     * @return Instantanés remplacés
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Obtient la durée du dernier instantané, pendant laquelle le thread de jeu attend.
+     *
+     * @return Durée en nanosecondes
+     */
+    public long getLastSnapshotNanos() {
+        return lastSnapshotNanos;
+    }
+
+    public long getTotalSnapshotNanos() {
+        return totalSnapshotNanos.get();
+    }
+
+    /**
+     * Obtient la durée de la dernière écriture en fond (fichier temporaire, synchronisation
+     * disque, renommage).
+     *
+     * @return Durée en nanosecondes
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    public long getTotalWriteNanos() {
+        return totalWriteNanos.get();
+    }
+
+    /**
+     * Prend l'instantané et le confie au thread de fond.
+     *
+     * @return Instantané, ou null s'il n'y a pas de partie en cours
+     */
+    private Snapshot submit(String targetName) {
+        PlayerTrainer player = gameManager.getPlayer();
+        if (player == null || !running) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        SaveJournal journal = gameManager.getSaveJournal();
+        Snapshot snapshot;
+        if (journal != null && journal.getSaveName().equals(targetName)) {
+            snapshot = new Snapshot(targetName, null, journal);
+        } else {
+            snapshot = new Snapshot(targetName, SaveSystem.encodeSnapshot(player, gameManager.getNpcs()), null);
+        }
+        lastSnapshotNanos = System.nanoTime() - start;
+        totalSnapshotNanos.addAndGet(lastSnapshotNanos);
+        snapshots.incrementAndGet();
+
+        Snapshot replaced = pending.put(targetName, snapshot);
+        if (replaced != null) {
+            // L'instantané remplacé sera sur disque avec celui-ci
+            coalesced.incrementAndGet();
+            snapshot.written.whenComplete((success, error) -> replaced.written.complete(Boolean.TRUE.equals(success)));
+        }
+        LockSupport.unpark(thread);
+        return snapshot;
+    }
+
+    private void write(Snapshot snapshot) {
+        long start = System.nanoTime();
+        boolean success;
+        SaveJournal journal = gameManager.getSaveJournal();
+        if (snapshot.journal != null) {
+            success = snapshot.journal.sync();
+        } else if (journal != null && journal.getSaveName().equals(snapshot.saveName)) {
+            // Sauvegarde complète plus récente faite entre-temps, suivie de son journal
+            success = journal.sync();
+        } else {
+            success = SaveSystem.writeSave(snapshot.saveName, snapshot.sections);
+        }
+
+        lastWriteNanos = System.nanoTime() - start;
+        totalWriteNanos.addAndGet(lastWriteNanos);
+        if (success) {
+            writes.incrementAndGet();
+        } else {
+            failures.incrementAndGet();
+        }
+        snapshot.written.complete(success);
+    }
+}
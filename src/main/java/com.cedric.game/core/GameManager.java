@@ -2,16 +2,28 @@ package com.cedric.game.core;
 
 import com.cedric.game.characters.PlayerTrainer;
 import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.NpcRegistry;
+import com.cedric.game.characters.Trainer;
 import com.cedric.game.core.battle.Battle;
 import com.cedric.game.core.battle.BattleManager;
+import com.cedric.game.core.battle.BattleMessage;
+import com.cedric.game.core.battle.Matchmaker;
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.CreatureFactory;
+import com.cedric.game.core.creature.WildSpawnBuffer;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.tournament.Tournament;
 import com.cedric.game.core.type.Type;
+import com.cedric.game.core.type.TypeRegistry;
 import com.cedric.game.items.Item;
 import com.cedric.game.items.ItemCategory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Gestionnaire principal du jeu, coordonne les différents systèmes.
@@ -21,22 +33,45 @@ public class GameManager {
     // Instance unique du gestionnaire (pattern Singleton)
     private static GameManager instance;
 
+    private static final String[] WILD_NAMES = {"Wilder", "Ferocio", "Sauvana", "Nativo", "Wildy"};
+    private static final int WILD_SPAWNS_PER_AREA = 16;
+    private static final int WILD_SPAWNS_LOW_WATER_MARK = 4;
+    private static final int MATCH_BASE_WINDOW = 10; // Un niveau moyen d'écart
+    private static final int MATCH_WIDEN_PER_SECOND = 10;
+    private static final int MATCH_MAX_WINDOW = 200;
+    private static final String AUTOSAVE_NAME = "autosave";
+    private static final long AUTOSAVE_DEBOUNCE_MILLIS = 30_000; // Au plus un instantané automatique toutes les 30 s
+
     // Composants principaux du jeu
     private PlayerTrainer player;
     private BattleManager battleManager;
+    private Matchmaker matchmaker; // File d'attente des combats par cote
     private List<Type> availableTypes;
-    private List<IATrainer> npcs;
-    private Random random;
+    private CreatureFactory creatureFactory; // Génération des créatures des PNJ et sauvages
+    private WildSpawnBuffer wildSpawns; // Créatures sauvages générées à l'avance, par zone
+    private final NpcRegistry npcs = new NpcRegistry(); // PNJ indexés par identifiant et par critères
+    private GameRandom random; // Flux aléatoire du monde
+    private Tournament lastTournament; // Dernier tournoi joué
+    private final Map<Battle, String> playerBattles = new ConcurrentHashMap<>(); // Adversaire de chaque combat du joueur ("" si sauvage)
+    private AutosaveService autosave; // Sauvegardes écrites en fond
+    private volatile SaveJournal journal; // Modifications depuis la dernière sauvegarde complète, null sans sauvegarde
 
     /**
      * Constructeur privé pour le pattern Singleton.
      * Initialise les composants de base du jeu.
      */
     private GameManager() {
-        this.battleManager = new BattleManager();
-        this.availableTypes = Type.createDefaultTypes();
-        this.npcs = new ArrayList<>();
-        this.random = new Random();
+        this.random = new GameRandom();
+        this.battleManager = new BattleManager(random.split());
+        this.battleManager.addBattleListener(new BattleJournal());
+        this.matchmaker = new Matchmaker(battleManager, MATCH_BASE_WINDOW, MATCH_WIDEN_PER_SECOND, MATCH_MAX_WINDOW);
+        this.availableTypes = TypeRegistry.getDefault().getTypes();
+        this.creatureFactory = new CreatureFactory(availableTypes);
+        this.wildSpawns = new WildSpawnBuffer(creatureFactory, Arrays.asList(WILD_NAMES),
+                WILD_SPAWNS_PER_AREA, WILD_SPAWNS_LOW_WATER_MARK, random.nextLong());
+        this.wildSpawns.start();
+        this.autosave = new AutosaveService(this, AUTOSAVE_NAME, AUTOSAVE_DEBOUNCE_MILLIS);
+        this.autosave.start();
     }
 
     /**
@@ -51,6 +86,16 @@ public class GameManager {
         return instance;
     }
 
+    /**
+     * Fixe la graine du monde, pour rejouer exactement une partie ou une génération.
+     *
+     * @param seed Graine du monde
+     */
+    public void setWorldSeed(long seed) {
+        this.random = new GameRandom(seed);
+        this.battleManager.setRandom(random.split());
+    }
+
     /**
      * Initialise une nouvelle partie.
      *
@@ -58,6 +103,7 @@ public class GameManager {
      * @param starterCreature Créature de départ
      */
     public void initializeNewGame(String playerName, Creature starterCreature) {
+        closeJournal(); // La nouvelle partie n'a pas encore de sauvegarde
         this.player = new PlayerTrainer("player_" + System.currentTimeMillis(), playerName);
 
         // Ajouter la créature de départ
@@ -83,6 +129,7 @@ public class GameManager {
      */
     public void initializeNewGameAdvanced(String playerName, Creature starterCreature,
                                           int startingMoney, int difficulty) {
+        closeJournal(); // La nouvelle partie n'a pas encore de sauvegarde
         this.player = new PlayerTrainer("player_" + System.currentTimeMillis(), playerName);
 
         // Ajouter la créature de départ
@@ -119,14 +166,14 @@ public class GameManager {
 
         // Exemple: Novice
         IATrainer novice = new IATrainer("trainer_novice", "Novice Nathan",
-                2, "Novice", "Aléatoire", false);
+                2, "Novice", "Aléatoire", false, random.split());
         Creature noviceCreature = generateRandomCreature("raccoon_01", "Racoono", 5);
         novice.addCreature(noviceCreature);
         npcs.add(novice);
 
         // Exemple: Scientifique
         IATrainer scientist = new IATrainer("trainer_scientist", "Scientifique Sophie",
-                4, "Scientifique", "Équilibré", false);
+                4, "Scientifique", "Équilibré", false, random.split());
         Creature scientistCreature1 = generateRandomCreature("owl_01", "Owloo", 8);
         Creature scientistCreature2 = generateRandomCreature("fox_01", "Foxxy", 7);
         scientist.addCreature(scientistCreature1);
@@ -135,7 +182,7 @@ public class GameManager {
 
         // Exemple: Chef de gym
         IATrainer gymLeader = new IATrainer("gym_leader_1", "Chef Cynthia",
-                8, "Chef de Gym", "Intelligent", true);
+                8, "Chef de Gym", "Intelligent", true, random.split());
         Creature gymCreature1 = generateRandomCreature("gym_creature_1", "Pyroar", 15);
         Creature gymCreature2 = generateRandomCreature("gym_creature_2", "Volcania", 16);
         Creature gymCreature3 = generateRandomCreature("gym_creature_3", "Emberon", 17);
@@ -167,7 +214,8 @@ public class GameManager {
                     1 + difficultyFactor,
                     "Novice",
                     "Aléatoire",
-                    false
+                    false,
+                    random.split()
             );
 
             // Ajouter 1-2 créatures de niveau bas
@@ -192,7 +240,8 @@ public class GameManager {
                     3 + difficultyFactor,
                     getRandomTrainerType(),
                     "Équilibré",
-                    false
+                    false,
+                    random.split()
             );
 
             // Ajouter 2-3 créatures de niveau moyen
@@ -217,7 +266,8 @@ public class GameManager {
                     5 + difficultyFactor,
                     "Expert",
                     "Intelligent",
-                    false
+                    false,
+                    random.split()
             );
 
             // Ajouter 3-4 créatures de niveau élevé
@@ -242,7 +292,8 @@ public class GameManager {
                     7 + difficultyFactor,
                     "Chef de Gym",
                     "Intelligent",
-                    true
+                    true,
+                    random.split()
             );
 
             // Ajouter 4-6 créatures de niveau élevé
@@ -293,47 +344,7 @@ public class GameManager {
      * @return Créature générée
      */
     public Creature generateRandomCreature(String id, String name, int level) {
-        // Sélectionner un type aléatoire
-        Type primaryType = availableTypes.get(random.nextInt(availableTypes.size()));
-
-        // Créer la créature
-        Creature creature = new Creature(id, name, primaryType);
-
-        // Simuler une montée en niveau
-        for (int i = 1; i < level; i++) {
-            creature.getStats().gainExperience(creature.getStats().getMaxXpNextLevel());
-        }
-
-        // Déverrouiller quelques compétences de base
-        List<String> rootSkillIds = new ArrayList<>();
-        for (game.core.skill.SkillNode node : creature.getSkillTree().getRootNodes()) {
-            rootSkillIds.add(node.getId());
-        }
-
-        // Débloquer les compétences racines et quelques-unes supplémentaires
-        for (String nodeId : rootSkillIds) {
-            creature.unlockSkillNode(nodeId);
-        }
-
-        // Ajouter des compétences aléatoires selon le niveau
-        List<game.core.skill.SkillNode> availableNodes = creature.getSkillTree().getAvailableNodes();
-        int additionalSkills = Math.min(level / 3, availableNodes.size());
-
-        for (int i = 0; i < additionalSkills && !availableNodes.isEmpty(); i++) {
-            int randomIndex = random.nextInt(availableNodes.size());
-            creature.unlockSkillNode(availableNodes.get(randomIndex).getId());
-
-            // Mettre à jour les nœuds disponibles
-            availableNodes = creature.getSkillTree().getAvailableNodes();
-        }
-
-        // Équiper des compétences (jusqu'à 4)
-        List<game.core.skill.Skill> unlockedSkills = creature.getSkillTree().getUnlockedSkills();
-        for (int i = 0; i < Math.min(4, unlockedSkills.size()); i++) {
-            creature.equipSkill(unlockedSkills.get(i));
-        }
-
-        return creature;
+        return creatureFactory.createRandom(id, name, level, random);
     }
 
     /**
@@ -346,58 +357,7 @@ public class GameManager {
      * @return Créature générée
      */
     public Creature generateCreatureWithType(String id, String name, int level, String typeName) {
-        // Trouver le type demandé
-        Type selectedType = null;
-        for (Type type : availableTypes) {
-            if (type.getName().equalsIgnoreCase(typeName)) {
-                selectedType = type;
-                break;
-            }
-        }
-
-        // Si le type n'est pas trouvé, utiliser le premier disponible
-        if (selectedType == null && !availableTypes.isEmpty()) {
-            selectedType = availableTypes.get(0);
-        }
-
-        // Créer la créature avec le type spécifié
-        Creature creature = new Creature(id, name, selectedType);
-
-        // Simuler une montée en niveau
-        for (int i = 1; i < level; i++) {
-            creature.getStats().gainExperience(creature.getStats().getMaxXpNextLevel());
-        }
-
-        // Déverrouiller quelques compétences de base
-        List<String> rootSkillIds = new ArrayList<>();
-        for (game.core.skill.SkillNode node : creature.getSkillTree().getRootNodes()) {
-            rootSkillIds.add(node.getId());
-        }
-
-        // Débloquer les compétences racines et quelques-unes supplémentaires
-        for (String nodeId : rootSkillIds) {
-            creature.unlockSkillNode(nodeId);
-        }
-
-        // Ajouter des compétences aléatoires selon le niveau
-        List<game.core.skill.SkillNode> availableNodes = creature.getSkillTree().getAvailableNodes();
-        int additionalSkills = Math.min(level / 3, availableNodes.size());
-
-        for (int i = 0; i < additionalSkills && !availableNodes.isEmpty(); i++) {
-            int randomIndex = random.nextInt(availableNodes.size());
-            creature.unlockSkillNode(availableNodes.get(randomIndex).getId());
-
-            // Mettre à jour les nœuds disponibles
-            availableNodes = creature.getSkillTree().getAvailableNodes();
-        }
-
-        // Équiper des compétences (jusqu'à 4)
-        List<game.core.skill.Skill> unlockedSkills = creature.getSkillTree().getUnlockedSkills();
-        for (int i = 0; i < Math.min(4, unlockedSkills.size()); i++) {
-            creature.equipSkill(unlockedSkills.get(i));
-        }
-
-        return creature;
+        return creatureFactory.createWithType(id, name, level, typeName, random);
     }
 
     /**
@@ -407,21 +367,35 @@ public class GameManager {
      * @return Battle créée ou null si échec
      */
     public Battle startTrainerBattle(String opponentId) {
-        IATrainer opponent = null;
+        IATrainer opponent = npcs.get(opponentId);
 
-        // Trouver le dresseur
-        for (IATrainer npc : npcs) {
-            if (npc.getId().equals(opponentId)) {
-                opponent = npc;
-                break;
-            }
+        if (opponent == null) {
+            return null;
         }
 
-        if (opponent == null) {
+        Battle battle = battleManager.createBattle(player, opponent);
+        playerBattles.put(battle, opponentId);
+        return battle;
+    }
+
+    /**
+     * Commence le combat d'une paire formée par la file d'attente. À appeler depuis le thread du
+     * jeu, qui pilote ensuite le combat (la paire peut avoir été formée sur un autre thread).
+     *
+     * @param match Paire comprenant le joueur
+     * @return Battle créée ou null si échec
+     */
+    public Battle startMatchedBattle(Matchmaker.Match match) {
+        Trainer opponent = match.getTrainerA() == player ? match.getTrainerB() : match.getTrainerA();
+        if (player == null || opponent == player || match.isHosted()) {
             return null;
         }
 
-        return battleManager.createBattle(player, opponent);
+        Battle battle = battleManager.createBattle(player, opponent);
+        if (battle != null) {
+            playerBattles.put(battle, opponent.getId());
+        }
+        return battle;
     }
 
     /**
@@ -431,18 +405,21 @@ public class GameManager {
      * @return Battle créée
      */
     public Battle startWildBattle(int areaLevel) {
-        // Ajouter une variation aléatoire au niveau
-        int creatureLevel = Math.max(1, areaLevel + random.nextInt(3) - 1);
+        // Créature déjà générée en arrière-plan (niveau de la zone à un près, nom aléatoire)
+        Creature wildCreature = wildSpawns.take(areaLevel);
 
-        // Générer un ID et un nom aléatoires
-        String id = "wild_" + System.currentTimeMillis();
-        String[] names = {"Wilder", "Ferocio", "Sauvana", "Nativo", "Wildy"};
-        String name = names[random.nextInt(names.length)];
-
-        // Créer la créature
-        Creature wildCreature = generateRandomCreature(id, name, creatureLevel);
+        Battle battle = battleManager.createWildBattle(player, wildCreature);
+        playerBattles.put(battle, "");
+        return battle;
+    }
 
-        return battleManager.createWildBattle(player, wildCreature);
+    /**
+     * Prépare les créatures sauvages d'une zone avant qu'on y explore.
+     *
+     * @param areaLevel Niveau moyen de la zone
+     */
+    public void prepareWildArea(int areaLevel) {
+        wildSpawns.prepare(areaLevel);
     }
 
     /**
@@ -458,7 +435,8 @@ public class GameManager {
                 1, // Difficulté minimale
                 "Tutoriel",
                 "Aléatoire",
-                false
+                false,
+                random.split()
         );
 
         // Créer une créature très simple pour le tutoriel
@@ -471,22 +449,36 @@ public class GameManager {
         tutorialTrainer.addCreature(tutorialCreature);
 
         // Créer le combat
-        return battleManager.createBattle(player, tutorialTrainer);
+        Battle battle = battleManager.createBattle(player, tutorialTrainer);
+        playerBattles.put(battle, tutorialTrainer.getId());
+        return battle;
     }
     package com.cedric.game.core;
 
 import com.cedric.game.characters.PlayerTrainer;
 import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.NpcRegistry;
+import com.cedric.game.characters.Trainer;
 import com.cedric.game.core.battle.Battle;
 import com.cedric.game.core.battle.BattleManager;
+import com.cedric.game.core.battle.BattleMessage;
+import com.cedric.game.core.battle.Matchmaker;
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.CreatureFactory;
+import com.cedric.game.core.creature.WildSpawnBuffer;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.tournament.Tournament;
 import com.cedric.game.core.type.Type;
+import com.cedric.game.core.type.TypeRegistry;
 import com.cedric.game.items.Item;
 import com.cedric.game.items.ItemCategory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
     /**
      * Suite de la classe GameManager.
@@ -559,13 +551,14 @@ import java.util.Random;
         }
 
         /**
-         * Ajoute un PNJ à la liste des PNJ disponibles.
+         * Ajoute un PNJ à la liste des PNJ disponibles. Si son identifiant est déjà enregistré,
+         * ses clés d'index sont relevées à nouveau (son équipe a pu changer).
          *
          * @param npc PNJ à ajouter
          */
         public void addNPC(IATrainer npc) {
-            if (npc != null && !npcs.contains(npc)) {
-                npcs.add(npc);
+            if (npc != null && !npcs.add(npc)) {
+                npcs.reindex(npc.getId());
             }
         }
 
@@ -576,13 +569,7 @@ import java.util.Random;
          * @return true si le PNJ a été trouvé et supprimé
          */
         public boolean removeNPC(String npcId) {
-            for (int i = 0; i < npcs.size(); i++) {
-                if (npcs.get(i).getId().equals(npcId)) {
-                    npcs.remove(i);
-                    return true;
-                }
-            }
-            return false;
+            return npcs.remove(npcId) != null;
         }
 
         /**
@@ -592,12 +579,43 @@ import java.util.Random;
          * @return PNJ trouvé ou null
          */
         public IATrainer findNPCById(String npcId) {
-            for (IATrainer npc : npcs) {
-                if (npc.getId().equals(npcId)) {
-                    return npc;
-                }
-            }
-            return null;
+            return npcs.get(npcId);
+        }
+
+        /**
+         * Obtient tous les PNJ, dans l'ordre d'ajout.
+         *
+         * @return Copie de la liste des PNJ
+         */
+        public List<IATrainer> getNpcs() {
+            return npcs.getAll();
+        }
+
+        /**
+         * Remplace tous les PNJ (chargement d'une sauvegarde).
+         *
+         * @param npcs Nouveaux PNJ
+         */
+        public void setNpcs(List<IATrainer> npcs) {
+            this.npcs.replaceAll(npcs);
+        }
+
+        /**
+         * Obtient le registre des PNJ, pour les recherches indexées et paginées.
+         *
+         * @return Registre des PNJ
+         */
+        public NpcRegistry getNpcRegistry() {
+            return npcs;
+        }
+
+        /**
+         * Obtient le flux aléatoire du monde, pour les tirages faits hors du gestionnaire.
+         *
+         * @return Flux aléatoire du monde
+         */
+        public GameRandom getRandom() {
+            return random;
         }
 
         /**
@@ -623,7 +641,18 @@ import java.util.Random;
          * @return true si la sauvegarde a réussi
          */
         public boolean saveGame(String saveName) {
-            return SaveSystem.saveGame(this, saveName);
+            SaveJournal current = journal;
+            if (current != null && current.getSaveName().equals(saveName)) {
+                // Sauvegarde complète déjà sur disque : seules les modifications en attente sont écrites
+                return current.sync();
+            }
+
+            closeJournal();
+            if (!SaveSystem.saveGame(this, saveName)) {
+                return false;
+            }
+            openJournal(saveName);
+            return true;
         }
 
         /**
@@ -633,18 +662,142 @@ import java.util.Random;
          * @return true si le chargement a réussi
          */
         public boolean loadGame(String saveName) {
+            closeJournal();
             GameManager loadedManager = SaveSystem.loadGame(saveName);
 
             if (loadedManager != null) {
                 // Transférer les données chargées à l'instance actuelle
                 this.player = loadedManager.getPlayer();
-                this.npcs = loadedManager.getNpcs();
+                this.npcs.replaceAll(loadedManager.getNpcs());
+                openJournal(saveName);
                 return true;
             }
 
             return false;
         }
 
+        /**
+         * Obtient le service de sauvegarde automatique, qui écrit les sauvegardes en fond.
+         *
+         * @return Service de sauvegarde automatique
+         */
+        public AutosaveService getAutosave() {
+            return autosave;
+        }
+
+        /**
+         * Obtient le journal de la sauvegarde en cours.
+         *
+         * @return Journal, ou null si la partie n'a pas encore été sauvegardée
+         */
+        public SaveJournal getSaveJournal() {
+            return journal;
+        }
+
+        /**
+         * Enregistre dans le journal la progression du joueur (argent, badges, réputation).
+         */
+        public void recordPlayerProgress() {
+            SaveJournal current = journal;
+            if (current != null && player != null) {
+                current.recordPlayerProgress(player);
+            }
+        }
+
+        /**
+         * Enregistre dans le journal l'état d'une créature du joueur (soins, XP...).
+         *
+         * @param creature Créature du joueur modifiée
+         */
+        public void recordCreatureState(Creature creature) {
+            SaveJournal current = journal;
+            if (current != null && player != null) {
+                current.recordCreatureState(player, creature);
+            }
+        }
+
+        /**
+         * Enregistre dans le journal une créature capturée par le joueur.
+         *
+         * @param creature Créature capturée
+         */
+        public void recordCapture(Creature creature) {
+            SaveJournal current = journal;
+            if (current != null && player != null) {
+                current.recordCreatureAdded(player, creature);
+                current.recordPlayerProgress(player); // Réputation gagnée à la capture
+            }
+        }
+
+        private void openJournal(String saveName) {
+            try {
+                journal = SaveSystem.openJournal(saveName);
+            } catch (IOException e) {
+                // Sans journal, la prochaine sauvegarde sera complète
+                System.err.println("Erreur lors de l'ouverture du journal: " + e.getMessage());
+                journal = null;
+            }
+        }
+
+        private void closeJournal() {
+            SaveJournal current = journal;
+            journal = null;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    System.err.println("Erreur lors de la fermeture du journal: " + e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Enregistre dans le journal l'issue des combats du joueur : état des créatures des
+         * deux camps, et PNJ battu en cas de victoire.
+         */
+        private class BattleJournal implements BattleManager.BattleListener {
+            @Override
+            public void onBattleCreated(Battle battle) {
+            }
+
+            @Override
+            public void onBattleCompleted(Battle battle, Battle.BattleState result) {
+                String opponentId = playerBattles.remove(battle);
+                if (opponentId == null) {
+                    return; // Combat sans le joueur
+                }
+                npcs.reindex(opponentId); // L'adversaire a pu gagner de l'expérience
+
+                SaveJournal current = journal;
+                if (current == null) {
+                    return; // Partie pas encore sauvegardée
+                }
+
+                for (Creature creature : battle.getTeamA()) {
+                    current.recordCreatureState(player, creature);
+                }
+
+                IATrainer opponent = npcs.get(opponentId);
+                if (opponent != null) {
+                    for (Creature creature : battle.getTeamB()) {
+                        current.recordCreatureState(opponent, creature);
+                    }
+                    if (result == Battle.BattleState.TEAM_A_VICTORY) {
+                        current.recordNpcDefeated(opponent, player);
+                    }
+                }
+            }
+
+            @Override
+            public void onBattleMessage(String message) {
+            }
+
+            @Override
+            public void onBattleEvent(BattleMessage message) {
+                // Rien à afficher : aucun texte n'est construit
+            }
+        }
+
         /**
          * Liste toutes les sauvegardes disponibles.
          *
@@ -686,9 +839,11 @@ import java.util.Random;
         }
 
         /**
-         * Crée un événement de tournoi.
+         * Crée un événement de tournoi entre PNJ. Le joueur n'y participe pas : ses créatures
+         * seraient soignées, combattraient et gagneraient de l'expérience sans qu'il l'ait choisi.
+         * Le résultat est disponible par {@link #getLastTournament()}, pour l'interface.
          *
-         * @return true si le tournoi a été créé
+         * @return true si le tournoi a été joué
          */
         private boolean createTournament() {
             // Création d'un tournoi avec plusieurs dresseurs
@@ -702,7 +857,8 @@ import java.util.Random;
                         5 + i/2, // Difficulté croissante
                         "Tournoi",
                         i < 3 ? "Équilibré" : "Intelligent",
-                        false
+                        false,
+                        random.split()
                 );
 
                 // Ajouter 3-6 créatures par dresseur
@@ -718,13 +874,51 @@ import java.util.Random;
             }
 
             // Stocker les dresseurs de tournoi
+            List<Trainer> entrants = new ArrayList<>();
             for (IATrainer trainer : tournamentTrainers) {
                 addNPC(trainer);
+                entrants.add(trainer);
+            }
+
+            // Jouer le tournoi (élimination directe)
+            lastTournament = new Tournament(entrants, Tournament.Format.SINGLE_ELIMINATION, random.nextLong());
+            lastTournament.run();
+
+            // Les matchs ont fait gagner de l'expérience : niveau moyen à relever
+            for (IATrainer trainer : tournamentTrainers) {
+                npcs.reindex(trainer.getId());
             }
 
             return true;
         }
 
+        /**
+         * Obtient le dernier tournoi joué.
+         *
+         * @return Dernier tournoi, ou null si aucun tournoi n'a eu lieu
+         */
+        public Tournament getLastTournament() {
+            return lastTournament;
+        }
+
+        /**
+         * Obtient la fabrique de créatures (génération directe ou en masse).
+         *
+         * @return Fabrique du jeu
+         */
+        public CreatureFactory getCreatureFactory() {
+            return creatureFactory;
+        }
+
+        /**
+         * Obtient la file d'attente des combats, qui associe joueurs et PNJ de force proche.
+         *
+         * @return File d'attente du jeu
+         */
+        public Matchmaker getMatchmaker() {
+            return matchmaker;
+        }
+
         /**
          * Crée un événement d'essaim de créatures sauvages.
          *
@@ -770,7 +964,7 @@ import java.util.Random;
 
             // Niveau élevé
             for (int i = 1; i < 20; i++) {
-                rareCreature.getStats().gainExperience(rareCreature.getStats().getMaxXpNextLevel());
+                rareCreature.getStats().gainExperience(rareCreature.getStats().getMaxXpNextLevel(), random);
             }
 
             // Ajouter des compétences spéciales
@@ -15,6 +15,7 @@ import java.util.Scanner;
 public class Main {
     private static Scanner scanner = new Scanner(System.in);
     private static GameManager gameManager;
+    private static final int[] AREA_LEVELS = {3, 5, 8}; // Forêt, plaine, grotte
 
     /**
      * Méthode principale.
@@ -52,8 +53,16 @@ public class Main {
                     System.out.println("Merci d'avoir joué! À bientôt.");
                     break;
             }
+
+            // Instantané après chaque action (au plus un par intervalle), écrit en fond
+            if (running) {
+                gameManager.getAutosave().requestSave();
+            }
         }
 
+        // Dernières modifications : instantané immédiat, attendu avant de quitter
+        gameManager.getAutosave().flush();
+        gameManager.getAutosave().shutdown();
         scanner.close();
     }
 
@@ -164,6 +173,11 @@ public class Main {
         System.out.println("4. Retour");
         System.out.print("Votre choix: ");
 
+        // Générer les créatures sauvages des zones pendant que le joueur choisit
+        for (int areaLevel : AREA_LEVELS) {
+            gameManager.prepareWildArea(areaLevel);
+        }
+
         int choice = getIntInput(1, 4);
 
         if (choice == 4) {
@@ -173,15 +187,15 @@ public class Main {
         int areaLevel;
         switch (choice) {
             case 1:
-                areaLevel = 3;
+                areaLevel = AREA_LEVELS[0];
                 System.out.println("Vous explorez la Forêt Verdoyante...");
                 break;
             case 2:
-                areaLevel = 5;
+                areaLevel = AREA_LEVELS[1];
                 System.out.println("Vous explorez la Plaine Ensoleillée...");
                 break;
             case 3:
-                areaLevel = 8;
+                areaLevel = AREA_LEVELS[2];
                 System.out.println("Vous explorez la Grotte Humide...");
                 break;
             default:
@@ -197,6 +211,7 @@ public class Main {
             System.out.println("Vous avez exploré la zone sans rencontrer de créature.");
             System.out.println("Vous trouvez un petit trésor! +50¤");
             gameManager.getPlayer().setMoney(gameManager.getPlayer().getMoney() + 50);
+            gameManager.recordPlayerProgress();
         }
     }
 
@@ -500,9 +515,11 @@ public class Main {
 
                     if (choice == 1) {
                         Creature wildCreature = battle.getActiveCreatureB();
-                        boolean captured = gameManager.getPlayer().captureCreature(wildCreature, 50);
+                        boolean captured = gameManager.getPlayer().captureCreature(
+                                wildCreature, 50, gameManager.getRandom());
 
                         if (captured) {
+                            gameManager.recordCapture(wildCreature);
                             System.out.println("Félicitations! Vous avez capturé " + wildCreature.getName() + "!");
                         } else {
                             System.out.println("La capture a échoué. La créature s'est enfuie!");
@@ -512,6 +529,7 @@ public class Main {
                     // Récompenses pour avoir battu un dresseur
                     int rewardMoney = 100 * battle.getCurrentTurn();
                     gameManager.getPlayer().setMoney(gameManager.getPlayer().getMoney() + rewardMoney);
+                    gameManager.recordPlayerProgress();
                     System.out.println("Vous avez gagné " + rewardMoney + "¤!");
                 }
 
@@ -526,6 +544,7 @@ public class Main {
                 for (Creature creature : gameManager.getPlayer().getCreatures()) {
                     int halfHealth = creature.getStats().getMaxHealth() / 2;
                     creature.getStats().setHealth(halfHealth);
+                    gameManager.recordCreatureState(creature);
                 }
                 break;
 
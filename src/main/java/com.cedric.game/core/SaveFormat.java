@@ -0,0 +1,656 @@
+package com.cedric.game.core;
+
+import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.PlayerTrainer;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.Statistics;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.skill.SkillEffect;
+import com.cedric.game.core.skill.SkillTree;
+import com.cedric.game.core.skill.SkillTreeTemplate;
+import com.cedric.game.core.type.Type;
+import com.cedric.game.core.type.TypeRegistry;
+import com.cedric.game.items.Inventory;
+import com.cedric.game.items.Item;
+import com.cedric.game.items.ItemCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format binaire des sauvegardes, partagé par {@link SaveSystem} (écriture) et
+ * {@link SaveReader} (lecture).
+ *
+ * Un fichier se compose de :
+ * <ul>
+ *     <li>un en-tête : signature, version du schéma, nombre de sections ;</li>
+ *     <li>un répertoire : type, position et longueur de chaque section ;</li>
+ *     <li>les sections (joueur, inventaire, PNJ par lots, position dans le journal),
+ *     indépendantes les unes des autres pour être encodées et décodées en parallèle.</li>
+ * </ul>
+ * Une section commence par sa table de chaînes (nombre, positions, octets UTF-8) : les
+ * identifiants, noms et types n'y figurent qu'une fois et sont ensuite désignés par leur rang.
+ * Viennent ensuite ses champs propres (entiers variables, zigzag pour les valeurs signées) puis
+ * ses créatures : une fiche de taille fixe par créature, lisible directement à sa position,
+ * suivie des parties variables (types, nœuds débloqués, compétences équipées).
+ *
+ * Les entiers de taille fixe sont en gros-boutiste. Un lecteur ignore les types de section
+ * qu'il ne connaît pas.
+ */
+final class SaveFormat {
+    static final int MAGIC = 0x43534156; // "CSAV"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8; // Signature, version (16 bits), nombre de sections (16 bits)
+    static final int DIRECTORY_ENTRY_SIZE = 16; // Type (32 bits), position (64 bits), longueur (32 bits)
+
+    // Types de section
+    static final int SECTION_PLAYER = 1;
+    static final int SECTION_INVENTORY = 2;
+    static final int SECTION_NPCS = 3;
+    static final int SECTION_JOURNAL = 4; // Premier segment du journal à rejouer
+
+    // Champs de la fiche fixe d'une créature (entiers 32 bits)
+    static final int FIELD_ID = 0;
+    static final int FIELD_NAME = 1;
+    static final int FIELD_LEVEL = 2;
+    static final int FIELD_XP = 3;
+    static final int FIELD_MAX_XP = 4;
+    static final int FIELD_HEALTH = 5;
+    static final int FIELD_MAX_HEALTH = 6;
+    static final int FIELD_VITALITY = 7;
+    static final int FIELD_MAX_VITALITY = 8;
+    static final int FIELD_VITAL_ENERGY = 9;
+    static final int FIELD_MAX_VITAL_ENERGY = 10;
+    static final int FIELD_STRENGTH = 11;
+    static final int FIELD_CONSTITUTION = 12;
+    static final int FIELD_SPIRIT = 13;
+    static final int FIELD_MENTAL = 14;
+    static final int FIELD_SPEED = 15;
+    static final int FIELD_SKILL_POINTS = 16;
+    static final int FIELD_ACTION_POINTS = 17;
+    static final int FIELD_MAX_ACTION_POINTS = 18;
+    static final int FIELD_TAIL = 19; // Position de la partie variable
+    static final int RECORD_SIZE = 20 * 4;
+
+    private static final ItemCategory[] ITEM_CATEGORIES = ItemCategory.values();
+
+    private SaveFormat() {
+    }
+
+    /**
+     * Tampon d'écriture extensible.
+     */
+    static final class Writer {
+        private byte[] bytes;
+        private int size;
+
+        Writer(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            long remaining = value & 0xFFFFFFFFL;
+            while ((remaining & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            bytes[size++] = (byte) remaining;
+        }
+
+        void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31)); // Zigzag
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] source) {
+            ensureCapacity(source.length);
+            System.arraycopy(source, 0, bytes, size, source.length);
+            size += source.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Enveloppe le contenu sans copie.
+         */
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Section en cours d'encodage : table de chaînes, champs propres et créatures.
+     * Chaque section a son propre encodeur, utilisable par un seul thread.
+     */
+    static final class SectionWriter {
+        private final int kind;
+        private final Map<String, Integer> stringRefs = new HashMap<>();
+        private final Writer stringOffsets = new Writer(256);
+        private final Writer strings = new Writer(1024);
+        private final Writer info = new Writer(256);
+        private final Writer records = new Writer(1024);
+        private final Writer tails = new Writer(1024);
+        private int creatureCount;
+
+        SectionWriter(int kind) {
+            this.kind = kind;
+            stringOffsets.writeInt(0);
+        }
+
+        int getKind() {
+            return kind;
+        }
+
+        /**
+         * Obtient les champs propres de la section, à remplir par l'appelant.
+         */
+        Writer info() {
+            return info;
+        }
+
+        /**
+         * Écrit une référence de chaîne dans les champs propres (0 pour null).
+         */
+        void writeString(String value) {
+            info.writeVarInt(ref(value));
+        }
+
+        /**
+         * Ajoute une créature à la section.
+         *
+         * @param creature Créature à enregistrer
+         */
+        void writeCreature(Creature creature) {
+            Statistics stats = creature.getStats();
+            int[] fields = new int[RECORD_SIZE / 4];
+            fields[FIELD_ID] = ref(creature.getId());
+            fields[FIELD_NAME] = ref(creature.getName());
+            fields[FIELD_LEVEL] = stats.getLevel();
+            fields[FIELD_XP] = stats.getXp();
+            fields[FIELD_MAX_XP] = stats.getMaxXpNextLevel();
+            fields[FIELD_HEALTH] = stats.getHealth();
+            fields[FIELD_MAX_HEALTH] = stats.getMaxHealth();
+            fields[FIELD_VITALITY] = stats.getVitality();
+            fields[FIELD_MAX_VITALITY] = stats.getMaxVitality();
+            fields[FIELD_VITAL_ENERGY] = stats.getVitalEnergy();
+            fields[FIELD_MAX_VITAL_ENERGY] = stats.getMaxVitalEnergy();
+            fields[FIELD_STRENGTH] = stats.getBaseStat(SkillEffect.StatisticType.STRENGTH);
+            fields[FIELD_CONSTITUTION] = stats.getBaseStat(SkillEffect.StatisticType.CONSTITUTION);
+            fields[FIELD_SPIRIT] = stats.getBaseStat(SkillEffect.StatisticType.SPIRIT);
+            fields[FIELD_MENTAL] = stats.getBaseStat(SkillEffect.StatisticType.MENTAL);
+            fields[FIELD_SPEED] = stats.getBaseStat(SkillEffect.StatisticType.SPEED);
+            fields[FIELD_SKILL_POINTS] = creature.getSkillPoints();
+            fields[FIELD_ACTION_POINTS] = creature.getCurrentActionPoints();
+            fields[FIELD_MAX_ACTION_POINTS] = creature.getMaxActionPoints();
+            fields[FIELD_TAIL] = tails.size();
+            for (int field : fields) {
+                records.writeInt(field);
+            }
+
+            // Partie variable : types, nœuds débloqués, compétences équipées et leur progression
+            List<Type> types = stats.getTypes();
+            tails.writeVarInt(types.size());
+            for (int i = 0; i < types.size(); i++) {
+                tails.writeVarInt(ref(types.get(i).getName()));
+            }
+
+            SkillTree skillTree = creature.getSkillTree();
+            SkillTreeTemplate template = skillTree.getTemplate();
+            tails.writeVarInt(skillTree.getUnlockedNodeCount());
+            for (int i = 0; i < template.getNodeCount(); i++) {
+                if (skillTree.isUnlocked(template.getNode(i))) {
+                    tails.writeVarInt(ref(template.getNode(i).getId()));
+                }
+            }
+
+            tails.writeVarInt(creature.getActiveSkillCount());
+            for (int i = 0; i < creature.getActiveSkillCount(); i++) {
+                Skill skill = creature.getActiveSkill(i);
+                tails.writeVarInt(ref(skill.getId()));
+                tails.writeSignedVarInt(skill.getLevel());
+                tails.writeSignedVarInt(skill.getExperience());
+                tails.writeSignedVarInt(skill.getExperienceToNextLevel());
+                tails.writeSignedVarInt(skill.getPower());
+                tails.writeSignedVarInt(skill.getAccuracy());
+                tails.writeSignedVarInt(skill.getActionPointCost());
+            }
+            creatureCount++;
+        }
+
+        /**
+         * Obtient les tampons de la section, dans l'ordre du fichier (sans copie du contenu).
+         */
+        List<ByteBuffer> toBuffers() {
+            List<ByteBuffer> buffers = new ArrayList<>(8);
+            buffers.add(intBuffer(stringRefs.size()));
+            buffers.add(stringOffsets.toByteBuffer());
+            buffers.add(strings.toByteBuffer());
+            buffers.add(intBuffer(info.size()));
+            buffers.add(info.toByteBuffer());
+            buffers.add(intBuffer(creatureCount));
+            buffers.add(records.toByteBuffer());
+            buffers.add(tails.toByteBuffer());
+            return buffers;
+        }
+
+        long length() {
+            return 12L + stringOffsets.size() + strings.size() + info.size() + records.size() + tails.size();
+        }
+
+        /**
+         * Obtient le rang d'une chaîne dans la table, en l'y ajoutant au besoin.
+         *
+         * @return Rang + 1, ou 0 pour null
+         */
+        private int ref(String value) {
+            if (value == null) {
+                return 0;
+            }
+
+            Integer existing = stringRefs.get(value);
+            if (existing != null) {
+                return existing;
+            }
+
+            strings.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            stringOffsets.writeInt(strings.size());
+            int ref = stringRefs.size() + 1;
+            stringRefs.put(value, ref);
+            return ref;
+        }
+
+        private static ByteBuffer intBuffer(int value) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            buffer.putInt(0, value);
+            return buffer;
+        }
+    }
+
+    /**
+     * Encode la section du joueur : identité, progression et créatures.
+     */
+    static SectionWriter encodePlayer(PlayerTrainer player) {
+        SectionWriter section = new SectionWriter(SECTION_PLAYER);
+        section.writeString(player.getId());
+        section.writeString(player.getName());
+        Writer info = section.info();
+        info.writeSignedVarInt(player.getMoney());
+        info.writeSignedVarInt(player.getBadges());
+        info.writeSignedVarInt(player.getPlayerRank());
+        info.writeSignedVarInt(player.getReputation());
+        info.writeSignedVarInt(player.getMaxCreatures());
+
+        for (int i = 0; i < player.getCreatureCount(); i++) {
+            section.writeCreature(player.getCreature(i));
+        }
+        return section;
+    }
+
+    /**
+     * Encode la section de l'inventaire : capacité puis objets et quantités.
+     */
+    static SectionWriter encodeInventory(Inventory inventory) {
+        SectionWriter section = new SectionWriter(SECTION_INVENTORY);
+        Writer info = section.info();
+        Map<Item, Integer> items = inventory.getItemsWithQuantities();
+        info.writeSignedVarInt(inventory.getMaxCapacity());
+        info.writeVarInt(items.size());
+
+        for (Map.Entry<Item, Integer> entry : items.entrySet()) {
+            Item item = entry.getKey();
+            section.writeString(item.getId());
+            section.writeString(item.getName());
+            section.writeString(item.getDescription());
+            info.writeSignedVarInt(item.getValue());
+            info.writeVarInt(item.getCategory() != null ? item.getCategory().ordinal() + 1 : 0);
+            info.writeByte(item.isConsumable() ? 1 : 0);
+            info.writeSignedVarInt(entry.getValue());
+        }
+        return section;
+    }
+
+    /**
+     * Encode un lot de PNJ et leurs créatures.
+     */
+    static SectionWriter encodeNpcs(List<IATrainer> npcs) {
+        SectionWriter section = new SectionWriter(SECTION_NPCS);
+        Writer info = section.info();
+        info.writeVarInt(npcs.size());
+
+        for (IATrainer npc : npcs) {
+            section.writeString(npc.getId());
+            section.writeString(npc.getName());
+            info.writeSignedVarInt(npc.getDifficulty());
+            section.writeString(npc.getTrainerType());
+            section.writeString(npc.getStrategyType());
+            info.writeByte(npc.isGymLeader() ? 1 : 0);
+            info.writeSignedVarInt(npc.getMaxCreatures());
+            info.writeVarInt(npc.getCreatureCount());
+
+            for (int i = 0; i < npc.getCreatureCount(); i++) {
+                section.writeCreature(npc.getCreature(i));
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Encode la position dans le journal : les segments à partir de ce numéro ne sont pas
+     * intégrés à la sauvegarde.
+     */
+    static SectionWriter encodeJournalStart(int firstSegment) {
+        SectionWriter section = new SectionWriter(SECTION_JOURNAL);
+        section.info().writeVarInt(firstSegment);
+        return section;
+    }
+
+    /**
+     * Lit le premier segment du journal à rejouer.
+     */
+    static int readJournalStart(Section section) {
+        return readVarInt(section.info());
+    }
+
+    static ItemCategory itemCategory(int ordinal) {
+        return ITEM_CATEGORIES[ordinal];
+    }
+
+    /**
+     * Construit l'en-tête et le répertoire, suivis des tampons de toutes les sections,
+     * pour une écriture groupée.
+     */
+    static ByteBuffer[] layout(SectionWriter[] sections) {
+        int headerLength = HEADER_SIZE + sections.length * DIRECTORY_ENTRY_SIZE;
+        ByteBuffer header = ByteBuffer.allocate(headerLength);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) sections.length);
+
+        List<ByteBuffer> buffers = new ArrayList<>(1 + sections.length * 8);
+        buffers.add(header);
+        long position = headerLength;
+        for (SectionWriter section : sections) {
+            header.putInt(section.getKind());
+            header.putLong(position);
+            header.putInt((int) section.length());
+            position += section.length();
+            buffers.addAll(section.toBuffers());
+        }
+        header.flip();
+        return buffers.toArray(new ByteBuffer[0]);
+    }
+
+    /**
+     * Section en lecture, sur une vue du tampon de la sauvegarde lue.
+     * Les lectures sont absolues : une section peut être lue par plusieurs threads, chacun
+     * avec sa propre copie de position. Les chaînes sont décodées à la première demande.
+     */
+    static final class Section {
+        private final int kind;
+        private final ByteBuffer buffer;
+        private final int stringCount;
+        private final int offsetsPosition;
+        private final int stringsPosition;
+        private final int infoPosition;
+        private final int creatureCount;
+        private final int recordsPosition;
+        private final int tailsPosition;
+        private final String[] strings;
+
+        Section(int kind, ByteBuffer buffer) throws IOException {
+            this.kind = kind;
+            this.buffer = buffer;
+            this.stringCount = buffer.getInt(0);
+            this.offsetsPosition = 4;
+            this.stringsPosition = offsetsPosition + (stringCount + 1) * 4;
+            int infoLengthPosition = stringsPosition + buffer.getInt(offsetsPosition + stringCount * 4);
+            this.infoPosition = infoLengthPosition + 4;
+            int creatureCountPosition = infoPosition + buffer.getInt(infoLengthPosition);
+            this.creatureCount = buffer.getInt(creatureCountPosition);
+            this.recordsPosition = creatureCountPosition + 4;
+            this.tailsPosition = recordsPosition + creatureCount * RECORD_SIZE;
+            if (stringCount < 0 || creatureCount < 0 || tailsPosition > buffer.limit()) {
+                throw new IOException("Section corrompue (type " + kind + ")");
+            }
+            this.strings = new String[stringCount + 1];
+        }
+
+        int getKind() {
+            return kind;
+        }
+
+        int getCreatureCount() {
+            return creatureCount;
+        }
+
+        /**
+         * Obtient une chaîne par sa référence.
+         *
+         * @param ref Rang + 1, ou 0 pour null
+         */
+        String string(int ref) {
+            if (ref == 0) {
+                return null;
+            }
+
+            String value = strings[ref];
+            if (value == null) {
+                int start = buffer.getInt(offsetsPosition + (ref - 1) * 4);
+                int end = buffer.getInt(offsetsPosition + ref * 4);
+                ByteBuffer bytes = buffer.duplicate();
+                bytes.limit(stringsPosition + end).position(stringsPosition + start);
+                value = StandardCharsets.UTF_8.decode(bytes).toString();
+                strings[ref] = value; // Course bénigne : même valeur décodée par chaque thread
+            }
+            return value;
+        }
+
+        /**
+         * Obtient un curseur sur les champs propres de la section.
+         */
+        ByteBuffer info() {
+            ByteBuffer info = buffer.duplicate();
+            info.position(infoPosition);
+            return info;
+        }
+
+        String readString(ByteBuffer cursor) {
+            return string(readVarInt(cursor));
+        }
+
+        /**
+         * Lit un champ de la fiche fixe d'une créature, sans décoder le reste.
+         */
+        int creatureField(int creature, int field) {
+            return buffer.getInt(recordsPosition + creature * RECORD_SIZE + field * 4);
+        }
+
+        /**
+         * Recrée une créature de la section, avec ses stats exactes.
+         *
+         * @param index Rang de la créature dans la section
+         * @return Créature restaurée
+         */
+        Creature readCreature(int index) {
+            ByteBuffer tail = buffer.duplicate();
+            tail.position(tailsPosition + creatureField(index, FIELD_TAIL));
+
+            TypeRegistry registry = TypeRegistry.getDefault();
+            int typeCount = readVarInt(tail);
+            List<Type> types = new ArrayList<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                Type type = registry.get(readString(tail));
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+            Type primaryType = types.isEmpty() ? registry.getTypes().get(0) : types.get(0);
+
+            Creature creature = new Creature(string(creatureField(index, FIELD_ID)),
+                    string(creatureField(index, FIELD_NAME)), primaryType);
+            Statistics stats = creature.getStats();
+            for (int i = 1; i < types.size(); i++) {
+                stats.addType(types.get(i));
+            }
+            stats.restoreProgress(creatureField(index, FIELD_LEVEL), creatureField(index, FIELD_XP),
+                    creatureField(index, FIELD_MAX_XP));
+            stats.restorePools(creatureField(index, FIELD_HEALTH), creatureField(index, FIELD_MAX_HEALTH),
+                    creatureField(index, FIELD_VITALITY), creatureField(index, FIELD_MAX_VITALITY),
+                    creatureField(index, FIELD_VITAL_ENERGY), creatureField(index, FIELD_MAX_VITAL_ENERGY));
+            stats.restorePrimaryStats(creatureField(index, FIELD_STRENGTH), creatureField(index, FIELD_CONSTITUTION),
+                    creatureField(index, FIELD_SPIRIT), creatureField(index, FIELD_MENTAL),
+                    creatureField(index, FIELD_SPEED));
+
+            SkillTree skillTree = creature.getSkillTree();
+            int unlockedCount = readVarInt(tail);
+            List<String> unlockedNodes = new ArrayList<>(unlockedCount);
+            for (int i = 0; i < unlockedCount; i++) {
+                unlockedNodes.add(readString(tail));
+            }
+            skillTree.restoreUnlockedNodes(unlockedNodes);
+            creature.gainSkillPoints(creatureField(index, FIELD_SKILL_POINTS) - creature.getSkillPoints());
+
+            SkillTreeTemplate template = skillTree.getTemplate();
+            int equippedCount = readVarInt(tail);
+            for (int i = 0; i < equippedCount; i++) {
+                String skillId = readString(tail);
+                int level = readSignedVarInt(tail);
+                int experience = readSignedVarInt(tail);
+                int experienceToNextLevel = readSignedVarInt(tail);
+                int power = readSignedVarInt(tail);
+                int accuracy = readSignedVarInt(tail);
+                int actionPointCost = readSignedVarInt(tail);
+
+                int nodeIndex = template.indexOfSkill(skillId);
+                if (nodeIndex >= 0) {
+                    Skill skill = skillTree.getSkill(template.getNode(nodeIndex));
+                    skill.restoreProgress(level, experience, experienceToNextLevel, power, accuracy, actionPointCost);
+                    creature.equipSkill(skill);
+                }
+            }
+
+            creature.setMaxActionPoints(creatureField(index, FIELD_MAX_ACTION_POINTS));
+            creature.setCurrentActionPoints(creatureField(index, FIELD_ACTION_POINTS));
+            return creature;
+        }
+    }
+
+    /**
+     * Lit la section du joueur.
+     */
+    static PlayerTrainer readPlayer(Section section) {
+        ByteBuffer info = section.info();
+        PlayerTrainer player = new PlayerTrainer(section.readString(info), section.readString(info));
+        player.setMoney(readSignedVarInt(info));
+        int badges = readSignedVarInt(info);
+        int playerRank = readSignedVarInt(info);
+        int reputation = readSignedVarInt(info);
+        player.restoreProgress(badges, playerRank, reputation);
+        player.setMaxCreatures(readSignedVarInt(info));
+
+        for (int i = 0; i < section.getCreatureCount(); i++) {
+            player.addCreature(section.readCreature(i));
+        }
+        return player;
+    }
+
+    /**
+     * Lit la section de l'inventaire dans un inventaire existant.
+     * Les objets sont recréés à partir de leurs données ; les objets à comportement
+     * particulier (potions...) demanderaient un registre d'objets.
+     */
+    static void readInventory(Section section, Inventory inventory) {
+        ByteBuffer info = section.info();
+        int maxCapacity = readSignedVarInt(info);
+        if (maxCapacity > inventory.getMaxCapacity()) {
+            inventory.increaseCapacity(maxCapacity - inventory.getMaxCapacity());
+        }
+
+        int itemCount = readVarInt(info);
+        for (int i = 0; i < itemCount; i++) {
+            String id = section.readString(info);
+            String name = section.readString(info);
+            String description = section.readString(info);
+            int value = readSignedVarInt(info);
+            int category = readVarInt(info);
+            boolean consumable = info.get() != 0;
+            int quantity = readSignedVarInt(info);
+
+            Item item = new Item(id, name, description, value,
+                    category > 0 ? itemCategory(category - 1) : null, consumable);
+            inventory.addItem(item, quantity);
+        }
+    }
+
+    /**
+     * Lit un lot de PNJ et leurs créatures.
+     */
+    static List<IATrainer> readNpcs(Section section) {
+        ByteBuffer info = section.info();
+        int npcCount = readVarInt(info);
+        List<IATrainer> npcs = new ArrayList<>(npcCount);
+
+        int nextCreature = 0;
+        for (int i = 0; i < npcCount; i++) {
+            String id = section.readString(info);
+            String name = section.readString(info);
+            int difficulty = readSignedVarInt(info);
+            String trainerType = section.readString(info);
+            String strategyType = section.readString(info);
+            boolean isGymLeader = info.get() != 0;
+            int maxCreatures = readSignedVarInt(info);
+            int creatureCount = readVarInt(info);
+
+            IATrainer npc = new IATrainer(id, name, difficulty, trainerType, strategyType, isGymLeader);
+            npc.setMaxCreatures(maxCreatures);
+            for (int c = 0; c < creatureCount; c++) {
+                npc.addCreature(section.readCreature(nextCreature++));
+            }
+            npcs.add(npc);
+        }
+        return npcs;
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Entier variable trop long");
+    }
+
+    static int readSignedVarInt(ByteBuffer buffer) {
+        int raw = readVarInt(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
@@ -0,0 +1,754 @@
+package com.cedric.game.core;
+
+import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.NpcRegistry;
+import com.cedric.game.characters.PlayerTrainer;
+import com.cedric.game.characters.Trainer;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.Statistics;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.skill.SkillEffect;
+import com.cedric.game.items.Item;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Journal des modifications d'une partie, à la suite de sa dernière sauvegarde complète.
+ *
+ * Chaque modification (progression d'une créature, nœud débloqué, objet, capture, PNJ battu,
+ * progression du joueur) est encodée par le thread qui la fait, puis ajoutée à la fin du
+ * segment courant. Un thread d'écriture regroupe les ajouts en attente : une seule écriture et
+ * une seule synchronisation disque pour tout le lot. Sauvegarder ne coûte donc que les
+ * modifications faites depuis la dernière fois.
+ *
+ * Quand le segment courant dépasse le seuil de compactage, il est fermé et un nouveau segment
+ * est ouvert. Un thread de fond recharge alors la sauvegarde complète, y rejoue les segments
+ * fermés, écrit la nouvelle sauvegarde à côté puis la met en place par renommage et supprime
+ * les segments intégrés. Il ne lit jamais l'état en cours de la partie.
+ *
+ * Le chargement lit la sauvegarde complète puis rejoue les segments qui la suivent
+ * ({@link #replay}). Un enregistrement incomplet (arrêt brutal pendant l'écriture) est
+ * détecté par sa somme de contrôle et termine la lecture de son segment.
+ *
+ * Les progressions de créature sont enregistrées par leur état résultant et non par l'XP
+ * gagnée : la croissance des statistiques est aléatoire, rejouer le gain ne redonnerait pas
+ * les mêmes valeurs.
+ */
+public class SaveJournal implements Closeable {
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 4 * 1024 * 1024;
+
+    // Types d'événement
+    static final int EVENT_CREATURE_STATE = 1;
+    static final int EVENT_NODE_UNLOCKED = 2;
+    static final int EVENT_ITEM_CHANGED = 3;
+    static final int EVENT_CREATURE_ADDED = 4;
+    static final int EVENT_NPC_DEFEATED = 5;
+    static final int EVENT_PLAYER_PROGRESS = 6;
+
+    private static final int RECORD_HEADER_SIZE = 12; // Longueur, CRC32, type
+    private static final int MAX_BATCH = 1024; // Enregistrements par écriture groupée
+    private static final String SEGMENT_INFIX = ".journal-";
+
+    private final Path directory;
+    private final String saveName;
+    private final long compactionThreshold;
+    private final ConcurrentLinkedQueue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final Thread committer;
+    private final Thread compactor;
+    private volatile boolean running = true;
+    private volatile boolean closed; // Thread d'écriture arrêté
+    private volatile int sealedSegment; // Segments fermés : tous ceux d'un numéro inférieur
+    private int compactedSegment; // Propre au thread de compactage
+    private FileChannel channel; // Propre au thread d'écriture
+    private int currentSegment;
+    private long currentSize;
+
+    /**
+     * Enregistrement en attente d'écriture ; sans tampons, simple point de synchronisation.
+     */
+    private static final class Pending {
+        private final ByteBuffer[] buffers;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        Pending(ByteBuffer[] buffers) {
+            this.buffers = buffers;
+        }
+    }
+
+    /**
+     * Ouvre le journal d'une sauvegarde avec le seuil de compactage par défaut.
+     *
+     * @param directory Répertoire des sauvegardes
+     * @param saveName Nom de la sauvegarde (qui doit déjà exister)
+     * @param firstSegment Premier segment non intégré à la sauvegarde complète
+     * @throws IOException En cas d'erreur d'accès
+     */
+    public SaveJournal(Path directory, String saveName, int firstSegment) throws IOException {
+        this(directory, saveName, firstSegment, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Ouvre le journal d'une sauvegarde. Les ajouts vont dans un nouveau segment, après tous
+     * ceux qui existent déjà : un segment interrompu n'est jamais prolongé.
+     *
+     * @param directory Répertoire des sauvegardes
+     * @param saveName Nom de la sauvegarde (qui doit déjà exister)
+     * @param firstSegment Premier segment non intégré à la sauvegarde complète
+     * @param compactionThreshold Taille de segment déclenchant un compactage, en octets
+     * @throws IOException En cas d'erreur d'accès
+     */
+    public SaveJournal(Path directory, String saveName, int firstSegment, long compactionThreshold)
+            throws IOException {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Seuil de compactage invalide: " + compactionThreshold);
+        }
+        this.directory = directory;
+        this.saveName = saveName;
+        this.compactionThreshold = compactionThreshold;
+
+        int segment = firstSegment;
+        while (Files.exists(segmentPath(directory, saveName, segment))) {
+            segment++;
+        }
+        openSegment(segment);
+        this.sealedSegment = firstSegment;
+        this.compactedSegment = firstSegment;
+
+        this.committer = new Thread(this::commitLoop, "save-journal");
+        this.committer.setDaemon(true);
+        this.compactor = new Thread(this::compactLoop, "save-compaction");
+        this.compactor.setDaemon(true);
+        this.committer.start();
+        this.compactor.start();
+
+        if (segment > firstSegment) {
+            rollRequested(segment); // Segments laissés par une session précédente
+        }
+    }
+
+    public String getSaveName() {
+        return saveName;
+    }
+
+    /**
+     * Enregistre l'état d'une créature après un gain d'XP, un combat ou des soins.
+     *
+     * @param owner Dresseur de la créature
+     * @param creature Créature modifiée
+     * @return Futur complété quand l'enregistrement est sur disque
+     */
+    public CompletableFuture<Void> recordCreatureState(Trainer owner, Creature creature) {
+        SaveFormat.SectionWriter event = new SaveFormat.SectionWriter(EVENT_CREATURE_STATE);
+        event.writeString(owner.getId());
+        event.writeString(creature.getId());
+        writeCreatureState(event, creature);
+        return append(event);
+    }
+
+    /**
+     * Enregistre le déblocage d'un nœud de l'arbre de compétences.
+     *
+     * @param owner Dresseur de la créature
+     * @param creature Créature concernée
+     * @param nodeId Nœud débloqué
+     * @return Futur complété quand l'enregistrement est sur disque
+     */
+    public CompletableFuture<Void> recordNodeUnlocked(Trainer owner, Creature creature, String nodeId) {
+        SaveFormat.SectionWriter event = new SaveFormat.SectionWriter(EVENT_NODE_UNLOCKED);
+        event.writeString(owner.getId());
+        event.writeString(creature.getId());
+        event.writeString(nodeId);
+        event.info().writeSignedVarInt(creature.getSkillPoints());
+        return append(event);
+    }
+
+    /**
+     * Enregistre un changement de quantité d'un objet de l'inventaire du joueur.
+     *
+     * @param item Objet
+     * @param quantityDelta Quantité ajoutée (négative pour un retrait)
+     * @return Futur complété quand l'enregistrement est sur disque
+     */
+    public CompletableFuture<Void> recordItemChanged(Item item, int quantityDelta) {
+        SaveFormat.SectionWriter event = new SaveFormat.SectionWriter(EVENT_ITEM_CHANGED);
+        event.writeString(item.getId());
+        event.writeString(item.getName());
+        event.writeString(item.getDescription());
+        SaveFormat.Writer info = event.info();
+        info.writeSignedVarInt(item.getValue());
+        info.writeVarInt(item.getCategory() != null ? item.getCategory().ordinal() + 1 : 0);
+        info.writeByte(item.isConsumable() ? 1 : 0);
+        info.writeSignedVarInt(quantityDelta);
+        return append(event);
+    }
+
+    /**
+     * Enregistre l'arrivée d'une créature dans une équipe (capture).
+     *
+     * @param owner Dresseur qui reçoit la créature
+     * @param creature Créature ajoutée, enregistrée en entier
+     * @return Futur complété quand l'enregistrement est sur disque
+     */
+    public CompletableFuture<Void> recordCreatureAdded(Trainer owner, Creature creature) {
+        SaveFormat.SectionWriter event = new SaveFormat.SectionWriter(EVENT_CREATURE_ADDED);
+        event.writeString(owner.getId());
+        event.writeCreature(creature);
+        return append(event);
+    }
+
+    /**
+     * Enregistre la victoire du joueur contre un PNJ, avec la progression du joueur qui en
+     * résulte. L'état des créatures est enregistré à part.
+     *
+     * @param npc PNJ battu
+     * @param player Joueur
+     * @return Futur complété quand l'enregistrement est sur disque
+     */
+    public CompletableFuture<Void> recordNpcDefeated(IATrainer npc, PlayerTrainer player) {
+        SaveFormat.SectionWriter event = new SaveFormat.SectionWriter(EVENT_NPC_DEFEATED);
+        event.writeString(npc.getId());
+        writePlayerProgress(event, player);
+        return append(event);
+    }
+
+    /**
+     * Enregistre la progression du joueur (argent, badges, rang, réputation).
+     *
+     * @param player Joueur
+     * @return Futur complété quand l'enregistrement est sur disque
+     */
+    public CompletableFuture<Void> recordPlayerProgress(PlayerTrainer player) {
+        SaveFormat.SectionWriter event = new SaveFormat.SectionWriter(EVENT_PLAYER_PROGRESS);
+        writePlayerProgress(event, player);
+        return append(event);
+    }
+
+    /**
+     * Attend que tous les enregistrements déjà faits soient sur disque.
+     *
+     * @return false si une écriture a échoué
+     */
+    public boolean sync() {
+        Pending barrier = new Pending(new ByteBuffer[0]);
+        pending.add(barrier);
+        LockSupport.unpark(committer);
+        if (closed) {
+            barrier.durable.complete(null); // Journal fermé : tout a été écrit à la fermeture
+        }
+
+        try {
+            barrier.durable.join();
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Erreur lors de la sauvegarde: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Obtient le nombre de modifications enregistrées depuis l'ouverture.
+     *
+     * @return Modifications enregistrées
+     */
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    /**
+     * Obtient le nombre d'écritures groupées (une synchronisation disque chacune).
+     *
+     * @return Écritures groupées
+     */
+    public long getCommitCount() {
+        return commits.get();
+    }
+
+    /**
+     * Obtient le nombre de compactages terminés.
+     *
+     * @return Compactages terminés
+     */
+    public long getCompactionCount() {
+        return compactions.get();
+    }
+
+    /**
+     * Écrit les enregistrements en attente puis arrête les threads. Un compactage en cours
+     * est mené à son terme.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(committer);
+        LockSupport.unpark(compactor);
+
+        try {
+            committer.join();
+            compactor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> append(SaveFormat.SectionWriter event) {
+        List<ByteBuffer> section = event.toBuffers();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        header.putInt(0, (int) event.length());
+        header.putInt(8, event.getKind());
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 8, 4);
+        for (ByteBuffer buffer : section) {
+            crc.update(buffer.duplicate());
+        }
+        header.putInt(4, (int) crc.getValue());
+
+        ByteBuffer[] buffers = new ByteBuffer[section.size() + 1];
+        buffers[0] = header;
+        for (int i = 0; i < section.size(); i++) {
+            buffers[i + 1] = section.get(i);
+        }
+
+        Pending record = new Pending(buffers);
+        if (!running) {
+            record.durable.completeExceptionally(new IOException("Journal fermé"));
+            return record.durable;
+        }
+        pending.add(record);
+        recorded.incrementAndGet();
+        LockSupport.unpark(committer);
+        return record.durable;
+    }
+
+    /**
+     * Boucle du thread d'écriture : un lot par passage, une synchronisation disque par lot.
+     */
+    private void commitLoop() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        List<ByteBuffer> buffers = new ArrayList<>();
+
+        while (running || !pending.isEmpty()) {
+            Pending record;
+            while (batch.size() < MAX_BATCH && (record = pending.poll()) != null) {
+                batch.add(record);
+                for (ByteBuffer buffer : record.buffers) {
+                    buffers.add(buffer);
+                }
+            }
+            if (batch.isEmpty()) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                ByteBuffer[] gathered = buffers.toArray(new ByteBuffer[0]);
+                long length = 0;
+                for (ByteBuffer buffer : gathered) {
+                    length += buffer.remaining();
+                }
+                for (long written = 0; written < length; ) {
+                    written += channel.write(gathered);
+                }
+                channel.force(false);
+                currentSize += length;
+                commits.incrementAndGet();
+
+                for (Pending done : batch) {
+                    done.durable.complete(null);
+                }
+                if (currentSize >= compactionThreshold) {
+                    openSegment(currentSegment + 1);
+                    rollRequested(currentSegment);
+                }
+            } catch (IOException e) {
+                for (Pending failed : batch) {
+                    failed.durable.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+            buffers.clear();
+        }
+
+        // Ajouts arrivés pendant l'arrêt : pas écrits, sauf les simples points de synchronisation
+        closed = true;
+        for (Pending late; (late = pending.poll()) != null; ) {
+            if (late.buffers.length == 0) {
+                late.durable.complete(null);
+            } else {
+                late.durable.completeExceptionally(new IOException("Journal fermé"));
+            }
+        }
+
+        try {
+            channel.close();
+            if (currentSize == 0) {
+                // Segment vide : inutile de le compacter à la prochaine ouverture
+                Files.deleteIfExists(segmentPath(directory, saveName, currentSegment));
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture du journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Signale au thread de compactage que les segments avant {@code segment} sont fermés.
+     */
+    private void rollRequested(int segment) {
+        sealedSegment = segment;
+        LockSupport.unpark(compactor);
+    }
+
+    private void compactLoop() {
+        while (running) {
+            int target = sealedSegment;
+            if (target <= compactedSegment) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                compact(target);
+                compactedSegment = target;
+                compactions.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                // Nouvel essai à la prochaine fermeture de segment ; le journal reste complet
+                System.err.println("Erreur lors du compactage: " + e.getMessage());
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    /**
+     * Intègre à la sauvegarde complète les segments qui précèdent {@code target}.
+     */
+    private void compact(int target) throws IOException {
+        Path snapshot = SaveSystem.savePath(directory, saveName);
+        PlayerTrainer player;
+        NpcRegistry npcs = new NpcRegistry();
+        int from;
+        try (SaveReader reader = SaveReader.open(snapshot)) {
+            from = reader.getJournalSegment();
+            player = reader.readPlayer();
+            npcs.replaceAll(reader.readNpcs());
+        }
+
+        for (int segment = from; segment < target; segment++) {
+            replaySegment(segmentPath(directory, saveName, segment), player, npcs);
+        }
+
+        SaveSystem.writeSnapshot(snapshot, player, npcs.getAll(), target); // Remplacement atomique
+
+        for (int segment = from; segment < target; segment++) {
+            Files.deleteIfExists(segmentPath(directory, saveName, segment));
+        }
+    }
+
+    private void openSegment(int segment) throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+
+        currentSegment = segment;
+        channel = FileChannel.open(segmentPath(directory, saveName, segment), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSize = channel.size();
+    }
+
+    /**
+     * Rejoue sur une partie chargée tous les segments qui suivent sa sauvegarde complète.
+     *
+     * @param directory Répertoire des sauvegardes
+     * @param saveName Nom de la sauvegarde
+     * @param firstSegment Premier segment non intégré à la sauvegarde complète
+     * @param player Joueur chargé
+     * @param npcs PNJ chargés
+     * @return Nombre de modifications rejouées
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static int replay(Path directory, String saveName, int firstSegment,
+                             PlayerTrainer player, NpcRegistry npcs) throws IOException {
+        int replayed = 0;
+        for (int segment = firstSegment; Files.exists(segmentPath(directory, saveName, segment)); segment++) {
+            replayed += replaySegment(segmentPath(directory, saveName, segment), player, npcs);
+        }
+        return replayed;
+    }
+
+    /**
+     * Obtient le premier numéro de segment libre d'une sauvegarde, à partir d'un numéro donné.
+     *
+     * @param directory Répertoire des sauvegardes
+     * @param saveName Nom de la sauvegarde
+     * @param firstSegment Numéro de départ
+     * @return Premier segment inexistant
+     */
+    public static int nextSegment(Path directory, String saveName, int firstSegment) {
+        int segment = firstSegment;
+        while (Files.exists(segmentPath(directory, saveName, segment))) {
+            segment++;
+        }
+        return segment;
+    }
+
+    /**
+     * Supprime les segments d'une sauvegarde qui précèdent un numéro donné.
+     *
+     * @param directory Répertoire des sauvegardes
+     * @param saveName Nom de la sauvegarde
+     * @param beforeSegment Premier segment conservé
+     * @throws IOException En cas d'erreur de suppression
+     */
+    public static void deleteSegments(Path directory, String saveName, int beforeSegment) throws IOException {
+        for (int segment = beforeSegment - 1; segment >= 0; segment--) {
+            if (!Files.deleteIfExists(segmentPath(directory, saveName, segment))) {
+                break; // Les segments plus anciens ont déjà été intégrés et supprimés
+            }
+        }
+    }
+
+    static Path segmentPath(Path directory, String saveName, int segment) {
+        return directory.resolve(String.format("%s%s%06d", saveName, SEGMENT_INFIX, segment));
+    }
+
+    private static int replaySegment(Path file, PlayerTrainer player, NpcRegistry npcs) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int replayed = 0;
+        try (FileChannel segment = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Lecture simple, sans projection : le segment doit pouvoir être supprimé ensuite
+            ByteBuffer buffer = ByteBuffer.allocate((int) segment.size());
+            while (buffer.hasRemaining() && segment.read(buffer) >= 0) {
+                // Lecture jusqu'à la fin du segment
+            }
+            buffer.flip();
+            int position = 0;
+            while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                int end = position + RECORD_HEADER_SIZE + length;
+                if (length < 0 || end > buffer.limit()) {
+                    break; // Enregistrement interrompu
+                }
+
+                ByteBuffer checked = buffer.duplicate();
+                checked.position(position + 8).limit(end);
+                CRC32 crc = new CRC32();
+                crc.update(checked);
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+
+                ByteBuffer view = buffer.duplicate();
+                view.position(position + RECORD_HEADER_SIZE).limit(end);
+                apply(new SaveFormat.Section(buffer.getInt(position + 8), view.slice()), player, npcs);
+                replayed++;
+                position = end;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Applique une modification à une partie chargée. Les modifications qui désignent un
+     * dresseur ou une créature introuvable sont ignorées.
+     */
+    private static void apply(SaveFormat.Section event, PlayerTrainer player, NpcRegistry npcs) {
+        ByteBuffer info = event.info();
+        switch (event.getKind()) {
+            case EVENT_CREATURE_STATE: {
+                Trainer owner = findTrainer(event.readString(info), player, npcs);
+                Creature creature = findCreature(owner, event.readString(info));
+                if (creature != null) {
+                    readCreatureState(event, info, creature);
+                    if (owner != player) {
+                        npcs.reindex(owner.getId());
+                    }
+                }
+                break;
+            }
+            case EVENT_NODE_UNLOCKED: {
+                Creature creature = findCreature(findTrainer(event.readString(info), player, npcs),
+                        event.readString(info));
+                String nodeId = event.readString(info);
+                int skillPoints = SaveFormat.readSignedVarInt(info);
+                if (creature != null) {
+                    creature.getSkillTree().unlockNode(nodeId, creature, Integer.MAX_VALUE);
+                    creature.gainSkillPoints(skillPoints - creature.getSkillPoints());
+                }
+                break;
+            }
+            case EVENT_ITEM_CHANGED: {
+                String id = event.readString(info);
+                String name = event.readString(info);
+                String description = event.readString(info);
+                int value = SaveFormat.readSignedVarInt(info);
+                int category = SaveFormat.readVarInt(info);
+                boolean consumable = info.get() != 0;
+                int quantityDelta = SaveFormat.readSignedVarInt(info);
+
+                Item item = new Item(id, name, description, value,
+                        category > 0 ? SaveFormat.itemCategory(category - 1) : null, consumable);
+                if (quantityDelta > 0) {
+                    player.getInventory().addItem(item, quantityDelta);
+                } else if (quantityDelta < 0) {
+                    player.getInventory().removeItem(item, -quantityDelta);
+                }
+                break;
+            }
+            case EVENT_CREATURE_ADDED: {
+                Trainer owner = findTrainer(event.readString(info), player, npcs);
+                if (owner != null && event.getCreatureCount() > 0) {
+                    owner.addCreature(event.readCreature(0));
+                    if (owner != player) {
+                        npcs.reindex(owner.getId());
+                    }
+                }
+                break;
+            }
+            case EVENT_NPC_DEFEATED:
+                event.readString(info); // PNJ battu : seule la progression du joueur est à rejouer
+                readPlayerProgress(info, player);
+                break;
+            case EVENT_PLAYER_PROGRESS:
+                readPlayerProgress(info, player);
+                break;
+            default:
+                break; // Événement d'une version ultérieure
+        }
+    }
+
+    private static Trainer findTrainer(String trainerId, PlayerTrainer player, NpcRegistry npcs) {
+        if (player.getId().equals(trainerId)) {
+            return player;
+        }
+        return npcs.get(trainerId);
+    }
+
+    private static Creature findCreature(Trainer owner, String creatureId) {
+        if (owner == null) {
+            return null;
+        }
+
+        for (int i = 0; i < owner.getCreatureCount(); i++) {
+            if (owner.getCreature(i).getId().equals(creatureId)) {
+                return owner.getCreature(i);
+            }
+        }
+        return null;
+    }
+
+    private static void writePlayerProgress(SaveFormat.SectionWriter event, PlayerTrainer player) {
+        SaveFormat.Writer info = event.info();
+        info.writeSignedVarInt(player.getMoney());
+        info.writeSignedVarInt(player.getBadges());
+        info.writeSignedVarInt(player.getPlayerRank());
+        info.writeSignedVarInt(player.getReputation());
+        info.writeSignedVarInt(player.getMaxCreatures());
+    }
+
+    private static void readPlayerProgress(ByteBuffer info, PlayerTrainer player) {
+        player.setMoney(SaveFormat.readSignedVarInt(info));
+        int badges = SaveFormat.readSignedVarInt(info);
+        int playerRank = SaveFormat.readSignedVarInt(info);
+        int reputation = SaveFormat.readSignedVarInt(info);
+        player.restoreProgress(badges, playerRank, reputation);
+        player.setMaxCreatures(SaveFormat.readSignedVarInt(info));
+    }
+
+    /**
+     * Écrit l'état variable d'une créature : progression, réserves, statistiques de base,
+     * points et progression des compétences équipées.
+     */
+    private static void writeCreatureState(SaveFormat.SectionWriter event, Creature creature) {
+        Statistics stats = creature.getStats();
+        SaveFormat.Writer info = event.info();
+        info.writeSignedVarInt(stats.getLevel());
+        info.writeSignedVarInt(stats.getXp());
+        info.writeSignedVarInt(stats.getMaxXpNextLevel());
+        info.writeSignedVarInt(stats.getHealth());
+        info.writeSignedVarInt(stats.getMaxHealth());
+        info.writeSignedVarInt(stats.getVitality());
+        info.writeSignedVarInt(stats.getMaxVitality());
+        info.writeSignedVarInt(stats.getVitalEnergy());
+        info.writeSignedVarInt(stats.getMaxVitalEnergy());
+        info.writeSignedVarInt(stats.getBaseStat(SkillEffect.StatisticType.STRENGTH));
+        info.writeSignedVarInt(stats.getBaseStat(SkillEffect.StatisticType.CONSTITUTION));
+        info.writeSignedVarInt(stats.getBaseStat(SkillEffect.StatisticType.SPIRIT));
+        info.writeSignedVarInt(stats.getBaseStat(SkillEffect.StatisticType.MENTAL));
+        info.writeSignedVarInt(stats.getBaseStat(SkillEffect.StatisticType.SPEED));
+        info.writeSignedVarInt(creature.getSkillPoints());
+        info.writeSignedVarInt(creature.getMaxActionPoints());
+        info.writeSignedVarInt(creature.getCurrentActionPoints());
+
+        info.writeVarInt(creature.getActiveSkillCount());
+        for (int i = 0; i < creature.getActiveSkillCount(); i++) {
+            Skill skill = creature.getActiveSkill(i);
+            event.writeString(skill.getId());
+            info.writeSignedVarInt(skill.getLevel());
+            info.writeSignedVarInt(skill.getExperience());
+            info.writeSignedVarInt(skill.getExperienceToNextLevel());
+            info.writeSignedVarInt(skill.getPower());
+            info.writeSignedVarInt(skill.getAccuracy());
+            info.writeSignedVarInt(skill.getActionPointCost());
+        }
+    }
+
+    private static void readCreatureState(SaveFormat.Section event, ByteBuffer info, Creature creature) {
+        Statistics stats = creature.getStats();
+        int level = SaveFormat.readSignedVarInt(info);
+        int xp = SaveFormat.readSignedVarInt(info);
+        stats.restoreProgress(level, xp, SaveFormat.readSignedVarInt(info));
+        int health = SaveFormat.readSignedVarInt(info);
+        int maxHealth = SaveFormat.readSignedVarInt(info);
+        int vitality = SaveFormat.readSignedVarInt(info);
+        int maxVitality = SaveFormat.readSignedVarInt(info);
+        int vitalEnergy = SaveFormat.readSignedVarInt(info);
+        stats.restorePools(health, maxHealth, vitality, maxVitality, vitalEnergy, SaveFormat.readSignedVarInt(info));
+        int strength = SaveFormat.readSignedVarInt(info);
+        int constitution = SaveFormat.readSignedVarInt(info);
+        int spirit = SaveFormat.readSignedVarInt(info);
+        int mental = SaveFormat.readSignedVarInt(info);
+        stats.restorePrimaryStats(strength, constitution, spirit, mental, SaveFormat.readSignedVarInt(info));
+        creature.gainSkillPoints(SaveFormat.readSignedVarInt(info) - creature.getSkillPoints());
+        creature.setMaxActionPoints(SaveFormat.readSignedVarInt(info));
+        creature.setCurrentActionPoints(SaveFormat.readSignedVarInt(info));
+
+        int skillCount = SaveFormat.readVarInt(info);
+        for (int i = 0; i < skillCount; i++) {
+            String skillId = event.readString(info);
+            int skillLevel = SaveFormat.readSignedVarInt(info);
+            int experience = SaveFormat.readSignedVarInt(info);
+            int experienceToNextLevel = SaveFormat.readSignedVarInt(info);
+            int power = SaveFormat.readSignedVarInt(info);
+            int accuracy = SaveFormat.readSignedVarInt(info);
+            int actionPointCost = SaveFormat.readSignedVarInt(info);
+
+            for (int s = 0; s < creature.getActiveSkillCount(); s++) {
+                Skill skill = creature.getActiveSkill(s);
+                if (skill.getId().equals(skillId)) {
+                    skill.restoreProgress(skillLevel, experience, experienceToNextLevel, power, accuracy,
+                            actionPointCost);
+                    break;
+                }
+            }
+        }
+    }
+}
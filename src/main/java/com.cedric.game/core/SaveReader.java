@@ -0,0 +1,231 @@
+package com.cedric.game.core;
+
+import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.PlayerTrainer;
+
+import java.io.IOException;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecteur de sauvegarde binaire (voir {@link SaveFormat}).
+ *
+ * Le fichier est lu d'un bloc puis fermé aussitôt, sans projection en mémoire : une projection
+ * garde le fichier verrouillé sous Windows jusqu'à son ramasse-miettes, et la sauvegarde suivante
+ * ne pourrait plus le remplacer. Chaque section est une vue sur le tampon lu, décodée à la
+ * demande ; les lots de PNJ sont décodés en parallèle.
+ */
+public class SaveReader implements AutoCloseable {
+    private final int version;
+    private final SaveFormat.Section player;
+    private final SaveFormat.Section inventory;
+    private final List<SaveFormat.Section> npcSections = new ArrayList<>();
+    private int journalSegment;
+
+    private SaveReader(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < SaveFormat.HEADER_SIZE || buffer.getInt(0) != SaveFormat.MAGIC) {
+            throw new IOException("Pas une sauvegarde binaire");
+        }
+        this.version = buffer.getShort(4);
+        if (version > SaveFormat.VERSION) {
+            throw new IOException("Version de sauvegarde non prise en charge: " + version);
+        }
+
+        SaveFormat.Section playerSection = null;
+        SaveFormat.Section inventorySection = null;
+        int sectionCount = buffer.getShort(6) & 0xFFFF;
+        for (int i = 0; i < sectionCount; i++) {
+            int entry = SaveFormat.HEADER_SIZE + i * SaveFormat.DIRECTORY_ENTRY_SIZE;
+            int kind = buffer.getInt(entry);
+            long position = buffer.getLong(entry + 4);
+            int length = buffer.getInt(entry + 12);
+            if (position < 0 || length < 0 || position + length > buffer.limit()) {
+                throw new IOException("Répertoire de sauvegarde corrompu");
+            }
+
+            ByteBuffer view = buffer.duplicate();
+            view.position((int) position).limit((int) position + length);
+            switch (kind) {
+                case SaveFormat.SECTION_PLAYER:
+                    playerSection = new SaveFormat.Section(kind, view.slice());
+                    break;
+                case SaveFormat.SECTION_INVENTORY:
+                    inventorySection = new SaveFormat.Section(kind, view.slice());
+                    break;
+                case SaveFormat.SECTION_NPCS:
+                    npcSections.add(new SaveFormat.Section(kind, view.slice()));
+                    break;
+                case SaveFormat.SECTION_JOURNAL:
+                    journalSegment = SaveFormat.readJournalStart(new SaveFormat.Section(kind, view.slice()));
+                    break;
+                default:
+                    break; // Section d'une version ultérieure
+            }
+        }
+
+        if (playerSection == null) {
+            throw new IOException("Sauvegarde sans joueur");
+        }
+        this.player = playerSection;
+        this.inventory = inventorySection;
+    }
+
+    /**
+     * Ouvre une sauvegarde binaire.
+     *
+     * @param file Fichier de sauvegarde
+     * @return Lecteur, à fermer après usage
+     * @throws IOException Si le fichier est illisible ou n'est pas une sauvegarde binaire
+     */
+    public static SaveReader open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Sauvegarde trop grande: " + size + " octets");
+            }
+            buffer = read(channel, 0, (int) size);
+        }
+        return new SaveReader(buffer);
+    }
+
+    /**
+     * Lit le premier segment du journal non intégré à une sauvegarde, sans lire le reste :
+     * seuls l'en-tête, le répertoire et la section du journal sont lus.
+     *
+     * @param file Fichier de sauvegarde binaire
+     * @return Numéro de segment (0 si la sauvegarde n'a pas de journal)
+     * @throws IOException Si le fichier est illisible ou n'est pas une sauvegarde binaire
+     */
+    public static int readJournalSegment(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, SaveFormat.HEADER_SIZE);
+            if (header.getInt(0) != SaveFormat.MAGIC) {
+                throw new IOException("Pas une sauvegarde binaire");
+            }
+
+            int sectionCount = header.getShort(6) & 0xFFFF;
+            ByteBuffer directory = read(channel, SaveFormat.HEADER_SIZE,
+                    sectionCount * SaveFormat.DIRECTORY_ENTRY_SIZE);
+            for (int i = 0; i < sectionCount; i++) {
+                int entry = i * SaveFormat.DIRECTORY_ENTRY_SIZE;
+                if (directory.getInt(entry) != SaveFormat.SECTION_JOURNAL) {
+                    continue;
+                }
+
+                long position = directory.getLong(entry + 4);
+                int length = directory.getInt(entry + 12);
+                if (position < 0 || length < 0 || position + length > channel.size()) {
+                    throw new IOException("Répertoire de sauvegarde corrompu");
+                }
+                ByteBuffer section = read(channel, position, length);
+                return SaveFormat.readJournalStart(new SaveFormat.Section(SaveFormat.SECTION_JOURNAL, section));
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Lit une plage du fichier dans un tampon en mémoire.
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Sauvegarde tronquée");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Indique si un fichier est au format binaire (et non une ancienne sauvegarde sérialisée).
+     *
+     * @param file Fichier de sauvegarde
+     * @return true si le fichier commence par la signature du format
+     */
+    public static boolean isBinarySave(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Lecture des 4 premiers octets
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == SaveFormat.MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtient le premier segment du journal non intégré à cette sauvegarde.
+     *
+     * @return Numéro de segment (0 si la sauvegarde n'a pas de journal)
+     */
+    public int getJournalSegment() {
+        return journalSegment;
+    }
+
+    /**
+     * Obtient le nom du joueur sans décoder le reste de la sauvegarde.
+     *
+     * @return Nom du joueur
+     */
+    public String getPlayerName() {
+        ByteBuffer info = player.info();
+        SaveFormat.readVarInt(info); // Identifiant
+        return player.readString(info);
+    }
+
+    /**
+     * Obtient le nombre de PNJ sans les décoder.
+     *
+     * @return Nombre de PNJ enregistrés
+     */
+    public int getNpcCount() {
+        int count = 0;
+        for (SaveFormat.Section section : npcSections) {
+            count += SaveFormat.readVarInt(section.info());
+        }
+        return count;
+    }
+
+    /**
+     * Recrée le joueur, ses créatures et son inventaire.
+     *
+     * @return Joueur restauré
+     */
+    public PlayerTrainer readPlayer() {
+        PlayerTrainer restored = SaveFormat.readPlayer(player);
+        if (inventory != null) {
+            SaveFormat.readInventory(inventory, restored.getInventory());
+        }
+        return restored;
+    }
+
+    /**
+     * Recrée les PNJ et leurs créatures, lots décodés en parallèle.
+     *
+     * @return PNJ dans l'ordre de la sauvegarde
+     */
+    public List<IATrainer> readNpcs() {
+        List<IATrainer> npcs = new ArrayList<>();
+        npcSections.parallelStream()
+                .map(SaveFormat::readNpcs)
+                .forEachOrdered(npcs::addAll);
+        return npcs;
+    }
+
+    @Override
+    public void close() {
+        // Rien à libérer : le fichier est fermé dès la lecture
+    }
+}
@@ -1,21 +1,35 @@
 package com.cedric.game.core;
 
+import com.cedric.game.characters.IATrainer;
 import com.cedric.game.characters.PlayerTrainer;
 import com.cedric.game.core.creature.Creature;
-import com.cedric.game.items.Item;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.type.TypeRegistry;
 import com.cedric.game.items.Inventory;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Système de sauvegarde et chargement pour le jeu.
+ *
+ * Les sauvegardes sont écrites au format binaire de {@link SaveFormat}, suivies d'un
+ * {@link SaveJournal} des modifications ultérieures. Les anciennes sauvegardes (objets Java
+ * sérialisés) restent lisibles.
  */
 public class SaveSystem {
     private static final String SAVE_DIRECTORY = "saves/";
+    private static final int NPCS_PER_SECTION = 1024; // Taille d'un lot de PNJ encodé ou décodé d'un bloc
 
     /**
      * Initialise le système de sauvegarde.
@@ -40,37 +54,142 @@ public class SaveSystem {
             return false;
         }
 
-        // Créer un objet de données de sauvegarde
-        SaveData saveData = new SaveData();
+        return writeSave(saveName, encodeSnapshot(gameManager.getPlayer(), gameManager.getNpcs()));
+    }
 
-        // Sauvegarder les données du joueur
-        PlayerTrainer player = gameManager.getPlayer();
-        saveData.playerName = player.getName();
-        saveData.playerID = player.getId();
-        saveData.playerMoney = player.getMoney();
-        saveData.playerBadges = player.getBadges();
-        saveData.playerRank = player.getPlayerRank();
-        saveData.playerReputation = player.getReputation();
-        saveData.maxCreatures = player.getMaxCreatures();
+    /**
+     * Écrit une sauvegarde complète déjà encodée. La sauvegarde intègre tous les segments de
+     * journal existants, qui sont ensuite supprimés.
+     *
+     * @param saveName Nom de la sauvegarde
+     * @param sections Sections encodées par {@link #encodeSnapshot}
+     * @return true si la sauvegarde a réussi
+     */
+    static boolean writeSave(String saveName, SaveFormat.SectionWriter[] sections) {
+        Path directory = Paths.get(SAVE_DIRECTORY);
+        Path filePath = savePath(directory, saveName);
+        int journalSegment = SaveJournal.nextSegment(directory, saveName, journalStart(filePath));
+
+        try {
+            writeSnapshot(filePath, sections, journalSegment);
+            SaveJournal.deleteSegments(directory, saveName, journalSegment);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la sauvegarde: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Ouvre le journal d'une sauvegarde existante, pour y enregistrer les modifications
+     * suivantes sans réécrire toute la partie.
+     *
+     * @param saveName Nom de la sauvegarde
+     * @return Journal ouvert, ou null pour une ancienne sauvegarde (à réécrire en entier)
+     * @throws IOException En cas d'erreur d'accès
+     */
+    public static SaveJournal openJournal(String saveName) throws IOException {
+        Path directory = Paths.get(SAVE_DIRECTORY);
+        Path filePath = savePath(directory, saveName);
+        if (!SaveReader.isBinarySave(filePath)) {
+            return null;
+        }
+        return new SaveJournal(directory, saveName, journalStart(filePath));
+    }
+
+    /**
+     * Encode l'état de la partie, sections en parallèle : joueur, inventaire, puis les PNJ
+     * par lots. Les sections ne dépendent plus de la partie : l'écriture peut suivre sur un
+     * autre thread pendant que la partie continue.
+     *
+     * @param player Joueur
+     * @param npcs PNJ
+     * @return Sections encodées
+     */
+    static SaveFormat.SectionWriter[] encodeSnapshot(PlayerTrainer player, List<IATrainer> npcs) {
+        int npcSections = (npcs.size() + NPCS_PER_SECTION - 1) / NPCS_PER_SECTION;
+        SaveFormat.SectionWriter[] sections = new SaveFormat.SectionWriter[2 + npcSections];
+        Arrays.parallelSetAll(sections, i -> {
+            if (i == 0) {
+                return SaveFormat.encodePlayer(player);
+            }
+            if (i == 1) {
+                return SaveFormat.encodeInventory(player.getInventory());
+            }
+            int from = (i - 2) * NPCS_PER_SECTION;
+            return SaveFormat.encodeNpcs(npcs.subList(from, Math.min(npcs.size(), from + NPCS_PER_SECTION)));
+        });
+        return sections;
+    }
 
-        // Sauvegarder les créatures du joueur
-        saveData.creatures = serializeCreatures(player.getCreatures());
+    /**
+     * Écrit une sauvegarde complète au format binaire.
+     *
+     * @param file Fichier à écrire
+     * @param player Joueur
+     * @param npcs PNJ
+     * @param journalSegment Premier segment du journal non intégré
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    static void writeSnapshot(Path file, PlayerTrainer player, List<IATrainer> npcs, int journalSegment)
+            throws IOException {
+        writeSnapshot(file, encodeSnapshot(player, npcs), journalSegment);
+    }
 
-        // Sauvegarder l'inventaire
-        saveData.inventory = serializeInventory(player.getInventory());
+    /**
+     * Écrit des sections encodées dans un fichier temporaire, le synchronise sur disque puis
+     * le renomme d'un bloc à la place du fichier visé : un arrêt brutal laisse l'ancienne
+     * sauvegarde ou la nouvelle, jamais un mélange.
+     *
+     * @param file Fichier à remplacer
+     * @param sections Sections encodées
+     * @param journalSegment Premier segment du journal non intégré
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    static void writeSnapshot(Path file, SaveFormat.SectionWriter[] sections, int journalSegment)
+            throws IOException {
+        SaveFormat.SectionWriter[] withJournal = Arrays.copyOf(sections, sections.length + 1);
+        withJournal[sections.length] = SaveFormat.encodeJournalStart(journalSegment);
+        ByteBuffer[] buffers = SaveFormat.layout(withJournal);
+
+        // Écriture groupée de tous les tampons
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                long remaining = 0;
+                for (ByteBuffer buffer : buffers) {
+                    remaining += buffer.remaining();
+                }
+                while (remaining > 0) {
+                    remaining -= channel.write(buffers);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary); // Sans effet après le renommage
+        }
+    }
 
-        // Sauvegarder les PNJ et autres données
-        saveData.npcs = serializeNPCs(gameManager.getNpcs());
+    static Path savePath(Path directory, String saveName) {
+        return directory.resolve(saveName + ".save");
+    }
 
-        // Créer le fichier de sauvegarde
-        String filePath = SAVE_DIRECTORY + saveName + ".save";
+    /**
+     * Obtient le premier segment du journal à rejouer après une sauvegarde.
+     *
+     * @return Numéro de segment, 0 pour une ancienne sauvegarde ou un fichier absent
+     */
+    private static int journalStart(Path file) {
+        if (!SaveReader.isBinarySave(file)) {
+            return 0;
+        }
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
-            oos.writeObject(saveData);
-            return true;
+        try {
+            return SaveReader.readJournalSegment(file);
         } catch (IOException e) {
-            System.err.println("Erreur lors de la sauvegarde: " + e.getMessage());
-            return false;
+            return 0;
         }
     }
 
@@ -93,6 +212,11 @@ public class SaveSystem {
             return null;
         }
 
+        if (SaveReader.isBinarySave(saveFile.toPath())) {
+            return loadBinary(saveFile.toPath(), saveName);
+        }
+
+        // Ancienne sauvegarde (objets Java sérialisés)
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filePath))) {
             SaveData saveData = (SaveData) ois.readObject();
 
@@ -107,7 +231,7 @@ public class SaveSystem {
             // ou des méthodes spécifiques (simplifié pour l'exemple)
 
             // Restaurer les créatures
-            List<Creature> creatures = deserializeCreatures(saveData.creatures);
+            List<Creature> creatures = deserializeCreatures(saveData.creatures, gameManager.getRandom());
             for (Creature creature : creatures) {
                 player.addCreature(creature);
             }
@@ -117,7 +241,7 @@ public class SaveSystem {
             // Remplacer l'inventaire du joueur (méthode à ajouter à PlayerTrainer)
 
             // Restaurer les PNJ
-            List<game.characters.IATrainer> npcs = deserializeNPCs(saveData.npcs);
+            List<game.characters.IATrainer> npcs = deserializeNPCs(saveData.npcs, gameManager.getRandom());
 
             // Configurer le gestionnaire avec les données chargées
             // (Ces méthodes devront être implémentées dans GameManager)
@@ -132,6 +256,23 @@ public class SaveSystem {
         }
     }
 
+    /**
+     * Charge une sauvegarde au format binaire, puis rejoue son journal.
+     */
+    private static GameManager loadBinary(Path file, String saveName) {
+        try (SaveReader reader = SaveReader.open(file)) {
+            GameManager gameManager = GameManager.getInstance();
+            gameManager.setPlayer(reader.readPlayer());
+            gameManager.setNpcs(reader.readNpcs());
+            SaveJournal.replay(file.getParent(), saveName, reader.getJournalSegment(),
+                    gameManager.getPlayer(), gameManager.getNpcRegistry());
+            return gameManager;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors du chargement: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Liste toutes les sauvegardes disponibles.
      *
@@ -168,102 +309,24 @@ public class SaveSystem {
             return false;
         }
 
-        String filePath = SAVE_DIRECTORY + saveName + ".save";
-        File saveFile = new File(filePath);
-
-        return saveFile.exists() && saveFile.isFile() && saveFile.delete();
-    }
-
-    /**
-     * Sérialise les créatures pour la sauvegarde.
-     */
-    private static List<Map<String, Object>> serializeCreatures(List<Creature> creatures) {
-        List<Map<String, Object>> serializedCreatures = new ArrayList<>();
-
-        for (Creature creature : creatures) {
-            Map<String, Object> creatureData = new HashMap<>();
-            creatureData.put("id", creature.getId());
-            creatureData.put("name", creature.getName());
-            creatureData.put("level", creature.getStats().getLevel());
-            creatureData.put("health", creature.getStats().getHealth());
-            creatureData.put("maxHealth", creature.getStats().getMaxHealth());
-            creatureData.put("xp", creature.getStats().getXp());
-            creatureData.put("strength", creature.getStats().getStrength());
-            creatureData.put("constitution", creature.getStats().getConstitution());
-            creatureData.put("spirit", creature.getStats().getSpirit());
-            creatureData.put("mental", creature.getStats().getMental());
-            creatureData.put("speed", creature.getStats().getSpeed());
-
-            // Sauvegarder les types
-            List<String> types = new ArrayList<>();
-            for (game.core.type.Type type : creature.getStats().getTypes()) {
-                types.add(type.getName());
-            }
-            creatureData.put("types", types);
-
-            // Sauvegarder les compétences équipées
-            List<String> equippedSkills = new ArrayList<>();
-            for (game.core.skill.Skill skill : creature.getActiveSkills()) {
-                equippedSkills.add(skill.getId());
-            }
-            creatureData.put("equippedSkills", equippedSkills);
-
-            // Sauvegarder les noeuds de compétence débloqués
-            List<String> unlockedNodes = new ArrayList<>();
-            for (game.core.skill.SkillNode node : creature.getSkillTree().getAllNodes()) {
-                if (node.isUnlocked()) {
-                    unlockedNodes.add(node.getId());
-                }
-            }
-            creatureData.put("unlockedNodes", unlockedNodes);
-
-            serializedCreatures.add(creatureData);
-        }
-
-        return serializedCreatures;
-    }
-
-    /**
-     * Sérialise l'inventaire pour la sauvegarde.
-     */
-    private static Map<String, Integer> serializeInventory(Inventory inventory) {
-        Map<String, Integer> itemData = new HashMap<>();
-
-        for (Item item : inventory.getItems()) {
-            itemData.put(item.getId(), inventory.getItemQuantity(item));
-        }
+        Path directory = Paths.get(SAVE_DIRECTORY);
+        Path filePath = savePath(directory, saveName);
+        int journalEnd = SaveJournal.nextSegment(directory, saveName, journalStart(filePath));
 
-        return itemData;
-    }
-
-    /**
-     * Sérialise les PNJ pour la sauvegarde.
-     */
-    private static List<Map<String, Object>> serializeNPCs(List<game.characters.IATrainer> npcs) {
-        List<Map<String, Object>> serializedNPCs = new ArrayList<>();
-
-        for (game.characters.IATrainer npc : npcs) {
-            Map<String, Object> npcData = new HashMap<>();
-            npcData.put("id", npc.getId());
-            npcData.put("name", npc.getName());
-            npcData.put("difficulty", npc.getDifficulty());
-            npcData.put("trainerType", npc.getTrainerType());
-            npcData.put("strategyType", npc.getStrategyType());
-            npcData.put("isGymLeader", npc.isGymLeader());
-
-            // Sauvegarder les créatures du PNJ
-            npcData.put("creatures", serializeCreatures(npc.getCreatures()));
-
-            serializedNPCs.add(npcData);
+        try {
+            SaveJournal.deleteSegments(directory, saveName, journalEnd);
+            return Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la suppression: " + e.getMessage());
+            return false;
         }
-
-        return serializedNPCs;
     }
 
     /**
      * Désérialise les créatures lors du chargement.
      */
-    private static List<Creature> deserializeCreatures(List<Map<String, Object>> serializedCreatures) {
+    private static List<Creature> deserializeCreatures(List<Map<String, Object>> serializedCreatures,
+                                                       GameRandom random) {
         List<Creature> creatures = new ArrayList<>();
 
         // Cette implémentation est une simplification
@@ -279,17 +342,12 @@ public class SaveSystem {
             game.core.type.Type primaryType = null;
 
             // Chercher le type correspondant
-            List<game.core.type.Type> availableTypes = game.core.type.Type.createDefaultTypes();
-            for (game.core.type.Type type : availableTypes) {
-                if (type.getName().equals(typeNames.get(0))) {
-                    primaryType = type;
-                    break;
-                }
-            }
+            TypeRegistry typeRegistry = TypeRegistry.getDefault();
+            primaryType = typeRegistry.get(typeNames.get(0));
 
             if (primaryType == null) {
                 // Type par défaut si introuvable
-                primaryType = availableTypes.get(0);
+                primaryType = typeRegistry.getTypes().get(0);
             }
 
             // Créer la créature de base
@@ -297,11 +355,9 @@ public class SaveSystem {
 
             // Ajouter les types secondaires
             for (int i = 1; i < typeNames.size(); i++) {
-                for (game.core.type.Type type : availableTypes) {
-                    if (type.getName().equals(typeNames.get(i))) {
-                        creature.getStats().addType(type);
-                        break;
-                    }
+                game.core.type.Type type = typeRegistry.get(typeNames.get(i));
+                if (type != null) {
+                    creature.getStats().addType(type);
                 }
             }
 
@@ -311,7 +367,7 @@ public class SaveSystem {
 
             // Simuler la montée en niveau
             for (int i = 1; i < level; i++) {
-                creature.getStats().gainExperience(creature.getStats().getMaxXpNextLevel());
+                creature.getStats().gainExperience(creature.getStats().getMaxXpNextLevel(), random);
             }
 
             // Définir l'XP actuel
@@ -363,7 +419,8 @@ public class SaveSystem {
     /**
      * Désérialise les PNJ lors du chargement.
      */
-    private static List<game.characters.IATrainer> deserializeNPCs(List<Map<String, Object>> serializedNPCs) {
+    private static List<game.characters.IATrainer> deserializeNPCs(List<Map<String, Object>> serializedNPCs,
+                                                                   GameRandom random) {
         List<game.characters.IATrainer> npcs = new ArrayList<>();
 
         for (Map<String, Object> npcData : serializedNPCs) {
@@ -380,7 +437,7 @@ public class SaveSystem {
 
             // Ajouter les créatures
             List<Creature> creatures = deserializeCreatures(
-                    (List<Map<String, Object>>) npcData.get("creatures")
+                    (List<Map<String, Object>>) npcData.get("creatures"), random
             );
 
             for (Creature creature : creatures) {
@@ -1,8 +1,11 @@
 package com.cedric.game.core.battle;
 
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.EffectPool;
+import com.cedric.game.core.random.GameRandom;
 import com.cedric.game.core.skill.Skill;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,12 +14,16 @@ import java.util.List;
 public class Battle {
     private List<Creature> teamA;
     private List<Creature> teamB;
+    private List<Creature> teamAView; // Vues en lecture seule des équipes
+    private List<Creature> teamBView;
     private Creature activeCreatureA;
     private Creature activeCreatureB;
     private List<BattleObserver> observers;
     private BattleState state;
     private int currentTurn;
     private boolean isPlayerTurn;
+    private GameRandom random; // Flux aléatoire propre à ce combat
+    private final EffectPool effectPool = new EffectPool(); // États d'effets recyclés du combat
 
     /**
      * État possible d'une bataille.
@@ -49,8 +56,22 @@ public class Battle {
      * @param teamB Équipe B (généralement l'adversaire)
      */
     public Battle(List<Creature> teamA, List<Creature> teamB) {
+        this(teamA, teamB, new GameRandom());
+    }
+
+    /**
+     * Crée une nouvelle bataille avec son propre flux aléatoire.
+     *
+     * @param teamA Équipe A (généralement le joueur)
+     * @param teamB Équipe B (généralement l'adversaire)
+     * @param random Flux aléatoire du combat (une graine donnée rejoue le même combat)
+     */
+    public Battle(List<Creature> teamA, List<Creature> teamB, GameRandom random) {
+        this.random = random;
         this.teamA = new ArrayList<>(teamA);
         this.teamB = new ArrayList<>(teamB);
+        this.teamAView = Collections.unmodifiableList(this.teamA);
+        this.teamBView = Collections.unmodifiableList(this.teamB);
         this.observers = new ArrayList<>();
         this.state = BattleState.NOT_STARTED;
         this.currentTurn = 0;
@@ -127,7 +148,7 @@ public class Battle {
         Creature attacker = isPlayerTurn ? activeCreatureA : activeCreatureB;
         Creature defender = isPlayerTurn ? activeCreatureB : activeCreatureA;
 
-        int damage = attacker.attack(defender, skill);
+        int damage = attacker.attack(defender, skill, random, effectPool);
 
         if (damage > 0) {
             // Attaque réussie
@@ -265,7 +286,7 @@ public class Battle {
         int escapeFactor = activeCreatureA.getStats().getSpeed() - activeCreatureB.getStats().getSpeed() + 30;
         double escapeChance = Math.min(0.95, Math.max(0.1, escapeFactor / 100.0));
 
-        if (Math.random() < escapeChance) {
+        if (random.nextDouble() < escapeChance) {
             endBattle(BattleState.ESCAPED);
             return true;
         }
@@ -276,6 +297,36 @@ public class Battle {
         return false;
     }
 
+    /**
+     * Passe le tour de la créature active sans agir (aucune action possible).
+     */
+    public void passTurn() {
+        if (state != BattleState.IN_PROGRESS) {
+            return;
+        }
+
+        isPlayerTurn = !isPlayerTurn;
+        startNextTurn();
+    }
+
+    /**
+     * Restaure l'état du combat (depuis un instantané ou un replay), sans notifier les observateurs.
+     *
+     * @param activeIndexA Index de la créature active de l'équipe A
+     * @param activeIndexB Index de la créature active de l'équipe B
+     * @param currentTurn Numéro du tour
+     * @param isPlayerTurn true si c'est au tour de l'équipe A
+     * @param state État du combat
+     */
+    public void restore(int activeIndexA, int activeIndexB, int currentTurn, boolean isPlayerTurn,
+                        BattleState state) {
+        this.activeCreatureA = teamA.get(activeIndexA);
+        this.activeCreatureB = teamB.get(activeIndexB);
+        this.currentTurn = currentTurn;
+        this.isPlayerTurn = isPlayerTurn;
+        this.state = state;
+    }
+
     /**
      * Termine le combat avec un résultat spécifique.
      *
@@ -288,6 +339,14 @@ public class Battle {
 
         state = result;
 
+        // Les modificateurs de stats ne survivent pas au combat
+        for (Creature creature : teamA) {
+            creature.getStats().clearTemporaryModifiers();
+        }
+        for (Creature creature : teamB) {
+            creature.getStats().clearTemporaryModifiers();
+        }
+
         // Distribuer l'expérience en cas de victoire
         if (result == BattleState.TEAM_A_VICTORY) {
             distributeExperience(teamA, teamB);
@@ -334,7 +393,7 @@ public class Battle {
             int bonus = (creature == activeCreatureA || creature == activeCreatureB) ? 10 : 0;
 
             // Gagner l'XP et vérifier le niveau
-            boolean leveledUp = creature.getStats().gainExperience(xpPerCreature + bonus);
+            boolean leveledUp = creature.getStats().gainExperience(xpPerCreature + bonus, random);
 
             if (leveledUp) {
                 creature.onLevelUp();
@@ -352,12 +411,22 @@ public class Battle {
         return activeCreatureB;
     }
 
+    /**
+     * Obtient l'équipe A, sans copie.
+     *
+     * @return Vue non modifiable
+     */
     public List<Creature> getTeamA() {
-        return new ArrayList<>(teamA);
+        return teamAView;
     }
 
+    /**
+     * Obtient l'équipe B, sans copie.
+     *
+     * @return Vue non modifiable
+     */
     public List<Creature> getTeamB() {
-        return new ArrayList<>(teamB);
+        return teamBView;
     }
 
     public BattleState getState() {
@@ -371,4 +440,12 @@ public class Battle {
     public boolean isPlayerTurn() {
         return isPlayerTurn;
     }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    public EffectPool getEffectPool() {
+        return effectPool;
+    }
 }
\ No newline at end of file
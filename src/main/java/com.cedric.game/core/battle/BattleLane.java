@@ -0,0 +1,96 @@
+package com.cedric.game.core.battle;
+
+import com.cedric.game.core.event.BattleEventBus;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * File d'exécution servie par un seul thread, qui héberge un groupe de batailles.
+ *
+ * Toutes les actions d'une bataille passent par sa file : la bataille n'est donc jamais
+ * manipulée par deux threads à la fois et n'a besoin d'aucun verrou. Les batailles qui ont
+ * des actions en attente sont servies à tour de rôle, une action à la fois, pour qu'une
+ * bataille très active ne retarde pas les autres.
+ */
+class BattleLane implements Runnable {
+    private final ConcurrentLinkedQueue<BattleSession> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger battleCount = new AtomicInteger();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean stopped; // Thread terminé : plus aucune action ne sera exécutée
+    private volatile BattleEventBus eventBus; // Bus dont ce thread est l'unique producteur
+
+    BattleLane(int index) {
+        this.thread = new Thread(this, "battle-lane-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Place une bataille dans la file des batailles prêtes.
+     *
+     * @param session Bataille ayant des actions en attente
+     */
+    void schedule(BattleSession session) {
+        ready.add(session);
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        while (running || !ready.isEmpty()) {
+            BattleSession session = ready.poll();
+            if (session == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            session.runNext();
+        }
+
+        // Batailles placées pendant l'arrêt : celles arrivées avant ce drapeau sont encore servies
+        stopped = true;
+        for (BattleSession session; (session = ready.poll()) != null; ) {
+            session.runNext();
+        }
+    }
+
+    /**
+     * Arrête le thread après avoir exécuté les actions déjà soumises.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (eventBus != null) {
+            eventBus.shutdown();
+        }
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    AtomicInteger getBattleCount() {
+        return battleCount;
+    }
+
+    BattleEventBus getEventBus() {
+        return eventBus;
+    }
+
+    void setEventBus(BattleEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+}
@@ -1,18 +1,43 @@
 package com.cedric.game.core.battle;
 
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.event.BattleEvent;
+import com.cedric.game.core.event.BattleEventBus;
+import com.cedric.game.core.event.BattleEventHandler;
+import com.cedric.game.core.event.WaitStrategy;
+import com.cedric.game.core.random.GameRandom;
 import com.cedric.game.characters.Trainer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Gère la création et l'exécution des batailles.
+ *
+ * Le gestionnaire tient un registre de toutes les batailles en cours, par identifiant.
+ * Les batailles créées par {@link #createBattle} sont pilotées par le thread appelant (le jeu) ;
+ * celles créées par {@link #hostBattle} sont confiées à une file d'exécution ({@link BattleLane})
+ * et pilotées par {@link #submit}, ce qui permet d'en faire tourner des milliers à la fois.
  */
 public class BattleManager implements Battle.BattleObserver {
     private List<BattleListener> listeners;
-    private Battle currentBattle;
-    private Random random;
+    private volatile Battle currentBattle;
+    private GameRandom random; // Flux dont chaque bataille reçoit une branche
+    private BattleEventBus eventBus; // Null en mode synchrone
+    private volatile BattleMessageTemplates templates;
+    private final Map<String, BattleSession> battles; // Registre des batailles par identifiant
+    private final Map<Battle, BattleSession> sessionsByBattle;
+    private final AtomicLong nextBattleId;
+    private final int laneCount;
+    private BattleLane[] lanes; // Créées au premier hébergement
+    private int asyncBufferSize; // Paramètres des bus des files, en mode asynchrone
+    private WaitStrategy asyncWaitStrategy;
 
     /**
      * Interface pour écouter les événements de gestion des batailles.
@@ -21,14 +46,126 @@ public class BattleManager implements Battle.BattleObserver {
         void onBattleCreated(Battle battle);
         void onBattleCompleted(Battle battle, Battle.BattleState result);
         void onBattleMessage(String message);
+
+        /**
+         * Reçoit un message structuré. Par défaut, le texte est construit puis transmis à
+         * {@link #onBattleMessage(String)} ; un écouteur qui n'affiche pas de texte peut
+         * redéfinir cette méthode pour qu'aucune chaîne ne soit construite.
+         *
+         * @param message Message structuré
+         */
+        default void onBattleEvent(BattleMessage message) {
+            onBattleMessage(message.render());
+        }
     }
 
     /**
      * Crée un nouveau gestionnaire de batailles.
      */
     public BattleManager() {
-        this.listeners = new ArrayList<>();
-        this.random = new Random();
+        this(new GameRandom());
+    }
+
+    /**
+     * Crée un nouveau gestionnaire de batailles à partir d'un flux aléatoire.
+     *
+     * @param random Flux dont sont dérivés les flux des batailles
+     */
+    public BattleManager(GameRandom random) {
+        this(random, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crée un gestionnaire de batailles avec un nombre donné de files d'exécution.
+     *
+     * @param random Flux dont sont dérivés les flux des batailles
+     * @param laneCount Nombre de files (threads) pour les batailles hébergées
+     */
+    public BattleManager(GameRandom random, int laneCount) {
+        this.listeners = new CopyOnWriteArrayList<>(); // Parcourue par d'autres threads en mode asynchrone
+        this.random = random;
+        this.templates = BattleMessageTemplates.forLocale(Locale.FRENCH);
+        this.battles = new ConcurrentHashMap<>();
+        this.sessionsByBattle = new ConcurrentHashMap<>();
+        this.nextBattleId = new AtomicLong();
+        this.laneCount = Math.max(1, laneCount);
+    }
+
+    /**
+     * Change la langue des messages de combat.
+     *
+     * @param locale Langue des messages
+     */
+    public void setLocale(Locale locale) {
+        this.templates = BattleMessageTemplates.forLocale(locale);
+    }
+
+    public Locale getLocale() {
+        return templates.getLocale();
+    }
+
+    /**
+     * Remplace le flux aléatoire (par exemple après un changement de graine du monde).
+     *
+     * @param random Nouveau flux
+     */
+    public synchronized void setRandom(GameRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Dérive le flux d'une nouvelle bataille (les batailles peuvent être créées par plusieurs threads).
+     *
+     * @return Flux de la bataille
+     */
+    private synchronized GameRandom nextBattleRandom() {
+        return random.split();
+    }
+
+    /**
+     * Active la diffusion asynchrone des événements pour les prochaines batailles : les messages
+     * sont construits et envoyés aux écouteurs sur un thread dédié.
+     *
+     * @param bufferSize Taille de l'anneau d'événements (puissance de deux)
+     * @param waitStrategy Stratégie d'attente du thread de diffusion
+     */
+    public synchronized void enableAsyncEvents(int bufferSize, WaitStrategy waitStrategy) {
+        disableAsyncEvents();
+
+        eventBus = createEventBus(bufferSize, waitStrategy);
+        asyncBufferSize = bufferSize;
+        asyncWaitStrategy = waitStrategy; // Les files créeront leur propre bus à la demande
+    }
+
+    /**
+     * Revient à la diffusion synchrone, après avoir diffusé les événements en attente.
+     */
+    public synchronized void disableAsyncEvents() {
+        if (eventBus != null) {
+            eventBus.shutdown();
+            eventBus = null;
+        }
+
+        if (lanes != null) {
+            for (BattleLane lane : lanes) {
+                if (lane.getEventBus() != null) {
+                    lane.getEventBus().shutdown();
+                    lane.setEventBus(null);
+                }
+            }
+        }
+        asyncWaitStrategy = null;
+    }
+
+    private BattleEventBus createEventBus(int bufferSize, WaitStrategy waitStrategy) {
+        BattleEventBus bus = new BattleEventBus(bufferSize, waitStrategy);
+        bus.addHandler(new MessageHandler());
+        bus.start();
+        return bus;
+    }
+
+    public boolean isAsyncEvents() {
+        return eventBus != null;
     }
 
     /**
@@ -49,6 +186,29 @@ public class BattleManager implements Battle.BattleObserver {
         listeners.remove(listener);
     }
 
+    /**
+     * Ajoute un écouteur qui ne reçoit que les événements d'une bataille.
+     *
+     * @param battleId Identifiant de la bataille
+     * @param listener Écouteur à ajouter
+     */
+    public void addBattleListener(String battleId, BattleListener listener) {
+        getSession(battleId).getListeners().add(listener);
+    }
+
+    /**
+     * Retire un écouteur propre à une bataille.
+     *
+     * @param battleId Identifiant de la bataille
+     * @param listener Écouteur à retirer
+     */
+    public void removeBattleListener(String battleId, BattleListener listener) {
+        BattleSession session = battles.get(battleId);
+        if (session != null) {
+            session.getListeners().remove(listener);
+        }
+    }
+
     /**
      * Crée une nouvelle bataille entre deux dresseurs.
      *
@@ -62,12 +222,12 @@ public class BattleManager implements Battle.BattleObserver {
 
         // Vérifier que les deux dresseurs ont des créatures valides
         if (playerCreatures.isEmpty() || opponentCreatures.isEmpty()) {
-            notifyMessage("Impossible de créer une bataille: un des dresseurs n'a pas de créatures valides.");
+            notifyMessage(BattleMessage.battleImpossible(templates, false));
             return null;
         }
 
-        Battle battle = new Battle(playerCreatures, opponentCreatures);
-        battle.addObserver(this);
+        Battle battle = new Battle(playerCreatures, opponentCreatures, nextBattleRandom());
+        register(battle, null);
         currentBattle = battle;
 
         notifyBattleCreated(battle);
@@ -87,18 +247,212 @@ public class BattleManager implements Battle.BattleObserver {
         wildTeam.add(wildCreature);
 
         if (playerCreatures.isEmpty()) {
-            notifyMessage("Impossible de créer une bataille: le dresseur n'a pas de créatures valides.");
+            notifyMessage(BattleMessage.battleImpossible(templates, true));
             return null;
         }
 
-        Battle battle = new Battle(playerCreatures, wildTeam);
-        battle.addObserver(this);
+        Battle battle = new Battle(playerCreatures, wildTeam, nextBattleRandom());
+        register(battle, null);
         currentBattle = battle;
 
         notifyBattleCreated(battle);
         return battle;
     }
 
+    /**
+     * Crée une bataille confiée à une file d'exécution, par exemple entre deux PNJ.
+     * La bataille ne doit ensuite être manipulée qu'au travers de {@link #submit}.
+     *
+     * @param trainerA Dresseur de l'équipe A
+     * @param trainerB Dresseur de l'équipe B
+     * @return Identifiant de la bataille, ou null si un des dresseurs n'a pas de créatures valides
+     */
+    public String hostBattle(Trainer trainerA, Trainer trainerB) {
+        List<Creature> creaturesA = trainerA.getActiveCreatures();
+        List<Creature> creaturesB = trainerB.getActiveCreatures();
+
+        if (creaturesA.isEmpty() || creaturesB.isEmpty()) {
+            notifyMessage(BattleMessage.battleImpossible(templates, false));
+            return null;
+        }
+
+        Battle battle = new Battle(creaturesA, creaturesB, nextBattleRandom());
+        BattleSession session = register(battle, leastLoadedLane());
+
+        notifyBattleCreated(battle);
+        return session.getId();
+    }
+
+    /**
+     * Exécute une action sur une bataille hébergée, sur le thread de sa file.
+     * Les actions d'une même bataille s'exécutent dans l'ordre de soumission.
+     *
+     * @param battleId Identifiant de la bataille
+     * @param action Action à exécuter
+     * @param <T> Type du résultat
+     * @return Résultat de l'action, disponible une fois l'action exécutée (en échec si les
+     *         files ont été arrêtées par {@link #shutdown()} avant son exécution)
+     */
+    public <T> CompletableFuture<T> submit(String battleId, Function<Battle, T> action) {
+        BattleSession session = getSession(battleId);
+        if (session.getLane() == null) {
+            throw new IllegalStateException("La bataille " + battleId + " est pilotée par le thread qui l'a créée");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean accepted = session.submit(() -> {
+            try {
+                result.complete(action.apply(session.getBattle()));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!accepted) {
+            result.completeExceptionally(new IllegalStateException("Files de batailles arrêtées"));
+        }
+        return result;
+    }
+
+    /**
+     * Retire une bataille du registre sans attendre sa fin (bataille abandonnée).
+     *
+     * @param battleId Identifiant de la bataille
+     */
+    public void removeBattle(String battleId) {
+        BattleSession session = battles.get(battleId);
+        if (session != null) {
+            unregister(session.getBattle());
+            if (currentBattle == session.getBattle()) {
+                currentBattle = null;
+            }
+        }
+    }
+
+    /**
+     * Obtient une bataille du registre.
+     *
+     * @param battleId Identifiant de la bataille
+     * @return Bataille, ou null si elle est inconnue ou terminée
+     */
+    public Battle getBattle(String battleId) {
+        BattleSession session = battles.get(battleId);
+        return session != null ? session.getBattle() : null;
+    }
+
+    /**
+     * Obtient l'identifiant d'une bataille du registre.
+     *
+     * @param battle Bataille
+     * @return Identifiant, ou null si la bataille est inconnue ou terminée
+     */
+    public String getBattleId(Battle battle) {
+        BattleSession session = sessionsByBattle.get(battle);
+        return session != null ? session.getId() : null;
+    }
+
+    public int getActiveBattleCount() {
+        return battles.size();
+    }
+
+    /**
+     * Arrête les files d'exécution et les bus, après les actions déjà soumises.
+     */
+    public void shutdown() {
+        BattleLane[] toStop;
+        synchronized (this) {
+            toStop = lanes;
+            lanes = null;
+        }
+
+        if (toStop != null) {
+            for (BattleLane lane : toStop) {
+                lane.shutdown();
+            }
+        }
+        disableAsyncEvents();
+    }
+
+    /**
+     * Inscrit une bataille au registre et branche ses événements.
+     *
+     * @param battle Bataille à inscrire
+     * @param lane File d'exécution, ou null si la bataille est pilotée par le thread appelant
+     * @return Session de la bataille
+     */
+    private BattleSession register(Battle battle, BattleLane lane) {
+        String id = "battle-" + nextBattleId.incrementAndGet();
+        BattleSession session = new BattleSession(id, battle, lane, eventSink(lane));
+        battle.addObserver(session);
+
+        battles.put(id, session);
+        sessionsByBattle.put(battle, session);
+        if (lane != null) {
+            lane.getBattleCount().incrementAndGet();
+        }
+        return session;
+    }
+
+    private void unregister(Battle battle) {
+        BattleSession session = sessionsByBattle.remove(battle);
+        if (session == null) {
+            return;
+        }
+
+        battles.remove(session.getId());
+        if (session.getLane() != null) {
+            session.getLane().getBattleCount().decrementAndGet();
+        }
+    }
+
+    /**
+     * Choisit la destination des événements d'une bataille. Un bus n'a qu'un producteur : le
+     * thread du jeu pour les batailles qu'il pilote, le thread de la file pour les autres.
+     *
+     * @param lane File de la bataille, ou null
+     * @return Destination des événements
+     */
+    private synchronized Battle.BattleObserver eventSink(BattleLane lane) {
+        if (lane == null) {
+            return eventBus != null ? eventBus : this;
+        }
+
+        if (asyncWaitStrategy != null && lane.getEventBus() == null) {
+            lane.setEventBus(createEventBus(asyncBufferSize, asyncWaitStrategy));
+        }
+        return lane.getEventBus() != null ? lane.getEventBus() : this;
+    }
+
+    /**
+     * Choisit la file qui héberge le moins de batailles (les files sont créées au premier appel).
+     *
+     * @return File choisie
+     */
+    private synchronized BattleLane leastLoadedLane() {
+        if (lanes == null) {
+            lanes = new BattleLane[laneCount];
+            for (int i = 0; i < laneCount; i++) {
+                lanes[i] = new BattleLane(i);
+                lanes[i].start();
+            }
+        }
+
+        BattleLane best = lanes[0];
+        for (BattleLane lane : lanes) {
+            if (lane.getBattleCount().get() < best.getBattleCount().get()) {
+                best = lane;
+            }
+        }
+        return best;
+    }
+
+    private BattleSession getSession(String battleId) {
+        BattleSession session = battles.get(battleId);
+        if (session == null) {
+            throw new IllegalArgumentException("Bataille inconnue: " + battleId);
+        }
+        return session;
+    }
+
     /**
      * Obtient la bataille en cours.
      *
@@ -129,6 +483,13 @@ public class BattleManager implements Battle.BattleObserver {
         for (BattleListener listener : listeners) {
             listener.onBattleCompleted(battle, result);
         }
+
+        BattleSession session = sessionsByBattle.get(battle);
+        if (session != null) {
+            for (BattleListener listener : session.getListeners()) {
+                listener.onBattleCompleted(battle, result);
+            }
+        }
     }
 
     /**
@@ -136,97 +497,163 @@ public class BattleManager implements Battle.BattleObserver {
      *
      * @param message Message à envoyer
      */
-    private void notifyMessage(String message) {
+    private void notifyMessage(BattleMessage message) {
         for (BattleListener listener : listeners) {
-            listener.onBattleMessage(message);
+            listener.onBattleEvent(message);
         }
+
+        // Écouteurs propres à la bataille
+        BattleSession session = message.getBattle() != null ? sessionsByBattle.get(message.getBattle()) : null;
+        if (session != null) {
+            for (BattleListener listener : session.getListeners()) {
+                listener.onBattleEvent(message);
+            }
+        }
+    }
+
+    /**
+     * Vérifie si au moins un écouteur recevra les messages d'une bataille.
+     *
+     * @param battle Bataille concernée
+     * @return true s'il faut créer les messages
+     */
+    private boolean hasListeners(Battle battle) {
+        if (!listeners.isEmpty()) {
+            return true;
+        }
+
+        BattleSession session = sessionsByBattle.get(battle);
+        return session != null && !session.getListeners().isEmpty();
     }
 
     // Implémentation de l'interface BattleObserver
 
     @Override
     public void onBattleStart(Battle battle) {
-        notifyMessage("La bataille commence!");
+        announceBattleStart(battle);
     }
 
     @Override
     public void onTurnStart(Battle battle, boolean isPlayerTurn) {
         Creature activeCreature = isPlayerTurn ? battle.getActiveCreatureA() : battle.getActiveCreatureB();
-        String turnOwner = isPlayerTurn ? "votre" : "l'adversaire";
-        notifyMessage("C'est au tour de " + turnOwner + " créature " + activeCreature.getName() +
-                " (PA: " + activeCreature.getCurrentActionPoints() + "/" + activeCreature.getMaxActionPoints() + ")");
+        announceTurn(battle, activeCreature, isPlayerTurn,
+                activeCreature.getCurrentActionPoints(), activeCreature.getMaxActionPoints());
     }
 
     @Override
     public void onAttackPerformed(Battle battle, Creature attacker, Creature defender,
                                   game.core.skill.Skill skill, int damage) {
-        String message = attacker.getName() + " utilise " + skill.getName() + "! ";
+        announceAttack(battle, attacker, defender, skill, damage,
+                skill.getExperience() >= skill.getExperienceToNextLevel(), skill.getLevel());
+    }
 
-        // Ajouter des détails sur l'efficacité basée sur les types
-        double effectiveness = 1.0;
-        for (game.core.type.Type attackerType : attacker.getStats().getTypes()) {
-            for (game.core.type.Type defenderType : defender.getStats().getTypes()) {
-                effectiveness *= attackerType.getEffectivenessAgainst(defenderType);
-            }
+    @Override
+    public void onCreatureDefeated(Battle battle, Creature creature) {
+        announceDefeat(battle, creature);
+    }
+
+    @Override
+    public void onCreatureSwitched(Battle battle, Creature oldCreature, Creature newCreature, boolean isTeamA) {
+        announceSwitch(battle, oldCreature, newCreature, isTeamA);
+    }
+
+    @Override
+    public void onBattleEnd(Battle battle, Battle.BattleState result) {
+        announceBattleEnd(battle, result);
+    }
+
+    // Création des messages, communes aux modes synchrone et asynchrone.
+    // Sans écouteur, aucun message n'est créé.
+
+    private void announceBattleStart(Battle battle) {
+        if (hasListeners(battle)) {
+            notifyMessage(BattleMessage.battleStart(templates, battle));
+        }
+    }
+
+    private void announceTurn(Battle battle, Creature activeCreature, boolean isPlayerTurn,
+                              int actionPoints, int maxActionPoints) {
+        if (hasListeners(battle)) {
+            notifyMessage(BattleMessage.turnStart(templates, battle, activeCreature, isPlayerTurn,
+                    actionPoints, maxActionPoints));
         }
+    }
 
-        if (effectiveness > 1.5) {
-            message += "C'est super efficace! ";
-        } else if (effectiveness < 0.5 && effectiveness > 0) {
-            message += "Ce n'est pas très efficace... ";
-        } else if (effectiveness == 0) {
-            message += "Ça n'affecte pas " + defender.getName() + "... ";
+    private void announceAttack(Battle battle, Creature attacker, Creature defender,
+                                game.core.skill.Skill skill, int damage, boolean skillLevelUp,
+                                int skillLevel) {
+        if (!hasListeners(battle)) {
+            return;
         }
 
-        message += defender.getName() + " perd " + damage + " PV!";
-        notifyMessage(message);
+        notifyMessage(BattleMessage.attack(templates, battle, attacker, defender, skill, damage));
 
         // Vérifier si des compétences ont gagné des niveaux
-        if (skill.getExperience() >= skill.getExperienceToNextLevel()) {
-            notifyMessage(skill.getName() + " monte au niveau " + skill.getLevel() + "!");
+        if (skillLevelUp) {
+            notifyMessage(BattleMessage.skillLevelUp(templates, battle, attacker, skill, skillLevel));
         }
     }
 
-    @Override
-    public void onCreatureDefeated(Battle battle, Creature creature) {
-        notifyMessage(creature.getName() + " est K.O.!");
+    private void announceDefeat(Battle battle, Creature creature) {
+        if (hasListeners(battle)) {
+            notifyMessage(BattleMessage.creatureDefeated(templates, battle, creature));
+        }
     }
 
-    @Override
-    public void onCreatureSwitched(Battle battle, Creature oldCreature, Creature newCreature, boolean isTeamA) {
-        String team = isTeamA ? "Votre équipe" : "L'équipe adverse";
-        notifyMessage(team + " change de créature. " + oldCreature.getName() +
-                " revient et " + newCreature.getName() + " entre en jeu!");
+    private void announceSwitch(Battle battle, Creature oldCreature, Creature newCreature, boolean isTeamA) {
+        if (hasListeners(battle)) {
+            notifyMessage(BattleMessage.creatureSwitched(templates, battle, oldCreature, newCreature, isTeamA));
+        }
     }
 
-    @Override
-    public void onBattleEnd(Battle battle, Battle.BattleState result) {
-        String message;
-
-        switch (result) {
-            case TEAM_A_VICTORY:
-                message = "Vous avez gagné le combat!";
-                break;
-            case TEAM_B_VICTORY:
-                message = "Vous avez perdu le combat...";
-                break;
-            case ESCAPED:
-                message = "Vous avez fui le combat!";
-                break;
-            case DRAW:
-                message = "Le combat se termine par un match nul.";
-                break;
-            default:
-                message = "Le combat est terminé.";
-                break;
-        }
-
-        notifyMessage(message);
-        notifyBattleCompleted(battle, result);
-
-        // Réinitialiser la bataille courante
-        if (currentBattle == battle) {
-            currentBattle = null;
-        }
-    }
-}
\ No newline at end of file
+    private void announceBattleEnd(Battle battle, Battle.BattleState result) {
+        if (hasListeners(battle)) {
+            notifyMessage(BattleMessage.battleEnd(templates, battle, result));
+        }
+        try {
+            notifyBattleCompleted(battle, result);
+        } finally {
+            // Retirer la bataille du registre et réinitialiser la bataille courante, même si
+            // un écouteur a échoué
+            unregister(battle);
+            if (currentBattle == battle) {
+                currentBattle = null;
+            }
+        }
+    }
+
+    /**
+     * Diffuse les événements du bus aux écouteurs, sur le thread du bus.
+     * Les valeurs variables (PA, montée et niveau de compétence) sont celles capturées
+     * à la publication.
+     */
+    private class MessageHandler implements BattleEventHandler {
+        @Override
+        public void onEvent(BattleEvent event, long sequence, boolean endOfBatch) {
+            switch (event.getKind()) {
+                case BATTLE_START:
+                    announceBattleStart(event.getBattle());
+                    break;
+                case TURN_START:
+                    announceTurn(event.getBattle(), event.getCreature(), event.isTeamA(),
+                            event.getActionPoints(), event.getMaxActionPoints());
+                    break;
+                case ATTACK:
+                    announceAttack(event.getBattle(), event.getCreature(), event.getOtherCreature(),
+                            event.getSkill(), event.getDamage(), event.isSkillLevelUp(),
+                            event.getSkillLevel());
+                    break;
+                case CREATURE_DEFEATED:
+                    announceDefeat(event.getBattle(), event.getCreature());
+                    break;
+                case CREATURE_SWITCHED:
+                    announceSwitch(event.getBattle(), event.getCreature(), event.getOtherCreature(),
+                            event.isTeamA());
+                    break;
+                case BATTLE_END:
+                    announceBattleEnd(event.getBattle(), event.getResult());
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.cedric.game.core.battle;
+
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.type.TypeChart;
+
+/**
+ * Message de combat structuré, diffusé aux {@link BattleManager.BattleListener}.
+ *
+ * Le texte n'est construit que si un écouteur le demande ({@link #render()}), à partir des
+ * modèles de la langue du gestionnaire. Les valeurs qui changent pendant le combat (PA,
+ * niveau de compétence) sont copiées à la création du message.
+ */
+public final class BattleMessage {
+    /**
+     * Nature du message.
+     */
+    public enum Kind {
+        BATTLE_IMPOSSIBLE,
+        WILD_BATTLE_IMPOSSIBLE,
+        BATTLE_START,
+        TURN_START,
+        ATTACK,
+        SKILL_LEVEL_UP,
+        CREATURE_DEFEATED,
+        CREATURE_SWITCHED,
+        BATTLE_END
+    }
+
+    /**
+     * Classe d'efficacité d'une attaque, qui détermine la formulation du message.
+     */
+    public enum Effectiveness {
+        NO_EFFECT,
+        NOT_VERY_EFFECTIVE,
+        NORMAL,
+        SUPER_EFFECTIVE;
+
+        /**
+         * Classe un multiplicateur d'efficacité (mêmes seuils que les messages historiques).
+         *
+         * @param multiplier Multiplicateur de dégâts des types
+         * @return Classe d'efficacité
+         */
+        public static Effectiveness of(double multiplier) {
+            if (multiplier > 1.5) {
+                return SUPER_EFFECTIVE;
+            } else if (multiplier < 0.5 && multiplier > 0) {
+                return NOT_VERY_EFFECTIVE;
+            } else if (multiplier == 0) {
+                return NO_EFFECT;
+            }
+            return NORMAL;
+        }
+    }
+
+    private final Kind kind;
+    private final BattleMessageTemplates templates;
+    private final Battle battle;
+    private final Creature creature; // Créature active, attaquant, créature K.O. ou ancienne créature
+    private final Creature otherCreature; // Défenseur ou nouvelle créature
+    private final Skill skill;
+    private final int value; // Dégâts, PA ou niveau de compétence selon la nature
+    private final int maxValue; // PA maximum pour TURN_START
+    private final boolean teamA;
+    private final Battle.BattleState result;
+    private Effectiveness effectiveness; // Calculée à la demande
+
+    private BattleMessage(Kind kind, BattleMessageTemplates templates, Battle battle, Creature creature,
+                          Creature otherCreature, Skill skill, int value, int maxValue, boolean teamA,
+                          Battle.BattleState result) {
+        this.kind = kind;
+        this.templates = templates;
+        this.battle = battle;
+        this.creature = creature;
+        this.otherCreature = otherCreature;
+        this.skill = skill;
+        this.value = value;
+        this.maxValue = maxValue;
+        this.teamA = teamA;
+        this.result = result;
+    }
+
+    static BattleMessage battleImpossible(BattleMessageTemplates templates, boolean wild) {
+        return new BattleMessage(wild ? Kind.WILD_BATTLE_IMPOSSIBLE : Kind.BATTLE_IMPOSSIBLE, templates,
+                null, null, null, null, 0, 0, false, null);
+    }
+
+    static BattleMessage battleStart(BattleMessageTemplates templates, Battle battle) {
+        return new BattleMessage(Kind.BATTLE_START, templates, battle, null, null, null, 0, 0, false, null);
+    }
+
+    static BattleMessage turnStart(BattleMessageTemplates templates, Battle battle, Creature activeCreature,
+                                   boolean isPlayerTurn, int actionPoints, int maxActionPoints) {
+        return new BattleMessage(Kind.TURN_START, templates, battle, activeCreature, null, null,
+                actionPoints, maxActionPoints, isPlayerTurn, null);
+    }
+
+    static BattleMessage attack(BattleMessageTemplates templates, Battle battle, Creature attacker,
+                                Creature defender, Skill skill, int damage) {
+        return new BattleMessage(Kind.ATTACK, templates, battle, attacker, defender, skill, damage, 0, false, null);
+    }
+
+    static BattleMessage skillLevelUp(BattleMessageTemplates templates, Battle battle, Creature creature,
+                                      Skill skill, int level) {
+        return new BattleMessage(Kind.SKILL_LEVEL_UP, templates, battle, creature, null, skill, level, 0, false, null);
+    }
+
+    static BattleMessage creatureDefeated(BattleMessageTemplates templates, Battle battle, Creature creature) {
+        return new BattleMessage(Kind.CREATURE_DEFEATED, templates, battle, creature, null, null, 0, 0, false, null);
+    }
+
+    static BattleMessage creatureSwitched(BattleMessageTemplates templates, Battle battle, Creature oldCreature,
+                                          Creature newCreature, boolean isTeamA) {
+        return new BattleMessage(Kind.CREATURE_SWITCHED, templates, battle, oldCreature, newCreature, null,
+                0, 0, isTeamA, null);
+    }
+
+    static BattleMessage battleEnd(BattleMessageTemplates templates, Battle battle, Battle.BattleState result) {
+        return new BattleMessage(Kind.BATTLE_END, templates, battle, null, null, null, 0, 0, false, result);
+    }
+
+    /**
+     * Construit le texte du message dans la langue du gestionnaire.
+     *
+     * @return Texte du message
+     */
+    public String render() {
+        return templates.render(this);
+    }
+
+    /**
+     * Obtient la classe d'efficacité d'une attaque (calculée au premier appel).
+     *
+     * @return Classe d'efficacité, ou null si le message n'est pas une attaque
+     */
+    public Effectiveness getEffectiveness() {
+        if (kind != Kind.ATTACK) {
+            return null;
+        }
+
+        if (effectiveness == null) {
+            effectiveness = Effectiveness.of(TypeChart.getMultiplier(
+                    creature.getStats().getTypeCombination(), otherCreature.getStats().getTypeCombination()));
+        }
+        return effectiveness;
+    }
+
+    // Getters
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Battle getBattle() {
+        return battle;
+    }
+
+    public Creature getCreature() {
+        return creature;
+    }
+
+    public Creature getOtherCreature() {
+        return otherCreature;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public String getSkillId() {
+        return skill != null ? skill.getId() : null;
+    }
+
+    public int getDamage() {
+        return kind == Kind.ATTACK ? value : 0;
+    }
+
+    public int getActionPoints() {
+        return kind == Kind.TURN_START ? value : 0;
+    }
+
+    public int getMaxActionPoints() {
+        return maxValue;
+    }
+
+    public int getSkillLevel() {
+        return kind == Kind.SKILL_LEVEL_UP ? value : 0;
+    }
+
+    public boolean isTeamA() {
+        return teamA;
+    }
+
+    public Battle.BattleState getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,221 @@
+package com.cedric.game.core.battle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Modèles de texte des messages de combat pour une langue.
+ *
+ * Les modèles sont lus dans le bundle {@code battle_messages} s'il existe pour la langue
+ * demandée, sinon les textes français intégrés sont utilisés. Chaque modèle est découpé une
+ * seule fois en morceaux fixes et en arguments ; les instances sont immuables et partagées.
+ */
+public final class BattleMessageTemplates {
+    private static final String BUNDLE_NAME = "battle_messages";
+    private static final ConcurrentMap<Locale, BattleMessageTemplates> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Clés des modèles, avec leur texte français par défaut.
+     */
+    enum Key {
+        BATTLE_IMPOSSIBLE("Impossible de créer une bataille: un des dresseurs n'a pas de créatures valides."),
+        WILD_BATTLE_IMPOSSIBLE("Impossible de créer une bataille: le dresseur n'a pas de créatures valides."),
+        BATTLE_START("La bataille commence!"),
+        TURN_START_PLAYER("C'est au tour de votre créature {0} (PA: {1}/{2})"),
+        TURN_START_OPPONENT("C'est au tour de l'adversaire créature {0} (PA: {1}/{2})"),
+        ATTACK("{0} utilise {1}! {2}{3} perd {4} PV!"),
+        SUPER_EFFECTIVE("C'est super efficace! "),
+        NOT_VERY_EFFECTIVE("Ce n'est pas très efficace... "),
+        NO_EFFECT("Ça n'affecte pas {0}... "),
+        SKILL_LEVEL_UP("{0} monte au niveau {1}!"),
+        CREATURE_DEFEATED("{0} est K.O.!"),
+        SWITCH_PLAYER("Votre équipe change de créature. {0} revient et {1} entre en jeu!"),
+        SWITCH_OPPONENT("L'équipe adverse change de créature. {0} revient et {1} entre en jeu!"),
+        VICTORY("Vous avez gagné le combat!"),
+        DEFEAT("Vous avez perdu le combat..."),
+        ESCAPED("Vous avez fui le combat!"),
+        DRAW("Le combat se termine par un match nul."),
+        ENDED("Le combat est terminé.");
+
+        private final String defaultText;
+
+        Key(String defaultText) {
+            this.defaultText = defaultText;
+        }
+    }
+
+    private final Locale locale;
+    private final Template[] templates; // Indexés par Key.ordinal()
+
+    private BattleMessageTemplates(Locale locale, ResourceBundle bundle) {
+        this.locale = locale;
+        this.templates = new Template[Key.values().length];
+
+        for (Key key : Key.values()) {
+            String text = key.defaultText;
+            if (bundle != null && bundle.containsKey(key.name().toLowerCase(Locale.ROOT))) {
+                text = bundle.getString(key.name().toLowerCase(Locale.ROOT));
+            }
+            templates[key.ordinal()] = new Template(text);
+        }
+    }
+
+    /**
+     * Obtient les modèles d'une langue (chargés une seule fois).
+     *
+     * @param locale Langue souhaitée
+     * @return Modèles de la langue
+     */
+    public static BattleMessageTemplates forLocale(Locale locale) {
+        return CACHE.computeIfAbsent(locale, BattleMessageTemplates::load);
+    }
+
+    private static BattleMessageTemplates load(Locale locale) {
+        ResourceBundle bundle = null;
+        try {
+            bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale);
+        } catch (MissingResourceException e) {
+            // Pas de traduction : textes français intégrés
+        }
+        return new BattleMessageTemplates(locale, bundle);
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Construit le texte d'un message.
+     *
+     * @param message Message à rendre
+     * @return Texte du message
+     */
+    String render(BattleMessage message) {
+        switch (message.getKind()) {
+            case BATTLE_IMPOSSIBLE:
+                return get(Key.BATTLE_IMPOSSIBLE).render();
+            case WILD_BATTLE_IMPOSSIBLE:
+                return get(Key.WILD_BATTLE_IMPOSSIBLE).render();
+            case BATTLE_START:
+                return get(Key.BATTLE_START).render();
+            case TURN_START:
+                return get(message.isTeamA() ? Key.TURN_START_PLAYER : Key.TURN_START_OPPONENT)
+                        .render(message.getCreature().getName(), message.getActionPoints(),
+                                message.getMaxActionPoints());
+            case ATTACK:
+                return get(Key.ATTACK).render(message.getCreature().getName(), message.getSkill().getName(),
+                        renderEffectiveness(message), message.getOtherCreature().getName(), message.getDamage());
+            case SKILL_LEVEL_UP:
+                return get(Key.SKILL_LEVEL_UP).render(message.getSkill().getName(), message.getSkillLevel());
+            case CREATURE_DEFEATED:
+                return get(Key.CREATURE_DEFEATED).render(message.getCreature().getName());
+            case CREATURE_SWITCHED:
+                return get(message.isTeamA() ? Key.SWITCH_PLAYER : Key.SWITCH_OPPONENT)
+                        .render(message.getCreature().getName(), message.getOtherCreature().getName());
+            case BATTLE_END:
+                return renderResult(message.getResult());
+            default:
+                return "";
+        }
+    }
+
+    private String renderEffectiveness(BattleMessage message) {
+        switch (message.getEffectiveness()) {
+            case SUPER_EFFECTIVE:
+                return get(Key.SUPER_EFFECTIVE).render();
+            case NOT_VERY_EFFECTIVE:
+                return get(Key.NOT_VERY_EFFECTIVE).render();
+            case NO_EFFECT:
+                return get(Key.NO_EFFECT).render(message.getOtherCreature().getName());
+            default:
+                return "";
+        }
+    }
+
+    private String renderResult(Battle.BattleState result) {
+        switch (result) {
+            case TEAM_A_VICTORY:
+                return get(Key.VICTORY).render();
+            case TEAM_B_VICTORY:
+                return get(Key.DEFEAT).render();
+            case ESCAPED:
+                return get(Key.ESCAPED).render();
+            case DRAW:
+                return get(Key.DRAW).render();
+            default:
+                return get(Key.ENDED).render();
+        }
+    }
+
+    private Template get(Key key) {
+        return templates[key.ordinal()];
+    }
+
+    /**
+     * Modèle précompilé : morceaux fixes entrecoupés d'arguments {n}.
+     */
+    private static final class Template {
+        private final String[] literals; // Un morceau de plus que d'arguments
+        private final int[] arguments;
+        private final int length; // Longueur des morceaux fixes, pour dimensionner le tampon
+
+        Template(String text) {
+            List<String> literalList = new ArrayList<>();
+            List<Integer> argumentList = new ArrayList<>();
+            int start = 0;
+            int open = text.indexOf('{');
+
+            while (open >= 0) {
+                int close = text.indexOf('}', open);
+                if (close < 0) {
+                    break;
+                }
+
+                int index;
+                try {
+                    index = Integer.parseInt(text.substring(open + 1, close));
+                } catch (NumberFormatException e) {
+                    open = text.indexOf('{', open + 1); // Accolade littérale
+                    continue;
+                }
+
+                literalList.add(text.substring(start, open));
+                argumentList.add(index);
+                start = close + 1;
+                open = text.indexOf('{', start);
+            }
+            literalList.add(text.substring(start));
+
+            this.literals = literalList.toArray(new String[0]);
+            this.arguments = new int[argumentList.size()];
+            int total = 0;
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = argumentList.get(i);
+            }
+            for (String literal : literals) {
+                total += literal.length();
+            }
+            this.length = total;
+        }
+
+        String render(Object... values) {
+            if (arguments.length == 0) {
+                return literals[0];
+            }
+
+            StringBuilder builder = new StringBuilder(length + 16 * arguments.length);
+            for (int i = 0; i < arguments.length; i++) {
+                builder.append(literals[i]);
+                int index = arguments[i];
+                builder.append(index < values.length ? values[index] : "");
+            }
+            builder.append(literals[arguments.length]);
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.cedric.game.core.battle;
+
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.skill.Skill;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entrée du registre des batailles : la bataille, sa file d'exécution et ses écouteurs propres.
+ *
+ * La session observe la bataille et transmet ses événements à sa destination (le gestionnaire,
+ * ou un bus asynchrone), ce qui permet de router les messages vers les écouteurs de la bataille.
+ */
+class BattleSession implements Battle.BattleObserver {
+    private final String id;
+    private final Battle battle;
+    private final BattleLane lane; // Null si la bataille est pilotée par le thread qui l'a créée
+    private final Battle.BattleObserver sink;
+    private final List<BattleManager.BattleListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    BattleSession(String id, Battle battle, BattleLane lane, Battle.BattleObserver sink) {
+        this.id = id;
+        this.battle = battle;
+        this.lane = lane;
+        this.sink = sink;
+    }
+
+    /**
+     * Ajoute une action à exécuter sur la file de la bataille.
+     *
+     * @param task Action à exécuter
+     * @return false si la file est arrêtée : l'action ne sera jamais exécutée
+     */
+    boolean submit(Runnable task) {
+        tasks.add(task);
+        if (scheduled.compareAndSet(false, true)) {
+            lane.schedule(this);
+        }
+
+        // File arrêtée : l'action n'est rejetée que si elle n'a pas été prise avant l'arrêt
+        return !lane.isStopped() || !tasks.remove(task);
+    }
+
+    /**
+     * Exécute la prochaine action en attente (sur le thread de la file), puis se replace en
+     * fin de file s'il en reste.
+     */
+    void runNext() {
+        Runnable task = tasks.poll();
+        if (task != null) {
+            task.run();
+        }
+
+        if (!tasks.isEmpty()) {
+            lane.schedule(this);
+            return;
+        }
+
+        scheduled.set(false);
+        // Une action a pu arriver entre la vérification et la remise à zéro
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            lane.schedule(this);
+        }
+    }
+
+    // Implémentation de l'interface BattleObserver : tout est transmis à la destination
+
+    @Override
+    public void onBattleStart(Battle battle) {
+        sink.onBattleStart(battle);
+    }
+
+    @Override
+    public void onTurnStart(Battle battle, boolean isPlayerTurn) {
+        sink.onTurnStart(battle, isPlayerTurn);
+    }
+
+    @Override
+    public void onAttackPerformed(Battle battle, Creature attacker, Creature defender, Skill skill, int damage) {
+        sink.onAttackPerformed(battle, attacker, defender, skill, damage);
+    }
+
+    @Override
+    public void onCreatureDefeated(Battle battle, Creature creature) {
+        sink.onCreatureDefeated(battle, creature);
+    }
+
+    @Override
+    public void onCreatureSwitched(Battle battle, Creature oldCreature, Creature newCreature, boolean isTeamA) {
+        sink.onCreatureSwitched(battle, oldCreature, newCreature, isTeamA);
+    }
+
+    @Override
+    public void onBattleEnd(Battle battle, Battle.BattleState result) {
+        sink.onBattleEnd(battle, result);
+    }
+
+    // Getters
+
+    String getId() {
+        return id;
+    }
+
+    Battle getBattle() {
+        return battle;
+    }
+
+    BattleLane getLane() {
+        return lane;
+    }
+
+    List<BattleManager.BattleListener> getListeners() {
+        return listeners;
+    }
+}
@@ -0,0 +1,429 @@
+package com.cedric.game.core.battle;
+
+import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.PlayerTrainer;
+import com.cedric.game.characters.Trainer;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.simulation.BattleSimulator;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * File d'attente de combats : associe des dresseurs (joueurs ou PNJ) de force proche.
+ *
+ * Chaque inscrit a une cote, la force de son équipe ({@link #teamScore}). Deux inscrits sont
+ * associés si l'écart de leurs cotes tient dans la fenêtre de celui qui attend depuis le plus
+ * longtemps ; la fenêtre s'élargit avec l'attente jusqu'à un maximum, ce qui borne l'attente
+ * des cotes isolées.
+ *
+ * Les inscrits sont rangés par cote dans une liste à enjambements concurrente : chercher un
+ * adversaire part de la cote de l'inscrit et s'écarte de part et d'autre, en O(log n). Un
+ * inscrit est réservé par une opération atomique avant d'être associé, de sorte que plusieurs
+ * threads peuvent apparier en même temps sans verrou ni double association. Une fois la paire
+ * formée : si un joueur y participe, la paire lui est rendue sans combat, et c'est le thread du
+ * jeu qui crée le combat ({@link BattleManager#createBattle}) ; le thread qui a formé la paire
+ * (par exemple celui du balayage) ne doit pas piloter le combat du joueur. Un combat entre PNJ
+ * est hébergé sur une file ({@link BattleManager#hostBattle}) et joué jusqu'au bout par leurs IA,
+ * puis retiré du registre.
+ */
+public class Matchmaker {
+    private static final int WAITING = 0;
+    private static final int CLAIMED = 1;
+    private static final int GONE = 2;
+    private static final int HOSTED_MAX_TURNS = 500; // Au-delà, combat entre PNJ déclaré nul
+
+    private static final Comparator<Entrant> BY_SCORE =
+            Comparator.<Entrant>comparingInt(e -> e.score).thenComparingLong(e -> e.sequence);
+
+    private final BattleManager battleManager;
+    private final int baseWindow;
+    private final int widenPerSecond;
+    private final int maxWindow;
+    private final NavigableSet<Entrant> byScore = new ConcurrentSkipListSet<>(BY_SCORE);
+    private final ConcurrentLinkedQueue<Entrant> byArrival = new ConcurrentLinkedQueue<>();
+    private final Map<String, Entrant> byTrainer = new ConcurrentHashMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong matchCount = new AtomicLong();
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    /**
+     * Inscrit en attente d'un adversaire.
+     */
+    private static final class Entrant {
+        private final Trainer trainer;
+        private final int score;
+        private final long sequence; // Départage les cotes égales
+        private final long enqueuedAt; // System.nanoTime() à l'inscription
+        private final CompletableFuture<Match> match;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Entrant(Trainer trainer, int score, long sequence, long enqueuedAt, CompletableFuture<Match> match) {
+            this.trainer = trainer;
+            this.score = score;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+            this.match = match;
+        }
+    }
+
+    /**
+     * Paire formée par la file d'attente, et son combat.
+     */
+    public static final class Match {
+        private final Trainer trainerA;
+        private final Trainer trainerB;
+        private final String battleId; // Combat hébergé, null pour un joueur ou en cas d'échec
+        private final boolean hosted;
+
+        Match(Trainer trainerA, Trainer trainerB, String battleId, boolean hosted) {
+            this.trainerA = trainerA;
+            this.trainerB = trainerB;
+            this.battleId = battleId;
+            this.hosted = hosted;
+        }
+
+        public Trainer getTrainerA() {
+            return trainerA;
+        }
+
+        public Trainer getTrainerB() {
+            return trainerB;
+        }
+
+        /**
+         * Obtient l'identifiant du combat hébergé.
+         *
+         * @return Identifiant, ou null pour une paire avec un joueur (combat à créer par le jeu)
+         *         ou si le combat n'a pas pu être créé
+         */
+        public String getBattleId() {
+            return battleId;
+        }
+
+        /**
+         * Indique si le combat est hébergé sur une file ({@link BattleManager#submit}) plutôt
+         * que piloté par le jeu. Un combat hébergé est joué sans intervention.
+         *
+         * @return true pour un combat entre PNJ
+         */
+        public boolean isHosted() {
+            return hosted;
+        }
+    }
+
+    /**
+     * Crée une file d'attente.
+     *
+     * @param battleManager Gestionnaire qui crée les combats
+     * @param baseWindow Écart de cote accepté à l'inscription
+     * @param widenPerSecond Élargissement de la fenêtre par seconde d'attente
+     * @param maxWindow Fenêtre maximale
+     */
+    public Matchmaker(BattleManager battleManager, int baseWindow, int widenPerSecond, int maxWindow) {
+        if (baseWindow < 0 || widenPerSecond < 0 || maxWindow < baseWindow) {
+            throw new IllegalArgumentException("Fenêtre invalide: " + baseWindow + ", " + widenPerSecond + ", " + maxWindow);
+        }
+        this.battleManager = battleManager;
+        this.baseWindow = baseWindow;
+        this.widenPerSecond = widenPerSecond;
+        this.maxWindow = maxWindow;
+    }
+
+    /**
+     * Calcule la cote d'un dresseur : dix fois le niveau moyen de ses créatures actives.
+     *
+     * @param trainer Dresseur
+     * @return Cote, 0 si aucune créature n'est active
+     */
+    public static int teamScore(Trainer trainer) {
+        int count = 0;
+        int totalLevel = 0;
+        for (int i = 0; i < trainer.getCreatureCount(); i++) {
+            Creature creature = trainer.getCreature(i);
+            if (!creature.isDead()) {
+                count++;
+                totalLevel += creature.getStats().getLevel();
+            }
+        }
+        return count == 0 ? 0 : totalLevel * 10 / count;
+    }
+
+    /**
+     * Inscrit un dresseur et cherche tout de suite un adversaire.
+     *
+     * @param trainer Dresseur à inscrire
+     * @return Paire à venir (déjà terminée si un adversaire était disponible)
+     * @throws IllegalStateException si le dresseur est déjà inscrit
+     */
+    public CompletableFuture<Match> enqueue(Trainer trainer) {
+        CompletableFuture<Match> match = new CompletableFuture<>();
+        Entrant entrant = new Entrant(trainer, teamScore(trainer), nextSequence.getAndIncrement(), System.nanoTime(), match);
+        if (byTrainer.putIfAbsent(trainer.getId(), entrant) != null) {
+            throw new IllegalStateException("Dresseur déjà inscrit: " + trainer.getId());
+        }
+
+        byScore.add(entrant);
+        byArrival.add(entrant);
+        tryMatch(entrant, System.nanoTime());
+        return match;
+    }
+
+    /**
+     * Recalcule la cote d'un inscrit dont l'équipe a changé. Il garde son ancienneté.
+     *
+     * @param trainer Dresseur inscrit
+     * @return false si le dresseur n'est pas (ou plus) en attente
+     */
+    public boolean updateScore(Trainer trainer) {
+        Entrant old = byTrainer.get(trainer.getId());
+        if (old == null || !old.state.compareAndSet(WAITING, GONE)) {
+            return false;
+        }
+
+        Entrant rescored = new Entrant(trainer, teamScore(trainer), old.sequence, old.enqueuedAt, old.match);
+        byTrainer.put(trainer.getId(), rescored);
+        byScore.remove(old); // Avant l'ajout : à cote égale, les deux entrées sont équivalentes
+        byScore.add(rescored);
+        byArrival.add(rescored); // L'ancienne entrée est ignorée puis retirée par le balayage
+        tryMatch(rescored, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Retire un dresseur de la file. Sa paire à venir est annulée.
+     *
+     * @param trainerId Identifiant du dresseur
+     * @return false si le dresseur n'était pas en attente
+     */
+    public boolean leave(String trainerId) {
+        Entrant entrant = byTrainer.get(trainerId);
+        if (entrant == null || !entrant.state.compareAndSet(WAITING, GONE)) {
+            return false;
+        }
+
+        discard(entrant);
+        entrant.match.cancel(false);
+        return true;
+    }
+
+    /**
+     * Balaye les inscrits du plus ancien au plus récent, pour appareiller ceux dont la fenêtre
+     * s'est élargie depuis leur inscription.
+     *
+     * @return Nombre de paires formées
+     */
+    public int matchWaiting() {
+        long before = matchCount.get();
+        long now = System.nanoTime();
+
+        Iterator<Entrant> iterator = byArrival.iterator();
+        while (iterator.hasNext()) {
+            Entrant entrant = iterator.next();
+            if (entrant.state.get() == GONE) {
+                iterator.remove(); // Associé, parti ou recoté
+            } else {
+                tryMatch(entrant, now);
+            }
+        }
+        return (int) (matchCount.get() - before);
+    }
+
+    /**
+     * Démarre un thread de fond qui balaye la file à intervalle régulier.
+     *
+     * @param period Intervalle entre deux balayages
+     * @param unit Unité de l'intervalle
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (thread != null) {
+            return;
+        }
+        long periodNanos = unit.toNanos(period);
+        running = true;
+        thread = new Thread(() -> {
+            while (running) {
+                matchWaiting();
+                LockSupport.parkNanos(this, periodNanos);
+            }
+        }, "matchmaking");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Arrête le thread de fond. Les inscrits restent en attente.
+     */
+    public synchronized void shutdown() {
+        Thread toStop = thread;
+        if (toStop == null) {
+            return;
+        }
+        running = false;
+        thread = null;
+        LockSupport.unpark(toStop);
+
+        try {
+            toStop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getWaitingCount() {
+        return byTrainer.size();
+    }
+
+    public long getMatchCount() {
+        return matchCount.get();
+    }
+
+    /**
+     * Obtient la fenêtre actuelle d'un inscrit.
+     *
+     * @param trainerId Identifiant du dresseur
+     * @return Écart de cote accepté, ou -1 si le dresseur n'est pas en attente
+     */
+    public int getWindow(String trainerId) {
+        Entrant entrant = byTrainer.get(trainerId);
+        return entrant != null ? window(entrant, System.nanoTime()) : -1;
+    }
+
+    private int window(Entrant entrant, long now) {
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(now - entrant.enqueuedAt);
+        long widened = baseWindow + waitedMillis * widenPerSecond / 1000;
+        return (int) Math.min(maxWindow, widened);
+    }
+
+    /**
+     * Cherche un adversaire à un inscrit parmi ses deux voisins en attente (juste en dessous et
+     * juste au-dessus de sa cote), le plus proche d'abord. Un candidat plus éloigné mais plus
+     * ancien trouvera lui-même ses voisins lors du balayage.
+     */
+    private void tryMatch(Entrant entrant, long now) {
+        if (!entrant.state.compareAndSet(WAITING, CLAIMED)) {
+            return; // Déjà pris par un autre appariement
+        }
+
+        Entrant below = nearestWaiting(byScore.headSet(entrant, false).descendingIterator());
+        Entrant above = nearestWaiting(byScore.tailSet(entrant, false).iterator());
+        if (below != null && above != null
+                && above.score - entrant.score < entrant.score - below.score) {
+            Entrant swap = below;
+            below = above;
+            above = swap;
+        }
+
+        int ownWindow = window(entrant, now);
+        if (tryClaim(entrant, below, ownWindow, now) || tryClaim(entrant, above, ownWindow, now)) {
+            return;
+        }
+        entrant.state.set(WAITING); // Pas d'adversaire pour l'instant
+    }
+
+    /**
+     * Réserve et associe un candidat si l'écart tient dans la fenêtre de celui des deux qui
+     * attend depuis le plus longtemps.
+     */
+    private boolean tryClaim(Entrant entrant, Entrant candidate, int ownWindow, long now) {
+        if (candidate == null) {
+            return false;
+        }
+
+        int gap = Math.abs(candidate.score - entrant.score);
+        if (gap > Math.max(ownWindow, window(candidate, now)) || !candidate.state.compareAndSet(WAITING, CLAIMED)) {
+            return false;
+        }
+        pair(entrant, candidate);
+        return true;
+    }
+
+    /**
+     * Premier inscrit en attente d'un parcours ; ceux en cours d'association sont sautés.
+     */
+    private static Entrant nearestWaiting(Iterator<Entrant> iterator) {
+        while (iterator.hasNext()) {
+            Entrant candidate = iterator.next();
+            if (candidate.state.get() == WAITING) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associe deux inscrits réservés : les retire de la file et, entre PNJ, lance leur combat.
+     * Le plus ancien est l'équipe A, sauf si l'autre est un joueur.
+     */
+    private void pair(Entrant first, Entrant second) {
+        first.state.set(GONE);
+        second.state.set(GONE);
+        discard(first);
+        discard(second);
+        matchCount.incrementAndGet();
+
+        Entrant a = first.sequence <= second.sequence ? first : second;
+        Entrant b = a == first ? second : first;
+        if (b.trainer instanceof PlayerTrainer && !(a.trainer instanceof PlayerTrainer)) {
+            Entrant swap = a;
+            a = b;
+            b = swap;
+        }
+
+        Match match;
+        if (a.trainer instanceof PlayerTrainer) {
+            match = new Match(a.trainer, b.trainer, null, false); // Combat créé par le jeu
+        } else {
+            match = new Match(a.trainer, b.trainer, hostAndPlay(a.trainer, b.trainer), true);
+        }
+
+        a.match.complete(match);
+        b.match.complete(match);
+    }
+
+    /**
+     * Héberge le combat de deux PNJ et le fait jouer jusqu'au bout sur sa file. La fin du combat
+     * le retire du registre ; il est retiré aussi si le combat échoue en cours de route.
+     *
+     * @return Identifiant du combat, ou null s'il n'a pas pu être créé
+     */
+    private String hostAndPlay(Trainer trainerA, Trainer trainerB) {
+        if (!(trainerA instanceof IATrainer) || !(trainerB instanceof IATrainer)) {
+            return null; // Pas d'IA pour jouer le combat
+        }
+
+        String battleId = battleManager.hostBattle(trainerA, trainerB);
+        if (battleId == null) {
+            return null;
+        }
+
+        IATrainer pilotA = (IATrainer) trainerA;
+        IATrainer pilotB = (IATrainer) trainerB;
+        battleManager.submit(battleId, battle -> BattleSimulator.playBattle(battle, pilotA, pilotB, HOSTED_MAX_TURNS))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        battleManager.removeBattle(battleId);
+                    }
+                });
+        return battleId;
+    }
+
+    /**
+     * Retire un inscrit des index (l'index d'arrivée est nettoyé par le balayage).
+     */
+    private void discard(Entrant entrant) {
+        byScore.remove(entrant);
+        byTrainer.remove(entrant.trainer.getId(), entrant);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.skill.SkillEffect;
+
+/**
+ * Effet actif sur une créature : le modèle partagé et le nombre de tours restants.
+ *
+ * Les états appliqués en combat viennent de l'{@link EffectPool} du combat et y retournent à
+ * leur expiration. Un état obtenu par {@link Creature#getActiveEffects()} peut donc être
+ * recyclé dès la mise à jour suivante des effets : il ne doit pas être conservé.
+ */
+public final class ActiveEffect {
+    private final EffectPool pool; // Pool d'origine (null si l'état n'est pas recyclé)
+    private SkillEffect effect;
+    private int remainingTurns;
+
+    /**
+     * Crée un état hors pool (restauration d'un état sauvegardé).
+     *
+     * @param effect Modèle de l'effet
+     * @param remainingTurns Tours restants
+     */
+    public ActiveEffect(SkillEffect effect, int remainingTurns) {
+        this(null, effect, remainingTurns);
+    }
+
+    ActiveEffect(EffectPool pool, SkillEffect effect, int remainingTurns) {
+        this.pool = pool;
+        this.effect = effect;
+        this.remainingTurns = remainingTurns;
+    }
+
+    void reset(SkillEffect effect, int remainingTurns) {
+        this.effect = effect;
+        this.remainingTurns = remainingTurns;
+    }
+
+    void setRemainingTurns(int remainingTurns) {
+        this.remainingTurns = remainingTurns;
+    }
+
+    /**
+     * Rend l'état à son pool d'origine. Il ne doit plus être utilisé ensuite.
+     */
+    void release() {
+        effect = null;
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+
+    public SkillEffect getEffect() {
+        return effect;
+    }
+
+    public String getId() {
+        return effect.getId();
+    }
+
+    public int getRemainingTurns() {
+        return remainingTurns;
+    }
+}
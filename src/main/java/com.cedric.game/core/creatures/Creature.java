@@ -1,10 +1,13 @@
 package com.cedric.game.core.creature;
 
+import com.cedric.game.core.random.GameRandom;
 import com.cedric.game.core.skill.Skill;
 import com.cedric.game.core.skill.SkillTree;
 import com.cedric.game.core.skill.SkillEffect;
 import game.core.type.Type;
+import com.cedric.game.core.type.TypeChart;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,10 +19,11 @@ public class Creature {
     private Statistics stats;
     private SkillTree skillTree;
     private List<Skill> activeSkills; // Compétences actuellement équipées (max 4)
+    private List<Skill> activeSkillsView; // Vue en lecture seule de activeSkills
     private int currentActionPoints;
     private int maxActionPoints;
     private int skillPoints; // Points pour débloquer des compétences
-    private List<SkillEffect> activeEffects; // Effets actifs sur la créature
+    private EffectWheel activeEffects; // Effets actifs sur la créature, rangés par expiration
 
     /**
      * Crée une nouvelle créature.
@@ -36,10 +40,11 @@ public class Creature {
         this.stats.addType(primaryType);
         this.skillTree = new SkillTree(primaryType);
         this.activeSkills = new ArrayList<>();
+        this.activeSkillsView = Collections.unmodifiableList(activeSkills);
         this.maxActionPoints = 10; // Valeur de base, peut être calculée à partir des stats
         this.currentActionPoints = this.maxActionPoints;
         this.skillPoints = 3; // Points de compétence initiaux
-        this.activeEffects = new ArrayList<>();
+        this.activeEffects = new EffectWheel();
     }
 
     /**
@@ -117,6 +122,32 @@ public class Creature {
      * @return Dégâts infligés
      */
     public int attack(Creature target, Skill skill) {
+        return attack(target, skill, GameRandom.current());
+    }
+
+    /**
+     * Attaquer une autre créature avec une compétence, en utilisant le flux aléatoire du combat.
+     *
+     * @param target Créature cible
+     * @param skill Compétence à utiliser
+     * @param random Flux du combat
+     * @return Dégâts infligés
+     */
+    public int attack(Creature target, Skill skill, GameRandom random) {
+        return attack(target, skill, random, null);
+    }
+
+    /**
+     * Attaquer une autre créature avec une compétence, en prenant les états d'effets dans le
+     * pool du combat.
+     *
+     * @param target Créature cible
+     * @param skill Compétence à utiliser
+     * @param random Flux du combat
+     * @param effectPool Pool d'effets du combat (null pour allouer chaque état)
+     * @return Dégâts infligés
+     */
+    public int attack(Creature target, Skill skill, GameRandom random, EffectPool effectPool) {
         if (!activeSkills.contains(skill)) {
             return 0; // La créature ne possède pas cette compétence
         }
@@ -130,15 +161,12 @@ public class Creature {
             currentActionPoints -= skill.getActionPointCost();
 
             // Calculer les dégâts
-            double typeEffectiveness = 1.0;
-            for (Type attackerType : stats.getTypes()) {
-                for (Type defenderType : target.getStats().getTypes()) {
-                    typeEffectiveness *= attackerType.getEffectivenessAgainst(defenderType);
-                }
-            }
+            double typeEffectiveness = TypeChart.getMultiplier(
+                    stats.getTypeCombination(), target.getStats().getTypeCombination());
 
             // Formule de dégâts, intégrant le niveau de compétence
-            int baseDamage = skill.getPower() * stats.getStrength() / target.getStats().getConstitution();
+            int baseDamage = skill.getPower() * stats.getStrength()
+                    / Math.max(1, target.getStats().getConstitution()); // Constitution nulle : pas de division par zéro
             int skillLevelBonus = (int)(baseDamage * (skill.getLevel() * 0.05)); // +5% par niveau de compétence
             int finalDamage = (int)((baseDamage + skillLevelBonus) * typeEffectiveness);
 
@@ -147,7 +175,7 @@ public class Creature {
 
             // Appliquer les effets de la compétence
             for (SkillEffect effect : skill.getEffects()) {
-                target.applyEffect(effect.clone()); // Clone pour avoir un effet unique par cible
+                target.applyEffect(effect, random, effectPool);
             }
 
             // Donner de l'expérience à la compétence en fonction des dégâts
@@ -165,34 +193,68 @@ public class Creature {
      * @param effect Effet à appliquer
      */
     public void applyEffect(SkillEffect effect) {
-        // Vérifier si l'effet existe déjà, si oui, le remplacer
-        for (int i = 0; i < activeEffects.size(); i++) {
-            if (activeEffects.get(i).getName().equals(effect.getName())) {
-                activeEffects.set(i, effect);
-                return;
-            }
+        applyEffect(effect, GameRandom.current());
+    }
+
+    /**
+     * Appliquer un effet à la créature en utilisant un flux aléatoire donné.
+     *
+     * @param effect Effet à appliquer
+     * @param random Flux du combat
+     */
+    public void applyEffect(SkillEffect effect, GameRandom random) {
+        applyEffect(effect, random, null);
+    }
+
+    /**
+     * Appliquer un effet à la créature, avec un état pris dans le pool du combat.
+     *
+     * @param effect Modèle de l'effet à appliquer
+     * @param random Flux du combat
+     * @param effectPool Pool d'effets du combat (null pour allouer l'état)
+     */
+    public void applyEffect(SkillEffect effect, GameRandom random, EffectPool effectPool) {
+        // Si l'effet existe déjà, sa durée (et celle de son modificateur) repart simplement à zéro
+        if (activeEffects.refresh(effect)) {
+            effect.refresh(this);
+            return;
         }
 
-        // Sinon, ajouter le nouvel effet
-        activeEffects.add(effect);
-        effect.apply(this);
+        activeEffects.schedule(effectPool != null
+                ? effectPool.acquire(effect)
+                : new ActiveEffect(effect, effect.getDuration()));
+        effect.apply(this, random);
     }
 
     /**
-     * Mettre à jour les effets actifs (à appeler à chaque tour).
+     * Mettre à jour les effets actifs et les modificateurs de stats (à appeler à chaque tour).
+     * Seuls les effets qui expirent à ce tour sont visités.
      */
     public void updateEffects() {
-        List<SkillEffect> expiredEffects = new ArrayList<>();
+        activeEffects.advance();
+        stats.updateModifiers();
+    }
 
-        for (SkillEffect effect : activeEffects) {
-            effect.updateDuration();
-            if (effect.isExpired()) {
-                expiredEffects.add(effect);
-            }
-        }
+    /**
+     * Cherche un effet actif par identifiant.
+     *
+     * @param effectId Identifiant de l'effet
+     * @return Effet actif, ou null
+     */
+    public ActiveEffect getActiveEffect(String effectId) {
+        return activeEffects.find(effectId);
+    }
 
-        // Retirer les effets expirés
-        activeEffects.removeAll(expiredEffects);
+    /**
+     * Remplacer les effets actifs sans les appliquer (restauration d'un état sauvegardé).
+     *
+     * @param effects Effets à restaurer, avec leurs tours restants
+     */
+    public void restoreEffects(List<ActiveEffect> effects) {
+        activeEffects.clear();
+        for (ActiveEffect effect : effects) {
+            activeEffects.schedule(effect);
+        }
     }
 
     /**
@@ -268,18 +330,42 @@ public class Creature {
         return stats;
     }
 
+    /**
+     * Obtient les compétences équipées, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements de la créature
+     */
     public List<Skill> getActiveSkills() {
-        return new ArrayList<>(activeSkills);
+        return activeSkillsView;
+    }
+
+    public int getActiveSkillCount() {
+        return activeSkills.size();
+    }
+
+    public Skill getActiveSkill(int index) {
+        return activeSkills.get(index);
     }
 
     public int getCurrentActionPoints() {
         return currentActionPoints;
     }
 
+    public void setCurrentActionPoints(int currentActionPoints) {
+        this.currentActionPoints = Math.max(0, Math.min(maxActionPoints, currentActionPoints));
+    }
+
     public int getMaxActionPoints() {
         return maxActionPoints;
     }
 
+    public void setMaxActionPoints(int maxActionPoints) {
+        this.maxActionPoints = Math.max(0, maxActionPoints);
+        if (currentActionPoints > this.maxActionPoints) {
+            currentActionPoints = this.maxActionPoints;
+        }
+    }
+
     public int getSkillPoints() {
         return skillPoints;
     }
@@ -288,8 +374,13 @@ public class Creature {
         return skillTree;
     }
 
-    public List<SkillEffect> getActiveEffects() {
-        return new ArrayList<>(activeEffects);
+    /**
+     * Obtient les effets actifs, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements de la créature
+     */
+    public List<ActiveEffect> getActiveEffects() {
+        return activeEffects.view();
     }
 
     public boolean isDead() {
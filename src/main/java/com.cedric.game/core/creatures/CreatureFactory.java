@@ -0,0 +1,200 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.skill.SkillNode;
+import com.cedric.game.core.skill.SkillTree;
+import com.cedric.game.core.type.Type;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fabrique de créatures de niveau quelconque.
+ *
+ * Une créature de niveau N est construite directement : ses stats sont montées en une fois
+ * ({@link Statistics#growToLevel}) au lieu de rejouer N - 1 gains d'expérience, avec les mêmes
+ * lois de répartition. Les compétences de départ sont débloquées puis équipées comme lors d'une
+ * génération classique.
+ *
+ * La génération en masse ({@link #createBatch}) donne à chaque créature son propre flux dérivé
+ * de la graine et de son index : le résultat est identique quel que soit le nombre de threads.
+ */
+public class CreatureFactory {
+    private static final int MAX_EQUIPPED_SKILLS = 4;
+    private static final int LEVELS_PER_EXTRA_SKILL = 3;
+
+    private final List<Type> types;
+
+    /**
+     * Crée une fabrique.
+     *
+     * @param types Types possibles pour les créatures au type tiré au hasard
+     */
+    public CreatureFactory(List<Type> types) {
+        this.types = types;
+    }
+
+    /**
+     * Modèle de génération en masse.
+     */
+    public static final class Template {
+        private final String idPrefix;
+        private final String name;
+        private final Type primaryType; // null : type tiré au hasard pour chaque créature
+        private final int minLevel;
+        private final int maxLevel;
+
+        /**
+         * Crée un modèle.
+         *
+         * @param idPrefix Préfixe des identifiants (suivi de l'index de la créature)
+         * @param name Nom des créatures
+         * @param primaryType Type principal, ou null pour un type aléatoire
+         * @param minLevel Niveau minimum
+         * @param maxLevel Niveau maximum (inclus)
+         */
+        public Template(String idPrefix, String name, Type primaryType, int minLevel, int maxLevel) {
+            if (minLevel < 1 || maxLevel < minLevel) {
+                throw new IllegalArgumentException("Niveaux invalides: " + minLevel + "-" + maxLevel);
+            }
+            this.idPrefix = idPrefix;
+            this.name = name;
+            this.primaryType = primaryType;
+            this.minLevel = minLevel;
+            this.maxLevel = maxLevel;
+        }
+
+        public String getIdPrefix() {
+            return idPrefix;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Type getPrimaryType() {
+            return primaryType;
+        }
+
+        public int getMinLevel() {
+            return minLevel;
+        }
+
+        public int getMaxLevel() {
+            return maxLevel;
+        }
+    }
+
+    /**
+     * Crée une créature d'un type tiré au hasard.
+     *
+     * @param id Identifiant de la créature
+     * @param name Nom de la créature
+     * @param level Niveau souhaité
+     * @param random Flux utilisé pour le type, les stats et les compétences
+     * @return Créature générée
+     */
+    public Creature createRandom(String id, String name, int level, GameRandom random) {
+        Type primaryType = types.get(random.nextInt(types.size()));
+        return create(id, name, primaryType, level, random);
+    }
+
+    /**
+     * Crée une créature d'un type donné par son nom (sans tenir compte de la casse).
+     * Si le type n'est pas trouvé, le premier type disponible est utilisé.
+     *
+     * @param id Identifiant de la créature
+     * @param name Nom de la créature
+     * @param level Niveau souhaité
+     * @param typeName Nom du type principal
+     * @param random Flux utilisé pour les stats et les compétences
+     * @return Créature générée
+     */
+    public Creature createWithType(String id, String name, int level, String typeName, GameRandom random) {
+        return create(id, name, findType(typeName), level, random);
+    }
+
+    /**
+     * Crée une créature d'un type donné.
+     *
+     * @param id Identifiant de la créature
+     * @param name Nom de la créature
+     * @param primaryType Type principal
+     * @param level Niveau souhaité
+     * @param random Flux utilisé pour les stats et les compétences
+     * @return Créature générée
+     */
+    public Creature create(String id, String name, Type primaryType, int level, GameRandom random) {
+        Creature creature = new Creature(id, name, primaryType);
+        creature.getStats().growToLevel(level, random);
+        unlockStartingSkills(creature, level, random);
+        return creature;
+    }
+
+    /**
+     * Crée un lot de créatures à partir d'un modèle, en parallèle.
+     * La créature d'index i ne dépend que de la graine et de i.
+     *
+     * @param template Modèle des créatures
+     * @param count Nombre de créatures
+     * @param seed Graine du lot
+     * @return Créatures générées, par index
+     */
+    public Creature[] createBatch(Template template, int count, long seed) {
+        Creature[] creatures = new Creature[count];
+        Arrays.parallelSetAll(creatures, i -> createFromTemplate(template, i, GameRandom.forIndex(seed, i)));
+        return creatures;
+    }
+
+    private Creature createFromTemplate(Template template, int index, GameRandom random) {
+        int levelSpan = template.getMaxLevel() - template.getMinLevel() + 1;
+        int level = template.getMinLevel() + random.nextInt(levelSpan);
+        String id = template.getIdPrefix() + "_" + index;
+
+        if (template.getPrimaryType() == null) {
+            return createRandom(id, template.getName(), level, random);
+        }
+        return create(id, template.getName(), template.getPrimaryType(), level, random);
+    }
+
+    /**
+     * Cherche un type par son nom, sans tenir compte de la casse.
+     *
+     * @param typeName Nom du type
+     * @return Type trouvé, sinon le premier type disponible (null s'il n'y en a aucun)
+     */
+    public Type findType(String typeName) {
+        for (Type type : types) {
+            if (type.getName().equalsIgnoreCase(typeName)) {
+                return type;
+            }
+        }
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    /**
+     * Débloque les compétences racines et quelques compétences supplémentaires selon le niveau,
+     * puis équipe les premières compétences débloquées.
+     */
+    private void unlockStartingSkills(Creature creature, int level, GameRandom random) {
+        SkillTree skillTree = creature.getSkillTree();
+
+        List<SkillNode> rootNodes = skillTree.getRootNodes();
+        for (int i = 0; i < rootNodes.size(); i++) {
+            creature.unlockSkillNode(rootNodes.get(i).getId());
+        }
+
+        // Nœuds disponibles suivis par l'arbre, sans reconstruire de liste
+        int additionalSkills = Math.min(level / LEVELS_PER_EXTRA_SKILL, skillTree.getAvailableNodeCount());
+        for (int i = 0; i < additionalSkills && skillTree.getAvailableNodeCount() > 0; i++) {
+            int randomIndex = random.nextInt(skillTree.getAvailableNodeCount());
+            creature.unlockSkillNode(skillTree.getAvailableNode(randomIndex).getId());
+        }
+
+        List<Skill> unlockedSkills = skillTree.getUnlockedSkills();
+        for (int i = 0; i < Math.min(MAX_EQUIPPED_SKILLS, unlockedSkills.size()); i++) {
+            creature.equipSkill(unlockedSkills.get(i));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.skill.SkillEffect;
+
+import java.util.Arrays;
+
+/**
+ * Réserve d'états d'effets actifs propre à un combat.
+ *
+ * Appliquer un effet prend un {@link ActiveEffect} libre au lieu d'en allouer un, et l'état
+ * revient ici quand l'effet expire ou est retiré. Après quelques tours, un combat (même très
+ * long) n'alloue plus rien pour ses effets.
+ *
+ * Un état peut être rendu depuis un autre thread que celui du combat (remise à zéro des
+ * créatures entre deux matchs d'un tournoi) : les accès sont donc synchronisés, sans
+ * contention en pratique.
+ */
+public final class EffectPool {
+    private ActiveEffect[] free = new ActiveEffect[16];
+    private int freeCount;
+    private int created;
+
+    /**
+     * Obtient un état pour un effet qui vient d'être appliqué.
+     *
+     * @param effect Modèle de l'effet
+     * @return État avec la durée complète de l'effet
+     */
+    public synchronized ActiveEffect acquire(SkillEffect effect) {
+        if (freeCount == 0) {
+            created++;
+            return new ActiveEffect(this, effect, effect.getDuration());
+        }
+
+        ActiveEffect state = free[--freeCount];
+        free[freeCount] = null;
+        state.reset(effect, effect.getDuration());
+        return state;
+    }
+
+    synchronized void release(ActiveEffect state) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = state;
+    }
+
+    /**
+     * Obtient le nombre d'états libres.
+     *
+     * @return États disponibles sans allocation
+     */
+    public synchronized int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Obtient le nombre d'états alloués par ce pool depuis sa création.
+     *
+     * @return États créés
+     */
+    public synchronized int getCreatedCount() {
+        return created;
+    }
+}
@@ -0,0 +1,230 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.skill.SkillEffect;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Échéancier des effets actifs d'une créature : une petite roue temporelle indexée par tick.
+ *
+ * Un tick correspond à un appel de {@link Creature#updateEffects()}. Chaque effet est rangé
+ * dans la case de son tick d'expiration ; avancer d'un tick ne parcourt que cette case, sans
+ * toucher aux autres effets ni allouer. Les entrées vivent dans des tableaux parallèles
+ * (listes chaînées par index) gardés denses : un effet retiré est remplacé par le dernier,
+ * ce qui permet d'exposer les effets actifs par une vue indexée sans copie. Un index par
+ * identifiant d'effet remplace la recherche linéaire. Les états retirés retournent à leur pool.
+ */
+final class EffectWheel {
+    private static final int WHEEL_SIZE = 16; // Puissance de deux
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NONE = -1;
+
+    private final int[] buckets = new int[WHEEL_SIZE];
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final List<ActiveEffect> view = new View();
+    private ActiveEffect[] effects = new ActiveEffect[4];
+    private int[] expiries = new int[4];
+    private int[] next = new int[4];
+    private int[] previous = new int[4];
+    private int size;
+    private int tick;
+
+    /**
+     * Vue en lecture seule des effets actifs, dont la durée restante est mise à jour à la lecture.
+     */
+    private final class View extends AbstractList<ActiveEffect> {
+        @Override
+        public ActiveEffect get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", taille: " + size);
+            }
+            return sync(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    EffectWheel() {
+        Arrays.fill(buckets, NONE);
+    }
+
+    /**
+     * Cherche un effet actif par identifiant.
+     *
+     * @param id Identifiant de l'effet
+     * @return Effet actif, ou null
+     */
+    ActiveEffect find(String id) {
+        Integer slot = slotsById.get(id);
+        return slot != null ? sync(slot) : null;
+    }
+
+    /**
+     * Relance l'effet actif de même identifiant : sa durée repart de la durée du modèle.
+     *
+     * @param effect Modèle de l'effet réappliqué
+     * @return true si l'effet était déjà actif
+     */
+    boolean refresh(SkillEffect effect) {
+        Integer existing = slotsById.get(effect.getId());
+        if (existing == null) {
+            return false;
+        }
+
+        ActiveEffect state = effects[existing];
+        unlink(existing);
+        state.reset(effect, effect.getDuration());
+        link(existing, state);
+        return true;
+    }
+
+    /**
+     * Ajoute un état, ou remplace l'état actif de même identifiant (rendu à son pool).
+     *
+     * @param state État à ajouter
+     */
+    void schedule(ActiveEffect state) {
+        Integer existing = slotsById.get(state.getId());
+        if (existing != null) {
+            unlink(existing);
+            effects[existing].release();
+            link(existing, state);
+            return;
+        }
+
+        if (size == effects.length) {
+            int capacity = effects.length * 2;
+            effects = Arrays.copyOf(effects, capacity);
+            expiries = Arrays.copyOf(expiries, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+        }
+
+        int slot = size++;
+        slotsById.put(state.getId(), slot);
+        link(slot, state);
+    }
+
+    /**
+     * Avance d'un tick et retire les effets arrivés à expiration.
+     */
+    void advance() {
+        tick++;
+        if (size == 0) {
+            return;
+        }
+
+        int slot = buckets[tick & WHEEL_MASK];
+        while (slot != NONE) {
+            int following = next[slot];
+            if (expiries[slot] == tick) {
+                remove(slot);
+                if (following == size) {
+                    following = slot; // Le suivant vient d'être déplacé dans la case libérée
+                }
+            }
+            slot = following;
+        }
+    }
+
+    /**
+     * Retire tous les effets.
+     */
+    void clear() {
+        for (int slot = 0; slot < size; slot++) {
+            effects[slot].release();
+            effects[slot] = null;
+        }
+        Arrays.fill(buckets, NONE);
+        slotsById.clear();
+        size = 0;
+    }
+
+    /**
+     * Obtient la vue des effets actifs. Elle suit les changements de la roue.
+     *
+     * @return Vue non modifiable
+     */
+    List<ActiveEffect> view() {
+        return view;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Met à jour la durée restante d'une entrée.
+     * Un effet instantané (durée 0) garde sa durée jusqu'à son retrait.
+     */
+    private ActiveEffect sync(int slot) {
+        ActiveEffect state = effects[slot];
+        if (state.getRemainingTurns() > 0) {
+            state.setRemainingTurns(expiries[slot] - tick);
+        }
+        return state;
+    }
+
+    /**
+     * Range un état dans la case de son expiration : un effet avec d tours restants expire au
+     * d-ième tick (au premier pour une durée nulle).
+     */
+    private void link(int slot, ActiveEffect state) {
+        int expiry = tick + Math.max(1, state.getRemainingTurns());
+        int bucket = expiry & WHEEL_MASK;
+
+        effects[slot] = state;
+        expiries[slot] = expiry;
+        previous[slot] = NONE;
+        next[slot] = buckets[bucket];
+        if (buckets[bucket] != NONE) {
+            previous[buckets[bucket]] = slot;
+        }
+        buckets[bucket] = slot;
+    }
+
+    private void unlink(int slot) {
+        if (previous[slot] != NONE) {
+            next[previous[slot]] = next[slot];
+        } else {
+            buckets[expiries[slot] & WHEEL_MASK] = next[slot];
+        }
+        if (next[slot] != NONE) {
+            previous[next[slot]] = previous[slot];
+        }
+    }
+
+    /**
+     * Retire une entrée et déplace la dernière à sa place pour garder les tableaux denses.
+     */
+    private void remove(int slot) {
+        unlink(slot);
+        slotsById.remove(effects[slot].getId());
+        effects[slot].release();
+
+        int last = --size;
+        if (slot != last) {
+            effects[slot] = effects[last];
+            expiries[slot] = expiries[last];
+            next[slot] = next[last];
+            previous[slot] = previous[last];
+            if (previous[slot] != NONE) {
+                next[previous[slot]] = slot;
+            } else {
+                buckets[expiries[slot] & WHEEL_MASK] = slot;
+            }
+            if (next[slot] != NONE) {
+                previous[next[slot]] = slot;
+            }
+            slotsById.put(effects[slot].getId(), slot);
+        }
+        effects[last] = null;
+    }
+}
@@ -1,5 +1,8 @@
 package com.cedric.game.core.creature;
 
+import com.cedric.game.core.type.TypeChart;
+import com.cedric.game.core.type.TypeRegistry;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -10,6 +13,7 @@ import java.util.List;
  */
 public class PetTeam {
     private List<Creature> creatures;
+    private List<Creature> creaturesView; // Vue en lecture seule de creatures
     private int maxSize;
     private String name;
     private Creature activeCreature;
@@ -31,6 +35,7 @@ public class PetTeam {
         this.name = name;
         this.maxSize = maxSize;
         this.creatures = new ArrayList<>();
+        this.creaturesView = Collections.unmodifiableList(creatures);
         this.activeCreature = null;
     }
 
@@ -222,20 +227,15 @@ public class PetTeam {
 
         Creature bestCreature = null;
         double bestEffectiveness = 0;
+        game.core.type.Type targetType = TypeRegistry.getDefault().getIgnoreCase(typeName);
+        int targetCombination = targetType != null ? targetType.getCombination() : TypeChart.NO_TYPE;
 
         for (Creature creature : creatures) {
             if (creature.isDead()) {
                 continue;
             }
 
-            double effectiveness = 1.0;
-            for (game.core.type.Type type : creature.getStats().getTypes()) {
-                for (game.core.type.Type availableType : game.core.type.Type.createDefaultTypes()) {
-                    if (availableType.getName().equalsIgnoreCase(typeName)) {
-                        effectiveness *= type.getEffectivenessAgainst(availableType);
-                    }
-                }
-            }
+            double effectiveness = TypeChart.getMultiplier(creature.getStats().getTypeCombination(), targetCombination);
 
             if (bestCreature == null || effectiveness > bestEffectiveness) {
                 bestCreature = creature;
@@ -248,8 +248,21 @@ public class PetTeam {
 
     // Getters et setters
 
+    /**
+     * Obtient les créatures, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements de l'équipe
+     */
     public List<Creature> getCreatures() {
-        return new ArrayList<>(creatures);
+        return creaturesView;
+    }
+
+    public int getCreatureCount() {
+        return creatures.size();
+    }
+
+    public Creature getCreature(int index) {
+        return creatures.get(index);
     }
 
     public int getMaxSize() {
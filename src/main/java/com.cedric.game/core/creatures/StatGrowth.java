@@ -0,0 +1,155 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.random.GameRandom;
+
+/**
+ * Tables de croissance des statistiques, pour monter une créature de plusieurs niveaux d'un coup.
+ *
+ * À chaque niveau, une stat primaire gagne 1 + un bit aléatoire : sur L niveaux, le gain est
+ * L + le nombre de bits à 1 de L bits tirés d'un coup (mêmes lois que L tirages successifs).
+ * Un réservoir dérivé gagne à chaque niveau une part de la stat (stat / d) avant son gain ;
+ * la somme de ces parts se calcule octet par octet des bits tirés grâce à des tables précalculées
+ * (somme des rangs des bits, somme des restes modulo d), sans rejouer les niveaux un par un.
+ */
+final class StatGrowth {
+    static final int BASE_XP = 100; // XP du niveau 1 vers le niveau 2
+    private static final int XP_TABLE_SIZE = 1024;
+    private static final int MAX_DIVISOR = 3;
+
+    // XP nécessaire pour le niveau suivant après n montées de niveau depuis BASE_XP
+    private static final int[] XP_AFTER_LEVEL_UPS = new int[XP_TABLE_SIZE];
+    // Pour un octet : somme sur ses bits à 1 (rang j) de (7 - j), soit le nombre de pas suivants
+    private static final int[] LATER_STEPS = new int[256];
+    // [diviseur][reste de départ][octet] : somme des restes modulo le diviseur sur les 8 pas
+    private static final int[][][] RESIDUE_SUMS = new int[MAX_DIVISOR + 1][][];
+
+    static {
+        XP_AFTER_LEVEL_UPS[0] = BASE_XP;
+        for (int i = 1; i < XP_TABLE_SIZE; i++) {
+            XP_AFTER_LEVEL_UPS[i] = nextLevelXp(XP_AFTER_LEVEL_UPS[i - 1]);
+        }
+
+        for (int b = 0; b < 256; b++) {
+            for (int j = 0; j < 8; j++) {
+                if ((b & (1 << j)) != 0) {
+                    LATER_STEPS[b] += 7 - j;
+                }
+            }
+        }
+
+        for (int d = 1; d <= MAX_DIVISOR; d++) {
+            RESIDUE_SUMS[d] = new int[d][256];
+            for (int r = 0; r < d; r++) {
+                for (int b = 0; b < 256; b++) {
+                    int residue = r;
+                    int sum = 0;
+                    for (int j = 0; j < 8; j++) {
+                        sum += residue;
+                        residue = (residue + 1 + ((b >>> j) & 1)) % d;
+                    }
+                    RESIDUE_SUMS[d][r][b] = sum;
+                }
+            }
+        }
+    }
+
+    private StatGrowth() {
+    }
+
+    /**
+     * Calcule l'XP du niveau suivant après une montée de niveau (même formule que
+     * {@link Statistics}).
+     */
+    static int nextLevelXp(int maxXpNextLevel) {
+        return (int)(maxXpNextLevel * 1.2);
+    }
+
+    /**
+     * Calcule l'XP du niveau suivant après plusieurs montées de niveau.
+     * Sur la courbe standard (départ à {@link #BASE_XP}), c'est une lecture de table.
+     *
+     * @param maxXpNextLevel XP du niveau suivant au départ
+     * @param levelUps Nombre de montées de niveau
+     * @return XP du niveau suivant à l'arrivée
+     */
+    static int xpAfter(int maxXpNextLevel, int levelUps) {
+        int xp = maxXpNextLevel;
+        int remaining = levelUps;
+        if (xp == BASE_XP) {
+            int jump = Math.min(remaining, XP_TABLE_SIZE - 1);
+            xp = XP_AFTER_LEVEL_UPS[jump];
+            remaining -= jump;
+        }
+        for (; remaining > 0; remaining--) {
+            xp = nextLevelXp(xp);
+        }
+        return xp;
+    }
+
+    /**
+     * Fait progresser une stat primaire de plusieurs niveaux (+1 ou +2 par niveau).
+     *
+     * @param value Valeur de départ
+     * @param levelUps Nombre de montées de niveau
+     * @param random Flux des gains
+     * @return Valeur à l'arrivée
+     */
+    static int grow(int value, int levelUps, GameRandom random) {
+        int gained = levelUps;
+        for (int done = 0; done < levelUps; done += 64) {
+            gained += Long.bitCount(drawBits(levelUps - done, random));
+        }
+        return value + gained;
+    }
+
+    /**
+     * Fait progresser une stat primaire de plusieurs niveaux, et calcule la somme des parts
+     * (stat / divisor, stat avant le gain du niveau) gagnées au passage par le réservoir qui en
+     * dépend.
+     *
+     * @param value Valeur de départ
+     * @param levelUps Nombre de montées de niveau
+     * @param divisor Diviseur de la part (1 à 3)
+     * @param random Flux des gains
+     * @return Valeur à l'arrivée dans les 32 bits de poids fort, somme des parts dans les autres
+     */
+    static long growWithShares(int value, int levelUps, int divisor, GameRandom random) {
+        int[][] residueSums = RESIDUE_SUMS[divisor];
+        long valueSum = 0; // Somme des valeurs avant chaque gain
+        long residueSum = 0; // Somme de ces valeurs modulo divisor
+
+        for (int done = 0; done < levelUps; done += 64) {
+            int steps = Math.min(64, levelUps - done);
+            long bits = drawBits(steps, random);
+
+            for (int offset = 0; offset < steps; offset += 8) {
+                int b = (int) (bits >>> offset) & 0xFF;
+                int n = Math.min(8, steps - offset);
+                if (n == 8) {
+                    // Valeur au pas j : value + j + bits à 1 avant j
+                    valueSum += 8L * value + 28 + LATER_STEPS[b];
+                    residueSum += residueSums[value % divisor][b];
+                    value += 8 + Integer.bitCount(b);
+                } else {
+                    // Dernier octet incomplet : les pas restants un par un
+                    for (int j = 0; j < n; j++) {
+                        valueSum += value;
+                        residueSum += value % divisor;
+                        value += 1 + ((b >>> j) & 1);
+                    }
+                }
+            }
+        }
+
+        long shares = (valueSum - residueSum) / divisor;
+        return ((long) value << 32) | (shares & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Tire les bits de gain des (au plus 64) prochains niveaux.
+     */
+    private static long drawBits(int levelUps, GameRandom random) {
+        long bits = random.nextLong();
+        return levelUps >= 64 ? bits : bits & ((1L << levelUps) - 1);
+    }
+}
@@ -1,15 +1,27 @@
 package com.cedric.game.core.creature;
 
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.SkillEffect;
 import com.cedric.game.core.type.Type;
+import com.cedric.game.core.type.TypeChart;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Gère les statistiques d'une créature.
  */
 public class Statistics {
+    public static final int MAX_STACKED_MODIFIERS = 8; // Modificateurs cumulés par stat
+    private static final SkillEffect.StatisticType[] STATS = SkillEffect.StatisticType.values();
+    private static final int STAT_COUNT = STATS.length;
+    private static final int STRENGTH = SkillEffect.StatisticType.STRENGTH.ordinal();
+    private static final int CONSTITUTION = SkillEffect.StatisticType.CONSTITUTION.ordinal();
+    private static final int SPIRIT = SkillEffect.StatisticType.SPIRIT.ordinal();
+    private static final int MENTAL = SkillEffect.StatisticType.MENTAL.ordinal();
+    private static final int SPEED = SkillEffect.StatisticType.SPEED.ordinal();
+
     private String name;
     private String description;
     private int level;
@@ -27,32 +39,15 @@ public class Statistics {
     private int mental;
     private int speed;
     private List<Type> types;
-    private Map<String, StatModifier> temporaryModifiers; // Modificateurs temporaires
+    private List<Type> typesView; // Vue en lecture seule de types
+    private int typeCombination; // Combinaison des types dans la TypeChart
 
-    /**
-     * Classe interne pour les modificateurs temporaires de stats.
-     */
-    private static class StatModifier {
-        private int value;
-        private int remainingTurns;
-
-        public StatModifier(int value, int duration) {
-            this.value = value;
-            this.remainingTurns = duration;
-        }
-
-        public int getValue() {
-            return value;
-        }
-
-        public void decreaseDuration() {
-            remainingTurns--;
-        }
-
-        public boolean isExpired() {
-            return remainingTurns <= 0;
-        }
-    }
+    // Modificateurs temporaires, indexés par SkillEffect.StatisticType (plusieurs par stat)
+    private final int[] modifierTotals; // Somme des modificateurs actifs de chaque stat
+    private final int[] modifierCounts; // Nombre de modificateurs actifs de chaque stat
+    private final int[] modifierValues; // STAT_COUNT * MAX_STACKED_MODIFIERS
+    private final int[] modifierTurns; // Tours restants, même découpage
+    private int activeModifierCount;
 
     /**
      * Crée un nouvel objet de statistiques avec des valeurs par défaut.
@@ -73,7 +68,11 @@ public class Statistics {
         this.mental = 10;
         this.speed = 10;
         this.types = new ArrayList<>();
-        this.temporaryModifiers = new HashMap<>();
+        this.typesView = Collections.unmodifiableList(types);
+        this.modifierTotals = new int[STAT_COUNT];
+        this.modifierCounts = new int[STAT_COUNT];
+        this.modifierValues = new int[STAT_COUNT * MAX_STACKED_MODIFIERS];
+        this.modifierTurns = new int[STAT_COUNT * MAX_STACKED_MODIFIERS];
     }
 
     /**
@@ -83,9 +82,20 @@ public class Statistics {
      * @return true si la créature a monté de niveau
      */
     public boolean gainExperience(int amount) {
+        return gainExperience(amount, GameRandom.current());
+    }
+
+    /**
+     * Fait gagner de l'expérience à la créature en utilisant un flux aléatoire donné.
+     *
+     * @param amount Quantité d'XP à ajouter
+     * @param random Flux utilisé pour les gains de stats
+     * @return true si la créature a monté de niveau
+     */
+    public boolean gainExperience(int amount, GameRandom random) {
         this.xp += amount;
         if (this.xp >= this.maxXpNextLevel) {
-            levelUp();
+            levelUp(random);
             return true;
         }
         return false;
@@ -93,8 +103,10 @@ public class Statistics {
 
     /**
      * Monte la créature d'un niveau.
+     *
+     * @param random Flux utilisé pour les gains de stats
      */
-    private void levelUp() {
+    private void levelUp(GameRandom random) {
         this.level++;
         this.xp -= this.maxXpNextLevel;
         this.maxXpNextLevel = calculateNextLevelXp();
@@ -108,11 +120,97 @@ public class Statistics {
         this.vitalEnergy = this.maxVitalEnergy;
 
         // Augmentation aléatoire d'autres stats
-        this.strength += 1 + (int)(Math.random() * 2);
-        this.constitution += 1 + (int)(Math.random() * 2);
-        this.spirit += 1 + (int)(Math.random() * 2);
-        this.mental += 1 + (int)(Math.random() * 2);
-        this.speed += 1 + (int)(Math.random() * 2);
+        this.strength += 1 + random.nextInt(2);
+        this.constitution += 1 + random.nextInt(2);
+        this.spirit += 1 + random.nextInt(2);
+        this.mental += 1 + random.nextInt(2);
+        this.speed += 1 + random.nextInt(2);
+    }
+
+    /**
+     * Monte directement la créature jusqu'à un niveau, sans rejouer les niveaux un par un.
+     * Les stats suivent les mêmes lois que des appels successifs à {@link #gainExperience} avec
+     * exactement l'XP de chaque niveau (voir {@link StatGrowth}) ; l'XP actuelle est conservée.
+     *
+     * @param targetLevel Niveau visé (sans effet s'il n'est pas supérieur au niveau actuel)
+     * @param random Flux utilisé pour les gains de stats
+     */
+    public void growToLevel(int targetLevel, GameRandom random) {
+        int levelUps = targetLevel - this.level;
+        if (levelUps <= 0) {
+            return;
+        }
+
+        this.level = targetLevel;
+        this.maxXpNextLevel = StatGrowth.xpAfter(this.maxXpNextLevel, levelUps);
+
+        // Réservoirs : gain fixe par niveau + part de la stat dont ils dépendent
+        long grownConstitution = StatGrowth.growWithShares(constitution, levelUps, 2, random);
+        long grownSpirit = StatGrowth.growWithShares(spirit, levelUps, 3, random);
+        long grownMental = StatGrowth.growWithShares(mental, levelUps, 2, random);
+
+        this.maxHealth += 5 * levelUps + (int) grownConstitution;
+        this.health = this.maxHealth;
+        this.maxVitality += 3 * levelUps + (int) grownSpirit;
+        this.vitality = this.maxVitality;
+        this.maxVitalEnergy += 2 * levelUps + (int) grownMental;
+        this.vitalEnergy = this.maxVitalEnergy;
+
+        this.strength = StatGrowth.grow(strength, levelUps, random);
+        this.constitution = (int) (grownConstitution >>> 32);
+        this.spirit = (int) (grownSpirit >>> 32);
+        this.mental = (int) (grownMental >>> 32);
+        this.speed = StatGrowth.grow(speed, levelUps, random);
+    }
+
+    /**
+     * Restaure la progression (depuis une sauvegarde).
+     *
+     * @param level Niveau
+     * @param xp XP actuelle
+     * @param maxXpNextLevel XP nécessaire pour le prochain niveau
+     */
+    public void restoreProgress(int level, int xp, int maxXpNextLevel) {
+        this.level = level;
+        this.xp = xp;
+        this.maxXpNextLevel = maxXpNextLevel;
+    }
+
+    /**
+     * Restaure les réservoirs (depuis une sauvegarde).
+     *
+     * @param health PV actuels
+     * @param maxHealth PV maximum
+     * @param vitality Vitalité actuelle
+     * @param maxVitality Vitalité maximum
+     * @param vitalEnergy Énergie vitale actuelle
+     * @param maxVitalEnergy Énergie vitale maximum
+     */
+    public void restorePools(int health, int maxHealth, int vitality, int maxVitality,
+                             int vitalEnergy, int maxVitalEnergy) {
+        this.maxHealth = maxHealth;
+        this.health = health;
+        this.maxVitality = maxVitality;
+        this.vitality = vitality;
+        this.maxVitalEnergy = maxVitalEnergy;
+        this.vitalEnergy = vitalEnergy;
+    }
+
+    /**
+     * Restaure les valeurs de base des stats primaires (depuis une sauvegarde).
+     *
+     * @param strength Force
+     * @param constitution Constitution
+     * @param spirit Esprit
+     * @param mental Mental
+     * @param speed Vitesse
+     */
+    public void restorePrimaryStats(int strength, int constitution, int spirit, int mental, int speed) {
+        this.strength = strength;
+        this.constitution = constitution;
+        this.spirit = spirit;
+        this.mental = mental;
+        this.speed = speed;
     }
 
     /**
@@ -121,7 +219,7 @@ public class Statistics {
      * @return XP nécessaire
      */
     private int calculateNextLevelXp() {
-        return (int)(this.maxXpNextLevel * 1.2);
+        return StatGrowth.nextLevelXp(this.maxXpNextLevel);
     }
 
     /**
@@ -132,6 +230,7 @@ public class Statistics {
     public void addType(Type type) {
         if (!this.types.contains(type)) {
             this.types.add(type);
+            this.typeCombination = TypeChart.combinationOf(types);
         }
     }
 
@@ -141,6 +240,16 @@ public class Statistics {
      * @param availableTypes Liste des types disponibles
      */
     public void generateRandomSecondaryType(List<Type> availableTypes) {
+        generateRandomSecondaryType(availableTypes, GameRandom.current());
+    }
+
+    /**
+     * Génère aléatoirement un type secondaire à partir d'un flux donné.
+     *
+     * @param availableTypes Liste des types disponibles
+     * @param random Flux utilisé pour le tirage
+     */
+    public void generateRandomSecondaryType(List<Type> availableTypes, GameRandom random) {
         if (this.types.size() >= 2) {
             return; // Déjà deux types ou plus
         }
@@ -161,7 +270,7 @@ public class Statistics {
 
         if (!filteredTypes.isEmpty()) {
             // Sélectionner un type aléatoire
-            int randomIndex = (int)(Math.random() * filteredTypes.size());
+            int randomIndex = random.nextInt(filteredTypes.size());
             addType(filteredTypes.get(randomIndex));
         }
     }
@@ -175,6 +284,61 @@ public class Statistics {
         this.health = Math.min(this.maxHealth, this.health + amount);
     }
 
+    /**
+     * Ajoute un modificateur temporaire à une statistique. Les modificateurs d'une même stat
+     * se cumulent ; au-delà de {@link #MAX_STACKED_MODIFIERS}, celui qui expire le plus tôt est
+     * remplacé.
+     *
+     * @param stat Stat modifiée (force, constitution, esprit, mental ou vitesse)
+     * @param value Valeur du modificateur
+     * @param duration Durée en tours
+     */
+    public void addModifier(SkillEffect.StatisticType stat, int value, int duration) {
+        int index = stat.ordinal();
+        int base = index * MAX_STACKED_MODIFIERS;
+        int count = modifierCounts[index];
+
+        int slot;
+        if (count < MAX_STACKED_MODIFIERS) {
+            slot = base + count;
+            modifierCounts[index] = count + 1;
+            activeModifierCount++;
+        } else {
+            slot = base;
+            for (int i = base + 1; i < base + count; i++) {
+                if (modifierTurns[i] < modifierTurns[slot]) {
+                    slot = i;
+                }
+            }
+            modifierTotals[index] -= modifierValues[slot];
+        }
+
+        modifierValues[slot] = value;
+        modifierTurns[slot] = duration;
+        modifierTotals[index] += value;
+    }
+
+    /**
+     * Relance un modificateur déjà actif : l'entrée de même valeur repart pour la durée donnée.
+     * Rien n'est ajouté si aucune entrée ne correspond (modificateur expiré ou jamais appliqué).
+     *
+     * @param stat Stat modifiée
+     * @param value Valeur du modificateur
+     * @param duration Nouvelle durée en tours
+     * @return true si un modificateur a été relancé
+     */
+    public boolean refreshModifier(SkillEffect.StatisticType stat, int value, int duration) {
+        int index = stat.ordinal();
+        int base = index * MAX_STACKED_MODIFIERS;
+        for (int i = base; i < base + modifierCounts[index]; i++) {
+            if (modifierValues[i] == value) {
+                modifierTurns[i] = Math.max(modifierTurns[i], duration);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Ajoute un modificateur temporaire à une statistique.
      *
@@ -183,27 +347,126 @@ public class Statistics {
      * @param duration Durée en tours
      */
     public void addTemporaryModifier(String statName, int value, int duration) {
-        temporaryModifiers.put(statName, new StatModifier(value, duration));
+        SkillEffect.StatisticType stat = statOf(statName);
+        if (stat != null) {
+            addModifier(stat, value, duration);
+        }
+    }
+
+    private static SkillEffect.StatisticType statOf(String statName) {
+        switch (statName) {
+            case "strength":
+                return SkillEffect.StatisticType.STRENGTH;
+            case "constitution":
+                return SkillEffect.StatisticType.CONSTITUTION;
+            case "spirit":
+                return SkillEffect.StatisticType.SPIRIT;
+            case "mental":
+                return SkillEffect.StatisticType.MENTAL;
+            case "speed":
+                return SkillEffect.StatisticType.SPEED;
+            default:
+                return null;
+        }
     }
 
     /**
-     * Met à jour tous les modificateurs temporaires (à appeler à chaque tour).
+     * Obtient la somme des modificateurs temporaires d'une stat.
+     *
+     * @param stat Stat concernée
+     * @return Valeur totale des modificateurs, 0 s'il n'y en a pas
      */
-    public void updateModifiers() {
-        List<String> expiredModifiers = new ArrayList<>();
+    public int getModifierValue(SkillEffect.StatisticType stat) {
+        return modifierTotals[stat.ordinal()];
+    }
 
-        for (Map.Entry<String, StatModifier> entry : temporaryModifiers.entrySet()) {
-            StatModifier modifier = entry.getValue();
-            modifier.decreaseDuration();
+    /**
+     * Obtient la durée restante du modificateur le plus long d'une stat.
+     *
+     * @param stat Stat concernée
+     * @return Tours restants, 0 s'il n'y a pas de modificateur
+     */
+    public int getModifierTurns(SkillEffect.StatisticType stat) {
+        int index = stat.ordinal();
+        int base = index * MAX_STACKED_MODIFIERS;
+        int turns = 0;
+        for (int i = base; i < base + modifierCounts[index]; i++) {
+            turns = Math.max(turns, modifierTurns[i]);
+        }
+        return turns;
+    }
 
-            if (modifier.isExpired()) {
-                expiredModifiers.add(entry.getKey());
-            }
+    /**
+     * Obtient le nombre de modificateurs actifs d'une stat.
+     *
+     * @param stat Stat concernée
+     * @return Nombre de modificateurs cumulés
+     */
+    public int getModifierCount(SkillEffect.StatisticType stat) {
+        return modifierCounts[stat.ordinal()];
+    }
+
+    /**
+     * Obtient la valeur d'un des modificateurs cumulés d'une stat.
+     *
+     * @param stat Stat concernée
+     * @param index Index du modificateur (0 à {@link #getModifierCount} - 1)
+     * @return Valeur du modificateur
+     */
+    public int getModifierValue(SkillEffect.StatisticType stat, int index) {
+        return modifierValues[stat.ordinal() * MAX_STACKED_MODIFIERS + index];
+    }
+
+    /**
+     * Obtient la durée restante d'un des modificateurs cumulés d'une stat.
+     *
+     * @param stat Stat concernée
+     * @param index Index du modificateur (0 à {@link #getModifierCount} - 1)
+     * @return Tours restants
+     */
+    public int getModifierTurns(SkillEffect.StatisticType stat, int index) {
+        return modifierTurns[stat.ordinal() * MAX_STACKED_MODIFIERS + index];
+    }
+
+    /**
+     * Retire tous les modificateurs temporaires.
+     */
+    public void clearTemporaryModifiers() {
+        if (activeModifierCount == 0) {
+            return;
+        }
+        Arrays.fill(modifierTotals, 0);
+        Arrays.fill(modifierCounts, 0);
+        activeModifierCount = 0;
+    }
+
+    /**
+     * Met à jour tous les modificateurs temporaires (à appeler à chaque tour).
+     * Les modificateurs expirés sont retirés sur place, sans allocation.
+     */
+    public void updateModifiers() {
+        if (activeModifierCount == 0) {
+            return;
         }
 
-        // Supprimer les modificateurs expirés
-        for (String statName : expiredModifiers) {
-            temporaryModifiers.remove(statName);
+        for (int index = 0; index < STAT_COUNT; index++) {
+            int base = index * MAX_STACKED_MODIFIERS;
+            int count = modifierCounts[index];
+            int i = base;
+            while (i < base + count) {
+                if (--modifierTurns[i] > 0) {
+                    i++;
+                    continue;
+                }
+
+                // Expiré : remplacé par le dernier modificateur de la stat
+                modifierTotals[index] -= modifierValues[i];
+                count--;
+                modifierValues[i] = modifierValues[base + count];
+                modifierTurns[i] = modifierTurns[base + count];
+                activeModifierCount--;
+            }
+            modifierCounts[index] = count;
         }
     }
 
@@ -214,7 +477,7 @@ public class Statistics {
      * @param duration Durée en tours
      */
     public void modifyStrength(int value, int duration) {
-        addTemporaryModifier("strength", value, duration);
+        addModifier(SkillEffect.StatisticType.STRENGTH, value, duration);
     }
 
     /**
@@ -224,19 +487,30 @@ public class Statistics {
      * @param duration Durée en tours
      */
     public void modifySpeed(int value, int duration) {
-        addTemporaryModifier("speed", value, duration);
+        addModifier(SkillEffect.StatisticType.SPEED, value, duration);
     }
 
     /**
-     * Obtient la valeur d'une stat incluant les modificateurs temporaires.
+     * Obtient la valeur de base d'une stat, sans modificateurs temporaires.
      *
-     * @param baseValue Valeur de base
-     * @param statName Nom de la stat
-     * @return Valeur modifiée
+     * @param stat Stat concernée
+     * @return Valeur de base (0 pour une stat sans valeur de base)
      */
-    private int getModifiedStat(int baseValue, String statName) {
-        StatModifier modifier = temporaryModifiers.get(statName);
-        return modifier != null ? baseValue + modifier.getValue() : baseValue;
+    public int getBaseStat(SkillEffect.StatisticType stat) {
+        switch (stat) {
+            case STRENGTH:
+                return strength;
+            case CONSTITUTION:
+                return constitution;
+            case SPIRIT:
+                return spirit;
+            case MENTAL:
+                return mental;
+            case SPEED:
+                return speed;
+            default:
+                return 0;
+        }
     }
 
     // Getters et setters
@@ -273,28 +547,58 @@ public class Statistics {
         return maxHealth;
     }
 
+    public int getVitality() {
+        return vitality;
+    }
+
+    public int getMaxVitality() {
+        return maxVitality;
+    }
+
+    public int getVitalEnergy() {
+        return vitalEnergy;
+    }
+
+    public int getMaxVitalEnergy() {
+        return maxVitalEnergy;
+    }
+
     public int getStrength() {
-        return getModifiedStat(strength, "strength");
+        return strength + modifierTotals[STRENGTH];
     }
 
     public int getConstitution() {
-        return getModifiedStat(constitution, "constitution");
+        return constitution + modifierTotals[CONSTITUTION];
     }
 
     public int getSpirit() {
-        return getModifiedStat(spirit, "spirit");
+        return spirit + modifierTotals[SPIRIT];
     }
 
     public int getMental() {
-        return getModifiedStat(mental, "mental");
+        return mental + modifierTotals[MENTAL];
     }
 
     public int getSpeed() {
-        return getModifiedStat(speed, "speed");
+        return speed + modifierTotals[SPEED];
     }
 
+    /**
+     * Obtient les types de la créature, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements de la créature
+     */
     public List<Type> getTypes() {
-        return new ArrayList<>(types); // Retourne une copie pour encapsulation
+        return typesView;
+    }
+
+    /**
+     * Obtient la combinaison formée par les types de la créature (voir {@link TypeChart#getMultiplier}).
+     *
+     * @return Identifiant de la combinaison
+     */
+    public int getTypeCombination() {
+        return typeCombination;
     }
 
     public int getXp() {
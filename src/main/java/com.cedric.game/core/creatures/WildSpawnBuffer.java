@@ -0,0 +1,188 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.random.GameRandom;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Réserve de créatures sauvages générées à l'avance, une file par niveau de zone.
+ *
+ * Un thread de fond garde chaque file pleine : quand une file passe sous le seuil bas, elle est
+ * remise à la liste des zones à remplir et le thread la complète jusqu'à sa capacité. Une
+ * rencontre prend simplement la tête de la file, sans génération ; la génération directe ne
+ * sert que si la file est vide (première visite d'une zone non préparée, rafale de rencontres).
+ *
+ * Chaque créature a son propre flux, dérivé de la graine de la réserve et d'un numéro de
+ * génération : le thread qui la génère n'a pas d'importance. Son identifiant combine l'heure de
+ * création de la réserve et ce numéro, pour rester unique d'une session à l'autre (les
+ * créatures capturées se retrouvent dans la même sauvegarde).
+ */
+public class WildSpawnBuffer implements Runnable {
+    private final CreatureFactory factory;
+    private final List<String> names;
+    private final int capacity;
+    private final int lowWaterMark;
+    private final long seed;
+    private final String session; // Préfixe des identifiants, propre à cette réserve
+    private final Map<Integer, Area> areas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Area> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * File d'une zone.
+     */
+    private static final class Area {
+        private final int level;
+        private final ConcurrentLinkedQueue<Creature> creatures = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Area(int level) {
+            this.level = level;
+        }
+    }
+
+    /**
+     * Crée une réserve. Le thread de fond ne démarre qu'avec {@link #start()}.
+     *
+     * @param factory Fabrique des créatures
+     * @param names Noms possibles des créatures sauvages
+     * @param capacity Nombre de créatures gardées par zone
+     * @param lowWaterMark Seuil sous lequel une zone est remplie à nouveau, entre 1 et la capacité
+     * @param seed Graine des créatures générées
+     */
+    public WildSpawnBuffer(CreatureFactory factory, List<String> names, int capacity, int lowWaterMark, long seed) {
+        if (capacity < 1 || lowWaterMark < 1 || lowWaterMark > capacity) {
+            throw new IllegalArgumentException("Capacité " + capacity + ", seuil " + lowWaterMark);
+        }
+        this.factory = factory;
+        this.names = names;
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.seed = seed;
+        this.session = Long.toString(System.currentTimeMillis(), 36);
+        this.thread = new Thread(this, "wild-spawns");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Demande le remplissage de la file d'une zone avant la première rencontre.
+     *
+     * @param areaLevel Niveau moyen de la zone
+     */
+    public void prepare(int areaLevel) {
+        requestRefill(area(areaLevel));
+    }
+
+    /**
+     * Prend une créature sauvage pour une rencontre dans une zone. Sûr depuis plusieurs threads.
+     *
+     * @param areaLevel Niveau moyen de la zone
+     * @return Créature prête au combat
+     */
+    public Creature take(int areaLevel) {
+        Area area = area(areaLevel);
+        Creature creature = area.creatures.poll();
+        if (creature != null) {
+            area.size.decrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            creature = generate(area.level);
+        }
+
+        if (area.size.get() < lowWaterMark) {
+            requestRefill(area);
+        }
+        return creature;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            Area area = pending.poll();
+            if (area == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            // Le drapeau est levé avant le remplissage : une prise pendant celui-ci peut
+            // redemander la zone, au pire pour un passage sans effet
+            area.scheduled.set(false);
+            while (running && area.size.get() < capacity) {
+                area.creatures.add(generate(area.level));
+                area.size.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Arrête le thread de fond. Les créatures déjà générées restent disponibles.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Obtient le nombre de créatures prêtes pour une zone.
+     *
+     * @param areaLevel Niveau moyen de la zone
+     * @return Créatures en réserve (0 pour une zone jamais visitée)
+     */
+    public int getBufferedCount(int areaLevel) {
+        Area area = areas.get(areaLevel);
+        return area != null ? area.size.get() : 0;
+    }
+
+    /**
+     * Obtient le nombre de rencontres servies par une génération directe (file vide).
+     *
+     * @return Rencontres sans créature en réserve
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private Area area(int areaLevel) {
+        return areas.computeIfAbsent(areaLevel, Area::new);
+    }
+
+    private void requestRefill(Area area) {
+        if (area.scheduled.compareAndSet(false, true)) {
+            pending.add(area);
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Génère une créature sauvage : niveau de la zone à un près, nom tiré au hasard.
+     */
+    private Creature generate(int areaLevel) {
+        long number = generated.getAndIncrement();
+        GameRandom random = GameRandom.forIndex(seed, number);
+
+        int creatureLevel = Math.max(1, areaLevel + random.nextInt(3) - 1);
+        String name = names.get(random.nextInt(names.size()));
+        return factory.createRandom("wild_" + session + "_" + number, name, creatureLevel, random);
+    }
+}
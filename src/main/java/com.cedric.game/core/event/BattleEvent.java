@@ -0,0 +1,150 @@
+package com.cedric.game.core.event;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.skill.Skill;
+
+/**
+ * Événement de combat transporté par le {@link BattleEventBus}.
+ *
+ * Les instances sont préallouées dans l'anneau et réutilisées : un consommateur ne doit pas
+ * garder de référence vers un événement après son traitement. Les valeurs susceptibles de
+ * changer (PA, montée et niveau de compétence) sont copiées au moment de la publication.
+ */
+public class BattleEvent {
+    /**
+     * Nature d'un événement, calquée sur {@link Battle.BattleObserver}.
+     */
+    public enum Kind {
+        BATTLE_START,
+        TURN_START,
+        ATTACK,
+        CREATURE_DEFEATED,
+        CREATURE_SWITCHED,
+        BATTLE_END
+    }
+
+    private Kind kind;
+    private Battle battle;
+    private Creature creature; // Créature active, attaquant, créature K.O. ou ancienne créature
+    private Creature otherCreature; // Défenseur ou nouvelle créature
+    private Skill skill;
+    private int damage;
+    private boolean teamA; // Tour de l'équipe A, ou équipe qui change de créature
+    private int actionPoints;
+    private int maxActionPoints;
+    private boolean skillLevelUp;
+    private int skillLevel; // Niveau de la compétence à la publication
+    private Battle.BattleState result;
+
+    BattleEvent() {
+    }
+
+    /**
+     * Réinitialise l'événement avant de le remplir.
+     *
+     * @param kind Nature de l'événement
+     * @param battle Combat concerné
+     */
+    void reset(Kind kind, Battle battle) {
+        this.kind = kind;
+        this.battle = battle;
+        this.creature = null;
+        this.otherCreature = null;
+        this.skill = null;
+        this.damage = 0;
+        this.teamA = false;
+        this.actionPoints = 0;
+        this.maxActionPoints = 0;
+        this.skillLevelUp = false;
+        this.skillLevel = 0;
+        this.result = null;
+    }
+
+    void setCreature(Creature creature) {
+        this.creature = creature;
+    }
+
+    void setOtherCreature(Creature otherCreature) {
+        this.otherCreature = otherCreature;
+    }
+
+    void setSkill(Skill skill) {
+        this.skill = skill;
+    }
+
+    void setDamage(int damage) {
+        this.damage = damage;
+    }
+
+    void setTeamA(boolean teamA) {
+        this.teamA = teamA;
+    }
+
+    void setActionPoints(int actionPoints, int maxActionPoints) {
+        this.actionPoints = actionPoints;
+        this.maxActionPoints = maxActionPoints;
+    }
+
+    void setSkillLevelUp(boolean skillLevelUp) {
+        this.skillLevelUp = skillLevelUp;
+    }
+
+    void setSkillLevel(int skillLevel) {
+        this.skillLevel = skillLevel;
+    }
+
+    void setResult(Battle.BattleState result) {
+        this.result = result;
+    }
+
+    // Getters
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Battle getBattle() {
+        return battle;
+    }
+
+    public Creature getCreature() {
+        return creature;
+    }
+
+    public Creature getOtherCreature() {
+        return otherCreature;
+    }
+
+    public Skill getSkill() {
+        return skill;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public boolean isTeamA() {
+        return teamA;
+    }
+
+    public int getActionPoints() {
+        return actionPoints;
+    }
+
+    public int getMaxActionPoints() {
+        return maxActionPoints;
+    }
+
+    public boolean isSkillLevelUp() {
+        return skillLevelUp;
+    }
+
+    public int getSkillLevel() {
+        return skillLevel;
+    }
+
+    public Battle.BattleState getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,292 @@
+package com.cedric.game.core.event;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.skill.Skill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bus d'événements de combat asynchrone.
+ *
+ * Le bus s'enregistre comme observateur d'un ou plusieurs combats et copie chaque événement
+ * dans un anneau préalloué. Chaque consommateur tourne sur son propre thread et traite les
+ * événements par lots, si bien qu'un écouteur lent (journal Swing, fichier) ne ralentit plus
+ * la logique du combat. Le producteur n'attend que lorsque l'anneau est plein.
+ *
+ * Un seul thread doit publier : tous les combats observés par un même bus doivent être
+ * joués sur le même thread.
+ */
+public class BattleEventBus implements Battle.BattleObserver {
+    private static final long INITIAL_SEQUENCE = -1;
+
+    private final BattleEvent[] ring;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final AtomicLong cursor = new AtomicLong(INITIAL_SEQUENCE); // Dernière séquence publiée
+    private final List<EventProcessor> processors = new ArrayList<>();
+
+    // Utilisés uniquement par le thread producteur
+    private long nextSequence = 0;
+    private long cachedMinimumSequence = INITIAL_SEQUENCE;
+
+    private volatile boolean running;
+    private boolean started;
+
+    /**
+     * Crée un bus avec une stratégie d'attente adaptative.
+     *
+     * @param bufferSize Taille de l'anneau (puissance de deux)
+     */
+    public BattleEventBus(int bufferSize) {
+        this(bufferSize, new WaitStrategy.Sleeping());
+    }
+
+    /**
+     * Crée un bus.
+     *
+     * @param bufferSize Taille de l'anneau (puissance de deux)
+     * @param waitStrategy Stratégie d'attente des consommateurs
+     */
+    public BattleEventBus(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("La taille de l'anneau doit être une puissance de deux: " + bufferSize);
+        }
+
+        this.ring = new BattleEvent[bufferSize];
+        this.mask = bufferSize - 1;
+        this.waitStrategy = waitStrategy;
+
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new BattleEvent();
+        }
+    }
+
+    /**
+     * Ajoute un consommateur. Doit être appelé avant {@link #start()}.
+     *
+     * @param handler Consommateur à ajouter
+     */
+    public synchronized void addHandler(BattleEventHandler handler) {
+        if (started) {
+            throw new IllegalStateException("Le bus est déjà démarré");
+        }
+
+        processors.add(new EventProcessor(handler));
+    }
+
+    /**
+     * Démarre un thread par consommateur.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+
+        started = true;
+        running = true;
+
+        for (int i = 0; i < processors.size(); i++) {
+            Thread thread = new Thread(processors.get(i), "battle-events-" + i);
+            thread.setDaemon(true);
+            processors.get(i).thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Arrête le bus après que les consommateurs ont traité tous les événements publiés.
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        waitStrategy.signalAll();
+
+        for (EventProcessor processor : processors) {
+            try {
+                processor.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getBufferSize() {
+        return ring.length;
+    }
+
+    /**
+     * Réserve le prochain emplacement de l'anneau, en attendant le consommateur le plus lent
+     * si l'anneau est plein.
+     *
+     * @param kind Nature de l'événement
+     * @param battle Combat concerné
+     * @return Événement à remplir, ou null si le bus n'est pas démarré
+     */
+    private BattleEvent claim(BattleEvent.Kind kind, Battle battle) {
+        if (!running) {
+            return null; // Aucun consommateur actif, l'événement est ignoré
+        }
+
+        long wrapPoint = nextSequence - ring.length;
+        if (wrapPoint > cachedMinimumSequence) {
+            long minimum;
+            while (wrapPoint > (minimum = minimumSequence())) {
+                LockSupport.parkNanos(1L);
+            }
+            cachedMinimumSequence = minimum;
+        }
+
+        BattleEvent event = ring[(int) nextSequence & mask];
+        event.reset(kind, battle);
+        return event;
+    }
+
+    /**
+     * Rend visible l'événement réservé aux consommateurs.
+     */
+    private void publish() {
+        cursor.set(nextSequence++);
+        waitStrategy.signalAll();
+    }
+
+    private long minimumSequence() {
+        long minimum = cursor.get();
+        for (EventProcessor processor : processors) {
+            minimum = Math.min(minimum, processor.sequence.get());
+        }
+        return minimum;
+    }
+
+    // Implémentation de l'interface BattleObserver (côté producteur)
+
+    @Override
+    public void onBattleStart(Battle battle) {
+        if (claim(BattleEvent.Kind.BATTLE_START, battle) != null) {
+            publish();
+        }
+    }
+
+    @Override
+    public void onTurnStart(Battle battle, boolean isPlayerTurn) {
+        BattleEvent event = claim(BattleEvent.Kind.TURN_START, battle);
+        if (event == null) {
+            return;
+        }
+
+        Creature activeCreature = isPlayerTurn ? battle.getActiveCreatureA() : battle.getActiveCreatureB();
+        event.setTeamA(isPlayerTurn);
+        event.setCreature(activeCreature);
+        event.setActionPoints(activeCreature.getCurrentActionPoints(), activeCreature.getMaxActionPoints());
+        publish();
+    }
+
+    @Override
+    public void onAttackPerformed(Battle battle, Creature attacker, Creature defender, Skill skill, int damage) {
+        BattleEvent event = claim(BattleEvent.Kind.ATTACK, battle);
+        if (event == null) {
+            return;
+        }
+
+        event.setCreature(attacker);
+        event.setOtherCreature(defender);
+        event.setSkill(skill);
+        event.setDamage(damage);
+        event.setSkillLevelUp(skill.getExperience() >= skill.getExperienceToNextLevel());
+        event.setSkillLevel(skill.getLevel());
+        publish();
+    }
+
+    @Override
+    public void onCreatureDefeated(Battle battle, Creature creature) {
+        BattleEvent event = claim(BattleEvent.Kind.CREATURE_DEFEATED, battle);
+        if (event == null) {
+            return;
+        }
+
+        event.setCreature(creature);
+        publish();
+    }
+
+    @Override
+    public void onCreatureSwitched(Battle battle, Creature oldCreature, Creature newCreature, boolean isTeamA) {
+        BattleEvent event = claim(BattleEvent.Kind.CREATURE_SWITCHED, battle);
+        if (event == null) {
+            return;
+        }
+
+        event.setCreature(oldCreature);
+        event.setOtherCreature(newCreature);
+        event.setTeamA(isTeamA);
+        publish();
+    }
+
+    @Override
+    public void onBattleEnd(Battle battle, Battle.BattleState result) {
+        BattleEvent event = claim(BattleEvent.Kind.BATTLE_END, battle);
+        if (event == null) {
+            return;
+        }
+
+        event.setResult(result);
+        publish();
+    }
+
+    /**
+     * Boucle d'un consommateur : traite par lots tous les événements disponibles.
+     */
+    private class EventProcessor implements Runnable {
+        private final BattleEventHandler handler;
+        private final AtomicLong sequence = new AtomicLong(INITIAL_SEQUENCE); // Dernière séquence traitée
+        private Thread thread;
+
+        EventProcessor(BattleEventHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int attempt = 0;
+
+            while (true) {
+                long available = cursor.get();
+
+                if (available >= next) {
+                    for (long s = next; s <= available; s++) {
+                        try {
+                            handler.onEvent(ring[(int) s & mask], s, s == available);
+                        } catch (RuntimeException e) {
+                            System.err.println("Erreur dans un consommateur d'événements: " + e.getMessage());
+                        }
+                    }
+
+                    sequence.set(available); // Libère les emplacements pour le producteur
+                    next = available + 1;
+                    attempt = 0;
+                } else if (!running) {
+                    // Une dernière vérification : une publication a pu précéder l'arrêt
+                    if (cursor.get() < next) {
+                        return;
+                    }
+                } else {
+                    waitStrategy.idle(attempt);
+                    if (attempt < Integer.MAX_VALUE) {
+                        attempt++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.cedric.game.core.event;
+
+/**
+ * Consommateur d'événements du {@link BattleEventBus}, appelé sur son propre thread.
+ */
+public interface BattleEventHandler {
+    /**
+     * Traite un événement.
+     *
+     * @param event Événement (réutilisé après l'appel, ne pas le conserver)
+     * @param sequence Numéro de séquence de l'événement
+     * @param endOfBatch true si c'est le dernier événement disponible du lot
+     */
+    void onEvent(BattleEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,145 @@
+package com.cedric.game.core.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stratégie d'attente d'un consommateur (ou du producteur quand l'anneau est plein).
+ *
+ * Le choix se fait entre latence et consommation CPU : l'attente active réagit le plus vite
+ * mais occupe un cœur, l'attente bloquante libère le cœur mais réveille plus lentement.
+ */
+public interface WaitStrategy {
+    /**
+     * Attend un peu avant de revérifier si des événements sont disponibles.
+     *
+     * @param attempt Nombre d'attentes consécutives déjà effectuées
+     */
+    void idle(int attempt);
+
+    /**
+     * Réveille les threads en attente après une publication.
+     */
+    void signalAll();
+
+    /**
+     * Attente active : latence minimale, un cœur occupé par consommateur.
+     */
+    class BusySpin implements WaitStrategy {
+        @Override
+        public void idle(int attempt) {
+            // Revérifier immédiatement
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    /**
+     * Attente active puis cession du processeur aux autres threads.
+     */
+    class Yielding implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public void idle(int attempt) {
+            if (attempt >= SPIN_TRIES) {
+                Thread.yield();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    /**
+     * Attente active, puis cession, puis mise en sommeil de plus en plus longue (backoff).
+     */
+    class Sleeping implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long MIN_PARK_NANOS = 1_000;
+
+        private final long maxParkNanos;
+
+        /**
+         * Crée une stratégie avec un sommeil maximal d'une milliseconde.
+         */
+        public Sleeping() {
+            this(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        /**
+         * Crée une stratégie avec un sommeil maximal donné.
+         *
+         * @param maxParkNanos Durée maximale d'une mise en sommeil (ns)
+         */
+        public Sleeping(long maxParkNanos) {
+            this.maxParkNanos = Math.max(MIN_PARK_NANOS, maxParkNanos);
+        }
+
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                return;
+            }
+
+            if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+                return;
+            }
+
+            // Doubler la durée de sommeil à chaque tentative, jusqu'au maximum
+            int shift = Math.min(20, attempt - SPIN_TRIES - YIELD_TRIES);
+            LockSupport.parkNanos(Math.min(maxParkNanos, MIN_PARK_NANOS << shift));
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    /**
+     * Attente bloquante sur une condition, réveillée par chaque publication.
+     */
+    class Blocking implements WaitStrategy {
+        private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1); // Borne un réveil manqué
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private volatile int waiters;
+
+        @Override
+        public void idle(int attempt) {
+            lock.lock();
+            try {
+                waiters++;
+                published.awaitNanos(MAX_WAIT_NANOS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiters--;
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            // Éviter le verrou côté producteur quand personne n'attend
+            if (waiters == 0) {
+                return;
+            }
+
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.cedric.game.core.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Flux de nombres aléatoires du jeu.
+ *
+ * Un flux n'est pas partagé entre threads : chaque monde, combat ou dresseur IA possède le sien,
+ * obtenu par {@link #split()}. Une même graine rejoue exactement la même séquence.
+ *
+ * L'algorithme est SplitMix64 (celui de {@link java.util.SplittableRandom}), réécrit ici pour
+ * que l'état du flux puisse être lu et restauré (replays, instantanés).
+ */
+public class GameRandom {
+    // Flux de secours pour le code qui ne reçoit pas encore de flux explicite
+    private static final ThreadLocal<GameRandom> CURRENT =
+            ThreadLocal.withInitial(() -> new GameRandom(ThreadLocalRandom.current().nextLong()));
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+    private long gamma; // Incrément, toujours impair
+
+    /**
+     * Crée un flux initialisé avec une graine imprévisible.
+     */
+    public GameRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Crée un flux reproductible.
+     *
+     * @param seed Graine du flux
+     */
+    public GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private GameRandom(long state, long gamma) {
+        this.state = state;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Crée le flux reproductible d'un élément d'une série (génération en masse, en parallèle) :
+     * le flux ne dépend que de la graine de la série et de l'index, pas de l'ordre de création.
+     *
+     * @param seed Graine de la série
+     * @param index Index de l'élément
+     * @return Nouveau flux
+     */
+    public static GameRandom forIndex(long seed, long index) {
+        return new GameRandom(mix64(seed + (index + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Obtient le flux propre au thread courant.
+     *
+     * @return Flux du thread courant (non reproductible)
+     */
+    public static GameRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Crée un flux indépendant dérivé de celui-ci.
+     *
+     * @return Nouveau flux
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Tire un réel uniforme.
+     *
+     * @return Réel dans [0, 1)
+     */
+    public double nextDouble() {
+        return (mix64(nextSeed()) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Tire un entier uniforme.
+     *
+     * @param bound Borne exclusive (strictement positive)
+     * @return Entier dans [0, bound)
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("La borne doit être positive: " + bound);
+        }
+
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m; // Puissance de deux
+        }
+
+        // Rejet des valeurs qui biaiseraient le modulo
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1) {
+        }
+        return r;
+    }
+
+    /**
+     * Tire un booléen uniforme.
+     *
+     * @return true ou false avec la même probabilité
+     */
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    /**
+     * Tire un entier long uniforme.
+     *
+     * @return Entier long
+     */
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * Effectue un tirage avec une probabilité donnée.
+     *
+     * @param chance Probabilité de succès (0.0 - 1.0)
+     * @return true si le tirage réussit
+     */
+    public boolean roll(double chance) {
+        return nextDouble() < chance;
+    }
+
+    /**
+     * Obtient l'état interne du flux (avec {@link #getGamma()}, il suffit à le reproduire).
+     *
+     * @return État courant
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Obtient l'incrément du flux.
+     *
+     * @return Incrément (impair)
+     */
+    public long getGamma() {
+        return gamma;
+    }
+
+    /**
+     * Restaure un état lu par {@link #getState()} et {@link #getGamma()}.
+     *
+     * @param state État à restaurer
+     * @param gamma Incrément à restaurer (impair)
+     */
+    public void setState(long state, long gamma) {
+        if ((gamma & 1L) == 0) {
+            throw new IllegalArgumentException("L'incrément doit être impair");
+        }
+
+        this.state = state;
+        this.gamma = gamma;
+    }
+
+    private long nextSeed() {
+        return state += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
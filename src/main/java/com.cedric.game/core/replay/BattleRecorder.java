@@ -0,0 +1,262 @@
+package com.cedric.game.core.replay;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.ActiveEffect;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.skill.SkillEffect;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enregistre un combat sous forme de replay binaire.
+ *
+ * Les actions doivent passer par l'enregistreur plutôt que directement par le {@link Battle} :
+ * chaque action est écrite (quelques octets) puis exécutée. L'état initial et une image clé
+ * tous les {@code keyframeInterval} tours permettent ensuite de rejouer le combat ou de sauter
+ * directement à un tour donné avec un {@link ReplayPlayer}.
+ */
+public class BattleRecorder {
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+
+    private final Battle battle;
+    private final List<Creature> creatures;
+    private final List<Creature> teamA;
+    private final int keyframeInterval;
+    private final Map<String, Integer> effectIndex;
+    private final List<SkillEffect> effectTable;
+    private final ReplayFormat.Writer actions;
+    private final ReplayFormat.Writer keyframes;
+    private final long seedState;
+    private final long seedGamma;
+    private int actionCount;
+    private int keyframeCount;
+    private int lastKeyframeTurn;
+
+    /**
+     * Crée un enregistreur avec l'intervalle d'images clés par défaut.
+     *
+     * @param battle Combat pas encore démarré
+     */
+    public BattleRecorder(Battle battle) {
+        this(battle, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Crée un enregistreur.
+     *
+     * @param battle Combat pas encore démarré
+     * @param keyframeInterval Nombre de tours entre deux images clés
+     */
+    public BattleRecorder(Battle battle, int keyframeInterval) {
+        if (battle.getState() != Battle.BattleState.NOT_STARTED) {
+            throw new IllegalStateException("Le combat doit être enregistré dès avant son démarrage");
+        }
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Intervalle d'images clés invalide: " + keyframeInterval);
+        }
+
+        this.battle = battle;
+        this.teamA = battle.getTeamA();
+        this.creatures = new ArrayList<>(teamA);
+        this.creatures.addAll(battle.getTeamB());
+        this.keyframeInterval = keyframeInterval;
+        this.effectIndex = new HashMap<>();
+        this.effectTable = new ArrayList<>();
+        this.actions = new ReplayFormat.Writer(256);
+        this.keyframes = new ReplayFormat.Writer(1024);
+        this.seedState = battle.getRandom().getState();
+        this.seedGamma = battle.getRandom().getGamma();
+
+        // Tous les effets possibles : ceux des compétences équipées et ceux déjà actifs
+        for (Creature creature : creatures) {
+            for (Skill skill : creature.getActiveSkills()) {
+                for (SkillEffect effect : skill.getEffects()) {
+                    indexEffect(effect);
+                }
+            }
+            for (ActiveEffect effect : creature.getActiveEffects()) {
+                indexEffect(effect.getEffect());
+            }
+        }
+
+        writeKeyframe(); // État initial
+    }
+
+    private void indexEffect(SkillEffect effect) {
+        if (!effectIndex.containsKey(effect.getId())) {
+            effectIndex.put(effect.getId(), effectTable.size());
+            effectTable.add(effect);
+        }
+    }
+
+    /**
+     * Démarre le combat (voir {@link Battle#start()}).
+     */
+    public void start() {
+        actions.writeByte(ReplayFormat.ACTION_START);
+        battle.start();
+        afterAction();
+    }
+
+    /**
+     * Exécute une attaque du camp actif (voir {@link Battle#executeAttack}).
+     *
+     * @param skill Compétence équipée de la créature active
+     * @return true si l'attaque a été effectuée
+     */
+    public boolean executeAttack(Skill skill) {
+        Creature attacker = battle.isPlayerTurn() ? battle.getActiveCreatureA() : battle.getActiveCreatureB();
+        int slot = attacker.getActiveSkills().indexOf(skill);
+        if (slot < 0) {
+            return false; // Même résultat que Battle.executeAttack, rien à rejouer
+        }
+
+        actions.writeByte(ReplayFormat.ACTION_ATTACK);
+        actions.writeVarInt(slot);
+        boolean performed = battle.executeAttack(skill);
+        afterAction();
+        return performed;
+    }
+
+    /**
+     * Change la créature de l'équipe A (voir {@link Battle#switchCreatureA}).
+     *
+     * @param index Index de la nouvelle créature
+     * @return true si le changement a réussi
+     */
+    public boolean switchCreatureA(int index) {
+        actions.writeByte(ReplayFormat.ACTION_SWITCH_A);
+        actions.writeVarInt(index);
+        boolean switched = battle.switchCreatureA(index);
+        afterAction();
+        return switched;
+    }
+
+    /**
+     * Change la créature de l'équipe B (voir {@link Battle#switchCreatureB}).
+     *
+     * @param index Index de la nouvelle créature
+     * @return true si le changement a réussi
+     */
+    public boolean switchCreatureB(int index) {
+        actions.writeByte(ReplayFormat.ACTION_SWITCH_B);
+        actions.writeVarInt(index);
+        boolean switched = battle.switchCreatureB(index);
+        afterAction();
+        return switched;
+    }
+
+    /**
+     * Passe le tour du camp actif (voir {@link Battle#passTurn()}).
+     */
+    public void passTurn() {
+        actions.writeByte(ReplayFormat.ACTION_PASS);
+        battle.passTurn();
+        afterAction();
+    }
+
+    /**
+     * Tente de fuir le combat (voir {@link Battle#tryEscape()}).
+     *
+     * @return true si la fuite a réussi
+     */
+    public boolean tryEscape() {
+        actions.writeByte(ReplayFormat.ACTION_ESCAPE);
+        boolean escaped = battle.tryEscape();
+        afterAction();
+        return escaped;
+    }
+
+    /**
+     * Termine le combat avec un résultat donné (voir {@link Battle#endBattle}).
+     *
+     * @param result Résultat du combat
+     */
+    public void endBattle(Battle.BattleState result) {
+        actions.writeByte(ReplayFormat.ACTION_END);
+        actions.writeByte(result.ordinal());
+        battle.endBattle(result);
+        afterAction();
+    }
+
+    private void afterAction() {
+        actionCount++;
+
+        if (battle.getCurrentTurn() >= lastKeyframeTurn + keyframeInterval
+                && battle.getState() == Battle.BattleState.IN_PROGRESS) {
+            writeKeyframe();
+        }
+    }
+
+    private void writeKeyframe() {
+        ReplayFormat.Writer payload = new ReplayFormat.Writer(64 * creatures.size());
+        ReplayFormat.writeKeyframe(payload, battle, creatures, effectIndex);
+
+        keyframes.writeVarInt(battle.getCurrentTurn());
+        keyframes.writeVarInt(actionCount);
+        keyframes.writeVarInt(actions.size());
+        keyframes.writeVarInt(payload.size());
+        payload.writeTo(keyframes);
+
+        keyframeCount++;
+        lastKeyframeTurn = battle.getCurrentTurn();
+    }
+
+    /**
+     * Construit l'enregistrement binaire du combat.
+     *
+     * @return Enregistrement prêt à être archivé ou rejoué
+     */
+    public ByteBuffer toByteBuffer() {
+        ReplayFormat.Writer record = new ReplayFormat.Writer(64 + actions.size() + keyframes.size());
+        record.writeInt(ReplayFormat.MAGIC);
+        record.writeByte(ReplayFormat.VERSION);
+        record.writeLong(seedState);
+        record.writeLong(seedGamma);
+        record.writeVarInt(keyframeInterval);
+
+        record.writeVarInt(teamA.size());
+        record.writeVarInt(creatures.size() - teamA.size());
+        for (Creature creature : creatures) {
+            record.writeString(creature.getId());
+        }
+
+        record.writeVarInt(effectTable.size());
+        for (SkillEffect effect : effectTable) {
+            ReplayFormat.writeEffect(record, effect);
+        }
+
+        record.writeVarInt(actionCount);
+        record.writeVarInt(actions.size());
+        actions.writeTo(record);
+
+        record.writeVarInt(keyframeCount);
+        keyframes.writeTo(record);
+        return record.toByteBuffer();
+    }
+
+    /**
+     * Ajoute l'enregistrement à une archive.
+     *
+     * @param archive Archive de destination
+     * @return Identifiant du replay dans l'archive
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public long save(ReplayArchive archive) throws IOException {
+        return archive.append(toByteBuffer());
+    }
+
+    public Battle getBattle() {
+        return battle;
+    }
+
+    public int getActionCount() {
+        return actionCount;
+    }
+}
@@ -0,0 +1,162 @@
+package com.cedric.game.core.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Archive de replays découpée en segments de taille bornée.
+ *
+ * Les enregistrements sont ajoutés à la fin du segment courant via un {@link FileChannel} ;
+ * quand il est plein, un nouveau segment est ouvert. La lecture passe par une projection
+ * mémoire en lecture seule de chaque segment, sans copie.
+ *
+ * Un replay est identifié par son segment (32 bits de poids fort) et sa position dans le
+ * segment (32 bits de poids faible).
+ */
+public class ReplayArchive implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "replays-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Map<Integer, MappedByteBuffer> mappedSegments = new HashMap<>();
+    private FileChannel currentChannel;
+    private int currentSegment;
+    private long currentSize;
+
+    /**
+     * Ouvre (ou crée) une archive avec la taille de segment par défaut.
+     *
+     * @param directory Répertoire de l'archive
+     * @throws IOException En cas d'erreur d'accès
+     */
+    public ReplayArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Ouvre (ou crée) une archive.
+     *
+     * @param directory Répertoire de l'archive
+     * @param segmentSize Taille visée d'un segment en octets
+     * @throws IOException En cas d'erreur d'accès
+     */
+    public ReplayArchive(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        // Reprendre l'écriture à la fin du dernier segment existant
+        int segment = 0;
+        while (Files.exists(segmentPath(segment + 1))) {
+            segment++;
+        }
+        openSegment(segment);
+    }
+
+    /**
+     * Ajoute un enregistrement à l'archive.
+     *
+     * @param record Enregistrement (de la position à la limite)
+     * @return Identifiant du replay
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public synchronized long append(ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        if (currentSize > 0 && currentSize + 4 + length > segmentSize) {
+            openSegment(currentSegment + 1);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(4);
+        header.putInt(length).flip();
+        ByteBuffer[] buffers = {header, record.duplicate()};
+
+        long offset = currentSize;
+        while (header.hasRemaining() || buffers[1].hasRemaining()) {
+            currentChannel.write(buffers, 0, 2);
+        }
+        currentSize += 4 + length;
+
+        return ((long) currentSegment << 32) | offset;
+    }
+
+    /**
+     * Lit un replay de l'archive.
+     *
+     * @param replayId Identifiant retourné par {@link #append}
+     * @return Vue en lecture seule de l'enregistrement
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public synchronized ByteBuffer read(long replayId) throws IOException {
+        int segment = (int) (replayId >>> 32);
+        int offset = (int) replayId;
+
+        MappedByteBuffer mapped = mappedSegments.get(segment);
+        if (mapped == null || offset + 4 > mapped.capacity()
+                || offset + 4 + mapped.getInt(offset) > mapped.capacity()) {
+            // Segment pas encore projeté, ou projeté avant l'ajout de ce replay
+            mapped = map(segment);
+        }
+
+        if (offset + 4 > mapped.capacity()) {
+            throw new IOException("Replay introuvable: " + Long.toHexString(replayId));
+        }
+
+        int length = mapped.getInt(offset);
+        ByteBuffer record = mapped.duplicate();
+        record.position(offset + 4).limit(offset + 4 + length);
+        return record.slice().asReadOnlyBuffer();
+    }
+
+    private MappedByteBuffer map(int segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mappedSegments.put(segment, mapped);
+            return mapped;
+        }
+    }
+
+    private void openSegment(int segment) throws IOException {
+        if (currentChannel != null) {
+            currentChannel.force(false);
+            currentChannel.close();
+        }
+
+        currentSegment = segment;
+        currentChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSize = currentChannel.size();
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Force l'écriture sur disque du segment courant.
+     *
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public synchronized void flush() throws IOException {
+        currentChannel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (currentChannel != null) {
+            currentChannel.force(false);
+            currentChannel.close();
+            currentChannel = null;
+        }
+        mappedSegments.clear();
+    }
+}
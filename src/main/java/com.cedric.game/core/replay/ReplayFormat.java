@@ -0,0 +1,315 @@
+package com.cedric.game.core.replay;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.ActiveEffect;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.Statistics;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.skill.SkillEffect;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format binaire des replays, partagé par {@link BattleRecorder} et {@link ReplayPlayer}.
+ *
+ * Un enregistrement se compose de :
+ * <ul>
+ *     <li>un en-tête : signature, version, graine (état du flux aléatoire du combat),
+ *     intervalle des images clés, identifiants des créatures et table des effets ;</li>
+ *     <li>les actions, un octet de code suivi au besoin d'un entier variable ;</li>
+ *     <li>les images clés : tour, position dans les actions et état complet du combat.</li>
+ * </ul>
+ * Les entiers sont codés en longueur variable (varint, zigzag pour les valeurs signées).
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x52504C59; // "RPLY"
+    static final byte VERSION = 2; // 2 : modificateurs cumulés
+
+    // Codes des actions
+    static final byte ACTION_START = 0;
+    static final byte ACTION_ATTACK = 1;
+    static final byte ACTION_SWITCH_A = 2;
+    static final byte ACTION_SWITCH_B = 3;
+    static final byte ACTION_PASS = 4;
+    static final byte ACTION_ESCAPE = 5;
+    static final byte ACTION_END = 6;
+
+    // Modificateurs temporaires enregistrés, dans l'ordre du masque
+    private static final SkillEffect.StatisticType[] MODIFIED_STATS = {
+            SkillEffect.StatisticType.STRENGTH, SkillEffect.StatisticType.CONSTITUTION,
+            SkillEffect.StatisticType.SPIRIT, SkillEffect.StatisticType.MENTAL, SkillEffect.StatisticType.SPEED
+    };
+    private static final SkillEffect.EffectType[] EFFECT_TYPES = SkillEffect.EffectType.values();
+    private static final SkillEffect.StatisticType[] STATISTIC_TYPES = SkillEffect.StatisticType.values();
+    private static final Battle.BattleState[] BATTLE_STATES = Battle.BattleState.values();
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Tampon d'écriture extensible.
+     */
+    static final class Writer {
+        private byte[] bytes;
+        private int size;
+
+        Writer(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31)); // Zigzag
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeDouble(double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        void writeString(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(encoded.length);
+            writeBytes(encoded, 0, encoded.length);
+        }
+
+        void writeBytes(byte[] source, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeTo(Writer other) {
+            other.writeBytes(bytes, 0, size);
+        }
+
+        int size() {
+            return size;
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(bytes, 0, size).slice();
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    // Lecture
+
+    static int readVarInt(ByteBuffer buffer) {
+        return (int) readVarLong(buffer);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static int readSignedVarInt(ByteBuffer buffer) {
+        int value = readVarInt(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] encoded = new byte[readVarInt(buffer)];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    // Table des effets
+
+    static void writeEffect(Writer writer, SkillEffect effect) {
+        writer.writeString(effect.getId());
+        writer.writeString(effect.getName());
+        writer.writeByte(effect.getType().ordinal());
+        writer.writeVarInt(effect.getDuration());
+        writer.writeSignedVarInt(effect.getIntensity());
+        writer.writeByte(effect.getAffectedStat() != null ? effect.getAffectedStat().ordinal() + 1 : 0);
+        writer.writeDouble(effect.getChance());
+    }
+
+    static SkillEffect readEffect(ByteBuffer buffer) {
+        String id = readString(buffer);
+        String name = readString(buffer);
+        SkillEffect.EffectType type = EFFECT_TYPES[buffer.get()];
+        int duration = readVarInt(buffer);
+        int intensity = readSignedVarInt(buffer);
+        int stat = buffer.get();
+        double chance = buffer.getDouble();
+        return new SkillEffect(id, name, type, duration, intensity,
+                stat > 0 ? STATISTIC_TYPES[stat - 1] : null, chance);
+    }
+
+    // Images clés
+
+    /**
+     * Écrit l'état complet d'un combat.
+     *
+     * @param writer Tampon de destination
+     * @param battle Combat à capturer
+     * @param creatures Créatures des deux équipes (A puis B)
+     * @param effectIndex Index des effets par identifiant dans la table de l'en-tête
+     */
+    static void writeKeyframe(Writer writer, Battle battle, List<Creature> creatures,
+                              Map<String, Integer> effectIndex) {
+        GameRandom random = battle.getRandom();
+        writer.writeLong(random.getState());
+        writer.writeLong(random.getGamma());
+        writer.writeVarInt(battle.getTeamA().indexOf(battle.getActiveCreatureA()));
+        writer.writeVarInt(battle.getTeamB().indexOf(battle.getActiveCreatureB()));
+        writer.writeVarInt(battle.getCurrentTurn());
+        writer.writeByte(battle.isPlayerTurn() ? 1 : 0);
+        writer.writeByte(battle.getState().ordinal());
+
+        for (Creature creature : creatures) {
+            Statistics stats = creature.getStats();
+            writer.writeSignedVarInt(stats.getHealth());
+            writer.writeVarInt(creature.getCurrentActionPoints());
+
+            int mask = 0;
+            for (int i = 0; i < MODIFIED_STATS.length; i++) {
+                if (stats.getModifierCount(MODIFIED_STATS[i]) > 0) {
+                    mask |= 1 << i;
+                }
+            }
+            writer.writeByte(mask);
+            for (int i = 0; i < MODIFIED_STATS.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    int count = stats.getModifierCount(MODIFIED_STATS[i]);
+                    writer.writeVarInt(count);
+                    for (int m = 0; m < count; m++) {
+                        writer.writeSignedVarInt(stats.getModifierValue(MODIFIED_STATS[i], m));
+                        writer.writeSignedVarInt(stats.getModifierTurns(MODIFIED_STATS[i], m));
+                    }
+                }
+            }
+
+            List<ActiveEffect> effects = creature.getActiveEffects();
+            writer.writeVarInt(effects.size());
+            for (ActiveEffect effect : effects) {
+                Integer index = effectIndex.get(effect.getId());
+                if (index == null) {
+                    throw new IllegalStateException("Effet absent de la table du replay: " + effect.getId());
+                }
+                writer.writeVarInt(index);
+                writer.writeVarInt(effect.getRemainingTurns());
+            }
+
+            List<Skill> skills = creature.getActiveSkills();
+            writer.writeVarInt(skills.size());
+            for (Skill skill : skills) {
+                writer.writeVarInt(skill.getLevel());
+                writer.writeVarInt(skill.getExperience());
+                writer.writeVarInt(skill.getExperienceToNextLevel());
+                writer.writeVarInt(skill.getPower());
+                writer.writeVarInt(skill.getAccuracy());
+                writer.writeVarInt(skill.getActionPointCost());
+            }
+        }
+    }
+
+    /**
+     * Restaure l'état complet d'un combat écrit par {@link #writeKeyframe}.
+     *
+     * @param buffer Données de l'image clé
+     * @param battle Combat à restaurer
+     * @param creatures Créatures des deux équipes (A puis B)
+     * @param effects Table des effets de l'en-tête
+     */
+    static void readKeyframe(ByteBuffer buffer, Battle battle, List<Creature> creatures, SkillEffect[] effects) {
+        long randomState = buffer.getLong();
+        long randomGamma = buffer.getLong();
+        int activeA = readVarInt(buffer);
+        int activeB = readVarInt(buffer);
+        int turn = readVarInt(buffer);
+        boolean playerTurn = buffer.get() != 0;
+        Battle.BattleState state = BATTLE_STATES[buffer.get()];
+
+        for (Creature creature : creatures) {
+            Statistics stats = creature.getStats();
+            stats.setHealth(readSignedVarInt(buffer));
+            creature.setCurrentActionPoints(readVarInt(buffer));
+
+            stats.clearTemporaryModifiers();
+            int mask = buffer.get();
+            for (int i = 0; i < MODIFIED_STATS.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    int count = readVarInt(buffer);
+                    for (int m = 0; m < count; m++) {
+                        int value = readSignedVarInt(buffer);
+                        int turns = readSignedVarInt(buffer);
+                        stats.addModifier(MODIFIED_STATS[i], value, turns);
+                    }
+                }
+            }
+
+            int effectCount = readVarInt(buffer);
+            List<ActiveEffect> activeEffects = new ArrayList<>(effectCount);
+            for (int i = 0; i < effectCount; i++) {
+                SkillEffect definition = effects[readVarInt(buffer)];
+                activeEffects.add(new ActiveEffect(definition, readVarInt(buffer)));
+            }
+            creature.restoreEffects(activeEffects);
+
+            List<Skill> skills = creature.getActiveSkills();
+            int skillCount = readVarInt(buffer);
+            if (skillCount != skills.size()) {
+                throw new IllegalArgumentException("Compétences équipées différentes pour " + creature.getId());
+            }
+            for (Skill skill : skills) {
+                skill.restoreProgress(readVarInt(buffer), readVarInt(buffer), readVarInt(buffer),
+                        readVarInt(buffer), readVarInt(buffer), readVarInt(buffer));
+            }
+        }
+
+        battle.getRandom().setState(randomState, randomGamma);
+        battle.restore(activeA, activeB, turn, playerTurn, state);
+    }
+}
@@ -0,0 +1,221 @@
+package com.cedric.game.core.replay;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.SkillEffect;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rejoue un combat enregistré par {@link BattleRecorder} en réexécutant ses actions sur un
+ * {@link Battle}.
+ *
+ * Le joueur reçoit des équipes construites comme à l'enregistrement (mêmes identifiants et
+ * compétences équipées) ; leur état variable est écrasé par les images clés. L'expérience de
+ * fin de combat, gagnée après la dernière image clé, n'est pas annulée par un retour en arrière.
+ */
+public class ReplayPlayer {
+    private static final Battle.BattleState[] BATTLE_STATES = Battle.BattleState.values();
+
+    private final ByteBuffer record;
+    private final Battle battle;
+    private final List<Creature> creatures;
+    private final SkillEffect[] effects;
+    private final int keyframeInterval;
+    private final int actionCount;
+    private final int actionsStart;
+    private final int[] keyframeTurns;
+    private final int[] keyframeActionIndexes;
+    private final int[] keyframeActionOffsets;
+    private final int[] keyframePositions;
+    private final int[] keyframeLengths;
+    private int actionIndex;
+    private int actionPosition;
+
+    /**
+     * Prépare la lecture d'un replay, positionné sur l'état initial.
+     *
+     * @param record Enregistrement (voir {@link BattleRecorder#toByteBuffer()} et {@link ReplayArchive#read})
+     * @param teamA Équipe A, construite comme à l'enregistrement
+     * @param teamB Équipe B, construite comme à l'enregistrement
+     */
+    public ReplayPlayer(ByteBuffer record, List<Creature> teamA, List<Creature> teamB) {
+        this.record = record.duplicate();
+        ByteBuffer buffer = this.record;
+
+        if (buffer.getInt() != ReplayFormat.MAGIC) {
+            throw new IllegalArgumentException("Ce n'est pas un replay de combat");
+        }
+        byte version = buffer.get();
+        if (version != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("Version de replay non prise en charge: " + version);
+        }
+
+        long seedState = buffer.getLong();
+        long seedGamma = buffer.getLong();
+        this.keyframeInterval = ReplayFormat.readVarInt(buffer);
+
+        int teamASize = ReplayFormat.readVarInt(buffer);
+        int teamBSize = ReplayFormat.readVarInt(buffer);
+        if (teamA.size() != teamASize || teamB.size() != teamBSize) {
+            throw new IllegalArgumentException("Les équipes ne correspondent pas au replay");
+        }
+
+        this.creatures = new ArrayList<>(teamA);
+        this.creatures.addAll(teamB);
+        for (Creature creature : creatures) {
+            String id = ReplayFormat.readString(buffer);
+            if (!id.equals(creature.getId())) {
+                throw new IllegalArgumentException("Créature inattendue: " + creature.getId() + " au lieu de " + id);
+            }
+        }
+
+        this.effects = new SkillEffect[ReplayFormat.readVarInt(buffer)];
+        for (int i = 0; i < effects.length; i++) {
+            effects[i] = ReplayFormat.readEffect(buffer);
+        }
+
+        this.actionCount = ReplayFormat.readVarInt(buffer);
+        int actionLength = ReplayFormat.readVarInt(buffer);
+        this.actionsStart = buffer.position();
+        buffer.position(actionsStart + actionLength);
+
+        int keyframeCount = ReplayFormat.readVarInt(buffer);
+        this.keyframeTurns = new int[keyframeCount];
+        this.keyframeActionIndexes = new int[keyframeCount];
+        this.keyframeActionOffsets = new int[keyframeCount];
+        this.keyframePositions = new int[keyframeCount];
+        this.keyframeLengths = new int[keyframeCount];
+        for (int i = 0; i < keyframeCount; i++) {
+            keyframeTurns[i] = ReplayFormat.readVarInt(buffer);
+            keyframeActionIndexes[i] = ReplayFormat.readVarInt(buffer);
+            keyframeActionOffsets[i] = ReplayFormat.readVarInt(buffer);
+            keyframeLengths[i] = ReplayFormat.readVarInt(buffer);
+            keyframePositions[i] = buffer.position();
+            buffer.position(buffer.position() + keyframeLengths[i]);
+        }
+
+        this.battle = new Battle(teamA, teamB, new GameRandom(seedState));
+        battle.getRandom().setState(seedState, seedGamma);
+        restoreKeyframe(0);
+    }
+
+    /**
+     * Rejoue l'action suivante.
+     *
+     * @return false s'il n'y a plus d'action
+     */
+    public boolean step() {
+        if (actionIndex >= actionCount) {
+            return false;
+        }
+
+        ByteBuffer buffer = record;
+        buffer.position(actionPosition);
+        byte action = buffer.get();
+
+        switch (action) {
+            case ReplayFormat.ACTION_START:
+                battle.start();
+                break;
+            case ReplayFormat.ACTION_ATTACK:
+                int slot = ReplayFormat.readVarInt(buffer);
+                Creature attacker = battle.isPlayerTurn() ? battle.getActiveCreatureA() : battle.getActiveCreatureB();
+                battle.executeAttack(attacker.getActiveSkills().get(slot));
+                break;
+            case ReplayFormat.ACTION_SWITCH_A:
+                battle.switchCreatureA(ReplayFormat.readVarInt(buffer));
+                break;
+            case ReplayFormat.ACTION_SWITCH_B:
+                battle.switchCreatureB(ReplayFormat.readVarInt(buffer));
+                break;
+            case ReplayFormat.ACTION_PASS:
+                battle.passTurn();
+                break;
+            case ReplayFormat.ACTION_ESCAPE:
+                battle.tryEscape();
+                break;
+            case ReplayFormat.ACTION_END:
+                battle.endBattle(BATTLE_STATES[buffer.get()]);
+                break;
+            default:
+                throw new IllegalStateException("Action de replay inconnue: " + action);
+        }
+
+        actionPosition = buffer.position();
+        actionIndex++;
+        return true;
+    }
+
+    /**
+     * Rejoue toutes les actions restantes.
+     */
+    public void playToEnd() {
+        while (step()) {
+            // Rien d'autre à faire
+        }
+    }
+
+    /**
+     * Se place au début d'un tour, depuis l'image clé la plus proche.
+     *
+     * @param turn Tour visé (le combat s'arrête au premier état où ce tour est atteint)
+     */
+    public void seek(int turn) {
+        // Dernière image clé avant le tour visé (les tours sont croissants)
+        int low = 0;
+        int high = keyframeTurns.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (keyframeTurns[middle] <= turn) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        // Inutile de revenir en arrière si le tour est devant nous, après cette image clé
+        boolean ahead = battle.getCurrentTurn() < turn && actionIndex >= keyframeActionIndexes[low];
+        if (!ahead) {
+            restoreKeyframe(low);
+        }
+
+        while (battle.getCurrentTurn() < turn && step()) {
+            // Avancer jusqu'au tour visé
+        }
+    }
+
+    private void restoreKeyframe(int index) {
+        ByteBuffer payload = record.duplicate();
+        payload.position(keyframePositions[index]).limit(keyframePositions[index] + keyframeLengths[index]);
+        ReplayFormat.readKeyframe(payload, battle, creatures, effects);
+
+        actionIndex = keyframeActionIndexes[index];
+        actionPosition = actionsStart + keyframeActionOffsets[index];
+    }
+
+    // Getters
+
+    public Battle getBattle() {
+        return battle;
+    }
+
+    public int getActionIndex() {
+        return actionIndex;
+    }
+
+    public int getActionCount() {
+        return actionCount;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public boolean isFinished() {
+        return actionIndex >= actionCount;
+    }
+}
@@ -0,0 +1,315 @@
+package com.cedric.game.core.simulation;
+
+import com.cedric.game.characters.IATrainer;
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.Skill;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulateur de combats sans interface, pour lancer des séries de combats IA contre IA
+ * sur tous les cœurs disponibles.
+ *
+ * Chaque combat reçoit une graine dérivée de son index, et le découpage du travail ne dépend
+ * pas du nombre de threads : le résultat est identique quel que soit le parallélisme.
+ */
+public class BattleSimulator {
+    private static final int BATTLES_PER_TASK = 256; // Taille fixe d'un lot séquentiel
+    private static final int DEFAULT_MAX_TURNS = 500;
+
+    private final ForkJoinPool pool;
+    private int maxTurns;
+
+    /**
+     * Décrit comment construire une équipe neuve pour chaque combat.
+     * Les créatures sont modifiées par le combat, elles ne doivent donc jamais être partagées.
+     */
+    public interface TeamSpec {
+        List<Creature> createTeam(GameRandom random);
+    }
+
+    /**
+     * Politique de décision d'un camp, appliquée par un {@link IATrainer}.
+     */
+    public static class AIPolicy {
+        private final int difficulty;
+        private final String strategyType;
+
+        /**
+         * Crée une politique IA.
+         *
+         * @param difficulty Niveau de difficulté (1-10)
+         * @param strategyType Type de stratégie (Aléatoire, Équilibré, Intelligent)
+         */
+        public AIPolicy(int difficulty, String strategyType) {
+            this.difficulty = difficulty;
+            this.strategyType = strategyType;
+        }
+
+        /**
+         * Crée le dresseur qui applique cette politique pendant un combat.
+         *
+         * @param id Identifiant du dresseur
+         * @param random Flux propre au dresseur
+         * @return Dresseur IA
+         */
+        IATrainer createTrainer(String id, GameRandom random) {
+            return new IATrainer(id, id, difficulty, "Simulation", strategyType, false, random);
+        }
+
+        public int getDifficulty() {
+            return difficulty;
+        }
+
+        public String getStrategyType() {
+            return strategyType;
+        }
+    }
+
+    /**
+     * Paramètres communs à tous les combats d'une série.
+     */
+    private static class Matchup {
+        private final TeamSpec teamA;
+        private final AIPolicy policyA;
+        private final TeamSpec teamB;
+        private final AIPolicy policyB;
+        private final long seed;
+
+        Matchup(TeamSpec teamA, AIPolicy policyA, TeamSpec teamB, AIPolicy policyB, long seed) {
+            this.teamA = teamA;
+            this.policyA = policyA;
+            this.teamB = teamB;
+            this.policyB = policyB;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * Tâche fork/join qui simule un intervalle de combats.
+     */
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final Matchup matchup;
+        private final long from;
+        private final long to;
+
+        SimulationTask(Matchup matchup, long from, long to) {
+            this.matchup = matchup;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= BATTLES_PER_TASK) {
+                SimulationResult result = new SimulationResult();
+                for (long index = from; index < to; index++) {
+                    simulateBattle(matchup, index, result);
+                }
+                return result;
+            }
+
+            long middle = from + (to - from) / 2;
+            SimulationTask left = new SimulationTask(matchup, from, middle);
+            SimulationTask right = new SimulationTask(matchup, middle, to);
+            left.fork();
+
+            SimulationResult result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Crée un simulateur utilisant le pool commun.
+     */
+    public BattleSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crée un simulateur utilisant un pool spécifique.
+     *
+     * @param pool Pool d'exécution
+     */
+    public BattleSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+        this.maxTurns = DEFAULT_MAX_TURNS;
+    }
+
+    /**
+     * Simule une série de combats entre deux équipes.
+     *
+     * @param teamA Spécification de l'équipe A
+     * @param policyA Politique IA de l'équipe A
+     * @param teamB Spécification de l'équipe B
+     * @param policyB Politique IA de l'équipe B
+     * @param battleCount Nombre de combats à simuler
+     * @param seed Graine de la série
+     * @return Résultats agrégés
+     */
+    public SimulationResult run(TeamSpec teamA, AIPolicy policyA, TeamSpec teamB, AIPolicy policyB,
+                                long battleCount, long seed) {
+        if (battleCount < 0) {
+            throw new IllegalArgumentException("Nombre de combats négatif: " + battleCount);
+        }
+
+        Matchup matchup = new Matchup(teamA, policyA, teamB, policyB, seed);
+        return pool.invoke(new SimulationTask(matchup, 0, battleCount));
+    }
+
+    /**
+     * Simule un combat complet et l'ajoute aux résultats.
+     *
+     * @param matchup Paramètres de la série
+     * @param index Index du combat dans la série
+     * @param result Résultats à compléter
+     */
+    private void simulateBattle(Matchup matchup, long index, SimulationResult result) {
+        GameRandom random = new GameRandom(battleSeed(matchup.seed, index));
+
+        List<Creature> creaturesA = matchup.teamA.createTeam(random);
+        List<Creature> creaturesB = matchup.teamB.createTeam(random);
+        if (creaturesA.isEmpty() || creaturesB.isEmpty()) {
+            throw new IllegalStateException("Une équipe simulée est vide");
+        }
+
+        IATrainer trainerA = matchup.policyA.createTrainer("sim_a", random.split());
+        IATrainer trainerB = matchup.policyB.createTrainer("sim_b", random.split());
+        trainerA.setMaxCreatures(creaturesA.size());
+        trainerB.setMaxCreatures(creaturesB.size());
+        for (Creature creature : creaturesA) {
+            trainerA.addCreature(creature);
+        }
+        for (Creature creature : creaturesB) {
+            trainerB.addCreature(creature);
+        }
+
+        Battle battle = new Battle(creaturesA, creaturesB, random.split());
+        battle.addObserver(new DamageRecorder(result));
+        playBattle(battle, trainerA, trainerB, maxTurns);
+
+        result.recordBattle(battle.getState() == Battle.BattleState.TEAM_A_VICTORY,
+                battle.getState() == Battle.BattleState.TEAM_B_VICTORY,
+                battle.getCurrentTurn());
+    }
+
+    /**
+     * Joue un combat jusqu'à sa fin, chaque camp suivant son IA.
+     *
+     * @param battle Combat pas encore démarré
+     * @param trainerA Dresseur IA de l'équipe A (ses créatures sont celles de l'équipe A)
+     * @param trainerB Dresseur IA de l'équipe B
+     * @param maxTurns Nombre de tours au-delà duquel le combat est déclaré nul
+     * @return Résultat du combat
+     */
+    public static Battle.BattleState playBattle(Battle battle, IATrainer trainerA, IATrainer trainerB, int maxTurns) {
+        battle.start();
+
+        while (battle.getState() == Battle.BattleState.IN_PROGRESS) {
+            if (battle.getCurrentTurn() > maxTurns) {
+                battle.endBattle(Battle.BattleState.DRAW);
+                break;
+            }
+
+            playTurn(battle, battle.isPlayerTurn() ? trainerA : trainerB);
+        }
+
+        return battle.getState();
+    }
+
+    /**
+     * Joue le tour du camp actif en suivant son IA.
+     *
+     * @param battle Combat en cours
+     * @param trainer Dresseur du camp actif
+     */
+    private static void playTurn(Battle battle, IATrainer trainer) {
+        boolean isTeamA = battle.isPlayerTurn();
+        Creature myCreature = isTeamA ? battle.getActiveCreatureA() : battle.getActiveCreatureB();
+        Creature enemyCreature = isTeamA ? battle.getActiveCreatureB() : battle.getActiveCreatureA();
+
+        Skill skill = trainer.chooseAction(myCreature, enemyCreature);
+        if (skill != null) {
+            if (!battle.executeAttack(skill)) {
+                battle.passTurn(); // Compétence sans dégâts ou échec
+            }
+            return;
+        }
+
+        // L'IA veut changer de créature (ou n'a plus de PA)
+        int index = trainer.chooseCreature(null, enemyCreature);
+        if (index >= 0 && trainer.getCreature(index) != myCreature) {
+            boolean switched = isTeamA ? battle.switchCreatureA(index) : battle.switchCreatureB(index);
+            if (switched) {
+                return;
+            }
+        }
+
+        battle.passTurn();
+    }
+
+    /**
+     * Dérive la graine d'un combat à partir de la graine de la série (mélange SplitMix64).
+     *
+     * @param seed Graine de la série
+     * @param index Index du combat
+     * @return Graine du combat
+     */
+    public static long battleSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Observateur qui cumule les dégâts par compétence.
+     */
+    private static class DamageRecorder implements Battle.BattleObserver {
+        private final SimulationResult result;
+
+        DamageRecorder(SimulationResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onBattleStart(Battle battle) {
+        }
+
+        @Override
+        public void onTurnStart(Battle battle, boolean isPlayerTurn) {
+        }
+
+        @Override
+        public void onAttackPerformed(Battle battle, Creature attacker, Creature defender, Skill skill, int damage) {
+            result.recordAttack(skill.getId(), damage);
+        }
+
+        @Override
+        public void onCreatureDefeated(Battle battle, Creature creature) {
+        }
+
+        @Override
+        public void onCreatureSwitched(Battle battle, Creature oldCreature, Creature newCreature, boolean isTeamA) {
+        }
+
+        @Override
+        public void onBattleEnd(Battle battle, Battle.BattleState result) {
+        }
+    }
+}
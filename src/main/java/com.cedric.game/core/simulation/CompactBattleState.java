@@ -0,0 +1,653 @@
+package com.cedric.game.core.simulation;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.ActiveEffect;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.Statistics;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.skill.SkillEffect;
+import com.cedric.game.core.type.TypeChart;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * État compact d'un combat en cours, destiné à la recherche IA et aux rollouts Monte Carlo.
+ *
+ * Tout ce qui ne change pas pendant le combat (créatures, compétences, efficacité des types,
+ * définitions des effets) est partagé entre les copies. L'état variable (PV, PA, modificateurs,
+ * durées des effets) tient dans un seul tableau d'entiers : {@link #fork()} coûte une copie de
+ * ce tableau et une allocation d'objet.
+ *
+ * Les règles suivent {@link Battle} et {@link Creature#attack}, sauf l'expérience (créatures et
+ * compétences), qui n'est pas simulée.
+ */
+public final class CompactBattleState {
+    private static final SkillEffect.StatisticType[] STATS = SkillEffect.StatisticType.values();
+    private static final int STAT_COUNT = STATS.length;
+    private static final int MAX_TEAM_SIZE = 64; // Une équipe tient dans un masque long
+    private static final int AP_RESTORED_PER_TURN = 2; // Comme Battle.startNextTurn
+
+    private final Template template;
+    private final int[] data;
+    private long aliveA;
+    private long aliveB;
+    private int activeA;
+    private int activeB;
+    private boolean teamATurn;
+    private int turn;
+    private Battle.BattleState state;
+
+    /**
+     * Données immuables partagées par toutes les copies d'un même combat.
+     *
+     * Les créatures sont numérotées globalement : l'équipe A occupe [0, teamASize),
+     * l'équipe B [teamASize, count).
+     */
+    private static final class Template {
+        private final Creature[] creatures;
+        private final int teamASize;
+        private final int count;
+        private final int[] maxHealth;
+        private final int[] maxActionPoints;
+        private final int[] baseStats; // count * STAT_COUNT, sans modificateurs
+        private final double[] effectiveness; // count * count, attaquant x défenseur
+        private final Skill[][] skills;
+        private final int[][] skillPower;
+        private final int[][] skillCost;
+        private final int[][] skillLevel;
+        private final int[][][] skillEffects; // Index dans effects
+        private final SkillEffect[] effects; // Un effet par identifiant, comme Creature.applyEffect
+        private final int effectCount;
+
+        // Découpage du tableau d'état
+        private final int apOffset;
+        private final int modifierOffset;
+        private final int modifierTurnsOffset;
+        private final int effectOffset;
+        private final int size;
+
+        Template(List<Creature> teamA, List<Creature> teamB) {
+            this.teamASize = teamA.size();
+            this.count = teamA.size() + teamB.size();
+            this.creatures = new Creature[count];
+            for (int i = 0; i < count; i++) {
+                creatures[i] = i < teamASize ? teamA.get(i) : teamB.get(i - teamASize);
+            }
+
+            this.maxHealth = new int[count];
+            this.maxActionPoints = new int[count];
+            this.baseStats = new int[count * STAT_COUNT];
+            this.effectiveness = new double[count * count];
+            this.skills = new Skill[count][];
+            this.skillPower = new int[count][];
+            this.skillCost = new int[count][];
+            this.skillLevel = new int[count][];
+            this.skillEffects = new int[count][][];
+
+            List<SkillEffect> effectList = new ArrayList<>();
+            Map<String, Integer> effectIndex = new HashMap<>();
+
+            for (int c = 0; c < count; c++) {
+                Creature creature = creatures[c];
+                Statistics stats = creature.getStats();
+                maxHealth[c] = stats.getMaxHealth();
+                maxActionPoints[c] = creature.getMaxActionPoints();
+
+                for (SkillEffect.StatisticType stat : STATS) {
+                    baseStats[c * STAT_COUNT + stat.ordinal()] = stats.getBaseStat(stat);
+                }
+
+                for (int d = 0; d < count; d++) {
+                    effectiveness[c * count + d] = TypeChart.getMultiplier(
+                            stats.getTypeCombination(), creatures[d].getStats().getTypeCombination());
+                }
+
+                List<Skill> activeSkills = creature.getActiveSkills();
+                int skillCount = activeSkills.size();
+                skills[c] = activeSkills.toArray(new Skill[0]);
+                skillPower[c] = new int[skillCount];
+                skillCost[c] = new int[skillCount];
+                skillLevel[c] = new int[skillCount];
+                skillEffects[c] = new int[skillCount][];
+
+                for (int k = 0; k < skillCount; k++) {
+                    Skill skill = activeSkills.get(k);
+                    skillPower[c][k] = skill.getPower();
+                    skillCost[c][k] = skill.getActionPointCost();
+                    skillLevel[c][k] = skill.getLevel();
+
+                    List<SkillEffect> skillEffectList = skill.getEffects();
+                    skillEffects[c][k] = new int[skillEffectList.size()];
+                    for (int e = 0; e < skillEffectList.size(); e++) {
+                        skillEffects[c][k][e] = indexEffect(skillEffectList.get(e), effectList, effectIndex);
+                    }
+                }
+
+                // Les effets déjà actifs peuvent venir de compétences non équipées
+                for (ActiveEffect effect : creature.getActiveEffects()) {
+                    indexEffect(effect.getEffect(), effectList, effectIndex);
+                }
+            }
+
+            this.effects = effectList.toArray(new SkillEffect[0]);
+            this.effectCount = effects.length;
+
+            this.apOffset = count;
+            this.modifierOffset = apOffset + count;
+            this.modifierTurnsOffset = modifierOffset + count * STAT_COUNT;
+            this.effectOffset = modifierTurnsOffset + count * STAT_COUNT;
+            this.size = effectOffset + count * effectCount;
+        }
+
+        private static int indexEffect(SkillEffect effect, List<SkillEffect> effectList,
+                                       Map<String, Integer> effectIndex) {
+            Integer index = effectIndex.get(effect.getId());
+            if (index == null) {
+                index = effectList.size();
+                effectList.add(effect);
+                effectIndex.put(effect.getId(), index);
+            }
+            return index;
+        }
+
+        private int findEffect(String id) {
+            for (int e = 0; e < effectCount; e++) {
+                if (effects[e].getId().equals(id)) {
+                    return e;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private CompactBattleState(Template template, int[] data) {
+        this.template = template;
+        this.data = data;
+    }
+
+    /**
+     * Capture l'état d'un combat en cours.
+     *
+     * @param battle Combat à capturer
+     * @return État compact équivalent
+     */
+    public static CompactBattleState fromBattle(Battle battle) {
+        List<Creature> teamA = battle.getTeamA();
+        List<Creature> teamB = battle.getTeamB();
+
+        if (teamA.isEmpty() || teamB.isEmpty()
+                || teamA.size() > MAX_TEAM_SIZE || teamB.size() > MAX_TEAM_SIZE) {
+            throw new IllegalArgumentException("Taille d'équipe non prise en charge: "
+                    + teamA.size() + " contre " + teamB.size());
+        }
+
+        Template template = new Template(teamA, teamB);
+        CompactBattleState compact = new CompactBattleState(template, new int[template.size]);
+
+        for (int c = 0; c < template.count; c++) {
+            Creature creature = template.creatures[c];
+            Statistics stats = creature.getStats();
+            compact.data[c] = stats.getHealth();
+            compact.data[template.apOffset + c] = creature.getCurrentActionPoints();
+
+            for (SkillEffect.StatisticType stat : STATS) {
+                compact.data[template.modifierOffset + c * STAT_COUNT + stat.ordinal()] =
+                        stats.getModifierValue(stat);
+                compact.data[template.modifierTurnsOffset + c * STAT_COUNT + stat.ordinal()] =
+                        stats.getModifierTurns(stat);
+            }
+
+            for (ActiveEffect effect : creature.getActiveEffects()) {
+                int e = template.findEffect(effect.getId());
+                compact.data[template.effectOffset + c * template.effectCount + e] = effect.getRemainingTurns() + 1;
+            }
+
+            if (!creature.isDead()) {
+                if (c < template.teamASize) {
+                    compact.aliveA |= 1L << c;
+                } else {
+                    compact.aliveB |= 1L << (c - template.teamASize);
+                }
+            }
+        }
+
+        compact.activeA = teamA.indexOf(battle.getActiveCreatureA());
+        compact.activeB = teamB.indexOf(battle.getActiveCreatureB());
+        compact.teamATurn = battle.isPlayerTurn();
+        compact.turn = battle.getCurrentTurn();
+        compact.state = battle.getState();
+        return compact;
+    }
+
+    /**
+     * Crée une copie indépendante de cet état.
+     *
+     * @return Copie partageant les données immuables
+     */
+    public CompactBattleState fork() {
+        CompactBattleState copy = new CompactBattleState(template, data.clone());
+        copy.copyScalars(this);
+        return copy;
+    }
+
+    /**
+     * Écrase cet état avec un autre état du même combat, sans allocation.
+     *
+     * @param other État source (issu du même {@link #fromBattle})
+     */
+    public void copyFrom(CompactBattleState other) {
+        if (other.template != template) {
+            throw new IllegalArgumentException("Les états proviennent de combats différents");
+        }
+
+        System.arraycopy(other.data, 0, data, 0, data.length);
+        copyScalars(other);
+    }
+
+    private void copyScalars(CompactBattleState other) {
+        this.aliveA = other.aliveA;
+        this.aliveB = other.aliveB;
+        this.activeA = other.activeA;
+        this.activeB = other.activeB;
+        this.teamATurn = other.teamATurn;
+        this.turn = other.turn;
+        this.state = other.state;
+    }
+
+    /**
+     * Démarre le combat capturé avant son début (voir {@link Battle#start()}).
+     * Le combat d'origine et ses créatures ne sont pas modifiés.
+     */
+    public void start() {
+        if (state != Battle.BattleState.NOT_STARTED) {
+            return;
+        }
+
+        state = Battle.BattleState.IN_PROGRESS;
+
+        // Déterminer qui commence (basé sur la vitesse)
+        teamATurn = getStat(activeSlot(true), SkillEffect.StatisticType.SPEED)
+                >= getStat(activeSlot(false), SkillEffect.StatisticType.SPEED);
+        startNextTurn();
+    }
+
+    /**
+     * Le camp actif attaque avec une de ses compétences équipées (voir {@link Battle#executeAttack}).
+     *
+     * @param skillSlot Index de la compétence parmi les compétences équipées
+     * @param random Flux utilisé pour les chances d'effet
+     * @return true si l'attaque a été effectuée et le tour est passé
+     */
+    public boolean applyAttack(int skillSlot, GameRandom random) {
+        if (state != Battle.BattleState.IN_PROGRESS) {
+            return false;
+        }
+
+        int attacker = activeSlot(teamATurn);
+        int defender = activeSlot(!teamATurn);
+
+        if (skillSlot < 0 || skillSlot >= template.skills[attacker].length) {
+            return false;
+        }
+
+        int cost = template.skillCost[attacker][skillSlot];
+        if (data[template.apOffset + attacker] < cost) {
+            return false; // Pas assez de PA
+        }
+        data[template.apOffset + attacker] -= cost;
+
+        // Même formule que Creature.attack
+        int strength = getStat(attacker, SkillEffect.StatisticType.STRENGTH);
+        int constitution = Math.max(1, getStat(defender, SkillEffect.StatisticType.CONSTITUTION));
+        int baseDamage = template.skillPower[attacker][skillSlot] * strength / constitution;
+        int skillLevelBonus = (int) (baseDamage * (template.skillLevel[attacker][skillSlot] * 0.05));
+        int finalDamage = (int) ((baseDamage + skillLevelBonus)
+                * template.effectiveness[attacker * template.count + defender]);
+
+        data[defender] = Math.max(0, data[defender] - finalDamage);
+
+        for (int effect : template.skillEffects[attacker][skillSlot]) {
+            applyEffect(defender, effect, random);
+        }
+
+        if (finalDamage <= 0) {
+            return false; // Comme Battle.executeAttack : le tour ne passe pas
+        }
+
+        if (data[defender] <= 0) {
+            markDefeated(defender);
+            if (!switchToNext(!teamATurn)) {
+                state = teamATurn ? Battle.BattleState.TEAM_A_VICTORY : Battle.BattleState.TEAM_B_VICTORY;
+                return true;
+            }
+        }
+
+        teamATurn = !teamATurn;
+        startNextTurn();
+        return true;
+    }
+
+    /**
+     * Le camp actif change de créature (voir {@link Battle#switchCreatureA}).
+     *
+     * @param index Index de la créature dans l'équipe du camp actif
+     * @return true si le changement a réussi
+     */
+    public boolean applySwitch(int index) {
+        if (state != Battle.BattleState.IN_PROGRESS || !isAlive(teamATurn, index)) {
+            return false;
+        }
+
+        boolean oldAlive = isAlive(teamATurn, teamATurn ? activeA : activeB);
+        if (teamATurn) {
+            activeA = index;
+        } else {
+            activeB = index;
+        }
+
+        if (oldAlive) {
+            teamATurn = !teamATurn;
+            startNextTurn();
+        }
+        return true;
+    }
+
+    /**
+     * Le camp actif passe son tour (voir {@link Battle#passTurn}).
+     */
+    public void applyPass() {
+        if (state != Battle.BattleState.IN_PROGRESS) {
+            return;
+        }
+
+        teamATurn = !teamATurn;
+        startNextTurn();
+    }
+
+    /**
+     * Termine le combat (par exemple sur un match nul après trop de tours).
+     *
+     * @param result Résultat du combat
+     */
+    public void end(Battle.BattleState result) {
+        if (state == Battle.BattleState.IN_PROGRESS) {
+            state = result;
+        }
+    }
+
+    /**
+     * Recopie cet état dans le combat et les créatures d'origine.
+     *
+     * @param battle Combat dont cet état a été capturé
+     */
+    public void applyTo(Battle battle) {
+        List<Creature> teamA = battle.getTeamA();
+        List<Creature> teamB = battle.getTeamB();
+        for (int c = 0; c < template.count; c++) {
+            Creature expected = c < template.teamASize ? teamA.get(c) : teamB.get(c - template.teamASize);
+            if (expected != template.creatures[c]) {
+                throw new IllegalArgumentException("Cet état n'a pas été capturé depuis ce combat");
+            }
+        }
+
+        for (int c = 0; c < template.count; c++) {
+            Creature creature = template.creatures[c];
+            Statistics stats = creature.getStats();
+            stats.setHealth(data[c]);
+            creature.setCurrentActionPoints(data[template.apOffset + c]);
+
+            stats.clearTemporaryModifiers();
+            for (SkillEffect.StatisticType stat : STATS) {
+                int value = data[template.modifierOffset + c * STAT_COUNT + stat.ordinal()];
+                int turns = data[template.modifierTurnsOffset + c * STAT_COUNT + stat.ordinal()];
+                if (value != 0 || turns != 0) {
+                    stats.addModifier(stat, value, turns); // Modificateurs cumulés en un seul
+                }
+            }
+
+            List<ActiveEffect> effects = new ArrayList<>();
+            for (int e = 0; e < template.effectCount; e++) {
+                int slot = data[template.effectOffset + c * template.effectCount + e];
+                if (slot > 0) {
+                    effects.add(new ActiveEffect(template.effects[e], slot - 1));
+                }
+            }
+            creature.restoreEffects(effects);
+        }
+
+        battle.restore(activeA, activeB, turn, teamATurn, state);
+    }
+
+    /**
+     * Commence le tour suivant (voir Battle.startNextTurn).
+     */
+    private void startNextTurn() {
+        turn++;
+
+        int creature = activeSlot(teamATurn);
+        int apIndex = template.apOffset + creature;
+        data[apIndex] = Math.min(template.maxActionPoints[creature], data[apIndex] + AP_RESTORED_PER_TURN);
+
+        // Mise à jour des effets actifs (voir Creature.updateEffects)
+        int base = template.effectOffset + creature * template.effectCount;
+        for (int e = 0; e < template.effectCount; e++) {
+            int slot = data[base + e];
+            if (slot > 0) {
+                int remaining = Math.max(0, slot - 2);
+                data[base + e] = remaining == 0 ? 0 : remaining + 1;
+            }
+        }
+
+        // Expiration des modificateurs (voir Statistics.updateModifiers)
+        int modifiers = creature * STAT_COUNT;
+        for (int s = 0; s < STAT_COUNT; s++) {
+            int turnsIndex = template.modifierTurnsOffset + modifiers + s;
+            if (data[turnsIndex] > 0 && --data[turnsIndex] == 0) {
+                data[template.modifierOffset + modifiers + s] = 0;
+            }
+        }
+    }
+
+    /**
+     * Applique un effet à une créature (voir Creature.applyEffect et SkillEffect.apply).
+     *
+     * @param target Créature cible
+     * @param effect Index de l'effet
+     * @param random Flux utilisé pour la chance d'application
+     */
+    private void applyEffect(int target, int effect, GameRandom random) {
+        SkillEffect definition = template.effects[effect];
+        int slotIndex = template.effectOffset + target * template.effectCount + effect;
+
+        // Un effet déjà actif est seulement remplacé
+        boolean alreadyActive = data[slotIndex] > 0;
+        data[slotIndex] = definition.getDuration() + 1;
+        if (alreadyActive) {
+            refreshStatModifier(target, definition);
+            return;
+        }
+        if (random.nextDouble() > definition.getChance()) {
+            return;
+        }
+
+        int intensity = definition.getIntensity();
+        switch (definition.getType()) {
+            case DAMAGE:
+                data[target] = Math.max(0, data[target] - intensity);
+                break;
+            case HEALING:
+                data[target] = Math.min(template.maxHealth[target], data[target] + intensity);
+                break;
+            case STAT_BOOST:
+                applyStatModifier(target, definition, intensity);
+                break;
+            case STAT_REDUCE:
+                applyStatModifier(target, definition, -intensity);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void applyStatModifier(int target, SkillEffect definition, int value) {
+        SkillEffect.StatisticType stat = definition.getAffectedStat();
+        if (stat == null) {
+            return;
+        }
+
+        switch (stat) {
+            case STRENGTH:
+            case CONSTITUTION:
+            case SPIRIT:
+            case MENTAL:
+            case SPEED:
+                // Les modificateurs se cumulent (voir Statistics.addModifier, dont la limite de
+                // modificateurs par stat n'est pas reproduite)
+                int modifier = target * STAT_COUNT + stat.ordinal();
+                data[template.modifierOffset + modifier] += value;
+                data[template.modifierTurnsOffset + modifier] = Math.max(
+                        data[template.modifierTurnsOffset + modifier], definition.getDuration());
+                break;
+            case ACTION_POINTS:
+                int apIndex = template.apOffset + target;
+                data[apIndex] = Math.max(0, Math.min(template.maxActionPoints[target], data[apIndex] + value));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Relance le modificateur d'un effet déjà actif (voir SkillEffect.refresh).
+     */
+    private void refreshStatModifier(int target, SkillEffect definition) {
+        SkillEffect.EffectType type = definition.getType();
+        SkillEffect.StatisticType stat = definition.getAffectedStat();
+        if (type != SkillEffect.EffectType.STAT_BOOST && type != SkillEffect.EffectType.STAT_REDUCE
+                || stat == null || stat == SkillEffect.StatisticType.HEALTH
+                || stat == SkillEffect.StatisticType.ACTION_POINTS) {
+            return;
+        }
+
+        int turnsIndex = template.modifierTurnsOffset + target * STAT_COUNT + stat.ordinal();
+        if (data[turnsIndex] > 0) {
+            data[turnsIndex] = Math.max(data[turnsIndex], definition.getDuration());
+        }
+    }
+
+    private void markDefeated(int creature) {
+        if (creature < template.teamASize) {
+            aliveA &= ~(1L << creature);
+        } else {
+            aliveB &= ~(1L << (creature - template.teamASize));
+        }
+    }
+
+    /**
+     * Remplace la créature K.O. par la première créature vivante de l'équipe.
+     *
+     * @param teamA Équipe concernée
+     * @return true si une créature viable a été trouvée
+     */
+    private boolean switchToNext(boolean teamA) {
+        long alive = teamA ? aliveA : aliveB;
+        if (alive == 0) {
+            return false;
+        }
+
+        int next = Long.numberOfTrailingZeros(alive);
+        if (teamA) {
+            activeA = next;
+        } else {
+            activeB = next;
+        }
+        return true;
+    }
+
+    private int activeSlot(boolean teamA) {
+        return teamA ? activeA : template.teamASize + activeB;
+    }
+
+    private int slot(boolean teamA, int index) {
+        return teamA ? index : template.teamASize + index;
+    }
+
+    private int getStat(int creature, SkillEffect.StatisticType stat) {
+        int index = creature * STAT_COUNT + stat.ordinal();
+        return template.baseStats[index] + data[template.modifierOffset + index];
+    }
+
+    // Getters
+
+    public int getTeamSize(boolean teamA) {
+        return teamA ? template.teamASize : template.count - template.teamASize;
+    }
+
+    public int getHealth(boolean teamA, int index) {
+        return data[slot(teamA, index)];
+    }
+
+    public int getActionPoints(boolean teamA, int index) {
+        return data[template.apOffset + slot(teamA, index)];
+    }
+
+    public boolean isAlive(boolean teamA, int index) {
+        if (index < 0 || index >= getTeamSize(teamA)) {
+            return false;
+        }
+        return ((teamA ? aliveA : aliveB) & (1L << index)) != 0;
+    }
+
+    public int getActiveIndex(boolean teamA) {
+        return teamA ? activeA : activeB;
+    }
+
+    /**
+     * Obtient le nombre de compétences équipées de la créature du camp actif.
+     *
+     * @return Nombre de compétences
+     */
+    public int getActiveSkillCount() {
+        return template.skills[activeSlot(teamATurn)].length;
+    }
+
+    /**
+     * Vérifie si la créature du camp actif a assez de PA pour une compétence.
+     *
+     * @param skillSlot Index de la compétence
+     * @return true si la compétence est utilisable
+     */
+    public boolean canUseSkill(int skillSlot) {
+        int creature = activeSlot(teamATurn);
+        return skillSlot >= 0 && skillSlot < template.skills[creature].length
+                && template.skillCost[creature][skillSlot] <= data[template.apOffset + creature];
+    }
+
+    /**
+     * Obtient la compétence réelle correspondant à un index compact.
+     *
+     * @param teamA Équipe de la créature
+     * @param index Index de la créature dans l'équipe
+     * @param skillSlot Index de la compétence
+     * @return Compétence équipée
+     */
+    public Skill getSkill(boolean teamA, int index, int skillSlot) {
+        return template.skills[slot(teamA, index)][skillSlot];
+    }
+
+    public boolean isTeamATurn() {
+        return teamATurn;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public Battle.BattleState getState() {
+        return state;
+    }
+}
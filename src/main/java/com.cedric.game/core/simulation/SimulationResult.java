@@ -0,0 +1,147 @@
+package com.cedric.game.core.simulation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Résultats agrégés d'une série de combats simulés.
+ */
+public class SimulationResult {
+    private long battles;
+    private long teamAWins;
+    private long teamBWins;
+    private long draws;
+    private long totalTurns;
+    private Map<String, SkillStats> skillStats; // Trié par ID pour un résultat stable
+
+    /**
+     * Statistiques cumulées d'une compétence.
+     */
+    public static class SkillStats {
+        private long uses;
+        private long totalDamage;
+
+        public long getUses() {
+            return uses;
+        }
+
+        public long getTotalDamage() {
+            return totalDamage;
+        }
+
+        public double getAverageDamage() {
+            return uses == 0 ? 0 : (double) totalDamage / uses;
+        }
+    }
+
+    /**
+     * Crée un résultat vide.
+     */
+    public SimulationResult() {
+        this.skillStats = new TreeMap<>();
+    }
+
+    /**
+     * Enregistre l'issue d'un combat.
+     *
+     * @param teamAWon true si l'équipe A a gagné
+     * @param teamBWon true si l'équipe B a gagné
+     * @param turns Nombre de tours joués
+     */
+    void recordBattle(boolean teamAWon, boolean teamBWon, int turns) {
+        battles++;
+        totalTurns += turns;
+
+        if (teamAWon) {
+            teamAWins++;
+        } else if (teamBWon) {
+            teamBWins++;
+        } else {
+            draws++;
+        }
+    }
+
+    /**
+     * Enregistre une attaque réussie.
+     *
+     * @param skillId ID de la compétence utilisée
+     * @param damage Dégâts infligés
+     */
+    void recordAttack(String skillId, int damage) {
+        SkillStats stats = skillStats.get(skillId);
+        if (stats == null) {
+            stats = new SkillStats();
+            skillStats.put(skillId, stats);
+        }
+
+        stats.uses++;
+        stats.totalDamage += damage;
+    }
+
+    /**
+     * Fusionne un autre résultat dans celui-ci.
+     *
+     * @param other Résultat à ajouter
+     */
+    void merge(SimulationResult other) {
+        battles += other.battles;
+        teamAWins += other.teamAWins;
+        teamBWins += other.teamBWins;
+        draws += other.draws;
+        totalTurns += other.totalTurns;
+
+        for (Map.Entry<String, SkillStats> entry : other.skillStats.entrySet()) {
+            SkillStats stats = skillStats.get(entry.getKey());
+            if (stats == null) {
+                stats = new SkillStats();
+                skillStats.put(entry.getKey(), stats);
+            }
+
+            stats.uses += entry.getValue().uses;
+            stats.totalDamage += entry.getValue().totalDamage;
+        }
+    }
+
+    // Getters
+
+    public long getBattles() {
+        return battles;
+    }
+
+    public long getTeamAWins() {
+        return teamAWins;
+    }
+
+    public long getTeamBWins() {
+        return teamBWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public double getTeamAWinRate() {
+        return battles == 0 ? 0 : (double) teamAWins / battles;
+    }
+
+    public double getTeamBWinRate() {
+        return battles == 0 ? 0 : (double) teamBWins / battles;
+    }
+
+    public double getDrawRate() {
+        return battles == 0 ? 0 : (double) draws / battles;
+    }
+
+    public double getMeanTurns() {
+        return battles == 0 ? 0 : (double) totalTurns / battles;
+    }
+
+    public Map<String, SkillStats> getSkillStats() {
+        return Collections.unmodifiableMap(skillStats);
+    }
+}
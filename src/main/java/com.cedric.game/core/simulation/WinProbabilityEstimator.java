@@ -0,0 +1,356 @@
+package com.cedric.game.core.simulation;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.ActiveEffect;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.Skill;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estime par Monte Carlo les chances de victoire d'une équipe contre une autre.
+ *
+ * Les deux équipes sont capturées dans un {@link CompactBattleState} sur le thread appelant,
+ * puis les combats sont joués en arrière-plan sur des copies de cet état : les créatures
+ * réelles ne sont jamais modifiées. Les combats sont joués par lots ; l'estimation s'arrête
+ * dès que l'intervalle de confiance est assez étroit, ou au nombre maximal de combats.
+ *
+ * Les estimations sont mises en cache selon une empreinte de l'état des deux équipes, et la
+ * graine dépend de cette empreinte : une même situation donne toujours la même estimation.
+ */
+public class WinProbabilityEstimator {
+    public static final int DEFAULT_MAX_ROLLOUTS = 4096;
+    public static final double DEFAULT_MARGIN = 0.03;
+    private static final int ROLLOUTS_PER_BATCH = 128; // Taille fixe d'un lot séquentiel
+    private static final int BATCHES_PER_WAVE = 8; // Lots joués entre deux tests d'arrêt
+    private static final int MAX_TURNS = 200;
+    private static final int CACHE_SIZE = 256;
+    private static final double Z_95 = 1.96; // Intervalle de confiance à 95 %
+
+    private final ForkJoinPool pool;
+    private final Map<Long, CompletableFuture<Estimate>> cache;
+    private int maxRollouts;
+    private double margin;
+
+    /**
+     * Estimation des chances de victoire.
+     */
+    public static class Estimate {
+        private final int wins;
+        private final int draws;
+        private final int rollouts;
+
+        Estimate(int wins, int draws, int rollouts) {
+            this.wins = wins;
+            this.draws = draws;
+            this.rollouts = rollouts;
+        }
+
+        /**
+         * Obtient la probabilité de victoire estimée (un nul compte pour une demi-victoire).
+         *
+         * @return Probabilité entre 0 et 1
+         */
+        public double getWinProbability() {
+            return rollouts == 0 ? 0.0 : (wins + 0.5 * draws) / rollouts;
+        }
+
+        /**
+         * Obtient la demi-largeur de l'intervalle de confiance à 95 % (intervalle de Wilson).
+         *
+         * @return Marge d'erreur
+         */
+        public double getMargin() {
+            return margin(getWinProbability(), rollouts);
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getRollouts() {
+            return rollouts;
+        }
+    }
+
+    /**
+     * Tâche fork/join qui joue un intervalle de lots et cumule les résultats.
+     * Les compteurs sont rangés dans un tableau : victoires, nuls, combats.
+     */
+    private class RolloutTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactBattleState start;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        RolloutTask(CompactBattleState start, long seed, int from, int to) {
+            this.start = start;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= 1) {
+                int[] counts = new int[3];
+                for (int batch = from; batch < to; batch++) {
+                    playBatch(start, BattleSimulator.battleSeed(seed, batch), counts);
+                }
+                return counts;
+            }
+
+            int middle = (from + to) >>> 1;
+            RolloutTask left = new RolloutTask(start, seed, from, middle);
+            left.fork();
+            int[] counts = new RolloutTask(start, seed, middle, to).compute();
+            int[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Crée un estimateur utilisant le pool commun.
+     */
+    public WinProbabilityEstimator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crée un estimateur utilisant un pool spécifique.
+     *
+     * @param pool Pool d'exécution des combats
+     */
+    public WinProbabilityEstimator(ForkJoinPool pool) {
+        this.pool = pool;
+        this.maxRollouts = DEFAULT_MAX_ROLLOUTS;
+        this.margin = DEFAULT_MARGIN;
+        this.cache = new LinkedHashMap<Long, CompletableFuture<Estimate>>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<Estimate>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Lance l'estimation des chances de victoire de l'équipe A contre l'équipe B.
+     * L'état des équipes est capturé immédiatement ; le calcul se fait en arrière-plan.
+     *
+     * @param teamA Équipe dont on estime les chances (créatures en état de combattre)
+     * @param teamB Équipe adverse
+     * @return Estimation à venir (immédiatement disponible si elle est en cache)
+     */
+    public CompletableFuture<Estimate> estimate(List<Creature> teamA, List<Creature> teamB) {
+        long key = hashTeams(teamA, teamB);
+
+        CompletableFuture<Estimate> future;
+        synchronized (cache) {
+            future = cache.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            cache.put(key, future);
+        }
+
+        CompactBattleState start;
+        try {
+            start = CompactBattleState.fromBattle(new Battle(teamA, teamB));
+            start.start();
+        } catch (IllegalArgumentException e) {
+            forget(key, future);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        CompletableFuture<Estimate> result = future;
+        int rollouts = maxRollouts;
+        double targetMargin = margin;
+        pool.execute(() -> {
+            try {
+                result.complete(run(start, key, rollouts, targetMargin));
+            } catch (RuntimeException e) {
+                forget(key, result);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void forget(long key, CompletableFuture<Estimate> future) {
+        synchronized (cache) {
+            cache.remove(key, future);
+        }
+    }
+
+    /**
+     * Joue des vagues de lots en parallèle jusqu'à ce que la marge visée soit atteinte.
+     * Le découpage ne dépend pas du nombre de threads : le résultat est reproductible.
+     */
+    private Estimate run(CompactBattleState start, long seed, int rollouts, double targetMargin) {
+        int totalBatches = (rollouts + ROLLOUTS_PER_BATCH - 1) / ROLLOUTS_PER_BATCH;
+        int wins = 0;
+        int draws = 0;
+        int played = 0;
+
+        for (int batch = 0; batch < totalBatches; batch += BATCHES_PER_WAVE) {
+            int end = Math.min(totalBatches, batch + BATCHES_PER_WAVE);
+            int[] counts = pool.invoke(new RolloutTask(start, seed, batch, end));
+            wins += counts[0];
+            draws += counts[1];
+            played += counts[2];
+
+            double p = (wins + 0.5 * draws) / played;
+            if (margin(p, played) <= targetMargin) {
+                break;
+            }
+        }
+
+        return new Estimate(wins, draws, played);
+    }
+
+    /**
+     * Joue un lot de combats avec une politique aléatoire : une compétence utilisable au
+     * hasard, sinon le tour est passé.
+     */
+    private static void playBatch(CompactBattleState start, long seed, int[] counts) {
+        GameRandom random = new GameRandom(seed);
+        CompactBattleState state = start.fork();
+
+        for (int i = 0; i < ROLLOUTS_PER_BATCH; i++) {
+            state.copyFrom(start);
+
+            while (state.getState() == Battle.BattleState.IN_PROGRESS) {
+                if (state.getTurn() > MAX_TURNS) {
+                    state.end(Battle.BattleState.DRAW);
+                    break;
+                }
+                playTurn(state, random);
+            }
+
+            if (state.getState() == Battle.BattleState.TEAM_A_VICTORY) {
+                counts[0]++;
+            } else if (state.getState() == Battle.BattleState.DRAW) {
+                counts[1]++;
+            }
+            counts[2]++;
+        }
+    }
+
+    private static void playTurn(CompactBattleState state, GameRandom random) {
+        int skillCount = state.getActiveSkillCount();
+        int usable = 0;
+        for (int slot = 0; slot < skillCount; slot++) {
+            if (state.canUseSkill(slot)) {
+                usable++;
+            }
+        }
+
+        if (usable > 0) {
+            int choice = random.nextInt(usable);
+            for (int slot = 0; slot < skillCount; slot++) {
+                if (state.canUseSkill(slot) && choice-- == 0) {
+                    if (!state.applyAttack(slot, random)) {
+                        state.applyPass(); // Compétence sans dégâts
+                    }
+                    return;
+                }
+            }
+        }
+
+        state.applyPass(); // Pas assez de PA : attendre la récupération
+    }
+
+    /**
+     * Demi-largeur de l'intervalle de Wilson, qui reste significative près de 0 et de 1.
+     */
+    private static double margin(double p, int n) {
+        if (n == 0) {
+            return 1.0;
+        }
+        double z2 = Z_95 * Z_95;
+        return Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+    }
+
+    /**
+     * Calcule une empreinte de l'état des deux équipes (tout ce qui influence un combat).
+     */
+    static long hashTeams(List<Creature> teamA, List<Creature> teamB) {
+        long hash = hashTeam(0x9E3779B97F4A7C15L, teamA);
+        return hashTeam(mix(hash + 0x632BE59BD9B4E019L), teamB);
+    }
+
+    private static long hashTeam(long hash, List<Creature> team) {
+        hash = mix(hash + team.size());
+        for (Creature creature : team) {
+            hash = mix(hash + creature.getId().hashCode());
+            hash = mix(hash + creature.getStats().getLevel());
+            hash = mix(hash + creature.getStats().getHealth());
+            hash = mix(hash + creature.getStats().getMaxHealth());
+            hash = mix(hash + creature.getCurrentActionPoints());
+            hash = mix(hash + creature.getStats().getStrength());
+            hash = mix(hash + creature.getStats().getConstitution());
+            hash = mix(hash + creature.getStats().getSpeed());
+
+            for (Skill skill : creature.getActiveSkills()) {
+                hash = mix(hash + skill.getId().hashCode());
+                hash = mix(hash + ((long) skill.getLevel() << 32 | skill.getPower()));
+                hash = mix(hash + skill.getActionPointCost());
+            }
+            for (ActiveEffect effect : creature.getActiveEffects()) {
+                hash = mix(hash + effect.getEffect().getName().hashCode());
+                hash = mix(hash + effect.getRemainingTurns());
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Vide le cache des estimations.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    // Getters et setters
+
+    public int getMaxRollouts() {
+        return maxRollouts;
+    }
+
+    public void setMaxRollouts(int maxRollouts) {
+        this.maxRollouts = maxRollouts;
+    }
+
+    public double getMargin() {
+        return margin;
+    }
+
+    public void setMargin(double margin) {
+        this.margin = margin;
+    }
+}
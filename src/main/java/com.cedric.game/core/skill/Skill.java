@@ -2,26 +2,33 @@ package com.cedric.game.core.skill;
 
 import com.cedric.game.core.creature.Creature;
 import com.cedric.game.core.type.Type;
+import com.cedric.game.core.type.TypeChart;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Représente une compétence pouvant être utilisée par une créature.
+ *
+ * La définition (identifiant, textes, type, catégorie, effets, évolutions) est immuable et
+ * partagée entre toutes les instances d'une même compétence ; chaque instance ne porte en propre
+ * que sa progression (niveau, XP, puissance, précision, coût).
  */
 public class Skill {
-    private String id;
-    private String name;
-    private String description;
-    private Type type;
+    private final String id;
+    private final String name;
+    private final String description;
+    private final Type type;
     private int level;
     private int experience;
     private int experienceToNextLevel;
     private int power;
     private int accuracy;
     private int actionPointCost;
-    private SkillCategory category;
-    private List<SkillEffect> effects;
-    private List<Skill> evolutionOptions;
+    private final SkillCategory category;
+    private final List<SkillEffect> effects;
+    private final List<SkillEffect> effectsView; // Vue en lecture seule de effects
+    private final List<Skill> evolutionOptions;
 
     /**
      * Catégories de compétences.
@@ -72,9 +79,32 @@ public class Skill {
         this.actionPointCost = actionPointCost;
         this.category = category;
         this.effects = new ArrayList<>();
+        this.effectsView = Collections.unmodifiableList(effects);
         this.evolutionOptions = new ArrayList<>();
     }
 
+    /**
+     * Crée une instance qui partage la définition d'une compétence et copie sa progression.
+     *
+     * @param definition Compétence d'origine
+     */
+    private Skill(Skill definition) {
+        this.id = definition.id;
+        this.name = definition.name;
+        this.description = definition.description;
+        this.type = definition.type;
+        this.category = definition.category;
+        this.effects = definition.effects;
+        this.effectsView = definition.effectsView;
+        this.evolutionOptions = definition.evolutionOptions;
+        this.level = definition.level;
+        this.experience = definition.experience;
+        this.experienceToNextLevel = definition.experienceToNextLevel;
+        this.power = definition.power;
+        this.accuracy = definition.accuracy;
+        this.actionPointCost = definition.actionPointCost;
+    }
+
     /**
      * Utilise la compétence, vérifie si le coût en PA peut être payé.
      *
@@ -136,6 +166,26 @@ public class Skill {
         }
     }
 
+    /**
+     * Restaure la progression de la compétence (depuis un instantané ou un replay).
+     *
+     * @param level Niveau
+     * @param experience XP actuelle
+     * @param experienceToNextLevel XP nécessaire pour le prochain niveau
+     * @param power Puissance
+     * @param accuracy Précision
+     * @param actionPointCost Coût en PA
+     */
+    public void restoreProgress(int level, int experience, int experienceToNextLevel,
+                                int power, int accuracy, int actionPointCost) {
+        this.level = level;
+        this.experience = experience;
+        this.experienceToNextLevel = experienceToNextLevel;
+        this.power = power;
+        this.accuracy = accuracy;
+        this.actionPointCost = actionPointCost;
+    }
+
     /**
      * Calcule l'XP nécessaire pour le prochain niveau.
      *
@@ -161,10 +211,8 @@ public class Skill {
         }
 
         // Bonus pour l'efficacité du type
-        double effectiveness = 1.0;
-        for (Type targetType : target.getStats().getTypes()) {
-            effectiveness *= this.type.getEffectivenessAgainst(targetType);
-        }
+        int attackerCombination = this.type != null ? this.type.getCombination() : TypeChart.NO_TYPE;
+        double effectiveness = TypeChart.getMultiplier(attackerCombination, target.getStats().getTypeCombination());
 
         if (effectiveness > 1.0) {
             bonus += 5; // Bonus pour super efficace
@@ -177,20 +225,22 @@ public class Skill {
     }
 
     /**
-     * Ajoute un effet à la compétence.
+     * Ajoute un effet à la compétence, pendant la construction du modèle uniquement : les
+     * instances partagent la liste des effets de leur modèle.
      *
      * @param effect Effet à ajouter
      */
-    public void addEffect(SkillEffect effect) {
+    void addEffect(SkillEffect effect) {
         effects.add(effect);
     }
 
     /**
-     * Ajoute une option d'évolution pour cette compétence.
+     * Ajoute une option d'évolution pour cette compétence, pendant la construction du modèle
+     * uniquement (options partagées avec les instances).
      *
      * @param evolution Compétence évoluée
      */
-    public void addEvolutionOption(Skill evolution) {
+    void addEvolutionOption(Skill evolution) {
         evolutionOptions.add(evolution);
     }
 
@@ -215,7 +265,7 @@ public class Skill {
      */
     public Skill evolve(int optionIndex) {
         if (optionIndex >= 0 && optionIndex < evolutionOptions.size()) {
-            Skill evolvedSkill = evolutionOptions.get(optionIndex);
+            Skill evolvedSkill = evolutionOptions.get(optionIndex).instantiate(); // Options partagées
             // Transférer l'expérience ou autres attributs si nécessaire
             evolvedSkill.experience = this.experience;
             evolvedSkill.level = this.level;
@@ -224,33 +274,23 @@ public class Skill {
         return this;
     }
 
+    /**
+     * Crée une instance de la compétence pour une créature, à partir de sa définition.
+     * La définition est partagée ; la progression de l'instance est indépendante.
+     *
+     * @return Nouvelle instance
+     */
+    public Skill instantiate() {
+        return new Skill(this);
+    }
+
     /**
      * Crée un clone de la compétence.
      *
-     * @return Copie de la compétence
+     * @return Copie de la compétence (définition partagée, progression copiée)
      */
     public Skill clone() {
-        Skill clone = new Skill(
-                this.id,
-                this.name,
-                this.description,
-                this.type,
-                this.power,
-                this.accuracy,
-                this.actionPointCost,
-                this.category
-        );
-
-        clone.level = this.level;
-        clone.experience = this.experience;
-        clone.experienceToNextLevel = this.experienceToNextLevel;
-
-        // Cloner les effets
-        for (SkillEffect effect : this.effects) {
-            clone.addEffect(effect.clone());
-        }
-
-        return clone;
+        return new Skill(this);
     }
 
     // Getters et setters
@@ -299,8 +339,13 @@ public class Skill {
         return experienceToNextLevel;
     }
 
+    /**
+     * Obtient les effets de la compétence, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements de la compétence
+     */
     public List<SkillEffect> getEffects() {
-        return new ArrayList<>(effects);
+        return effectsView;
     }
 
     @Override
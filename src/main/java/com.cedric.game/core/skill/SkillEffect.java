@@ -1,9 +1,13 @@
 package com.cedric.game.core.skill;
 
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
 
 /**
  * Représente un effet appliqué par une compétence.
+ *
+ * Un effet est un modèle immuable, partagé par toutes les compétences et toutes les cibles.
+ * La durée restante sur une cible donnée est portée par un {@link com.cedric.game.core.creature.ActiveEffect}.
  */
 public class SkillEffect {
     /**
@@ -57,13 +61,13 @@ public class SkillEffect {
         }
     }
 
-    private String id;
-    private String name;
-    private EffectType type;
-    private int duration; // En nombre de tours
-    private int intensity; // Force de l'effet
-    private StatisticType affectedStat; // Quelle stat est affectée (si applicable)
-    private double chance; // Chance d'appliquer (0.0 - 1.0)
+    private final String id;
+    private final String name;
+    private final EffectType type;
+    private final int duration; // En nombre de tours
+    private final int intensity; // Force de l'effet
+    private final StatisticType affectedStat; // Quelle stat est affectée (si applicable)
+    private final double chance; // Chance d'appliquer (0.0 - 1.0)
 
     /**
      * Crée un nouvel effet.
@@ -92,8 +96,18 @@ public class SkillEffect {
      * @param target Créature cible
      */
     public void apply(Creature target) {
+        apply(target, GameRandom.current());
+    }
+
+    /**
+     * Applique l'effet à une créature en tirant la chance dans un flux donné.
+     *
+     * @param target Créature cible
+     * @param random Flux du combat
+     */
+    public void apply(Creature target, GameRandom random) {
         // Vérifier la chance d'application
-        if (Math.random() > chance) {
+        if (random.nextDouble() > chance) {
             return; // Échec d'application
         }
 
@@ -152,10 +166,11 @@ public class SkillEffect {
 
         switch (affectedStat) {
             case STRENGTH:
-                target.getStats().modifyStrength(value, duration);
-                break;
+            case CONSTITUTION:
+            case SPIRIT:
+            case MENTAL:
             case SPEED:
-                target.getStats().modifySpeed(value, duration);
+                target.getStats().addModifier(affectedStat, value, duration);
                 break;
             case ACTION_POINTS:
                 if (isPositive) {
@@ -170,40 +185,38 @@ public class SkillEffect {
     }
 
     /**
-     * Applique un effet de statut spécial.
+     * Relance l'effet déjà actif sur une créature : son modificateur de stat, s'il a été
+     * appliqué, repart pour toute la durée de l'effet.
      *
      * @param target Créature cible
      */
-    private void applyStatusEffect(Creature target) {
-        // Les effets de statut seraient implémentés séparément
-        // Par exemple: Poison, Paralysie, Sommeil, etc.
-    }
-
-    /**
-     * Met à jour la durée de l'effet.
-     */
-    public void updateDuration() {
-        if (duration > 0) {
-            duration--;
+    public void refresh(Creature target) {
+        if (type != EffectType.STAT_BOOST && type != EffectType.STAT_REDUCE || affectedStat == null) {
+            return;
         }
-    }
 
-    /**
-     * Vérifie si l'effet est expiré.
-     *
-     * @return true si l'effet est terminé
-     */
-    public boolean isExpired() {
-        return duration == 0;
+        switch (affectedStat) {
+            case STRENGTH:
+            case CONSTITUTION:
+            case SPIRIT:
+            case MENTAL:
+            case SPEED:
+                target.getStats().refreshModifier(affectedStat,
+                        type == EffectType.STAT_BOOST ? intensity : -intensity, duration);
+                break;
+            default:
+                break;
+        }
     }
 
     /**
-     * Crée une copie de cet effet.
+     * Applique un effet de statut spécial.
      *
-     * @return Copie de l'effet
+     * @param target Créature cible
      */
-    public SkillEffect clone() {
-        return new SkillEffect(id, name, type, duration, intensity, affectedStat, chance);
+    private void applyStatusEffect(Creature target) {
+        // Les effets de statut seraient implémentés séparément
+        // Par exemple: Poison, Paralysie, Sommeil, etc.
     }
 
     // Getters
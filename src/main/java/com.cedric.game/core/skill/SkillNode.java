@@ -1,18 +1,24 @@
 package com.cedric.game.core.skill;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Représente un nœud dans l'arbre de compétences.
+ *
+ * Les nœuds appartiennent à un {@link SkillTreeTemplate} partagé et ne changent plus après sa
+ * construction ; l'état débloqué est propre à chaque créature et vit dans son {@link SkillTree}.
  */
 public class SkillNode {
     private String id;
     private game.core.skill.Skill skill;
     private List<SkillNode> children;
+    private List<SkillNode> childrenView; // Vue en lecture seule de children
     private List<SkillNode> prerequisites;
+    private List<SkillNode> prerequisitesView; // Vue en lecture seule de prerequisites
     private int pointsRequired;
-    private boolean unlocked;
+    private int index; // Index dense dans le modèle d'arbre
 
     /**
      * Crée un nouveau nœud d'arbre de compétences.
@@ -26,8 +32,10 @@ public class SkillNode {
         this.skill = skill;
         this.pointsRequired = pointsRequired;
         this.children = new ArrayList<>();
+        this.childrenView = Collections.unmodifiableList(children);
         this.prerequisites = new ArrayList<>();
-        this.unlocked = false;
+        this.prerequisitesView = Collections.unmodifiableList(prerequisites);
+        this.index = -1;
     }
 
     /**
@@ -35,7 +43,7 @@ public class SkillNode {
      *
      * @param child Nœud enfant à ajouter
      */
-    public void addChild(SkillNode child) {
+    void addChild(SkillNode child) {
         if (!children.contains(child)) {
             children.add(child);
             child.addPrerequisite(this);
@@ -47,26 +55,12 @@ public class SkillNode {
      *
      * @param prerequisite Nœud prérequis
      */
-    public void addPrerequisite(SkillNode prerequisite) {
+    void addPrerequisite(SkillNode prerequisite) {
         if (!prerequisites.contains(prerequisite)) {
             prerequisites.add(prerequisite);
         }
     }
 
-    /**
-     * Vérifie si tous les prérequis sont débloqués.
-     *
-     * @return true si tous les prérequis sont débloqués
-     */
-    public boolean arePrerequisitesMet() {
-        for (SkillNode prereq : prerequisites) {
-            if (!prereq.isUnlocked()) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     /**
      * Crée une représentation visuelle du nœud (pour l'interface).
      *
@@ -113,24 +107,34 @@ public class SkillNode {
         return skill;
     }
 
+    /**
+     * Obtient les nœuds enfants, sans copie.
+     *
+     * @return Vue non modifiable, qui suit les changements du nœud
+     */
     public List<SkillNode> getChildren() {
-        return new ArrayList<>(children);
+        return childrenView;
     }
 
+    /**
+     * Obtient les nœuds prérequis, sans copie.
+     *
+     * @return Vue non modifiable
+     */
     public List<SkillNode> getPrerequisites() {
-        return new ArrayList<>(prerequisites);
+        return prerequisitesView;
     }
 
     public int getPointsRequired() {
         return pointsRequired;
     }
 
-    public boolean isUnlocked() {
-        return unlocked;
+    public int getIndex() {
+        return index;
     }
 
-    public void setUnlocked(boolean unlocked) {
-        this.unlocked = unlocked;
+    void setIndex(int index) {
+        this.index = index;
     }
 
     @Override
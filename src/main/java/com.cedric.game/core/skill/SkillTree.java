@@ -4,17 +4,29 @@ import com.cedric.game.core.creature.Creature;
 import com.cedric.game.core.type.Type;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Représente l'arbre de compétences d'une créature.
+ *
+ * La structure de l'arbre vient d'un {@link SkillTreeTemplate} partagé par toutes les créatures
+ * du même type. L'arbre d'une créature ne garde que ses bits de déblocage et, pour les
+ * compétences qu'elle a déjà utilisées, sa propre instance (la progression de la compétence).
+ *
+ * Les nœuds disponibles (non débloqués, prérequis remplis) sont suivis de façon incrémentale :
+ * chaque nœud garde son nombre de prérequis non débloqués, décrémenté quand un prérequis est
+ * débloqué. Débloquer un nœud ne coûte que le parcours de ses dépendants, et les requêtes ne
+ * parcourent que les nœuds concernés.
  */
 public class SkillTree {
-    private List<SkillNode> rootNodes;
-    private Map<String, SkillNode> allNodes;
-    private Type primaryType;
+    private final SkillTreeTemplate template;
+    private final long[] unlocked; // Un bit par index de nœud
+    private final long[] available; // Nœuds débloquables, un bit par index de nœud
+    private final int[] unmetPrerequisites; // Par index de nœud
+    private int unlockedCount;
+    private int availableCount;
+    private Skill[] skills; // Instances propres à la créature, créées au premier besoin
 
     /**
      * Crée un nouvel arbre de compétences.
@@ -22,377 +34,165 @@ public class SkillTree {
      * @param primaryType Type principal de la créature
      */
     public SkillTree(Type primaryType) {
-        this.rootNodes = new ArrayList<>();
-        this.allNodes = new HashMap<>();
-        this.primaryType = primaryType;
+        this(SkillTreeTemplate.of(primaryType));
+    }
 
-        // Initialiser l'arbre avec des compétences de base
-        initializeBaseSkills();
+    /**
+     * Crée un arbre de compétences vierge à partir d'un modèle.
+     *
+     * @param template Modèle partagé
+     */
+    public SkillTree(SkillTreeTemplate template) {
+        this.template = template;
+        this.unlocked = new long[template.getWordCount()];
+        this.available = template.copyInitialAvailable();
+        this.unmetPrerequisites = template.copyPrerequisiteCounts();
+        for (long word : available) {
+            availableCount += Long.bitCount(word);
+        }
     }
 
     /**
-     * Initialise l'arbre avec des compétences de base selon le type.
+     * Obtient un nœud par son ID.
+     *
+     * @param nodeId ID du nœud
+     * @return Nœud correspondant ou null
      */
-    private void initializeBaseSkills() {
-        // Compétence de base - Attaque basique
-        Skill basicAttack = new Skill(
-                "skill_basic_" + primaryType.getName().toLowerCase(),
-                "Attaque basique",
-                "Une attaque simple qui utilise peu d'énergie.",
-                primaryType,
-                5, // Puissance
-                95, // Précision
-                1,  // Coût en PA
-                Skill.SkillCategory.PHYSICAL
-        );
-
-        SkillNode basicNode = new SkillNode("node_basic_attack", basicAttack, 0);
-        addNode(basicNode);
-        rootNodes.add(basicNode);
-
-        // Compétence de défense
-        Skill basicDefense = new Skill(
-                "skill_defense_" + primaryType.getName().toLowerCase(),
-                "Défense basique",
-                "Renforce temporairement la défense.",
-                primaryType,
-                0, // Pas de dégâts directs
-                100, // Toujours réussi
-                1,  // Coût en PA
-                Skill.SkillCategory.STATUS
-        );
-
-        SkillEffect defenseEffect = new SkillEffect(
-                "effect_def_boost",
-                "Bouclier",
-                SkillEffect.EffectType.STAT_BOOST,
-                3, // Dure 3 tours
-                5, // +5 en défense
-                SkillEffect.StatisticType.CONSTITUTION,
-                1.0 // 100% de chance
-        );
-
-        basicDefense.addEffect(defenseEffect);
-
-        SkillNode defenseNode = new SkillNode("node_basic_defense", basicDefense, 0);
-        addNode(defenseNode);
-        rootNodes.add(defenseNode);
-
-        // Ajouter des compétences spécifiques au type
-        addTypeSpecificSkills();
-
-        // Ajouter la structure de l'arbre - les nœuds suivants
-        buildSkillTreeStructure();
+    public SkillNode getNode(String nodeId) {
+        return template.getNode(nodeId);
     }
 
     /**
-     * Ajoute des compétences spécifiques au type principal.
+     * Débloque un nœud si les prérequis sont remplis.
+     *
+     * @param nodeId ID du nœud à débloquer
+     * @param creature Créature concernée
+     * @param availablePoints Points disponibles
+     * @return true si le déblocage a réussi
      */
-    private void addTypeSpecificSkills() {
-        String typeName = primaryType.getName();
-
-        // Attaque de type spécifique niveau 1
-        Skill typeAttack = new Skill(
-                "skill_" + typeName.toLowerCase() + "_1",
-                typeName + " niveau 1",
-                "Une attaque de type " + typeName + " de niveau basique.",
-                primaryType,
-                15, // Puissance
-                90, // Précision
-                2,  // Coût en PA
-                Skill.SkillCategory.SPECIAL
-        );
-
-        SkillNode typeNode = new SkillNode("node_" + typeName.toLowerCase() + "_1", typeAttack, 1);
-        addNode(typeNode);
-        rootNodes.add(typeNode);
-
-        // Effet de statut selon le type
-        SkillEffect.EffectType effectType = SkillEffect.EffectType.STATUS_EFFECT;
-        String effectName = "Effet " + typeName;
-
-        switch (typeName) {
-            case "Feu":
-                effectName = "Brûlure";
-                break;
-            case "Eau":
-                effectName = "Trempe";
-                break;
-            case "Nature":
-                effectName = "Poison";
-                break;
-            case "Électrique":
-                effectName = "Paralysie";
-                break;
-            case "Ténèbres":
-                effectName = "Peur";
-                break;
-            // Autres types...
+    public boolean unlockNode(String nodeId, Creature creature, int availablePoints) {
+        SkillNode node = getNode(nodeId);
+
+        // Un nœud disponible n'est pas encore débloqué et a tous ses prérequis
+        if (node == null || !isAvailable(node.getIndex()) || availablePoints < node.getPointsRequired()) {
+            return false;
         }
 
-        Skill statusSkill = new Skill(
-                "skill_status_" + typeName.toLowerCase(),
-                effectName,
-                "Applique un effet de statut " + effectName.toLowerCase() + ".",
-                primaryType,
-                5, // Faible puissance
-                85, // Précision moyenne
-                2,  // Coût en PA
-                Skill.SkillCategory.STATUS
-        );
-
-        SkillEffect statusEffect = new SkillEffect(
-                "effect_" + typeName.toLowerCase() + "_status",
-                effectName,
-                effectType,
-                3, // Dure 3 tours
-                5, // Intensité moyenne
-                SkillEffect.StatisticType.HEALTH, // Affecte généralement la santé
-                0.7 // 70% de chance
-        );
-
-        statusSkill.addEffect(statusEffect);
-
-        SkillNode statusNode = new SkillNode("node_status_" + typeName.toLowerCase(), statusSkill, 2);
-        addNode(statusNode);
-
-        // Connecter au nœud racine
-        if (!rootNodes.isEmpty()) {
-            rootNodes.get(0).addChild(statusNode);
+        // Débloquer le nœud
+        int index = node.getIndex();
+        unlocked[index >>> 6] |= 1L << index;
+        available[index >>> 6] &= ~(1L << index);
+        unlockedCount++;
+        availableCount--;
+
+        // Les dépendants dont c'était le dernier prérequis deviennent disponibles
+        for (int dependent : template.getDependents(index)) {
+            if (--unmetPrerequisites[dependent] == 0 && !isUnlocked(dependent)) {
+                available[dependent >>> 6] |= 1L << dependent;
+                availableCount++;
+            }
         }
+        return true;
     }
 
     /**
-     * Construit la structure de l'arbre avec des nœuds connectés.
+     * Remplace les nœuds débloqués (depuis une sauvegarde), sans coût ni ordre imposé.
+     * Les nœuds disponibles sont recalculés ; les identifiants inconnus sont ignorés.
+     *
+     * @param nodeIds Identifiants des nœuds débloqués
      */
-    private void buildSkillTreeStructure() {
-        // Exemple de structure d'arbre plus avancée
-        // Niveau 2 - Compétences intermédiaires
-        for (SkillNode rootNode : rootNodes) {
-            if (rootNode.getSkill().getCategory() == Skill.SkillCategory.PHYSICAL) {
-                // Branch out physical skills
-                createPhysicalBranch(rootNode);
-            } else if (rootNode.getSkill().getCategory() == Skill.SkillCategory.SPECIAL) {
-                // Branch out special skills
-                createSpecialBranch(rootNode);
-            } else if (rootNode.getSkill().getCategory() == Skill.SkillCategory.STATUS) {
-                // Branch out status skills
-                createStatusBranch(rootNode);
+    public void restoreUnlockedNodes(List<String> nodeIds) {
+        Arrays.fill(unlocked, 0L);
+        System.arraycopy(template.copyPrerequisiteCounts(), 0, unmetPrerequisites, 0, unmetPrerequisites.length);
+        unlockedCount = 0;
+
+        for (String nodeId : nodeIds) {
+            SkillNode node = getNode(nodeId);
+            if (node != null && !isUnlocked(node.getIndex())) {
+                unlocked[node.getIndex() >>> 6] |= 1L << node.getIndex();
+                unlockedCount++;
+                for (int dependent : template.getDependents(node.getIndex())) {
+                    unmetPrerequisites[dependent]--;
+                }
+            }
+        }
+
+        availableCount = 0;
+        for (int i = 0; i < unmetPrerequisites.length; i++) {
+            boolean isAvailable = unmetPrerequisites[i] == 0 && !isUnlocked(i);
+            if (isAvailable) {
+                available[i >>> 6] |= 1L << i;
+                availableCount++;
+            } else {
+                available[i >>> 6] &= ~(1L << i);
             }
         }
     }
 
     /**
-     * Crée une branche de compétences physiques.
+     * Vérifie si un nœud est débloqué pour cette créature.
      *
-     * @param parentNode Nœud parent
+     * @param node Nœud du modèle
+     * @return true si le nœud est débloqué
      */
-    private void createPhysicalBranch(SkillNode parentNode) {
-        // Compétence physique avancée
-        Skill improvedPhysical = new Skill(
-                "skill_physical_improved",
-                "Coup puissant",
-                "Une attaque physique plus puissante mais moins précise.",
-                primaryType,
-                30, // Puissance élevée
-                80, // Précision réduite
-                3,  // Coût en PA
-                Skill.SkillCategory.PHYSICAL
-        );
-
-        SkillNode improvedNode = new SkillNode("node_physical_improved", improvedPhysical, 3);
-        addNode(improvedNode);
-        parentNode.addChild(improvedNode);
-
-        // Compétence physique rapide
-        Skill quickPhysical = new Skill(
-                "skill_physical_quick",
-                "Attaque rapide",
-                "Une attaque plus faible mais qui frappe en premier.",
-                primaryType,
-                10, // Faible puissance
-                95, // Haute précision
-                1,  // Faible coût en PA
-                Skill.SkillCategory.PHYSICAL
-        );
-
-        SkillNode quickNode = new SkillNode("node_physical_quick", quickPhysical, 2);
-        addNode(quickNode);
-        parentNode.addChild(quickNode);
+    public boolean isUnlocked(SkillNode node) {
+        return isUnlocked(node.getIndex());
     }
 
-    /**
-     * Crée une branche de compétences spéciales.
-     *
-     * @param parentNode Nœud parent
-     */
-    private void createSpecialBranch(SkillNode parentNode) {
-        // Compétence spéciale avancée
-        String typeName = primaryType.getName();
-
-        Skill improvedSpecial = new Skill(
-                "skill_" + typeName.toLowerCase() + "_2",
-                typeName + " niveau 2",
-                "Une attaque de type " + typeName + " plus puissante.",
-                primaryType,
-                25, // Puissance moyenne-élevée
-                85, // Précision
-                3,  // Coût en PA
-                Skill.SkillCategory.SPECIAL
-        );
-
-        SkillNode improvedNode = new SkillNode("node_" + typeName.toLowerCase() + "_2", improvedSpecial, 4);
-        addNode(improvedNode);
-        parentNode.addChild(improvedNode);
-
-        // Attaque de zone
-        Skill areaSpecial = new Skill(
-                "skill_" + typeName.toLowerCase() + "_area",
-                "Vague de " + typeName,
-                "Une attaque de type " + typeName + " qui touche une zone.",
-                primaryType,
-                20, // Puissance modérée
-                80, // Précision un peu réduite
-                4,  // Coût en PA élevé
-                Skill.SkillCategory.SPECIAL
-        );
-
-        SkillNode areaNode = new SkillNode("node_" + typeName.toLowerCase() + "_area", areaSpecial, 5);
-        addNode(areaNode);
-        parentNode.addChild(areaNode);
+    private boolean isUnlocked(int index) {
+        return (unlocked[index >>> 6] & (1L << index)) != 0;
     }
 
-    /**
-     * Crée une branche de compétences de statut.
-     *
-     * @param parentNode Nœud parent
-     */
-    private void createStatusBranch(SkillNode parentNode) {
-        // Amélioration de soi
-        Skill selfBuff = new Skill(
-                "skill_self_buff",
-                "Concentration",
-                "Augmente temporairement ses propres statistiques.",
-                primaryType,
-                0, // Pas de dégâts
-                100, // Toujours réussi
-                2,  // Coût en PA
-                Skill.SkillCategory.STATUS
-        );
-
-        SkillEffect buffEffect1 = new SkillEffect(
-                "effect_str_boost",
-                "Force améliorée",
-                SkillEffect.EffectType.STAT_BOOST,
-                3, // Dure 3 tours
-                7, // +7 en force
-                SkillEffect.StatisticType.STRENGTH,
-                1.0 // 100% de chance
-        );
-
-        SkillEffect buffEffect2 = new SkillEffect(
-                "effect_spd_boost",
-                "Vitesse améliorée",
-                SkillEffect.EffectType.STAT_BOOST,
-                3, // Dure 3 tours
-                5, // +5 en vitesse
-                SkillEffect.StatisticType.SPEED,
-                1.0 // 100% de chance
-        );
-
-        selfBuff.addEffect(buffEffect1);
-        selfBuff.addEffect(buffEffect2);
-
-        SkillNode selfBuffNode = new SkillNode("node_self_buff", selfBuff, 3);
-        addNode(selfBuffNode);
-        parentNode.addChild(selfBuffNode);
-
-        // Soins
-        Skill healingSkill = new Skill(
-                "skill_healing",
-                "Restauration",
-                "Soigne partiellement les points de vie.",
-                primaryType,
-                0, // Pas de dégâts
-                100, // Toujours réussi
-                3,  // Coût en PA
-                Skill.SkillCategory.STATUS
-        );
-
-        SkillEffect healEffect = new SkillEffect(
-                "effect_healing",
-                "Soins",
-                SkillEffect.EffectType.HEALING,
-                0, // Instantané
-                15, // Soigne 15 PV
-                SkillEffect.StatisticType.HEALTH,
-                1.0 // 100% de chance
-        );
-
-        healingSkill.addEffect(healEffect);
-
-        SkillNode healingNode = new SkillNode("node_healing", healingSkill, 4);
-        addNode(healingNode);
-        parentNode.addChild(healingNode);
+    private boolean isAvailable(int index) {
+        return (available[index >>> 6] & (1L << index)) != 0;
     }
 
     /**
-     * Ajoute un nœud à l'arbre.
+     * Vérifie si un nœud peut être débloqué (non débloqué, prérequis remplis).
      *
-     * @param node Nœud à ajouter
-     * @return true si l'ajout a réussi
+     * @param node Nœud du modèle
+     * @return true si le nœud est disponible
      */
-    public boolean addNode(SkillNode node) {
-        if (node == null || allNodes.containsKey(node.getId())) {
-            return false;
-        }
-
-        allNodes.put(node.getId(), node);
-        return true;
+    public boolean isAvailable(SkillNode node) {
+        return isAvailable(node.getIndex());
     }
 
     /**
-     * Obtient un nœud par son ID.
+     * Vérifie si tous les prérequis d'un nœud sont débloqués pour cette créature.
      *
-     * @param nodeId ID du nœud
-     * @return Nœud correspondant ou null
+     * @param node Nœud du modèle
+     * @return true si tous les prérequis sont débloqués
      */
-    public SkillNode getNode(String nodeId) {
-        return allNodes.get(nodeId);
+    public boolean arePrerequisitesMet(SkillNode node) {
+        return unmetPrerequisites[node.getIndex()] == 0;
     }
 
     /**
-     * Débloque un nœud si les prérequis sont remplis.
+     * Obtient l'instance de la compétence d'un nœud propre à cette créature.
+     * La compétence du modèle sert de définition et n'est jamais modifiée.
      *
-     * @param nodeId ID du nœud à débloquer
-     * @param creature Créature concernée
-     * @param availablePoints Points disponibles
-     * @return true si le déblocage a réussi
+     * @param node Nœud du modèle
+     * @return Compétence de la créature
      */
-    public boolean unlockNode(String nodeId, Creature creature, int availablePoints) {
-        SkillNode node = getNode(nodeId);
-
-        if (node == null || node.isUnlocked() || availablePoints < node.getPointsRequired()) {
-            return false;
+    public Skill getSkill(SkillNode node) {
+        if (skills == null) {
+            skills = new Skill[template.getNodeCount()];
         }
 
-        // Vérifier que les prérequis sont remplis
-        if (!node.arePrerequisitesMet()) {
-            return false;
+        int index = node.getIndex();
+        if (skills[index] == null) {
+            skills[index] = node.getSkill().instantiate();
         }
-
-        // Débloquer le nœud
-        node.setUnlocked(true);
-        return true;
+        return skills[index];
     }
 
     /**
      * Obtient tous les nœuds racines.
      *
-     * @return Liste des nœuds racines
+     * @return Liste non modifiable des nœuds racines
      */
     public List<SkillNode> getRootNodes() {
-        return new ArrayList<>(rootNodes);
+        return template.getRootNodes();
     }
 
     /**
@@ -401,28 +201,69 @@ public class SkillTree {
      * @return Liste des nœuds disponibles
      */
     public List<SkillNode> getAvailableNodes() {
-        List<SkillNode> availableNodes = new ArrayList<>();
+        List<SkillNode> availableNodes = new ArrayList<>(availableCount);
+        collect(available, availableNodes);
+        return availableNodes;
+    }
 
-        for (SkillNode node : allNodes.values()) {
-            if (!node.isUnlocked() && node.arePrerequisitesMet()) {
-                availableNodes.add(node);
+    public int getAvailableNodeCount() {
+        return availableCount;
+    }
+
+    /**
+     * Obtient le n-ième nœud disponible, dans l'ordre de {@link #getAvailableNodes()}.
+     *
+     * @param position Position parmi les nœuds disponibles
+     * @return Nœud disponible
+     */
+    public SkillNode getAvailableNode(int position) {
+        if (position < 0 || position >= availableCount) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", disponibles: " + availableCount);
+        }
+
+        for (int w = 0; ; w++) {
+            int count = Long.bitCount(available[w]);
+            if (position < count) {
+                long word = available[w];
+                for (int skipped = 0; skipped < position; skipped++) {
+                    word &= word - 1; // Retire le bit le plus bas
+                }
+                return template.getNode((w << 6) + Long.numberOfTrailingZeros(word));
             }
+            position -= count;
         }
+    }
 
-        return availableNodes;
+    public int getUnlockedNodeCount() {
+        return unlockedCount;
+    }
+
+    /**
+     * Ajoute à une liste les nœuds d'un masque, par index croissant.
+     */
+    private void collect(long[] mask, List<SkillNode> nodes) {
+        for (int w = 0; w < mask.length; w++) {
+            long word = mask[w];
+            while (word != 0) {
+                nodes.add(template.getNode((w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
     }
 
     /**
      * Obtient toutes les compétences débloquées.
      *
-     * @return Liste des compétences débloquées
+     * @return Liste des compétences débloquées (instances de la créature)
      */
     public List<Skill> getUnlockedSkills() {
-        List<Skill> unlockedSkills = new ArrayList<>();
+        List<Skill> unlockedSkills = new ArrayList<>(unlockedCount);
 
-        for (SkillNode node : allNodes.values()) {
-            if (node.isUnlocked()) {
-                unlockedSkills.add(node.getSkill());
+        for (int w = 0; w < unlocked.length; w++) {
+            long word = unlocked[w];
+            while (word != 0) {
+                unlockedSkills.add(getSkill(template.getNode((w << 6) + Long.numberOfTrailingZeros(word))));
+                word &= word - 1;
             }
         }
 
@@ -436,79 +277,30 @@ public class SkillTree {
      * @return true si la compétence est débloquée
      */
     public boolean isSkillUnlocked(Skill skill) {
-        for (SkillNode node : allNodes.values()) {
-            if (node.isUnlocked() && node.getSkill().getId().equals(skill.getId())) {
-                return true;
-            }
-        }
-
-        return false;
+        int index = template.indexOfSkill(skill.getId());
+        return index >= 0 && isUnlocked(index);
     }
 
     /**
      * Génère une représentation visuelle de l'arbre.
+     * La disposition est calculée une seule fois par modèle (voir {@link SkillTreeLayout}).
      *
-     * @return Liste des informations visuelles pour chaque nœud
+     * @return Liste non modifiable des informations visuelles, rangée par rangée
      */
     public List<SkillNode.NodeVisualInfo> generateVisualTree() {
-        List<SkillNode.NodeVisualInfo> visualInfo = new ArrayList<>();
-        Map<SkillNode, Integer> nodeDepths = new HashMap<>();
-        Map<Integer, Integer> depthCounts = new HashMap<>();
-
-        // Calculer les profondeurs en commençant par les racines
-        for (SkillNode rootNode : rootNodes) {
-            calculateDepths(rootNode, 0, nodeDepths, depthCounts);
-        }
-
-        // Générer les informations visuelles
-        for (Map.Entry<SkillNode, Integer> entry : nodeDepths.entrySet()) {
-            SkillNode node = entry.getKey();
-            int depth = entry.getValue();
-
-            // Calculer la position horizontale
-            int horizontalPosition = 0;
-            if (depthCounts.containsKey(depth)) {
-                horizontalPosition = depthCounts.get(depth);
-                depthCounts.put(depth, horizontalPosition + 1);
-            }
-
-            SkillNode.NodeVisualInfo info = node.generateVisualInfo(depth, horizontalPosition);
-            visualInfo.add(info);
-        }
-
-        return visualInfo;
-    }
-
-    /**
-     * Calcule récursivement la profondeur de chaque nœud dans l'arbre.
-     *
-     * @param node Nœud actuel
-     * @param depth Profondeur actuelle
-     * @param nodeDepths Map pour stocker les profondeurs calculées
-     * @param depthCounts Nombre de nœuds à chaque profondeur
-     */
-    private void calculateDepths(SkillNode node, int depth,
-                                 Map<SkillNode, Integer> nodeDepths,
-                                 Map<Integer, Integer> depthCounts) {
-        // Mettre à jour la profondeur du nœud
-        nodeDepths.put(node, depth);
-
-        // Incrémenter le compteur pour cette profondeur
-        int count = depthCounts.getOrDefault(depth, 0);
-        depthCounts.put(depth, count + 1);
-
-        // Calculer pour les enfants
-        for (SkillNode child : node.getChildren()) {
-            calculateDepths(child, depth + 1, nodeDepths, depthCounts);
-        }
+        return template.getLayout().getVisualInfo();
     }
 
     /**
      * Obtient tous les nœuds de l'arbre.
      *
-     * @return Liste de tous les nœuds
+     * @return Liste non modifiable de tous les nœuds
      */
     public List<SkillNode> getAllNodes() {
-        return new ArrayList<>(allNodes.values());
+        return template.getNodes();
+    }
+
+    public SkillTreeTemplate getTemplate() {
+        return template;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.cedric.game.core.skill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Disposition visuelle d'un modèle d'arbre de compétences.
+ *
+ * Calculée en un seul parcours topologique (linéaire en nœuds et en liens) : la profondeur d'un
+ * nœud est la longueur du plus long chemin depuis une racine, de sorte qu'un nœud est toujours
+ * dessiné sous tous ses prérequis ; la position horizontale est le rang du nœud dans sa rangée,
+ * dans l'ordre du parcours. Un nœud atteint par plusieurs chemins n'est visité qu'une fois.
+ */
+public final class SkillTreeLayout {
+    private final int[] depths; // Par index de nœud (-1 si le nœud est sur un cycle)
+    private final int[] positions; // Par index de nœud
+    private final int[] rowWidths; // Nombre de nœuds par profondeur
+    private final List<SkillNode.NodeVisualInfo> visualInfo;
+
+    /**
+     * Calcule la disposition d'un modèle.
+     *
+     * @param template Modèle d'arbre
+     */
+    SkillTreeLayout(SkillTreeTemplate template) {
+        int count = template.getNodeCount();
+        this.depths = new int[count];
+        this.positions = new int[count];
+
+        int[] pending = template.copyPrerequisiteCounts();
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            if (pending[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+
+        // Parcours de Kahn : un nœud sort de la file quand tous ses prérequis sont placés
+        int[] widths = new int[Math.max(1, count)];
+        int maxDepth = -1;
+        while (head < tail) {
+            int node = queue[head++];
+            int depth = depths[node];
+            positions[node] = widths[depth]++;
+            maxDepth = Math.max(maxDepth, depth);
+
+            for (int dependent : template.getDependents(node)) {
+                depths[dependent] = Math.max(depths[dependent], depth + 1);
+                if (--pending[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+
+        // Les nœuds restants sont sur un cycle : ils ne sont pas disposés
+        for (int i = 0; i < count; i++) {
+            if (pending[i] > 0) {
+                depths[i] = -1;
+                positions[i] = -1;
+            }
+        }
+
+        this.rowWidths = Arrays.copyOf(widths, maxDepth + 1);
+
+        // Informations visuelles rangée par rangée, de gauche à droite
+        int[] rowStarts = new int[rowWidths.length];
+        for (int d = 1; d < rowWidths.length; d++) {
+            rowStarts[d] = rowStarts[d - 1] + rowWidths[d - 1];
+        }
+        SkillNode.NodeVisualInfo[] ordered = new SkillNode.NodeVisualInfo[tail];
+        for (int i = 0; i < tail; i++) {
+            int node = queue[i];
+            ordered[rowStarts[depths[node]] + positions[node]] =
+                    template.getNode(node).generateVisualInfo(depths[node], positions[node]);
+        }
+        this.visualInfo = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(ordered)));
+    }
+
+    /**
+     * Obtient les informations visuelles de tous les nœuds disposés, rangée par rangée.
+     *
+     * @return Liste non modifiable, partagée par tous les arbres du modèle
+     */
+    public List<SkillNode.NodeVisualInfo> getVisualInfo() {
+        return visualInfo;
+    }
+
+    /**
+     * Obtient la profondeur d'un nœud.
+     *
+     * @param node Nœud du modèle
+     * @return Profondeur, ou -1 si le nœud n'est pas disposé
+     */
+    public int getDepth(SkillNode node) {
+        return depths[node.getIndex()];
+    }
+
+    /**
+     * Obtient la position horizontale d'un nœud dans sa rangée.
+     *
+     * @param node Nœud du modèle
+     * @return Position, ou -1 si le nœud n'est pas disposé
+     */
+    public int getPosition(SkillNode node) {
+        return positions[node.getIndex()];
+    }
+
+    public int getDepthCount() {
+        return rowWidths.length;
+    }
+
+    /**
+     * Obtient le nombre de nœuds d'une rangée.
+     *
+     * @param depth Profondeur
+     * @return Largeur de la rangée
+     */
+    public int getRowWidth(int depth) {
+        return rowWidths[depth];
+    }
+}
@@ -0,0 +1,522 @@
+package com.cedric.game.core.skill;
+
+import com.cedric.game.core.type.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Modèle immuable d'arbre de compétences, construit une seule fois par type principal.
+ *
+ * Toutes les créatures d'un même type partagent ce modèle : ses nœuds, ses compétences (qui
+ * servent de définitions et ne progressent jamais) et leurs effets. Chaque nœud reçoit un
+ * index dense ; le modèle précalcule pour chaque nœud son nombre de prérequis et la liste des
+ * nœuds qui en dépendent, ce qui permet à chaque {@link SkillTree} de suivre ses nœuds
+ * disponibles de façon incrémentale.
+ */
+public final class SkillTreeTemplate {
+    private static final Map<String, SkillTreeTemplate> templates = new ConcurrentHashMap<>();
+
+    private final Type primaryType;
+    private final List<SkillNode> rootNodes;
+    private final Map<String, SkillNode> allNodes;
+    private final SkillNode[] nodes; // Par index de nœud
+    private final int[] prerequisiteCounts; // Par index de nœud
+    private final int[][] dependents; // Par index de nœud, index des nœuds qui l'ont en prérequis
+    private final long[] initialAvailable; // Nœuds sans prérequis
+    private final Map<String, Integer> nodeIndexBySkill;
+    private final List<SkillNode> rootNodesView;
+    private final List<SkillNode> nodesView;
+    private final int wordCount;
+    private volatile SkillTreeLayout layout; // Calculée au premier affichage
+
+    /**
+     * Construit le modèle d'un type. Les nœuds ne sont plus modifiés ensuite.
+     *
+     * @param primaryType Type principal
+     */
+    private SkillTreeTemplate(Type primaryType) {
+        this.primaryType = primaryType;
+        this.rootNodes = new ArrayList<>();
+        this.allNodes = new HashMap<>();
+
+        initializeBaseSkills();
+
+        // Index denses, dans l'ordre de parcours de la table des nœuds
+        this.nodes = allNodes.values().toArray(new SkillNode[0]);
+        this.wordCount = (nodes.length + 63) >>> 6;
+        this.nodeIndexBySkill = new HashMap<>();
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i].setIndex(i);
+            nodeIndexBySkill.putIfAbsent(nodes[i].getSkill().getId(), i);
+        }
+
+        this.prerequisiteCounts = new int[nodes.length];
+        this.initialAvailable = new long[wordCount];
+        int[] dependentCounts = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            prerequisiteCounts[i] = nodes[i].getPrerequisites().size();
+            if (prerequisiteCounts[i] == 0) {
+                initialAvailable[i >>> 6] |= 1L << i;
+            }
+            for (SkillNode prerequisite : nodes[i].getPrerequisites()) {
+                dependentCounts[prerequisite.getIndex()]++;
+            }
+        }
+
+        this.dependents = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; i++) {
+            dependents[i] = new int[dependentCounts[i]];
+            dependentCounts[i] = 0;
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            for (SkillNode prerequisite : nodes[i].getPrerequisites()) {
+                int p = prerequisite.getIndex();
+                dependents[p][dependentCounts[p]++] = i;
+            }
+        }
+
+        this.rootNodesView = Collections.unmodifiableList(rootNodes);
+        this.nodesView = Collections.unmodifiableList(Arrays.asList(nodes));
+    }
+
+    /**
+     * Obtient le modèle partagé d'un type principal (construit au premier appel).
+     *
+     * @param primaryType Type principal
+     * @return Modèle partagé
+     */
+    public static SkillTreeTemplate of(Type primaryType) {
+        return templates.computeIfAbsent(primaryType.getName(), name -> new SkillTreeTemplate(primaryType));
+    }
+
+    /**
+     * Initialise l'arbre avec des compétences de base selon le type.
+     */
+    private void initializeBaseSkills() {
+        // Compétence de base - Attaque basique
+        Skill basicAttack = new Skill(
+                "skill_basic_" + primaryType.getName().toLowerCase(),
+                "Attaque basique",
+                "Une attaque simple qui utilise peu d'énergie.",
+                primaryType,
+                5, // Puissance
+                95, // Précision
+                1,  // Coût en PA
+                Skill.SkillCategory.PHYSICAL
+        );
+
+        SkillNode basicNode = new SkillNode("node_basic_attack", basicAttack, 0);
+        addNode(basicNode);
+        rootNodes.add(basicNode);
+
+        // Compétence de défense
+        Skill basicDefense = new Skill(
+                "skill_defense_" + primaryType.getName().toLowerCase(),
+                "Défense basique",
+                "Renforce temporairement la défense.",
+                primaryType,
+                0, // Pas de dégâts directs
+                100, // Toujours réussi
+                1,  // Coût en PA
+                Skill.SkillCategory.STATUS
+        );
+
+        SkillEffect defenseEffect = new SkillEffect(
+                "effect_def_boost",
+                "Bouclier",
+                SkillEffect.EffectType.STAT_BOOST,
+                3, // Dure 3 tours
+                5, // +5 en défense
+                SkillEffect.StatisticType.CONSTITUTION,
+                1.0 // 100% de chance
+        );
+
+        basicDefense.addEffect(defenseEffect);
+
+        SkillNode defenseNode = new SkillNode("node_basic_defense", basicDefense, 0);
+        addNode(defenseNode);
+        rootNodes.add(defenseNode);
+
+        // Ajouter des compétences spécifiques au type
+        addTypeSpecificSkills();
+
+        // Ajouter la structure de l'arbre - les nœuds suivants
+        buildSkillTreeStructure();
+    }
+
+    /**
+     * Ajoute des compétences spécifiques au type principal.
+     */
+    private void addTypeSpecificSkills() {
+        String typeName = primaryType.getName();
+
+        // Attaque de type spécifique niveau 1
+        Skill typeAttack = new Skill(
+                "skill_" + typeName.toLowerCase() + "_1",
+                typeName + " niveau 1",
+                "Une attaque de type " + typeName + " de niveau basique.",
+                primaryType,
+                15, // Puissance
+                90, // Précision
+                2,  // Coût en PA
+                Skill.SkillCategory.SPECIAL
+        );
+
+        SkillNode typeNode = new SkillNode("node_" + typeName.toLowerCase() + "_1", typeAttack, 1);
+        addNode(typeNode);
+        rootNodes.add(typeNode);
+
+        // Effet de statut selon le type
+        SkillEffect.EffectType effectType = SkillEffect.EffectType.STATUS_EFFECT;
+        String effectName = "Effet " + typeName;
+
+        switch (typeName) {
+            case "Feu":
+                effectName = "Brûlure";
+                break;
+            case "Eau":
+                effectName = "Trempe";
+                break;
+            case "Nature":
+                effectName = "Poison";
+                break;
+            case "Électrique":
+                effectName = "Paralysie";
+                break;
+            case "Ténèbres":
+                effectName = "Peur";
+                break;
+            // Autres types...
+        }
+
+        Skill statusSkill = new Skill(
+                "skill_status_" + typeName.toLowerCase(),
+                effectName,
+                "Applique un effet de statut " + effectName.toLowerCase() + ".",
+                primaryType,
+                5, // Faible puissance
+                85, // Précision moyenne
+                2,  // Coût en PA
+                Skill.SkillCategory.STATUS
+        );
+
+        SkillEffect statusEffect = new SkillEffect(
+                "effect_" + typeName.toLowerCase() + "_status",
+                effectName,
+                effectType,
+                3, // Dure 3 tours
+                5, // Intensité moyenne
+                SkillEffect.StatisticType.HEALTH, // Affecte généralement la santé
+                0.7 // 70% de chance
+        );
+
+        statusSkill.addEffect(statusEffect);
+
+        SkillNode statusNode = new SkillNode("node_status_" + typeName.toLowerCase(), statusSkill, 2);
+        addNode(statusNode);
+
+        // Connecter au nœud racine
+        if (!rootNodes.isEmpty()) {
+            rootNodes.get(0).addChild(statusNode);
+        }
+    }
+
+    /**
+     * Construit la structure de l'arbre avec des nœuds connectés.
+     */
+    private void buildSkillTreeStructure() {
+        // Exemple de structure d'arbre plus avancée
+        // Niveau 2 - Compétences intermédiaires
+        for (SkillNode rootNode : rootNodes) {
+            if (rootNode.getSkill().getCategory() == Skill.SkillCategory.PHYSICAL) {
+                // Branch out physical skills
+                createPhysicalBranch(rootNode);
+            } else if (rootNode.getSkill().getCategory() == Skill.SkillCategory.SPECIAL) {
+                // Branch out special skills
+                createSpecialBranch(rootNode);
+            } else if (rootNode.getSkill().getCategory() == Skill.SkillCategory.STATUS) {
+                // Branch out status skills
+                createStatusBranch(rootNode);
+            }
+        }
+    }
+
+    /**
+     * Crée une branche de compétences physiques.
+     *
+     * @param parentNode Nœud parent
+     */
+    private void createPhysicalBranch(SkillNode parentNode) {
+        // Compétence physique avancée
+        Skill improvedPhysical = new Skill(
+                "skill_physical_improved",
+                "Coup puissant",
+                "Une attaque physique plus puissante mais moins précise.",
+                primaryType,
+                30, // Puissance élevée
+                80, // Précision réduite
+                3,  // Coût en PA
+                Skill.SkillCategory.PHYSICAL
+        );
+
+        SkillNode improvedNode = new SkillNode("node_physical_improved", improvedPhysical, 3);
+        addNode(improvedNode);
+        parentNode.addChild(improvedNode);
+
+        // Compétence physique rapide
+        Skill quickPhysical = new Skill(
+                "skill_physical_quick",
+                "Attaque rapide",
+                "Une attaque plus faible mais qui frappe en premier.",
+                primaryType,
+                10, // Faible puissance
+                95, // Haute précision
+                1,  // Faible coût en PA
+                Skill.SkillCategory.PHYSICAL
+        );
+
+        SkillNode quickNode = new SkillNode("node_physical_quick", quickPhysical, 2);
+        addNode(quickNode);
+        parentNode.addChild(quickNode);
+    }
+
+    /**
+     * Crée une branche de compétences spéciales.
+     *
+     * @param parentNode Nœud parent
+     */
+    private void createSpecialBranch(SkillNode parentNode) {
+        // Compétence spéciale avancée
+        String typeName = primaryType.getName();
+
+        Skill improvedSpecial = new Skill(
+                "skill_" + typeName.toLowerCase() + "_2",
+                typeName + " niveau 2",
+                "Une attaque de type " + typeName + " plus puissante.",
+                primaryType,
+                25, // Puissance moyenne-élevée
+                85, // Précision
+                3,  // Coût en PA
+                Skill.SkillCategory.SPECIAL
+        );
+
+        SkillNode improvedNode = new SkillNode("node_" + typeName.toLowerCase() + "_2", improvedSpecial, 4);
+        addNode(improvedNode);
+        parentNode.addChild(improvedNode);
+
+        // Attaque de zone
+        Skill areaSpecial = new Skill(
+                "skill_" + typeName.toLowerCase() + "_area",
+                "Vague de " + typeName,
+                "Une attaque de type " + typeName + " qui touche une zone.",
+                primaryType,
+                20, // Puissance modérée
+                80, // Précision un peu réduite
+                4,  // Coût en PA élevé
+                Skill.SkillCategory.SPECIAL
+        );
+
+        SkillNode areaNode = new SkillNode("node_" + typeName.toLowerCase() + "_area", areaSpecial, 5);
+        addNode(areaNode);
+        parentNode.addChild(areaNode);
+    }
+
+    /**
+     * Crée une branche de compétences de statut.
+     *
+     * @param parentNode Nœud parent
+     */
+    private void createStatusBranch(SkillNode parentNode) {
+        // Amélioration de soi
+        Skill selfBuff = new Skill(
+                "skill_self_buff",
+                "Concentration",
+                "Augmente temporairement ses propres statistiques.",
+                primaryType,
+                0, // Pas de dégâts
+                100, // Toujours réussi
+                2,  // Coût en PA
+                Skill.SkillCategory.STATUS
+        );
+
+        SkillEffect buffEffect1 = new SkillEffect(
+                "effect_str_boost",
+                "Force améliorée",
+                SkillEffect.EffectType.STAT_BOOST,
+                3, // Dure 3 tours
+                7, // +7 en force
+                SkillEffect.StatisticType.STRENGTH,
+                1.0 // 100% de chance
+        );
+
+        SkillEffect buffEffect2 = new SkillEffect(
+                "effect_spd_boost",
+                "Vitesse améliorée",
+                SkillEffect.EffectType.STAT_BOOST,
+                3, // Dure 3 tours
+                5, // +5 en vitesse
+                SkillEffect.StatisticType.SPEED,
+                1.0 // 100% de chance
+        );
+
+        selfBuff.addEffect(buffEffect1);
+        selfBuff.addEffect(buffEffect2);
+
+        SkillNode selfBuffNode = new SkillNode("node_self_buff", selfBuff, 3);
+        addNode(selfBuffNode);
+        parentNode.addChild(selfBuffNode);
+
+        // Soins
+        Skill healingSkill = new Skill(
+                "skill_healing",
+                "Restauration",
+                "Soigne partiellement les points de vie.",
+                primaryType,
+                0, // Pas de dégâts
+                100, // Toujours réussi
+                3,  // Coût en PA
+                Skill.SkillCategory.STATUS
+        );
+
+        SkillEffect healEffect = new SkillEffect(
+                "effect_healing",
+                "Soins",
+                SkillEffect.EffectType.HEALING,
+                0, // Instantané
+                15, // Soigne 15 PV
+                SkillEffect.StatisticType.HEALTH,
+                1.0 // 100% de chance
+        );
+
+        healingSkill.addEffect(healEffect);
+
+        SkillNode healingNode = new SkillNode("node_healing", healingSkill, 4);
+        addNode(healingNode);
+        parentNode.addChild(healingNode);
+    }
+
+    /**
+     * Ajoute un nœud au modèle (construction uniquement).
+     *
+     * @param node Nœud à ajouter
+     */
+    private void addNode(SkillNode node) {
+        allNodes.putIfAbsent(node.getId(), node);
+    }
+
+    /**
+     * Obtient un nœud par son ID.
+     *
+     * @param nodeId ID du nœud
+     * @return Nœud correspondant ou null
+     */
+    public SkillNode getNode(String nodeId) {
+        return allNodes.get(nodeId);
+    }
+
+    /**
+     * Obtient un nœud par son index.
+     *
+     * @param index Index du nœud
+     * @return Nœud correspondant
+     */
+    public SkillNode getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Cherche le nœud qui enseigne une compétence.
+     *
+     * @param skillId Identifiant de la compétence
+     * @return Index du nœud, ou -1
+     */
+    public int indexOfSkill(String skillId) {
+        Integer index = nodeIndexBySkill.get(skillId);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Copie le nombre de prérequis de chaque nœud (état initial d'un arbre).
+     *
+     * @return Nouveau tableau, par index de nœud
+     */
+    int[] copyPrerequisiteCounts() {
+        return prerequisiteCounts.clone();
+    }
+
+    /**
+     * Copie l'ensemble des nœuds disponibles dans un arbre vierge.
+     *
+     * @return Nouveau masque de nœuds
+     */
+    long[] copyInitialAvailable() {
+        return initialAvailable.clone();
+    }
+
+    /**
+     * Obtient les nœuds qui ont un nœud donné en prérequis.
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @param index Index du nœud
+     * @return Index des nœuds dépendants
+     */
+    int[] getDependents(int index) {
+        return dependents[index];
+    }
+
+    /**
+     * Obtient la disposition visuelle de l'arbre. Le modèle ne change plus après sa
+     * construction : la disposition est calculée une fois puis partagée.
+     *
+     * @return Disposition du modèle
+     */
+    public SkillTreeLayout getLayout() {
+        SkillTreeLayout current = layout;
+        if (current == null) {
+            current = new SkillTreeLayout(this); // Calcul déterministe : une course est sans effet
+            layout = current;
+        }
+        return current;
+    }
+
+    public Type getPrimaryType() {
+        return primaryType;
+    }
+
+    /**
+     * Obtient les nœuds racines.
+     *
+     * @return Liste non modifiable
+     */
+    public List<SkillNode> getRootNodes() {
+        return rootNodesView;
+    }
+
+    /**
+     * Obtient tous les nœuds, par index.
+     *
+     * @return Liste non modifiable
+     */
+    public List<SkillNode> getNodes() {
+        return nodesView;
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Obtient le nombre de mots de 64 bits nécessaires pour un ensemble de nœuds.
+     *
+     * @return Taille d'un masque de nœuds
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+}
@@ -0,0 +1,124 @@
+package com.cedric.game.core.tournament;
+
+import com.cedric.game.characters.Trainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classement d'un tournoi, mis à jour match par match.
+ *
+ * Les compteurs sont rangés dans des tableaux indexés par la tête de série du participant :
+ * enregistrer un résultat est en temps constant, seul {@link #getRanking()} trie.
+ */
+public class Standings {
+    public static final int POINTS_WIN = 3;
+    public static final int POINTS_DRAW = 1;
+
+    private final List<Trainer> entrants;
+    private final int[] wins;
+    private final int[] losses;
+    private final int[] draws;
+    private final int[] byes;
+    private final int[] points;
+
+    Standings(List<Trainer> entrants) {
+        this.entrants = entrants;
+        int count = entrants.size();
+        this.wins = new int[count];
+        this.losses = new int[count];
+        this.draws = new int[count];
+        this.byes = new int[count];
+        this.points = new int[count];
+    }
+
+    void recordWin(int winner, int loser) {
+        wins[winner]++;
+        points[winner] += POINTS_WIN;
+        losses[loser]++;
+    }
+
+    void recordDraw(int first, int second) {
+        draws[first]++;
+        draws[second]++;
+        points[first] += POINTS_DRAW;
+        points[second] += POINTS_DRAW;
+    }
+
+    /**
+     * Exempté : compte comme une victoire.
+     */
+    void recordBye(int entrant) {
+        byes[entrant]++;
+        wins[entrant]++;
+        points[entrant] += POINTS_WIN;
+    }
+
+    /**
+     * Trie les participants par points, puis victoires, puis tête de série.
+     *
+     * @return Index des participants, du premier au dernier
+     */
+    public int[] getRanking() {
+        int count = entrants.size();
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            // Points et victoires inversés pour un tri croissant, index en poids faible
+            long score = ((long) points[i] << 20) + wins[i];
+            keys[i] = ((Long.MAX_VALUE >>> 22) - score) << 21 | i;
+        }
+        Arrays.sort(keys);
+
+        int[] ranking = new int[count];
+        for (int i = 0; i < count; i++) {
+            ranking[i] = (int) (keys[i] & ((1 << 21) - 1));
+        }
+        return ranking;
+    }
+
+    /**
+     * Obtient les dresseurs dans l'ordre du classement.
+     *
+     * @return Liste des dresseurs classés
+     */
+    public List<Trainer> getRankedTrainers() {
+        int[] ranking = getRanking();
+        List<Trainer> ranked = new ArrayList<>(ranking.length);
+        for (int index : ranking) {
+            ranked.add(entrants.get(index));
+        }
+        return ranked;
+    }
+
+    // Getters
+
+    public List<Trainer> getEntrants() {
+        return Collections.unmodifiableList(entrants);
+    }
+
+    public int getEntrantCount() {
+        return entrants.size();
+    }
+
+    public int getWins(int entrant) {
+        return wins[entrant];
+    }
+
+    public int getLosses(int entrant) {
+        return losses[entrant];
+    }
+
+    public int getDraws(int entrant) {
+        return draws[entrant];
+    }
+
+    public int getPoints(int entrant) {
+        return points[entrant];
+    }
+
+    boolean hasBye(int entrant) {
+        return byes[entrant] > 0;
+    }
+}
@@ -0,0 +1,564 @@
+package com.cedric.game.core.tournament;
+
+import com.cedric.game.characters.IATrainer;
+import com.cedric.game.characters.Trainer;
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.simulation.BattleSimulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tournoi entre dresseurs : élimination directe, toutes rondes ou système suisse.
+ *
+ * Les matchs d'une ronde sont indépendants (chaque participant joue au plus une fois) et sont
+ * joués en parallèle sur un pool fork/join. Chaque match reçoit une graine dérivée de la
+ * graine du tournoi, de la ronde et de la table, et les résultats sont reportés dans l'ordre
+ * des tables : le tournoi se déroule de la même façon quel que soit le parallélisme.
+ *
+ * Les matchs sont joués par l'IA, avec la stratégie du participant s'il s'agit d'un
+ * {@link IATrainer} ; les créatures sont soignées avant chaque match.
+ */
+public class Tournament {
+    private static final int MATCHES_PER_TASK = 16; // Taille fixe d'un lot séquentiel
+    private static final int DEFAULT_MAX_TURNS = 500;
+    private static final int REMATCH_WINDOW = 16; // Adversaires examinés pour éviter une revanche
+    private static final int MAX_ENTRANTS = 1 << 21;
+    private static final int NO_ENTRANT = -1;
+
+    /**
+     * Formule du tournoi.
+     */
+    public enum Format {
+        SINGLE_ELIMINATION,
+        ROUND_ROBIN,
+        SWISS
+    }
+
+    /**
+     * Résultat d'un match du point de vue du premier participant.
+     */
+    public enum Outcome {
+        WIN,
+        LOSS,
+        DRAW
+    }
+
+    /**
+     * Match d'une ronde.
+     */
+    public static class Match {
+        private final int table;
+        private final int first;
+        private final int second;
+        private Outcome outcome;
+
+        Match(int table, int first, int second) {
+            this.table = table;
+            this.first = first;
+            this.second = second;
+        }
+
+        public int getTable() {
+            return table;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+    }
+
+    /**
+     * Tâche fork/join qui joue un intervalle de matchs d'une ronde.
+     */
+    private class RoundTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Match[] matches;
+        private final int from;
+        private final int to;
+
+        RoundTask(Match[] matches, int from, int to) {
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    playMatch(matches[i]);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new RoundTask(matches, from, middle), new RoundTask(matches, middle, to));
+        }
+    }
+
+    private final List<Trainer> entrants;
+    private final Format format;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final Standings standings;
+    private final int entrantCount;
+    private int maxTurns;
+    private int totalRounds;
+    private int round;
+    private List<Match> lastRound;
+
+    // Élimination directe : participants encore en lice, dans l'ordre du tableau
+    private int[] bracket;
+
+    // Système suisse : adversaires déjà rencontrés (une ligne de totalRounds par participant)
+    private int[] opponents;
+
+    /**
+     * Crée un tournoi utilisant le pool commun.
+     *
+     * @param entrants Participants, par ordre de tête de série
+     * @param format Formule du tournoi
+     * @param seed Graine du tournoi
+     */
+    public Tournament(List<? extends Trainer> entrants, Format format, long seed) {
+        this(entrants, format, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crée un tournoi utilisant un pool spécifique.
+     *
+     * @param entrants Participants, par ordre de tête de série
+     * @param format Formule du tournoi
+     * @param seed Graine du tournoi
+     * @param pool Pool d'exécution des matchs
+     */
+    public Tournament(List<? extends Trainer> entrants, Format format, long seed, ForkJoinPool pool) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("Un tournoi demande au moins deux participants");
+        }
+        if (entrants.size() > MAX_ENTRANTS) {
+            throw new IllegalArgumentException("Trop de participants: " + entrants.size());
+        }
+
+        this.entrants = new ArrayList<>(entrants);
+        this.entrantCount = entrants.size();
+        this.format = format;
+        this.seed = seed;
+        this.pool = pool;
+        this.standings = new Standings(this.entrants);
+        this.maxTurns = DEFAULT_MAX_TURNS;
+        this.lastRound = Collections.emptyList();
+
+        switch (format) {
+            case SINGLE_ELIMINATION:
+                this.bracket = seedBracket(entrantCount);
+                this.totalRounds = Integer.numberOfTrailingZeros(bracket.length);
+                break;
+            case ROUND_ROBIN:
+                this.totalRounds = entrantCount % 2 == 0 ? entrantCount - 1 : entrantCount;
+                break;
+            case SWISS:
+                setSwissRounds(32 - Integer.numberOfLeadingZeros(entrantCount - 1)); // ceil(log2 n)
+                break;
+        }
+    }
+
+    /**
+     * Place les têtes de série dans un tableau de taille puissance de deux : la tête de série 1
+     * ne peut rencontrer la 2 qu'en finale, les places en trop sont des exemptions.
+     */
+    private static int[] seedBracket(int count) {
+        int size = Integer.highestOneBit(count);
+        if (size < count) {
+            size <<= 1;
+        }
+
+        int[] order = {0};
+        while (order.length < size) {
+            int length = order.length * 2;
+            int[] next = new int[length];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = length - 1 - order[i];
+            }
+            order = next;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (order[i] >= count) {
+                order[i] = NO_ENTRANT;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Fixe le nombre de rondes d'un tournoi suisse (avant la première ronde).
+     *
+     * @param rounds Nombre de rondes
+     */
+    public void setSwissRounds(int rounds) {
+        if (format != Format.SWISS) {
+            throw new IllegalStateException("Le nombre de rondes n'est réglable qu'en système suisse");
+        }
+        if (round > 0) {
+            throw new IllegalStateException("Le tournoi a déjà commencé");
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Nombre de rondes invalide: " + rounds);
+        }
+
+        this.totalRounds = rounds;
+        this.opponents = new int[entrantCount * rounds];
+    }
+
+    /**
+     * Joue toutes les rondes restantes.
+     *
+     * @return Classement final
+     */
+    public Standings run() {
+        while (playNextRound()) {
+            // Ronde suivante
+        }
+        return standings;
+    }
+
+    /**
+     * Apparie et joue la ronde suivante.
+     *
+     * @return false si le tournoi était déjà terminé
+     */
+    public boolean playNextRound() {
+        if (isFinished()) {
+            return false;
+        }
+
+        List<Match> matches;
+        switch (format) {
+            case SINGLE_ELIMINATION:
+                matches = pairBracket();
+                break;
+            case ROUND_ROBIN:
+                matches = pairRoundRobin();
+                break;
+            default:
+                matches = pairSwiss();
+                break;
+        }
+
+        Match[] played = matches.toArray(new Match[0]);
+        pool.invoke(new RoundTask(played, 0, played.length));
+
+        // Report des résultats dans l'ordre des tables
+        for (Match match : played) {
+            record(match);
+        }
+
+        if (format == Format.SINGLE_ELIMINATION) {
+            advanceBracket(played);
+        }
+
+        lastRound = Collections.unmodifiableList(Arrays.asList(played));
+        round++;
+        return true;
+    }
+
+    private List<Match> pairBracket() {
+        List<Match> matches = new ArrayList<>(bracket.length / 2);
+        for (int i = 0; i < bracket.length; i += 2) {
+            int first = bracket[i];
+            int second = bracket[i + 1];
+            if (first == NO_ENTRANT || second == NO_ENTRANT) {
+                int alone = first == NO_ENTRANT ? second : first;
+                if (alone != NO_ENTRANT) {
+                    standings.recordBye(alone);
+                }
+                continue;
+            }
+            matches.add(new Match(matches.size(), first, second));
+        }
+        return matches;
+    }
+
+    private void advanceBracket(Match[] played) {
+        int[] next = new int[bracket.length / 2];
+        int table = 0;
+        for (int i = 0; i < bracket.length; i += 2) {
+            int first = bracket[i];
+            int second = bracket[i + 1];
+            if (first == NO_ENTRANT || second == NO_ENTRANT) {
+                next[i / 2] = first == NO_ENTRANT ? second : first;
+                continue;
+            }
+
+            // En cas de nul, la meilleure tête de série passe
+            Match match = played[table++];
+            boolean firstAdvances = match.outcome == Outcome.WIN
+                    || (match.outcome == Outcome.DRAW && first < second);
+            next[i / 2] = firstAdvances ? first : second;
+        }
+        bracket = next;
+    }
+
+    /**
+     * Méthode du cercle : le participant 0 reste fixe, les autres tournent d'une place par ronde.
+     * Avec un nombre impair de participants, une place fictive sert d'exemption.
+     */
+    private List<Match> pairRoundRobin() {
+        int size = entrantCount % 2 == 0 ? entrantCount : entrantCount + 1;
+        int[] positions = new int[size];
+        positions[0] = 0;
+        for (int p = 1; p < size; p++) {
+            positions[p] = 1 + (p - 1 + round) % (size - 1);
+        }
+
+        List<Match> matches = new ArrayList<>(size / 2);
+        for (int p = 0; p < size / 2; p++) {
+            int first = positions[p];
+            int second = positions[size - 1 - p];
+            if (first >= entrantCount || second >= entrantCount) {
+                standings.recordBye(first >= entrantCount ? second : first);
+                continue;
+            }
+            // Alterner le camp qui commence
+            matches.add(round % 2 == 0
+                    ? new Match(matches.size(), first, second)
+                    : new Match(matches.size(), second, first));
+        }
+        return matches;
+    }
+
+    /**
+     * Appariement suisse : tri par points (clés primitives, O(n log n)), puis appariement glouton
+     * des voisins en évitant les revanches dans une fenêtre bornée.
+     */
+    private List<Match> pairSwiss() {
+        int maxPoints = Standings.POINTS_WIN * totalRounds;
+        long[] keys = new long[entrantCount];
+        for (int i = 0; i < entrantCount; i++) {
+            keys[i] = ((long) (maxPoints - standings.getPoints(i)) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[entrantCount];
+        for (int i = 0; i < entrantCount; i++) {
+            order[i] = (int) keys[i];
+        }
+
+        boolean[] paired = new boolean[entrantCount];
+
+        // Nombre impair : le moins bien classé qui n'a pas encore été exempté est exempté
+        if (entrantCount % 2 != 0) {
+            int bye = order[entrantCount - 1];
+            for (int i = entrantCount - 1; i >= 0; i--) {
+                if (!standings.hasBye(order[i])) {
+                    bye = order[i];
+                    break;
+                }
+            }
+            paired[bye] = true;
+            standings.recordBye(bye);
+            opponents[bye * totalRounds + round] = bye;
+        }
+
+        List<Match> matches = new ArrayList<>(entrantCount / 2);
+        for (int i = 0; i < entrantCount; i++) {
+            int first = order[i];
+            if (paired[first]) {
+                continue;
+            }
+
+            int second = NO_ENTRANT;
+            int fallback = NO_ENTRANT;
+            int examined = 0;
+            for (int j = i + 1; j < entrantCount && examined < REMATCH_WINDOW; j++) {
+                int candidate = order[j];
+                if (paired[candidate]) {
+                    continue;
+                }
+                if (fallback == NO_ENTRANT) {
+                    fallback = candidate;
+                }
+                if (!havePlayed(first, candidate)) {
+                    second = candidate;
+                    break;
+                }
+                examined++;
+            }
+            if (second == NO_ENTRANT) {
+                second = fallback; // Revanche inévitable dans la fenêtre
+            }
+            if (second == NO_ENTRANT) {
+                break; // Ne peut arriver qu'avec un effectif impair, déjà exempté
+            }
+
+            paired[first] = true;
+            paired[second] = true;
+            opponents[first * totalRounds + round] = second;
+            opponents[second * totalRounds + round] = first;
+            matches.add(new Match(matches.size(), first, second));
+        }
+        return matches;
+    }
+
+    private boolean havePlayed(int first, int second) {
+        int base = first * totalRounds;
+        for (int r = 0; r < round; r++) {
+            if (opponents[base + r] == second) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Joue un match (sur un thread du pool).
+     */
+    private void playMatch(Match match) {
+        Trainer first = entrants.get(match.first);
+        Trainer second = entrants.get(match.second);
+        prepare(first);
+        prepare(second);
+
+        boolean firstReady = !first.getCreatures().isEmpty();
+        boolean secondReady = !second.getCreatures().isEmpty();
+        if (!firstReady || !secondReady) {
+            // Forfait : un participant sans créature perd
+            match.outcome = firstReady ? Outcome.WIN : secondReady ? Outcome.LOSS : Outcome.DRAW;
+            return;
+        }
+
+        GameRandom random = new GameRandom(BattleSimulator.battleSeed(BattleSimulator.battleSeed(seed, round), match.table));
+        IATrainer pilotA = createPilot(first, random.split());
+        IATrainer pilotB = createPilot(second, random.split());
+
+        Battle battle = new Battle(pilotA.getCreatures(), pilotB.getCreatures(), random.split());
+        Battle.BattleState result = BattleSimulator.playBattle(battle, pilotA, pilotB, maxTurns);
+
+        if (result == Battle.BattleState.TEAM_A_VICTORY) {
+            match.outcome = Outcome.WIN;
+        } else if (result == Battle.BattleState.TEAM_B_VICTORY) {
+            match.outcome = Outcome.LOSS;
+        } else {
+            match.outcome = Outcome.DRAW;
+        }
+    }
+
+    private static void prepare(Trainer trainer) {
+        trainer.healAllCreatures();
+        for (Creature creature : trainer.getCreatures()) {
+            creature.restoreEffects(Collections.emptyList());
+            creature.getStats().clearTemporaryModifiers();
+        }
+    }
+
+    /**
+     * Crée le dresseur IA qui joue le match pour un participant, avec ses créatures.
+     */
+    private static IATrainer createPilot(Trainer trainer, GameRandom random) {
+        int difficulty = 5;
+        String strategyType = "Équilibré";
+        if (trainer instanceof IATrainer) {
+            IATrainer iaTrainer = (IATrainer) trainer;
+            difficulty = iaTrainer.getDifficulty();
+            strategyType = iaTrainer.getStrategyType();
+        }
+
+        IATrainer pilot = new IATrainer(trainer.getId(), trainer.getName(), difficulty, "Tournoi",
+                strategyType, false, random);
+        pilot.setMaxCreatures(trainer.getCreatures().size());
+        for (Creature creature : trainer.getCreatures()) {
+            pilot.addCreature(creature);
+        }
+        return pilot;
+    }
+
+    private void record(Match match) {
+        switch (match.outcome) {
+            case WIN:
+                standings.recordWin(match.first, match.second);
+                break;
+            case LOSS:
+                standings.recordWin(match.second, match.first);
+                break;
+            default:
+                standings.recordDraw(match.first, match.second);
+                break;
+        }
+    }
+
+    /**
+     * Vérifie si toutes les rondes ont été jouées.
+     *
+     * @return true si le tournoi est terminé
+     */
+    public boolean isFinished() {
+        return round >= totalRounds;
+    }
+
+    /**
+     * Obtient le vainqueur du tournoi.
+     *
+     * @return Vainqueur, ou null si le tournoi n'est pas terminé
+     */
+    public Trainer getChampion() {
+        if (!isFinished()) {
+            return null;
+        }
+        if (format == Format.SINGLE_ELIMINATION) {
+            return entrants.get(bracket[0]);
+        }
+        return entrants.get(standings.getRanking()[0]);
+    }
+
+    // Getters et setters
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Standings getStandings() {
+        return standings;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+
+    public List<Match> getLastRound() {
+        return lastRound;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+}
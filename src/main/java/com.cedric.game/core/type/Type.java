@@ -1,17 +1,19 @@
 package com.cedric.game.core.type;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Représente un type élémental dans le jeu.
+ *
+ * L'efficacité est rangée dans la table dense {@link TypeChart}, par nom de type : les
+ * instances d'un même type partagent leurs relations.
  */
 public class Type {
     private String name;
     private String description;
-    private Map<String, Double> effectivenessChart; // Stocke l'efficacité contre d'autres types
+    private int ordinal; // Ordinal dense dans la TypeChart
+    private int combination; // Combinaison formée de ce seul type
 
     /**
      * Crée un nouveau type.
@@ -22,7 +24,8 @@ public class Type {
     public Type(String name, String description) {
         this.name = name;
         this.description = description;
-        this.effectivenessChart = new HashMap<>();
+        this.ordinal = TypeChart.ordinalOf(name);
+        this.combination = TypeChart.combinationOf(ordinal);
     }
 
     /**
@@ -32,7 +35,7 @@ public class Type {
      * @param multiplier Multiplicateur d'efficacité (2.0 = super efficace, 0.5 = pas très efficace, 0.0 = aucun effet)
      */
     public void setEffectivenessAgainst(String targetTypeName, double multiplier) {
-        effectivenessChart.put(targetTypeName, multiplier);
+        TypeChart.set(ordinal, TypeChart.ordinalOf(targetTypeName), multiplier);
     }
 
     /**
@@ -46,16 +49,25 @@ public class Type {
             return 1.0;
         }
 
-        Double effectiveness = effectivenessChart.get(targetType.getName());
-        return effectiveness != null ? effectiveness : 1.0;
+        return TypeChart.getEffectiveness(ordinal, targetType.ordinal);
     }
 
     /**
-     * Crée des types prédéfinis avec leurs relations.
+     * Obtient les types prédéfinis avec leurs relations.
+     * Les instances sont celles du {@link TypeRegistry} : elles ne sont plus recréées à chaque appel.
      *
-     * @return Liste des types de base du jeu
+     * @return Liste des types de base du jeu (copie modifiable)
      */
     public static List<Type> createDefaultTypes() {
+        return new ArrayList<>(TypeRegistry.getDefault().getTypes());
+    }
+
+    /**
+     * Crée les types prédéfinis avec leurs relations (une seule fois, pour le registre).
+     *
+     * @return Liste des types de base du jeu
+     */
+    static List<Type> buildDefaultTypes() {
         List<Type> types = new ArrayList<>();
 
         // Créer les types de base
@@ -150,6 +162,21 @@ public class Type {
 
     public void setName(String name) {
         this.name = name;
+        this.ordinal = TypeChart.ordinalOf(name);
+        this.combination = TypeChart.combinationOf(ordinal);
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Obtient la combinaison de types formée de ce seul type (voir {@link TypeChart#getMultiplier}).
+     *
+     * @return Identifiant de la combinaison
+     */
+    public int getCombination() {
+        return combination;
     }
 
     public String getDescription() {
@@ -0,0 +1,221 @@
+package com.cedric.game.core.type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table d'efficacité dense de tous les types du jeu.
+ *
+ * Chaque nom de type reçoit un ordinal dense à sa première apparition, et l'efficacité est
+ * rangée dans un tableau {@code double[][]} indexé par ces ordinaux. Les combinaisons de types
+ * d'une créature (type simple, double type...) reçoivent elles aussi un identifiant dense, et
+ * le multiplicateur total entre deux combinaisons est précalculé : l'efficacité complète d'une
+ * attaque se lit en un seul accès tableau.
+ *
+ * Les tables sont publiées dans un instantané immuable, reconstruit à la première lecture qui
+ * suit une modification (nouveau type, nouvelle combinaison ou nouvelle efficacité).
+ */
+public final class TypeChart {
+    public static final int NO_TYPE = 0; // Combinaison vide (multiplicateur neutre)
+
+    private static final Map<String, Integer> ordinals = new HashMap<>();
+    private static final Map<String, Integer> combinations = new HashMap<>();
+    private static final List<int[]> combinationOrdinals = new ArrayList<>();
+    private static double[][] rows = new double[0][];
+    private static volatile Snapshot snapshot;
+
+    static {
+        combinationOrdinals.add(new int[0]);
+        combinations.put("", NO_TYPE);
+    }
+
+    /**
+     * Tables figées à un instant donné.
+     */
+    private static final class Snapshot {
+        private final double[][] chart;
+        private final int[][] combinationOrdinals;
+        private final double[] combined;
+        private final int combinationCount;
+
+        Snapshot(double[][] chart, int[][] combinationOrdinals) {
+            this.chart = chart;
+            this.combinationOrdinals = combinationOrdinals;
+            this.combinationCount = combinationOrdinals.length;
+            this.combined = new double[combinationCount * combinationCount];
+
+            for (int a = 0; a < combinationCount; a++) {
+                for (int d = 0; d < combinationCount; d++) {
+                    double multiplier = 1.0;
+                    for (int attacker : combinationOrdinals[a]) {
+                        for (int defender : combinationOrdinals[d]) {
+                            multiplier *= chart[attacker][defender];
+                        }
+                    }
+                    combined[a * combinationCount + d] = multiplier;
+                }
+            }
+        }
+    }
+
+    private TypeChart() {
+    }
+
+    /**
+     * Obtient (ou attribue) l'ordinal dense d'un nom de type.
+     *
+     * @param name Nom du type
+     * @return Ordinal du type
+     */
+    public static synchronized int ordinalOf(String name) {
+        Integer ordinal = ordinals.get(name);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        int created = ordinals.size();
+        ordinals.put(name, created);
+
+        double[][] grown = Arrays.copyOf(rows, created + 1);
+        for (int a = 0; a < created; a++) {
+            grown[a] = Arrays.copyOf(rows[a], created + 1);
+            grown[a][created] = 1.0;
+        }
+        grown[created] = new double[created + 1];
+        Arrays.fill(grown[created], 1.0);
+        rows = grown;
+
+        snapshot = null;
+        return created;
+    }
+
+    /**
+     * Définit l'efficacité d'un type contre un autre.
+     *
+     * @param attacker Ordinal du type attaquant
+     * @param defender Ordinal du type défenseur
+     * @param multiplier Multiplicateur d'efficacité
+     */
+    static synchronized void set(int attacker, int defender, double multiplier) {
+        if (rows[attacker][defender] != multiplier) {
+            rows[attacker][defender] = multiplier;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Obtient l'identifiant dense d'une combinaison de types (dans l'ordre donné).
+     *
+     * @param types Types de la combinaison (les null sont ignorés)
+     * @return Identifiant de la combinaison
+     */
+    public static int combinationOf(List<Type> types) {
+        int[] combinationTypes = new int[types.size()];
+        int count = 0;
+        for (Type type : types) {
+            if (type != null) {
+                combinationTypes[count++] = type.getOrdinal();
+            }
+        }
+        return combinationOf(Arrays.copyOf(combinationTypes, count));
+    }
+
+    /**
+     * Obtient l'identifiant dense d'une combinaison d'ordinaux de types.
+     *
+     * @param typeOrdinals Ordinaux des types
+     * @return Identifiant de la combinaison
+     */
+    static synchronized int combinationOf(int... typeOrdinals) {
+        if (typeOrdinals.length == 0) {
+            return NO_TYPE;
+        }
+
+        String key = Arrays.toString(typeOrdinals);
+        Integer combination = combinations.get(key);
+        if (combination != null) {
+            return combination;
+        }
+
+        int created = combinationOrdinals.size();
+        combinations.put(key, created);
+        combinationOrdinals.add(typeOrdinals.clone());
+        snapshot = null;
+        return created;
+    }
+
+    private static Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (TypeChart.class) {
+            if (snapshot == null) {
+                double[][] chart = new double[rows.length][];
+                for (int a = 0; a < rows.length; a++) {
+                    chart[a] = rows[a].clone();
+                }
+                snapshot = new Snapshot(chart, combinationOrdinals.toArray(new int[0][]));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Obtient le multiplicateur total d'une combinaison de types contre une autre
+     * (produit des efficacités de chaque type attaquant contre chaque type défenseur).
+     *
+     * @param attacker Combinaison de l'attaquant
+     * @param defender Combinaison du défenseur
+     * @return Multiplicateur d'efficacité
+     */
+    public static double getMultiplier(int attacker, int defender) {
+        Snapshot current = snapshot();
+        return current.combined[attacker * current.combinationCount + defender];
+    }
+
+    /**
+     * Obtient l'efficacité d'un type contre un autre.
+     *
+     * @param attacker Ordinal du type attaquant
+     * @param defender Ordinal du type défenseur
+     * @return Multiplicateur d'efficacité
+     */
+    public static double getEffectiveness(int attacker, int defender) {
+        return snapshot().chart[attacker][defender];
+    }
+
+    /**
+     * Obtient la table d'efficacité complète, indexée par ordinaux [attaquant][défenseur].
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @return Table d'efficacité
+     */
+    public static double[][] getChart() {
+        return snapshot().chart;
+    }
+
+    /**
+     * Obtient les ordinaux des types d'une combinaison.
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @param combination Identifiant de la combinaison
+     * @return Ordinaux des types
+     */
+    public static int[] getOrdinals(int combination) {
+        return snapshot().combinationOrdinals[combination];
+    }
+
+    /**
+     * Obtient le nombre de types connus.
+     *
+     * @return Nombre d'ordinaux attribués
+     */
+    public static synchronized int getTypeCount() {
+        return ordinals.size();
+    }
+}
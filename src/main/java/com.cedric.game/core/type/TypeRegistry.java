@@ -0,0 +1,98 @@
+package com.cedric.game.core.type;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registre global et immuable des types du jeu.
+ *
+ * Les types de base sont créés une seule fois, au premier accès : tout le jeu partage ces
+ * instances canoniques. Le registre n'est plus modifié après sa construction et peut donc être
+ * lu depuis n'importe quel thread sans synchronisation.
+ */
+public final class TypeRegistry {
+    private final List<Type> types;
+    private final Map<String, Type> byName;
+    private final Map<String, Type> byLowerCaseName;
+    private final Type[] byOrdinal;
+
+    /**
+     * Initialisation paresseuse et sûre entre threads (classe interne chargée au premier accès).
+     */
+    private static final class Holder {
+        private static final TypeRegistry DEFAULT = new TypeRegistry(Type.buildDefaultTypes());
+    }
+
+    private TypeRegistry(List<Type> types) {
+        this.types = Collections.unmodifiableList(types);
+        this.byName = new HashMap<>();
+        this.byLowerCaseName = new HashMap<>();
+
+        int maxOrdinal = -1;
+        for (Type type : types) {
+            byName.put(type.getName(), type);
+            byLowerCaseName.put(type.getName().toLowerCase(Locale.ROOT), type);
+            maxOrdinal = Math.max(maxOrdinal, type.getOrdinal());
+        }
+
+        this.byOrdinal = new Type[maxOrdinal + 1];
+        for (Type type : types) {
+            byOrdinal[type.getOrdinal()] = type;
+        }
+    }
+
+    /**
+     * Obtient le registre des types de base.
+     *
+     * @return Registre partagé
+     */
+    public static TypeRegistry getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Cherche un type par son nom exact.
+     *
+     * @param name Nom du type
+     * @return Type canonique, ou null s'il n'existe pas
+     */
+    public Type get(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Cherche un type par son nom, sans tenir compte de la casse.
+     *
+     * @param name Nom du type
+     * @return Type canonique, ou null s'il n'existe pas
+     */
+    public Type getIgnoreCase(String name) {
+        return byLowerCaseName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Cherche un type par son ordinal dans la {@link TypeChart}.
+     *
+     * @param ordinal Ordinal du type
+     * @return Type canonique, ou null si aucun type du registre n'a cet ordinal
+     */
+    public Type get(int ordinal) {
+        return ordinal >= 0 && ordinal < byOrdinal.length ? byOrdinal[ordinal] : null;
+    }
+
+    /**
+     * Obtient tous les types du registre, dans l'ordre de définition.
+     *
+     * @return Liste non modifiable
+     */
+    public List<Type> getTypes() {
+        return types;
+    }
+
+    public int size() {
+        return types.size();
+    }
+}
@@ -1,8 +1,10 @@
 package com.cedric.game.ui;
 
+import com.cedric.game.characters.NpcRegistry;
 import com.cedric.game.characters.PlayerTrainer;
 import com.cedric.game.core.GameManager;
 import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.simulation.WinProbabilityEstimator;
 import com.cedric.game.core.type.Type;
 import com.cedric.game.items.Item;
 import com.cedric.game.items.ItemCategory;
@@ -11,13 +13,20 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
 
 /**
  * Interface graphique principale du jeu.
  */
 public class GameGUI extends JFrame {
+    private static final int[] AREA_LEVELS = {3, 5, 8}; // Forêt, plaine, grotte
+    private static final int TRAINERS_PER_PAGE = 20;
+    private static final int AUTOSAVE_CHECK_MILLIS = 5000; // Reprise des sauvegardes automatiques différées
+
     private GameManager gameManager;
+    private WinProbabilityEstimator oddsEstimator; // Chances de victoire contre les dresseurs
     private JPanel mainPanel;
     private CardLayout cardLayout;
 
@@ -27,6 +36,7 @@ public class GameGUI extends JFrame {
     private JPanel mainMenuPanel;
     private JPanel explorePanel;
     private JPanel trainerPanel;
+    private int trainerPageOffset; // Premier dresseur affiché
     private JPanel creaturePanel;
     private JPanel inventoryPanel;
 
@@ -36,6 +46,7 @@ public class GameGUI extends JFrame {
     public GameGUI() {
         super("Jeu de Créatures");
         this.gameManager = GameManager.getInstance();
+        this.oddsEstimator = new WinProbabilityEstimator();
 
         // Initialiser l'interface
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -70,6 +81,9 @@ public class GameGUI extends JFrame {
         // Ajouter le panel principal au frame
         add(mainPanel);
 
+        // Sauvegardes automatiques différées, prises sur le thread de l'interface
+        new Timer(AUTOSAVE_CHECK_MILLIS, e -> gameManager.getAutosave().flushPending()).start();
+
         // Rendre visible
         setVisible(true);
     }
@@ -380,7 +394,10 @@ public class GameGUI extends JFrame {
      * Met à jour le panneau d'exploration.
      */
     private void updateExplorePanel() {
-        // Rien à mettre à jour pour l'instant
+        // Générer les créatures sauvages des zones pendant que le joueur choisit
+        for (int areaLevel : AREA_LEVELS) {
+            gameManager.prepareWildArea(areaLevel);
+        }
     }
 
     /**
@@ -404,8 +421,24 @@ public class GameGUI extends JFrame {
             cardLayout.show(mainPanel, "mainMenu");
         });
 
+        // Pagination : seule la page affichée est lue dans le registre
+        JButton previousButton = new JButton("< Précédents");
+        previousButton.addActionListener(e -> {
+            trainerPageOffset = Math.max(0, trainerPageOffset - TRAINERS_PER_PAGE);
+            updateTrainerPanel();
+        });
+        JButton nextButton = new JButton("Suivants >");
+        nextButton.addActionListener(e -> {
+            if (trainerPageOffset + TRAINERS_PER_PAGE < gameManager.getNpcRegistry().size()) {
+                trainerPageOffset += TRAINERS_PER_PAGE;
+                updateTrainerPanel();
+            }
+        });
+
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        bottomPanel.add(previousButton);
         bottomPanel.add(backButton);
+        bottomPanel.add(nextButton);
 
         trainerPanel.add(titleLabel, BorderLayout.NORTH);
         trainerPanel.add(scrollPane, BorderLayout.CENTER);
@@ -416,7 +449,11 @@ public class GameGUI extends JFrame {
      * Met à jour le panneau des dresseurs.
      */
     private void updateTrainerPanel() {
-        List<game.characters.IATrainer> npcs = gameManager.getNpcs();
+        NpcRegistry registry = gameManager.getNpcRegistry();
+        if (trainerPageOffset >= registry.size()) {
+            trainerPageOffset = 0; // Des dresseurs ont été retirés depuis le dernier affichage
+        }
+        List<game.characters.IATrainer> npcs = registry.page(trainerPageOffset, TRAINERS_PER_PAGE);
 
         JPanel centerPanel = (JPanel) ((JScrollPane) trainerPanel.getComponent(1)).getViewport().getView();
         centerPanel.removeAll();
@@ -437,11 +474,16 @@ public class GameGUI extends JFrame {
                         " (Difficulté: " + trainer.getDifficulty() + ")");
                 nameLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
 
+                JLabel oddsLabel = new JLabel();
+                oddsLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
+                showOdds(oddsLabel, trainer);
+
                 JButton challengeButton = new JButton("Défier");
                 challengeButton.addActionListener(e -> challenge(trainer));
 
                 trainerItemPanel.add(nameLabel);
                 trainerItemPanel.add(Box.createHorizontalGlue());
+                trainerItemPanel.add(oddsLabel);
                 trainerItemPanel.add(challengeButton);
 
                 centerPanel.add(trainerItemPanel);
@@ -453,6 +495,33 @@ public class GameGUI extends JFrame {
         centerPanel.repaint();
     }
 
+    /**
+     * Affiche les chances de victoire du joueur contre un dresseur.
+     * L'estimation est calculée en arrière-plan, le label est mis à jour à son arrivée.
+     *
+     * @param oddsLabel Label à remplir
+     * @param trainer Dresseur adverse
+     */
+    private void showOdds(JLabel oddsLabel, game.characters.IATrainer trainer) {
+        List<Creature> playerCreatures = gameManager.getPlayer().getActiveCreatures();
+        List<Creature> trainerCreatures = trainer.getActiveCreatures();
+        if (playerCreatures.isEmpty() || trainerCreatures.isEmpty()) {
+            oddsLabel.setText("Chances: -");
+            return;
+        }
+
+        oddsLabel.setText("Chances: ...");
+        oddsEstimator.estimate(playerCreatures, trainerCreatures).whenComplete((estimate, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        oddsLabel.setText("Chances: ?");
+                    } else {
+                        oddsLabel.setText(String.format("Chances: %d%%",
+                                Math.round(estimate.getWinProbability() * 100)));
+                    }
+                }));
+    }
+
     /**
      * Initialise le panneau de gestion des créatures.
      */
@@ -812,17 +881,21 @@ public class GameGUI extends JFrame {
         );
 
         if (saveName != null && !saveName.trim().isEmpty()) {
-            boolean success = gameManager.saveGame(saveName);
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Partie sauvegardée avec succès!",
-                        "Sauvegarde réussie", JOptionPane.INFORMATION_MESSAGE);
-                System.exit(0);
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Erreur lors de la sauvegarde de la partie.",
-                        "Erreur", JOptionPane.ERROR_MESSAGE);
-            }
+            // Instantané pris tout de suite, écriture en fond : l'interface reste réactive
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            gameManager.getAutosave().save(saveName).thenAccept(success -> SwingUtilities.invokeLater(() -> {
+                setCursor(Cursor.getDefaultCursor());
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Partie sauvegardée avec succès!",
+                            "Sauvegarde réussie", JOptionPane.INFORMATION_MESSAGE);
+                    System.exit(0);
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Erreur lors de la sauvegarde de la partie.",
+                            "Erreur", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
         }
     }
 
@@ -839,15 +912,15 @@ public class GameGUI extends JFrame {
         switch (areaId) {
             case 1:
                 areaName = "Forêt Verdoyante";
-                areaLevel = 3;
+                areaLevel = AREA_LEVELS[0];
                 break;
             case 2:
                 areaName = "Plaine Ensoleillée";
-                areaLevel = 5;
+                areaLevel = AREA_LEVELS[1];
                 break;
             case 3:
                 areaName = "Grotte Humide";
-                areaLevel = 8;
+                areaLevel = AREA_LEVELS[2];
                 break;
             default:
                 return;
@@ -876,6 +949,8 @@ public class GameGUI extends JFrame {
             // Ajouter de l'argent
             PlayerTrainer player = gameManager.getPlayer();
             player.setMoney(player.getMoney() + 50);
+            gameManager.recordPlayerProgress();
+            gameManager.getAutosave().requestSave();
 
             // Mettre à jour le menu
             updateMainMenu();
@@ -906,6 +981,7 @@ public class GameGUI extends JFrame {
      */
     private class BattleDialog extends JDialog implements com.cedric.game.core.battle.BattleManager.BattleListener {
         private com.cedric.game.core.battle.Battle battle;
+        private String battleId; // Identifiant au registre, gardé après la fin du combat
         private boolean isWildBattle;
         private JTextArea battleLog;
         private JPanel actionPanel;
@@ -918,8 +994,17 @@ public class GameGUI extends JFrame {
             this.battle = battle;
             this.isWildBattle = isWildBattle;
 
-            // Enregistrer comme écouteur de bataille
-            gameManager.getBattleManager().addBattleListener(this);
+            // Enregistrer comme écouteur de ce combat uniquement
+            this.battleId = gameManager.getBattleManager().getBattleId(battle);
+            gameManager.getBattleManager().addBattleListener(battleId, this);
+
+            // Fermer la fenêtre en plein combat abandonne la bataille
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    abandonBattle();
+                }
+            });
 
             // Initialiser l'interface de combat
             initBattleUI();
@@ -1176,6 +1261,17 @@ public class GameGUI extends JFrame {
             updateSwitchPanel();
         }
 
+        private void abandonBattle() {
+            if (battle.getState() != com.cedric.game.core.battle.Battle.BattleState.IN_PROGRESS) {
+                return;
+            }
+
+            com.cedric.game.core.battle.BattleManager battleManager = gameManager.getBattleManager();
+            battleManager.removeBattleListener(battleId, this);
+            battleManager.removeBattle(battleId);
+            updateMainMenu();
+        }
+
         private void tryEscape() {
             if (!isWildBattle || !battle.isPlayerTurn()) {
                 return;
@@ -1195,11 +1291,24 @@ public class GameGUI extends JFrame {
         @Override
         public void onBattleCompleted(com.cedric.game.core.battle.Battle battle,
                                       com.cedric.game.core.battle.Battle.BattleState result) {
+            // Seul ce combat compte ; l'événement peut arriver d'un autre thread (bus asynchrone)
+            if (battle != this.battle) {
+                return;
+            }
+            SwingUtilities.invokeLater(() -> showBattleEnd(result));
+        }
+
+        /**
+         * Ferme le combat, applique les récompenses et sauvegarde (sur le thread de l'interface).
+         *
+         * @param result Résultat du combat
+         */
+        private void showBattleEnd(com.cedric.game.core.battle.Battle.BattleState result) {
             // Fermer la boîte de dialogue à la fin du combat
             dispose();
 
             // Se désenregistrer comme écouteur
-            gameManager.getBattleManager().removeBattleListener(this);
+            gameManager.getBattleManager().removeBattleListener(battleId, this);
 
             // Mettre à jour le menu principal
             updateMainMenu();
@@ -1217,6 +1326,7 @@ public class GameGUI extends JFrame {
                         int rewardMoney = 100 * battle.getCurrentTurn();
                         PlayerTrainer player = gameManager.getPlayer();
                         player.setMoney(player.getMoney() + rewardMoney);
+                        gameManager.recordPlayerProgress();
                         JOptionPane.showMessageDialog(GameGUI.this,
                                 "Vous avez gagné " + rewardMoney + "¤!",
                                 "Victoire!", JOptionPane.INFORMATION_MESSAGE);
@@ -1238,15 +1348,27 @@ public class GameGUI extends JFrame {
 
             JOptionPane.showMessageDialog(GameGUI.this, message,
                     "Fin du combat", JOptionPane.INFORMATION_MESSAGE);
+
+            // Récompenses et capture appliquées : sauvegarde automatique
+            gameManager.getAutosave().requestSave();
+        }
+
+        @Override
+        public void onBattleEvent(com.cedric.game.core.battle.BattleMessage message) {
+            if (message.getBattle() == battle) {
+                onBattleMessage(message.render());
+            }
         }
 
         @Override
         public void onBattleMessage(String message) {
-            // Ajouter les messages au log de combat
-            battleLog.append(message + "\n");
+            SwingUtilities.invokeLater(() -> {
+                // Ajouter les messages au log de combat
+                battleLog.append(message + "\n");
 
-            // Faire défiler vers le bas
-            battleLog.setCaretPosition(battleLog.getDocument().getLength());
+                // Faire défiler vers le bas
+                battleLog.setCaretPosition(battleLog.getDocument().getLength());
+            });
         }
 
         /**
@@ -1259,9 +1381,10 @@ public class GameGUI extends JFrame {
 
             if (choice == JOptionPane.YES_OPTION) {
                 Creature wildCreature = battle.getActiveCreatureB();
-                boolean captured = gameManager.getPlayer().captureCreature(wildCreature, 50);
+                boolean captured = gameManager.getPlayer().captureCreature(wildCreature, 50, gameManager.getRandom());
 
                 if (captured) {
+                    gameManager.recordCapture(wildCreature);
                     JOptionPane.showMessageDialog(GameGUI.this,
                             "Félicitations! Vous avez capturé " + wildCreature.getName() + "!",
                             "Capture réussie", JOptionPane.INFORMATION_MESSAGE);
@@ -0,0 +1,95 @@
+package com.cedric.game.core.battle;
+
+import com.cedric.game.core.creature.Creature;
+import com.cedric.game.core.creature.CreatureFactory;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.Skill;
+import com.cedric.game.core.type.Type;
+import com.cedric.game.core.type.TypeRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mesure l'allocation d'un tour de combat (attaque, effets, lecture de l'état comme le fait
+ * l'interface), avec le compteur d'octets alloués du thread courant.
+ */
+class BattleAllocationTest {
+    private static final int WARMUP_TURNS = 20_000;
+    private static final int MEASURED_TURNS = 20_000;
+    private static final long MAX_BYTES_PER_TURN = 64; // Mesuré : 0, marge pour le JIT
+
+    @Test
+    void battleTurnAllocatesAlmostNothing() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        List<Type> types = TypeRegistry.getDefault().getTypes();
+        CreatureFactory factory = new CreatureFactory(types);
+        Creature a = factory.create("a", "A", types.get(0), 20, new GameRandom(1));
+        Creature b = factory.create("b", "B", types.get(1), 20, new GameRandom(2));
+        assumeTrue(a.getActiveSkillCount() > 0 && b.getActiveSkillCount() > 0);
+
+        Battle battle = new Battle(Collections.singletonList(a), Collections.singletonList(b), new GameRandom(3));
+        battle.start();
+
+        playTurns(battle, WARMUP_TURNS);
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        int checksum = playTurns(battle, MEASURED_TURNS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        long perTurn = allocated / MEASURED_TURNS;
+        assertTrue(checksum != 0);
+        assertTrue(perTurn <= MAX_BYTES_PER_TURN,
+                perTurn + " octets alloués par tour (maximum " + MAX_BYTES_PER_TURN + ")");
+    }
+
+    /**
+     * Joue des tours sans fin de combat : les points de vie sont remis au maximum à chaque tour.
+     *
+     * @return Somme des valeurs lues, pour que la lecture ne soit pas éliminée
+     */
+    private static int playTurns(Battle battle, int turns) {
+        int checksum = 0;
+        for (int turn = 0; turn < turns; turn++) {
+            Creature attacker = battle.isPlayerTurn() ? battle.getActiveCreatureA() : battle.getActiveCreatureB();
+            Skill chosen = null;
+            for (int i = 0; i < attacker.getActiveSkillCount(); i++) {
+                Skill skill = attacker.getActiveSkill(i);
+                if (skill.getActionPointCost() <= attacker.getCurrentActionPoints()) {
+                    chosen = skill;
+                    break;
+                }
+            }
+            if (chosen == null || !battle.executeAttack(chosen)) {
+                battle.passTurn();
+            }
+
+            // Lecture de l'état comme l'affichage d'un tour (accès indexé, sans itérateur)
+            checksum += readTeam(battle.getTeamA()) + readTeam(battle.getTeamB());
+        }
+        return checksum;
+    }
+
+    private static int readTeam(List<Creature> team) {
+        int checksum = 0;
+        for (int i = 0; i < team.size(); i++) {
+            Creature creature = team.get(i);
+            creature.getStats().setHealth(creature.getStats().getMaxHealth());
+            checksum += creature.getActiveEffects().size() + creature.getActiveSkills().size();
+        }
+        return checksum;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.cedric.game.core.creature;
+
+import com.cedric.game.core.battle.Battle;
+import com.cedric.game.core.random.GameRandom;
+import com.cedric.game.core.skill.SkillEffect;
+import com.cedric.game.core.type.TypeRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Les modificateurs de stats expirent avec leur effet et ne survivent pas au combat.
+ */
+class StatModifierExpiryTest {
+    private static final SkillEffect BOOST = new SkillEffect("boost_constitution", "Carapace",
+            SkillEffect.EffectType.STAT_BOOST, 3, 5, SkillEffect.StatisticType.CONSTITUTION, 1.0);
+
+    private static Creature newCreature(String id) {
+        return new CreatureFactory(TypeRegistry.getDefault().getTypes())
+                .create(id, "Test", TypeRegistry.getDefault().getTypes().get(0), 10, new GameRandom(1));
+    }
+
+    @Test
+    void buffReappliedEveryTurnStaysOneStack() {
+        Creature creature = newCreature("c1");
+        Statistics stats = creature.getStats();
+        GameRandom random = new GameRandom(7);
+
+        for (int turn = 0; turn < 20; turn++) {
+            creature.applyEffect(BOOST, random);
+            assertEquals(1, stats.getModifierCount(SkillEffect.StatisticType.CONSTITUTION), "tour " + turn);
+            assertEquals(5, stats.getModifierValue(SkillEffect.StatisticType.CONSTITUTION), "tour " + turn);
+            creature.updateEffects();
+        }
+    }
+
+    @Test
+    void buffReappliedAfterExpiryDoesNotGrow() {
+        Creature creature = newCreature("c3");
+        Statistics stats = creature.getStats();
+        GameRandom random = new GameRandom(7);
+
+        for (int turn = 0; turn < 40; turn++) {
+            if (turn % (BOOST.getDuration() + 1) == 0) {
+                creature.applyEffect(BOOST, random);
+            }
+            assertTrue(stats.getModifierCount(SkillEffect.StatisticType.CONSTITUTION) <= 1, "tour " + turn);
+            assertTrue(stats.getModifierValue(SkillEffect.StatisticType.CONSTITUTION) <= 5, "tour " + turn);
+            creature.updateEffects();
+        }
+    }
+
+    @Test
+    void modifierExpiresWithItsEffect() {
+        Creature creature = newCreature("c2");
+        Statistics stats = creature.getStats();
+        creature.applyEffect(BOOST, new GameRandom(7));
+
+        for (int turn = 0; turn < BOOST.getDuration(); turn++) {
+            assertEquals(5, stats.getModifierValue(SkillEffect.StatisticType.CONSTITUTION));
+            creature.updateEffects();
+        }
+
+        assertEquals(0, stats.getModifierCount(SkillEffect.StatisticType.CONSTITUTION));
+        assertNull(creature.getActiveEffect(BOOST.getId()));
+    }
+
+    @Test
+    void battleEndClearsModifiers() {
+        Creature a = newCreature("a");
+        Creature b = newCreature("b");
+        Battle battle = new Battle(Collections.singletonList(a), Collections.singletonList(b), new GameRandom(3));
+        battle.start();
+        a.applyEffect(BOOST, new GameRandom(7));
+        b.getStats().addModifier(SkillEffect.StatisticType.SPEED, -2, 10);
+
+        battle.endBattle(Battle.BattleState.ESCAPED);
+
+        assertEquals(0, a.getStats().getModifierCount(SkillEffect.StatisticType.CONSTITUTION));
+        assertEquals(0, b.getStats().getModifierValue(SkillEffect.StatisticType.SPEED));
+    }
+}